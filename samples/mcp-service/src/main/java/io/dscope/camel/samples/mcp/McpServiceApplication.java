@@ -8,8 +8,8 @@ import io.dscope.camel.mcp.McpComponentApplicationSupport;
  * Boots the sample MCP service, loading both HTTP and WebSocket helper routes by default.
  * <p>
  * Pass {@code -Dcamel.main.routesIncludePattern=classpath:routes/mcp-service-ws.yaml} to run the
- * WebSocket-only helpers while reusing the same processors and method catalog loaded from
- * {@code classpath:mcp/methods.yaml}.
+ * WebSocket-only helpers while reusing the same processors and the method catalog generated from
+ * {@link SampleTools}.
  */
 public final class McpServiceApplication extends McpComponentApplicationSupport {
 
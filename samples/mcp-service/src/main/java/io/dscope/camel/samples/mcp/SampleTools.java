@@ -0,0 +1,87 @@
+package io.dscope.camel.samples.mcp;
+
+import java.util.List;
+import java.util.Map;
+
+import io.dscope.camel.mcp.annotation.McpTool;
+import io.dscope.camel.mcp.annotation.McpToolArg;
+
+/**
+ * The sample's tools. The camel-mcp annotation processor turns this class into
+ * {@code SampleToolsMcpTools}, which carries the tool definitions served by {@code tools/list} and
+ * dispatches {@code tools/call} straight to these methods.
+ */
+public class SampleTools {
+
+    private static final String CONTENT_SCHEMA = """
+            {"type": "object", "properties": {"content": {"type": "array", "items": {"type": "object"}}}}""";
+
+    @McpTool(title = "Echo Tool", description = "Returns the provided text as MCP content.",
+            annotations = "{\"categories\": [\"utility\"]}", outputSchema = CONTENT_SCHEMA)
+    public Map<String, Object> echo(
+            @McpToolArg(description = "Text to echo back to the caller.", required = false) String text) {
+        // an empty defaultValue means "no default", so an absent text arrives as null
+        return Map.of("content", List.of(Map.of("type", "text", "text", text == null ? "" : text)));
+    }
+
+    @McpTool(title = "Summarize Tool", description = "Generates a short summary of the supplied text payload.",
+            aliases = "summary", annotations = "{\"categories\": [\"analysis\"]}", outputSchema = CONTENT_SCHEMA)
+    public Map<String, Object> summarize(@McpToolArg(description = "Passage to summarize.") String text,
+            @McpToolArg(description = "Maximum word count of the summary.", defaultValue = "50") int maxWords) {
+        return Map.of("content", List.of(Map.of("type", "text", "text", truncate(text, maxWords))));
+    }
+
+    @McpTool(name = "chart-editor", title = "Chart Editor",
+            description = "Interactive chart editor with embedded UI for configuring data visualization.",
+            annotations = """
+                    {"categories": ["visualization", "interactive"],
+                     "ui": {"outputUri": "mcp://resource/chart-editor.html", "displayHint": "embedded"}}""",
+            outputSchema = CONTENT_SCHEMA)
+    public Map<String, Object> chartEditor(
+            @McpToolArg(description = "Type of chart to create.", allowed = { "bar", "line", "pie", "scatter" },
+                    defaultValue = "bar") String chartType,
+            @McpToolArg(description = "Title for the chart.", defaultValue = "Untitled Chart") String title,
+            @McpToolArg(description = "Data values for the chart.", defaultValue = "[10, 20, 30, 40, 50]") List<Number> data,
+            @McpToolArg(description = "Labels for each data point.", defaultValue = "[\"A\", \"B\", \"C\", \"D\", \"E\"]") List<String> labels) {
+        // Build response with embedded resource reference for MCP Apps
+        Map<String, Object> chartConfig = Map.of(
+                "chartType", chartType,
+                "title", title,
+                "data", data,
+                "labels", labels);
+
+        Map<String, Object> content = Map.of(
+                "type", "resource",
+                "resource", Map.of(
+                        "uri", "mcp://resource/chart-editor.html",
+                        "mimeType", "text/html",
+                        "metadata", Map.of(
+                                "displayHint", "embedded",
+                                "initialData", chartConfig)));
+
+        return Map.of(
+                "content", List.of(content),
+                "_meta", Map.of("ui", Map.of(
+                        "outputUri", "mcp://resource/chart-editor.html",
+                        "displayHint", "embedded")));
+    }
+
+    private static String truncate(String text, int maxWords) {
+        if (text == null || text.isBlank()) {
+            return "(empty input)";
+        }
+        String[] words = text.trim().split("\\s+");
+        if (words.length <= maxWords) {
+            return text.trim();
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < Math.min(words.length, maxWords); i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(words[i]);
+        }
+        builder.append(" …");
+        return builder.toString();
+    }
+}
@@ -1,17 +1,21 @@
 package io.dscope.camel.mcp;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dscope.camel.mcp.model.McpResponse;
+import io.dscope.camel.mcp.service.McpJsonCodec;
+import org.apache.camel.CamelContext;
 import org.apache.camel.ProducerTemplate;
 
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 /**
  * Java helper API for invoking MCP producer endpoints and extracting MCP result payloads.
  */
 public final class McpClient {
-    private static final ObjectMapper MAPPER = new ObjectMapper();
 
     private McpClient() {
     }
@@ -55,7 +59,7 @@ public final class McpClient {
             String mcpEndpointUri,
             Map<String, Object> params
     ) {
-        return toJsonNode(callResult(template, mcpEndpointUri, params));
+        return toJsonNode(template, callResult(template, mcpEndpointUri, params));
     }
 
     public static JsonNode callResultJson(
@@ -64,7 +68,7 @@ public final class McpClient {
             String method,
             Map<String, Object> params
     ) {
-        return toJsonNode(callResult(template, mcpEndpointUri, method, params));
+        return toJsonNode(template, callResult(template, mcpEndpointUri, method, params));
     }
 
     public static Object pingResult(ProducerTemplate template, String mcpEndpointUri) {
@@ -83,11 +87,88 @@ public final class McpClient {
         return callResultJson(template, mcpEndpointUri, "tools/list", Map.of());
     }
 
+    /**
+     * Iterates every tool of a paginated {@code tools/list}, requesting the next page only when the
+     * current one is used up.
+     *
+     * @throws IllegalStateException from the iterator if the server answers a page with an error
+     */
+    public static Iterator<Map<String, Object>> listTools(ProducerTemplate template, String mcpEndpointUri) {
+        return new PageIterator(template, mcpEndpointUri, "tools/list", "tools");
+    }
+
+    /**
+     * Iterates every resource of a paginated {@code resources/list}, like {@link #listTools}.
+     */
+    public static Iterator<Map<String, Object>> listResources(ProducerTemplate template, String mcpEndpointUri) {
+        return new PageIterator(template, mcpEndpointUri, "resources/list", "resources");
+    }
+
     private static Map<String, Object> nullSafeParams(Map<String, Object> params) {
         return params != null ? params : Map.of();
     }
 
-    private static JsonNode toJsonNode(Object value) {
-        return value == null ? null : MAPPER.valueToTree(value);
+    /**
+     * Converts with the codec bound in the template's Camel context.
+     */
+    private static JsonNode toJsonNode(ProducerTemplate template, Object value) {
+        if (value == null) {
+            return null;
+        }
+        CamelContext camelContext = template.getCamelContext();
+        McpJsonCodec codec = camelContext == null ? McpJsonCodec.getDefault() : McpJsonCodec.lookupOrDefault(camelContext);
+        return codec.mapper().valueToTree(value);
+    }
+
+    private static final class PageIterator implements Iterator<Map<String, Object>> {
+        private final ProducerTemplate template;
+        private final String mcpEndpointUri;
+        private final String method;
+        private final String field;
+        private Iterator<Map<String, Object>> page = Collections.emptyIterator();
+        private String cursor;
+        private boolean lastPage;
+
+        private PageIterator(ProducerTemplate template, String mcpEndpointUri, String method, String field) {
+            this.template = template;
+            this.mcpEndpointUri = mcpEndpointUri;
+            this.method = method;
+            this.field = field;
+        }
+
+        @Override
+        public boolean hasNext() {
+            // Loop so an empty page with a cursor does not end the iteration early.
+            while (!page.hasNext() && !lastPage) {
+                fetch();
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.next();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void fetch() {
+            McpResponse response = call(template, mcpEndpointUri, method,
+                    cursor == null ? Map.of() : Map.of("cursor", cursor));
+            if (response == null || response.getError() != null || !(response.getResult() instanceof Map<?, ?>)) {
+                lastPage = true;
+                throw new IllegalStateException(method + " failed: "
+                        + (response == null ? "no response" : response.getError()));
+            }
+            Map<String, Object> result = (Map<String, Object>) response.getResult();
+            Object entries = result.get(field);
+            page = entries instanceof List<?> list ? ((List<Map<String, Object>>) list).iterator()
+                    : Collections.emptyIterator();
+            Object next = result.get("nextCursor");
+            cursor = next == null ? null : next.toString();
+            lastPage = cursor == null || cursor.isEmpty();
+        }
     }
 }
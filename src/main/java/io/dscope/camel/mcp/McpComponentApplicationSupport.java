@@ -1,13 +1,20 @@
 package io.dscope.camel.mcp;
 
+import org.apache.camel.main.BaseMainSupport;
 import org.apache.camel.main.Main;
+import org.apache.camel.main.MainListenerSupport;
 
+import io.dscope.camel.mcp.catalog.McpCatalogWatcher;
 import io.dscope.camel.mcp.catalog.McpMethodCatalog;
+import io.dscope.camel.mcp.catalog.McpOutputSchemaChecker;
+import io.dscope.camel.mcp.catalog.McpResourceCatalog;
+import io.dscope.camel.mcp.processor.McpConcurrencyLimitProcessor;
 import io.dscope.camel.mcp.processor.McpErrorProcessor;
 import io.dscope.camel.mcp.processor.McpHealthStatusProcessor;
 import io.dscope.camel.mcp.processor.McpHttpValidatorProcessor;
 import io.dscope.camel.mcp.processor.McpInitializeProcessor;
 import io.dscope.camel.mcp.processor.McpJsonRpcEnvelopeProcessor;
+import io.dscope.camel.mcp.processor.McpMethodRouter;
 import io.dscope.camel.mcp.processor.McpNotificationAckProcessor;
 import io.dscope.camel.mcp.processor.McpNotificationProcessor;
 import io.dscope.camel.mcp.processor.McpNotificationsInitializedProcessor;
@@ -23,17 +30,23 @@ import io.dscope.camel.mcp.processor.McpUiMessageProcessor;
 import io.dscope.camel.mcp.processor.McpUiToolsCallPostProcessor;
 import io.dscope.camel.mcp.processor.McpUiToolsCallProcessor;
 import io.dscope.camel.mcp.processor.McpUiUpdateModelContextProcessor;
+import io.dscope.camel.mcp.service.McpEventStreamRegistry;
+import io.dscope.camel.mcp.service.McpJsonCodec;
 import io.dscope.camel.mcp.service.McpUiSessionRegistry;
+import io.dscope.camel.mcp.service.McpWebSocketNotifier;
 
 /**
  * Simplifies bootstrapping a Camel {@link Main} instance with the default MCP processors.
  */
 public abstract class McpComponentApplicationSupport {
 
-    private final McpMethodCatalog methodCatalog = new McpMethodCatalog();
+    private final McpMethodCatalog methodCatalog = McpMethodCatalog.shared();
+    private final McpResourceCatalog resourceCatalog = McpResourceCatalog.shared();
+    private final McpOutputSchemaChecker outputSchemaChecker = new McpOutputSchemaChecker(methodCatalog);
     private final McpRequestSizeGuardProcessor requestSizeGuard = new McpRequestSizeGuardProcessor();
     private final McpHttpValidatorProcessor httpValidator = new McpHttpValidatorProcessor();
-    private final McpRateLimitProcessor rateLimit = new McpRateLimitProcessor();
+    private final McpRateLimitProcessor rateLimit = new McpRateLimitProcessor(methodCatalog);
+    private final McpConcurrencyLimitProcessor concurrencyLimit = new McpConcurrencyLimitProcessor();
     private final McpJsonRpcEnvelopeProcessor jsonRpcEnvelope = new McpJsonRpcEnvelopeProcessor();
     private final McpInitializeProcessor initialize = new McpInitializeProcessor();
     private final McpPingProcessor ping = new McpPingProcessor();
@@ -41,11 +54,12 @@ public abstract class McpComponentApplicationSupport {
     private final McpNotificationProcessor notification = new McpNotificationProcessor();
     private final McpNotificationAckProcessor notificationAck = new McpNotificationAckProcessor();
     private final McpToolsListProcessor toolsList = new McpToolsListProcessor(methodCatalog);
-    private final McpResourcesListProcessor resourcesList = new McpResourcesListProcessor();
-    private final McpResourcesReadProcessor resourcesRead = new McpResourcesReadProcessor();
+    private final McpResourcesListProcessor resourcesList = new McpResourcesListProcessor(resourceCatalog);
+    private final McpResourcesReadProcessor resourcesRead = new McpResourcesReadProcessor(resourceCatalog);
     private final McpErrorProcessor error = new McpErrorProcessor();
-    private final McpStreamProcessor stream = new McpStreamProcessor();
-    private final McpHealthStatusProcessor healthStatus = new McpHealthStatusProcessor(rateLimit);
+    private final McpEventStreamRegistry eventStreams = new McpEventStreamRegistry();
+    private final McpStreamProcessor stream = new McpStreamProcessor(eventStreams);
+    private final McpHealthStatusProcessor healthStatus = new McpHealthStatusProcessor(rateLimit, concurrencyLimit);
     
     // MCP Apps Bridge processors
     private final McpUiSessionRegistry uiSessionRegistry = new McpUiSessionRegistry();
@@ -54,6 +68,7 @@ public abstract class McpComponentApplicationSupport {
     private final McpUiUpdateModelContextProcessor uiUpdateModelContext = new McpUiUpdateModelContextProcessor(uiSessionRegistry);
     private final McpUiToolsCallProcessor uiToolsCall = new McpUiToolsCallProcessor(uiSessionRegistry);
     private final McpUiToolsCallPostProcessor uiToolsCallPost = new McpUiToolsCallPostProcessor(uiSessionRegistry);
+    private final McpMethodRouter methodRouter = new McpMethodRouter(methodCatalog, uiSessionRegistry);
 
     public final void run(String[] args) throws Exception {
         Main main = createMain();
@@ -81,25 +96,55 @@ public abstract class McpComponentApplicationSupport {
         return methodCatalog;
     }
 
+    protected McpResourceCatalog getResourceCatalog() {
+        return resourceCatalog;
+    }
+
+    protected McpOutputSchemaChecker getOutputSchemaChecker() {
+        return outputSchemaChecker;
+    }
+
     protected McpRateLimitProcessor getRateLimitProcessor() {
         return rateLimit;
     }
 
+    protected McpConcurrencyLimitProcessor getConcurrencyLimitProcessor() {
+        return concurrencyLimit;
+    }
+
     protected McpStreamProcessor getStreamProcessor() {
         return stream;
     }
 
+    protected McpEventStreamRegistry getEventStreams() {
+        return eventStreams;
+    }
+
+    /**
+     * Router bound as {@code mcpMethodRouter}; subclasses can register the {@code tools/call} handler
+     * and custom methods on it from {@link #bindAdditionalBeans(Main)}.
+     */
+    protected McpMethodRouter getMethodRouter() {
+        return methodRouter;
+    }
+
     protected McpUiSessionRegistry getUiSessionRegistry() {
         return uiSessionRegistry;
     }
 
     private void bindDefaultBeans(Main main) {
+        main.bind(McpJsonCodec.REGISTRY_NAME, McpJsonCodec.getDefault());
+        main.bind(McpMethodCatalog.REGISTRY_NAME, methodCatalog);
+        main.bind(McpResourceCatalog.REGISTRY_NAME, resourceCatalog);
         main.bind("mcpRequestSizeGuard", requestSizeGuard);
         if (includeHttpValidator()) {
             main.bind("mcpHttpValidator", httpValidator);
         }
         main.bind("mcpRateLimit", rateLimit);
+        main.bind(McpConcurrencyLimitProcessor.REGISTRY_NAME, concurrencyLimit);
+        jsonRpcEnvelope.setMethodRouter(methodRouter);
         main.bind("mcpJsonRpcEnvelope", jsonRpcEnvelope);
+        main.bind(McpMethodRouter.REGISTRY_NAME, methodRouter);
         main.bind("mcpInitialize", initialize);
         main.bind("mcpPing", ping);
         main.bind("mcpNotificationsInitialized", notificationsInitialized);
@@ -109,6 +154,7 @@ public abstract class McpComponentApplicationSupport {
         main.bind("mcpResourcesList", resourcesList);
         main.bind("mcpResourcesRead", resourcesRead);
         main.bind("mcpError", error);
+        main.bind(McpEventStreamRegistry.REGISTRY_NAME, eventStreams);
         main.bind("mcpStream", stream);
         main.bind("mcpHealthStatus", healthStatus);
         
@@ -119,6 +165,52 @@ public abstract class McpComponentApplicationSupport {
         main.bind("mcpUiUpdateModelContext", uiUpdateModelContext);
         main.bind("mcpUiToolsCall", uiToolsCall);
         main.bind("mcpUiToolsCallPost", uiToolsCallPost);
+
+        if (outputSchemaChecker.isEnabled()) {
+            main.bind(McpOutputSchemaChecker.REGISTRY_NAME, outputSchemaChecker);
+        }
+        if (Boolean.getBoolean("mcp.catalog.watch")) {
+            bindCatalogWatcher(main);
+        }
+    }
+
+    /**
+     * Watches the file, directory and glob locations of the catalogs and notifies connected clients when
+     * they change: SSE streams, and the clients of the WebSocket endpoint named by
+     * {@code mcp.catalog.watchWebSocket} (e.g. {@code undertow:ws://0.0.0.0:8090/mcp}) once the context
+     * has started.
+     */
+    private void bindCatalogWatcher(Main main) {
+        McpCatalogWatcher watcher = new McpCatalogWatcher(eventStreams);
+        if (methodCatalog.getSources().hasFileLocations()) {
+            watcher.watch(methodCatalog);
+        }
+        if (resourceCatalog.getSources().hasFileLocations()) {
+            watcher.watch(resourceCatalog);
+        }
+        String webSocketEndpoint = System.getProperty("mcp.catalog.watchWebSocket");
+        if (webSocketEndpoint != null && !webSocketEndpoint.isBlank()) {
+            main.addMainListener(new MainListenerSupport() {
+                private McpWebSocketNotifier notifier;
+
+                @Override
+                public void afterStart(BaseMainSupport started) {
+                    notifier = new McpWebSocketNotifier(uiSessionRegistry, started.getCamelContext(), webSocketEndpoint.trim());
+                    notifier.start();
+                    watcher.setWebSocketNotifier(notifier);
+                }
+
+                @Override
+                public void beforeStop(BaseMainSupport stopping) {
+                    watcher.setWebSocketNotifier(null);
+                    if (notifier != null) {
+                        notifier.stop();
+                    }
+                }
+            });
+        }
+        watcher.start();
+        main.bind("mcpCatalogWatcher", watcher);
     }
 
     private void configureRoutes(Main main) {
@@ -34,6 +34,63 @@ public class McpConfiguration {
     @UriParam(label = "consumer", defaultValue = "POST",
             description = "HTTP methods allowed by the consumer endpoint.")
     private String httpMethodRestrict = "POST";
+
+    @UriParam(defaultValue = "false",
+            description = "Use HTTP/2: the consumer accepts h2 (TLS) and cleartext h2c upgrades, and the producer "
+                    + "multiplexes remote http(s) calls over one HTTP/2 connection.")
+    private boolean http2 = false;
+
+    @UriParam(label = "consumer", defaultValue = "4",
+            description = "Maximum number of JSON-RPC batch entries dispatched concurrently by the consumer.")
+    private int batchParallelism = 4;
+
+    @UriParam(label = "consumer", defaultValue = "100",
+            description = "Maximum number of entries accepted in a single JSON-RPC batch request.")
+    private int maxBatchSize = 100;
+
+    @UriParam(label = "consumer", defaultValue = "worker", enums = "worker,virtual",
+            description = "How the consumer runs the MCP pipeline: on Undertow worker threads (worker) "
+                    + "or on one virtual thread per request (virtual).")
+    private String executionMode = "worker";
+
+    @UriParam(label = "consumer", defaultValue = "1000",
+            description = "With executionMode=virtual, the maximum number of requests processed concurrently; "
+                    + "further requests wait on their virtual thread.")
+    private int maxConcurrentRequests = 1000;
+
+    @UriParam(label = "consumer", defaultValue = "true",
+            description = "Compress HTTP responses with gzip or deflate when the client's Accept-Encoding allows it.")
+    private boolean compression = true;
+
+    @UriParam(label = "consumer", defaultValue = "1024",
+            description = "Minimum response size in bytes before compression is applied.")
+    private int compressionThreshold = 1024;
+
+    @UriParam(label = "consumer", defaultValue = "tools/list,tools/call,resources/list,resources/read",
+            description = "Comma-separated JSON-RPC methods whose responses may be compressed.")
+    private String compressibleMethods = "tools/list,tools/call,resources/list,resources/read";
+
+    @UriParam(label = "consumer", defaultValue = "32",
+            description = "Number of precompressed tools/list, resources/list and resources/read payloads kept "
+                    + "for reuse; 0 disables the cache.")
+    private int compressionCacheSize = 32;
+
+    @UriParam(label = "consumer", defaultValue = "false",
+            description = "Replay the stored response when a session retries a request with the same JSON-RPC id "
+                    + "instead of executing it again.")
+    private boolean replayCache;
+
+    @UriParam(label = "consumer", defaultValue = "tools/call",
+            description = "Comma-separated JSON-RPC methods whose responses are kept for replay.")
+    private String replayMethods = "tools/call";
+
+    @UriParam(label = "consumer", defaultValue = "10000",
+            description = "Maximum number of responses kept for replay; the oldest is evicted first.")
+    private int replayCacheSize = 10000;
+
+    @UriParam(label = "consumer", defaultValue = "300000",
+            description = "How long, in milliseconds, a completed response is replayed to retries.")
+    private long replayCacheTtl = 300000;
     
     public String getUri() { return uri; }
     public void setUri(String uri) { this.uri = uri; }
@@ -47,4 +104,31 @@ public class McpConfiguration {
     public void setAllowedOrigins(String allowedOrigins) { this.allowedOrigins = allowedOrigins; }
     public String getHttpMethodRestrict() { return httpMethodRestrict; }
     public void setHttpMethodRestrict(String httpMethodRestrict) { this.httpMethodRestrict = httpMethodRestrict; }
+    public boolean isHttp2() { return http2; }
+    public void setHttp2(boolean http2) { this.http2 = http2; }
+    public int getBatchParallelism() { return batchParallelism; }
+    public void setBatchParallelism(int batchParallelism) { this.batchParallelism = Math.max(1, batchParallelism); }
+    public int getMaxBatchSize() { return maxBatchSize; }
+    public void setMaxBatchSize(int maxBatchSize) { this.maxBatchSize = Math.max(1, maxBatchSize); }
+    public String getExecutionMode() { return executionMode; }
+    public void setExecutionMode(String executionMode) { this.executionMode = executionMode; }
+    public boolean isVirtualExecution() { return "virtual".equalsIgnoreCase(executionMode); }
+    public int getMaxConcurrentRequests() { return maxConcurrentRequests; }
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) { this.maxConcurrentRequests = Math.max(1, maxConcurrentRequests); }
+    public boolean isCompression() { return compression; }
+    public void setCompression(boolean compression) { this.compression = compression; }
+    public int getCompressionThreshold() { return compressionThreshold; }
+    public void setCompressionThreshold(int compressionThreshold) { this.compressionThreshold = Math.max(0, compressionThreshold); }
+    public String getCompressibleMethods() { return compressibleMethods; }
+    public void setCompressibleMethods(String compressibleMethods) { this.compressibleMethods = compressibleMethods; }
+    public int getCompressionCacheSize() { return compressionCacheSize; }
+    public void setCompressionCacheSize(int compressionCacheSize) { this.compressionCacheSize = Math.max(0, compressionCacheSize); }
+    public boolean isReplayCache() { return replayCache; }
+    public void setReplayCache(boolean replayCache) { this.replayCache = replayCache; }
+    public String getReplayMethods() { return replayMethods; }
+    public void setReplayMethods(String replayMethods) { this.replayMethods = replayMethods; }
+    public int getReplayCacheSize() { return replayCacheSize; }
+    public void setReplayCacheSize(int replayCacheSize) { this.replayCacheSize = Math.max(1, replayCacheSize); }
+    public long getReplayCacheTtl() { return replayCacheTtl; }
+    public void setReplayCacheTtl(long replayCacheTtl) { this.replayCacheTtl = Math.max(1L, replayCacheTtl); }
 }
@@ -1,40 +1,91 @@
 package io.dscope.camel.mcp;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.CamelContext;
 import org.apache.camel.Processor;
 import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.component.undertow.UndertowComponent;
 import org.apache.camel.component.undertow.UndertowConsumer;
 import org.apache.camel.component.undertow.UndertowEndpoint;
+import org.apache.camel.component.undertow.UndertowHostOptions;
+import org.apache.camel.support.AsyncProcessorSupport;
 import org.apache.camel.support.DefaultConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
+import io.dscope.camel.mcp.processor.McpConcurrencyLimitProcessor;
 import io.dscope.camel.mcp.processor.McpJsonRpcEnvelopeProcessor;
+import io.dscope.camel.mcp.processor.McpMethodRouter;
 import io.dscope.camel.mcp.processor.McpRequestSizeGuardProcessor;
 import io.dscope.camel.mcp.processor.McpRateLimitProcessor;
 import io.dscope.camel.mcp.processor.McpHttpValidatorProcessor;
+import io.dscope.camel.mcp.processor.McpStreamProcessor;
+import io.dscope.camel.mcp.service.McpEventStreamRegistry;
+import io.dscope.camel.mcp.service.McpJsonCodec;
+import io.dscope.camel.mcp.service.McpRateLimitStore;
 
 /**
  * Camel consumer-side implementation for MCP server calls.
  * <p>
  * It creates an Undertow HTTP/WebSocket listener, applies MCP pre-processing
- * (size guard, HTTP validation, rate limiting, JSON-RPC envelope parsing),
+ * (size guard, HTTP validation, JSON-RPC envelope parsing, rate limiting),
  * delegates to the route processor, and normalizes JSON responses.
+ * JSON-RPC batches are split and their entries dispatched concurrently on a
+ * bounded executor; the responses are returned as one array in request order.
+ * HTTP {@code GET} requests (when allowed by {@code httpMethodRestrict}) pass the size guard, header
+ * validation and rate limiter, then open the Server-Sent Events stream of a session issued on
+ * {@code initialize}, fed from the context's {@link McpEventStreamRegistry}. Streams are held on a
+ * capped pool of virtual threads (see {@link McpEventStreamDispatcher}), not on Undertow workers.
+ * With {@code executionMode=virtual} every HTTP request runs on its own virtual thread behind a
+ * concurrency cap (see {@link McpVirtualThreadDispatcher}).
+ * With {@code http2=true} the listener also speaks HTTP/2 (h2 and cleartext h2c).
+ * Large HTTP responses are compressed when the client accepts gzip or deflate (see {@link McpResponseCompressor}).
+ * With {@code replayCache=true}, retried requests are answered from the first execution (see {@link McpReplayCache}).
  */
 public class McpConsumer extends DefaultConsumer {
     private static final Logger LOG = LoggerFactory.getLogger(McpConsumer.class);
     private static final int JSON_RPC_INVALID_REQUEST = -32600;
     private static final int JSON_RPC_INTERNAL_ERROR = -32603;
+    private static final String HTTP2_UNDERTOW_COMPONENT = "mcp-undertow-h2";
+    private static final String RATE_LIMIT_STORE_REGISTRY_NAME = "mcpRateLimitStore";
+    private static final String WEBSOCKET_CONNECTION_KEY = "websocket.connectionKey";
+    private static final List<String> REPLAYED_HEADERS = List.of(Exchange.HTTP_RESPONSE_CODE, "Content-Type",
+            "MCP-Protocol-Version");
     
     private final McpEndpoint endpoint;
     private final McpRequestSizeGuardProcessor requestSizeGuard;
     private final McpRateLimitProcessor rateLimit;
     private final McpJsonRpcEnvelopeProcessor jsonRpcEnvelope;
     private final McpHttpValidatorProcessor httpValidator;
-    private final ObjectMapper objectMapper;
+    private final ObjectWriter jsonWriter;
+    private final boolean websocket;
+    private final McpResponseCompressor compressor;
+    private final McpReplayCache replayCache;
+    private McpConcurrencyLimitProcessor concurrencyLimit;
+    private McpStreamProcessor streamProcessor;
     private UndertowConsumer undertowConsumer;
+    private McpVirtualThreadDispatcher virtualThreadDispatcher;
+    private String virtualThreadDispatcherName;
+    private String remoteAddressHandlerName;
+    private McpEventStreamDispatcher eventStreamDispatcher;
+    private String eventStreamDispatcherName;
+    private McpEventStreamRegistry eventStreams;
+    private ExecutorService batchExecutor;
     
     public McpConsumer(McpEndpoint endpoint, Processor processor) {
         super(endpoint, processor);
@@ -42,8 +93,18 @@ public class McpConsumer extends DefaultConsumer {
         this.requestSizeGuard = new McpRequestSizeGuardProcessor();
         this.rateLimit = new McpRateLimitProcessor();
         this.jsonRpcEnvelope = new McpJsonRpcEnvelopeProcessor();
+        this.jsonRpcEnvelope.setBatchEnabled(true);
         this.httpValidator = new McpHttpValidatorProcessor();
-        this.objectMapper = new ObjectMapper();
+        this.jsonWriter = McpJsonCodec.lookupOrDefault(endpoint.getCamelContext()).writer();
+        McpConfiguration config = endpoint.getConfiguration();
+        this.websocket = config.isWebsocket();
+        this.compressor = config.isCompression() && !websocket
+                ? new McpResponseCompressor(config.getCompressionThreshold(), config.getCompressibleMethods(),
+                        config.getCompressionCacheSize())
+                : null;
+        this.replayCache = config.isReplayCache()
+                ? new McpReplayCache(config.getReplayCacheSize(), config.getReplayCacheTtl(), config.getReplayMethods())
+                : null;
     }
     
     @Override
@@ -53,115 +114,562 @@ public class McpConsumer extends DefaultConsumer {
         
         McpConfiguration config = endpoint.getConfiguration();
         LOG.info("Configuration URI before processing: {}", config.getUri());
-        
+
+        if (config.isVirtualExecution() && !config.isWebsocket()) {
+            // Registered as an Undertow handler so requests leave the IO thread on a virtual thread.
+            virtualThreadDispatcherName = "mcpVirtualThreadDispatcher-" + Integer.toHexString(System.identityHashCode(this));
+            virtualThreadDispatcher = new McpVirtualThreadDispatcher(virtualThreadDispatcherName, config.getMaxConcurrentRequests());
+            endpoint.getCamelContext().getRegistry().bind(virtualThreadDispatcherName, virtualThreadDispatcher);
+            LOG.info("MCP consumer executionMode=virtual maxConcurrentRequests={}", config.getMaxConcurrentRequests());
+        }
+
+        if (rateLimit.isEnabled() && "remoteAddress".equals(rateLimit.getKey()) && !config.isWebsocket()) {
+            // Exposes the peer address to the rate limiter; Undertow does not put it on the exchange.
+            remoteAddressHandlerName = "mcpRemoteAddressHandler-" + Integer.toHexString(System.identityHashCode(this));
+            endpoint.getCamelContext().getRegistry().bind(remoteAddressHandlerName, new McpRemoteAddressHandler());
+        }
+
+        if (!config.isWebsocket()) {
+            // Outermost handler, so SSE streams never occupy an XNIO worker while they wait for events.
+            eventStreamDispatcherName = "mcpEventStreamDispatcher-" + Integer.toHexString(System.identityHashCode(this));
+            eventStreamDispatcher = new McpEventStreamDispatcher(eventStreamDispatcherName,
+                    Integer.getInteger("mcp.sse.maxOpenStreams", 256));
+            endpoint.getCamelContext().getRegistry().bind(eventStreamDispatcherName, eventStreamDispatcher);
+        }
+
         String undertowUri = buildUndertowUri(config);
         
         LOG.info("Creating MCP server with Undertow URI: {}", undertowUri);
         
         // Create an Undertow endpoint from the normalized URI.
-        String fullUndertowUri = "undertow:" + undertowUri;
+        String fullUndertowUri = resolveUndertowScheme(config) + ":" + undertowUri;
         LOG.info("Full Undertow URI with component prefix: {}", fullUndertowUri);
         
         UndertowEndpoint undertowEndpoint = (UndertowEndpoint) endpoint.getCamelContext().getEndpoint(fullUndertowUri);
         
         // Build processor chain: MCP guards/parsing -> user processor -> response normalization.
-        Processor mcpProcessor = exchange -> {
-            long startedAtNanos = System.nanoTime();
+        Processor mcpProcessor = new AsyncProcessorSupport() {
+            @Override
+            public boolean process(Exchange exchange, AsyncCallback callback) {
+                return processRequest(exchange, config, callback);
+            }
+        };
+
+        // Custom methods registered on the context's method router pass envelope validation too.
+        McpMethodRouter methodRouter = endpoint.getCamelContext().getRegistry()
+                .lookupByNameAndType(McpMethodRouter.REGISTRY_NAME, McpMethodRouter.class);
+        if (methodRouter != null) {
+            jsonRpcEnvelope.setMethodRouter(methodRouter);
+        }
+
+        // A store bound in the registry (e.g. one shared between replicas) replaces the in-memory buckets.
+        McpRateLimitStore rateLimitStore = endpoint.getCamelContext().getRegistry()
+                .lookupByNameAndType(RATE_LIMIT_STORE_REGISTRY_NAME, McpRateLimitStore.class);
+        if (rateLimitStore != null) {
+            rateLimit.setRateLimitStore(rateLimitStore);
+        }
+
+        // One adaptive limit per context, shared by its consumers and reported by the health endpoint.
+        McpConcurrencyLimitProcessor limiter = McpConcurrencyLimitProcessor.lookupOrCreate(endpoint.getCamelContext());
+        concurrencyLimit = limiter.isEnabled() ? limiter : null;
+
+        eventStreams = McpEventStreamRegistry.lookupOrCreate(endpoint.getCamelContext());
+        streamProcessor = new McpStreamProcessor(eventStreams);
+        batchExecutor = endpoint.getCamelContext().getExecutorServiceManager()
+                .newFixedThreadPool(this, "McpBatchDispatcher", config.getBatchParallelism());
+
+        // Start Undertow consumer with the composed MCP processing pipeline.
+        undertowConsumer = (UndertowConsumer) undertowEndpoint.createConsumer(mcpProcessor);
+        undertowConsumer.start();
+        
+        LOG.info("MCP consumer started successfully on {}", undertowUri);
+    }
+    
+    /**
+     * Runs the transport guards once per HTTP/WebSocket message, then dispatches either a single
+     * JSON-RPC message or every entry of a JSON-RPC batch. The route is invoked through its
+     * {@link AsyncProcessor}, so asynchronous route steps complete the exchange without a parked thread.
+     */
+    private boolean processRequest(Exchange exchange, McpConfiguration config, AsyncCallback callback) {
+        long startedAtNanos = System.nanoTime();
+        boolean eventStream = !config.isWebsocket()
+                && "GET".equalsIgnoreCase(exchange.getIn().getHeader(Exchange.HTTP_METHOD, String.class));
+        String encoding = compressor == null || eventStream
+                ? null : McpResponseCompressor.negotiate(exchange.getIn().getHeader("Accept-Encoding", String.class));
+        if (encoding != null) {
+            AsyncCallback delegate = callback;
+            callback = doneSync -> {
+                compressResponse(exchange, encoding);
+                delegate.done(doneSync);
+            };
+        }
+        try {
+            // 1) Validate request size first to protect resources.
+            requestSizeGuard.process(exchange);
+
+            // 2) Validate HTTP headers for HTTP transport only.
+            if (!config.isWebsocket()) {
+                httpValidator.process(exchange);
+            }
+
+            if (eventStream) {
+                // Server push channel: charged to the caller's bucket, then the response stays open and
+                // carries the session's SSE events.
+                rateLimit.process(exchange);
+                streamProcessor.process(exchange);
+                callback.done(true);
+                return true;
+            }
+
+            // 3) Parse JSON-RPC envelope metadata (or split a batch).
+            jsonRpcEnvelope.process(exchange);
+        } catch (Exception e) {
+            handleFailure(exchange, e, startedAtNanos);
+            callback.done(true);
+            return true;
+        }
+
+        if (exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_BATCH) != null) {
+            return dispatchBatch(exchange, config, startedAtNanos, callback);
+        }
+        return processMessage(exchange, startedAtNanos, callback);
+    }
+
+    /**
+     * Handles one already-parsed JSON-RPC message: a retry of a replayable request is answered from
+     * the replay cache, anything else is executed.
+     */
+    private boolean processMessage(Exchange exchange, long startedAtNanos, AsyncCallback callback) {
+        McpReplayCache.Claim claim = claimReplay(exchange);
+        if (claim != null) {
+            if (!claim.owner()) {
+                return replay(exchange, claim.entry(), startedAtNanos, callback);
+            }
+            return executeMessage(exchange, startedAtNanos, doneSync -> {
+                storeReplay(exchange, claim);
+                callback.done(doneSync);
+            });
+        }
+        return executeMessage(exchange, startedAtNanos, callback);
+    }
+
+    /**
+     * Applies rate and concurrency limiting, delegates to the route processor and normalizes the response
+     * of one JSON-RPC message. Failures are written as JSON-RPC errors on the exchange;
+     * exceptions raised by the route itself stay on the exchange for the transport to report.
+     */
+    private boolean executeMessage(Exchange exchange, long startedAtNanos, AsyncCallback callback) {
+        try {
+            rateLimit.process(exchange);
+        } catch (Exception e) {
+            handleFailure(exchange, e, startedAtNanos);
+            callback.done(true);
+            return true;
+        }
+
+        McpConcurrencyLimitProcessor limiter = concurrencyLimit;
+        if (limiter != null && "REQUEST".equals(exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TYPE))) {
+            // Notifications and client responses are cheap and never shed; requests hold a slot in their
+            // method's lane until done, control-plane methods in a reserved pool.
+            String method = exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD, String.class);
+            long admittedAtNanos = limiter.tryAcquire(method);
+            if (admittedAtNanos < 0) {
+                limiter.shed(exchange, websocket);
+                callback.done(true);
+                return true;
+            }
+            return route(exchange, startedAtNanos, doneSync -> {
+                limiter.release(method, admittedAtNanos);
+                callback.done(doneSync);
+            });
+        }
+        return route(exchange, startedAtNanos, callback);
+    }
+
+    /**
+     * Delegates an admitted message to the route processor and normalizes its response.
+     */
+    private boolean route(Exchange exchange, long startedAtNanos, AsyncCallback callback) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Incoming MCP {} method={} id={}",
+                    exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TYPE),
+                    exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD),
+                    exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID));
+        }
+
+        // 4) Delegate business handling to the route processor.
+        return getAsyncProcessor().process(exchange, doneSync -> {
             try {
-                // 1) Validate request size first to protect resources.
-                requestSizeGuard.process(exchange);
-                
-                // 2) Validate HTTP headers for HTTP transport only.
-                if (!config.isWebsocket()) {
-                    httpValidator.process(exchange);
+                if (exchange.getException() == null) {
+                    normalizeResponse(exchange, startedAtNanos);
                 }
-                
-                // 3) Apply rate limiting and parse JSON-RPC envelope metadata.
-                rateLimit.process(exchange);
-                jsonRpcEnvelope.process(exchange);
+            } catch (Exception e) {
+                handleFailure(exchange, e, startedAtNanos);
+            } finally {
+                callback.done(doneSync);
+            }
+        });
+    }
+
+    /**
+     * Claims the replay cache entry of a replayable request, or returns {@code null} when the request
+     * is not cached: replay disabled, not a request, method not listed, or no session to scope the id by.
+     * Over HTTP only sessions issued by this server count, so a client cannot read another's cached
+     * response by sending its id under a made-up session; WebSocket messages are scoped by their connection.
+     */
+    private McpReplayCache.Claim claimReplay(Exchange exchange) {
+        if (replayCache == null
+                || !"REQUEST".equals(exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TYPE))) {
+            return null;
+        }
+        String scope;
+        if (websocket) {
+            scope = exchange.getIn().getHeader(WEBSOCKET_CONNECTION_KEY, String.class);
+        } else {
+            scope = exchange.getIn().getHeader(McpStreamProcessor.HEADER_SESSION_ID, String.class);
+            if (!eventStreams.isSession(scope)) {
+                return null;
+            }
+        }
+        Map<?, ?> raw = exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_RAW_MESSAGE, Map.class);
+        String key = replayCache.key(scope,
+                exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD, String.class),
+                exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID));
+        return key == null ? null : replayCache.claim(key, raw == null ? null : raw.get("params"));
+    }
 
+    /**
+     * Answers a retried request from the first execution: immediately when it has completed, otherwise
+     * once it does. If the first execution failed, the retry is executed on its own.
+     */
+    private boolean replay(Exchange exchange, McpReplayCache.Entry entry, long startedAtNanos, AsyncCallback callback) {
+        McpReplayCache.Response stored = entry.getNow();
+        if (stored != null) {
+            applyReplay(exchange, stored);
+            callback.done(true);
+            return true;
+        }
+        entry.onComplete(response -> {
+            if (response == null) {
+                processMessage(exchange, startedAtNanos, doneSync -> callback.done(false));
+            } else {
+                applyReplay(exchange, response);
+                callback.done(false);
+            }
+        });
+        return false;
+    }
+
+    private void applyReplay(Exchange exchange, McpReplayCache.Response response) {
+        Message message = exchange.getMessage();
+        message.setBody(response.body());
+        message.getHeaders().putAll(response.headers());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Replayed MCP response method={} id={}",
+                    exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD),
+                    exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID));
+        }
+    }
+
+    /**
+     * Keeps the (uncompressed) response of a successful first execution for replay; anything else
+     * releases the entry so retries execute again.
+     */
+    private void storeReplay(Exchange exchange, McpReplayCache.Claim claim) {
+        Message message = exchange.getMessage();
+        Object body = message.getBody();
+        Integer status = message.getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+        if (exchange.getException() != null || !(body instanceof byte[] || body instanceof String)
+                || (status != null && (status < 200 || status >= 300))) {
+            replayCache.abandon(claim);
+            return;
+        }
+        Map<String, Object> headers = new LinkedHashMap<>();
+        for (String name : REPLAYED_HEADERS) {
+            Object value = message.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        replayCache.complete(claim, new McpReplayCache.Response(body, Map.copyOf(headers)));
+    }
+
+    /**
+     * Returns the shared adaptive concurrency limiter when {@code mcp.concurrency.enabled=true},
+     * otherwise {@code null}.
+     */
+    public McpConcurrencyLimitProcessor getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public McpReplayCache getReplayCache() {
+        return replayCache;
+    }
+
+    private void normalizeResponse(Exchange exchange, long startedAtNanos) {
+        // 5) Serialize non-string response payloads straight to UTF-8 JSON bytes (text for WebSocket frames).
+        Object body = exchange.getMessage().getBody();
+        if (websocket && body instanceof byte[] bytes) {
+            // Processors write UTF-8 JSON bytes; Undertow would send those as a binary frame.
+            exchange.getMessage().setBody(new String(bytes, StandardCharsets.UTF_8));
+            body = exchange.getMessage().getBody();
+        }
+        if (body != null && !(body instanceof String) && !(body instanceof byte[])) {
+            try {
+                Object json = encode(body);
+                exchange.getMessage().setBody(json);
                 if (LOG.isDebugEnabled()) {
-                    LOG.debug("Incoming MCP {} method={} id={}",
-                            exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TYPE),
-                            exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD),
-                            exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID));
+                    LOG.debug("Serialized MCP response body type={} size={}B", body.getClass().getName(),
+                            json instanceof byte[] bytes ? bytes.length : ((String) json).length());
                 }
-                
-                // 4) Delegate business handling to the route processor.
-                getProcessor().process(exchange);
-                
-                // 5) Serialize non-string response payloads to JSON.
-                Object body = exchange.getMessage().getBody();
-                if (body != null && !(body instanceof String) && !(body instanceof byte[])) {
-                    try {
-                        String json = objectMapper.writeValueAsString(body);
-                        exchange.getMessage().setBody(json);
-                        if (LOG.isDebugEnabled()) {
-                            LOG.debug("Serialized MCP response body type={} size={}B",
-                                    body.getClass().getName(), json.length());
-                        }
-                    } catch (JsonProcessingException e) {
-                        String bodyType = body.getClass().getName();
-                        String bodyPreview = body.toString();
-                        if (bodyPreview.length() > 100) {
-                            bodyPreview = bodyPreview.substring(0, 100) + "...";
-                        }
-                        throw new IllegalStateException(
-                            String.format("Failed to serialize response body to JSON. Type: %s, Preview: %s", 
-                                bodyType, bodyPreview), e);
-                    }
-                }
-                
-                // 6) Ensure JSON content type is present when not explicitly set.
-                if (exchange.getMessage().getHeader("Content-Type") == null) {
-                    exchange.getMessage().setHeader("Content-Type", "application/json");
+            } catch (JsonProcessingException e) {
+                String bodyType = body.getClass().getName();
+                String bodyPreview = body.toString();
+                if (bodyPreview.length() > 100) {
+                    bodyPreview = bodyPreview.substring(0, 100) + "...";
                 }
+                throw new IllegalStateException(
+                    String.format("Failed to serialize response body to JSON. Type: %s, Preview: %s", 
+                        bodyType, bodyPreview), e);
+            }
+        }
 
-                if (LOG.isDebugEnabled()) {
-                    long durationMs = (System.nanoTime() - startedAtNanos) / 1_000_000;
-                    LOG.debug("Completed MCP request method={} id={} durationMs={} outBodyType={}",
-                            exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD),
-                            exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID),
-                            durationMs,
-                            exchange.getMessage().getBody() != null
-                                    ? exchange.getMessage().getBody().getClass().getName()
-                                    : "<null>");
+        // 6) Ensure JSON content type is present when not explicitly set.
+        if (exchange.getMessage().getHeader("Content-Type") == null) {
+            exchange.getMessage().setHeader("Content-Type", "application/json");
+        }
+
+        if (!websocket && "initialize".equals(exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD))) {
+            issueSession(exchange.getMessage());
+        }
+
+        if (LOG.isDebugEnabled()) {
+            long durationMs = (System.nanoTime() - startedAtNanos) / 1_000_000;
+            LOG.debug("Completed MCP request method={} id={} durationMs={} outBodyType={}",
+                    exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD),
+                    exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID),
+                    durationMs,
+                    exchange.getMessage().getBody() != null
+                            ? exchange.getMessage().getBody().getClass().getName()
+                            : "<null>");
+        }
+    }
+
+    /**
+     * Gives a successful {@code initialize} answered by a custom route the session id that
+     * {@code McpInitializeProcessor} would have issued, so the client can open its event stream.
+     */
+    private void issueSession(Message message) {
+        Integer status = message.getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+        if ((status == null || (status >= 200 && status < 300))
+                && !eventStreams.isSession(message.getHeader(McpStreamProcessor.HEADER_SESSION_ID, String.class))) {
+            message.setHeader(McpStreamProcessor.HEADER_SESSION_ID, eventStreams.openSession());
+        }
+    }
+
+    /**
+     * 6) Compresses a large JSON response of an allow-listed method with the negotiated coding.
+     */
+    private void compressResponse(Exchange exchange, String encoding) {
+        Message message = exchange.getMessage();
+        if (exchange.getException() != null || message.getHeader("Content-Encoding") != null) {
+            return;
+        }
+        Object body = message.getBody();
+        byte[] bytes = body instanceof byte[] raw ? raw : body instanceof String text ? text.getBytes(StandardCharsets.UTF_8) : null;
+        String method = exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD, String.class);
+        if (bytes == null || !compressor.shouldCompress(method, bytes.length)) {
+            return;
+        }
+        try {
+            byte[] compressed = compressor.compress(bytes, encoding, method);
+            message.setBody(compressed);
+            message.setHeader("Content-Encoding", encoding);
+            message.setHeader("Vary", "Accept-Encoding");
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Compressed MCP response method={} encoding={} {}B -> {}B", method, encoding, bytes.length,
+                        compressed.length);
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to compress MCP response for method {}; sending it uncompressed", method, e);
+        }
+    }
+
+    public McpResponseCompressor getResponseCompressor() {
+        return compressor;
+    }
+
+    private void handleFailure(Exchange exchange, Exception failure, long startedAtNanos) {
+        long durationMs = (System.nanoTime() - startedAtNanos) / 1_000_000;
+        if (failure instanceof IllegalArgumentException) {
+            LOG.warn("Rejected MCP request type={} method={} id={} endpoint={} durationMs={} reason={}",
+                    exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TYPE),
+                    exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD),
+                    exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID),
+                    endpoint.getEndpointUri(),
+                    durationMs,
+                    failure.getMessage());
+            writeJsonRpcError(exchange, JSON_RPC_INVALID_REQUEST, failure.getMessage(), 400);
+        } else {
+            LOG.error("Error processing MCP request type={} method={} id={} endpoint={} durationMs={}",
+                    exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TYPE),
+                    exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD),
+                    exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID),
+                    endpoint.getEndpointUri(),
+                    durationMs,
+                    failure);
+            writeJsonRpcError(exchange, JSON_RPC_INTERNAL_ERROR, "An unexpected error occurred", 500);
+        }
+    }
+
+    /**
+     * Dispatches each batch entry on its own copy of the exchange through {@link #processMessage}
+     * using the bounded batch executor, then writes the responses as one JSON array in request order
+     * once the last entry has called back. Notifications produce no entry; if nothing is left the
+     * exchange is answered with 202 and no body.
+     */
+    private boolean dispatchBatch(Exchange exchange, McpConfiguration config, long startedAtNanos, AsyncCallback callback) {
+        List<?> entries = exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_BATCH, List.class);
+        if (entries.size() > config.getMaxBatchSize()) {
+            handleFailure(exchange, new IllegalArgumentException("JSON-RPC batch too large (" + entries.size()
+                    + " entries, max " + config.getMaxBatchSize() + ")"), startedAtNanos);
+            callback.done(true);
+            return true;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Dispatching MCP batch size={} parallelism={}", entries.size(), config.getBatchParallelism());
+        }
+
+        // The parsed entries replace the transport body; never copy a consumed stream into each entry.
+        exchange.getIn().setBody(null);
+        Object[] responses = new Object[entries.size()];
+        AtomicInteger pending = new AtomicInteger(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            int index = i;
+            Object entry = entries.get(i);
+            Exchange entryExchange = exchange.copy();
+            entryExchange.removeProperties("mcp.*");
+            // Conditional requests apply to the HTTP message; an entry must never become a bodiless 304.
+            entryExchange.getIn().removeHeader("If-None-Match");
+            entryExchange.getIn().setBody(entry);
+            Consumer<Object> onResponse = response -> {
+                responses[index] = response;
+                if (pending.decrementAndGet() == 0) {
+                    completeBatch(exchange, responses, startedAtNanos);
+                    callback.done(false);
                 }
-            } catch (IllegalArgumentException e) {
-                long durationMs = (System.nanoTime() - startedAtNanos) / 1_000_000;
-                LOG.warn("Rejected MCP request type={} method={} id={} endpoint={} durationMs={} reason={}",
-                        exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TYPE),
-                        exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD),
-                        exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID),
-                        endpoint.getEndpointUri(),
-                        durationMs,
-                        e.getMessage());
-                writeJsonRpcError(exchange, JSON_RPC_INVALID_REQUEST, e.getMessage(), 400);
-            } catch (Exception e) {
-                long durationMs = (System.nanoTime() - startedAtNanos) / 1_000_000;
-                LOG.error("Error processing MCP request type={} method={} id={} endpoint={} durationMs={}",
-                        exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TYPE),
-                        exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD),
-                        exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID),
-                        endpoint.getEndpointUri(),
-                        durationMs,
-                        e);
-                writeJsonRpcError(exchange, JSON_RPC_INTERNAL_ERROR, "An unexpected error occurred", 500);
+            };
+            try {
+                batchExecutor.execute(() -> processBatchEntry(entryExchange, entry, onResponse));
+            } catch (RejectedExecutionException e) {
+                rejectBatchEntry(entryExchange, entry, onResponse);
             }
-        };
-        
-        // Start Undertow consumer with the composed MCP processing pipeline.
-        undertowConsumer = (UndertowConsumer) undertowEndpoint.createConsumer(mcpProcessor);
-        undertowConsumer.start();
-        
-        LOG.info("MCP consumer started successfully on {}", undertowUri);
+        }
+        return false;
     }
-    
+
+    /**
+     * Completes an entry the batch executor refused (queue full or consumer stopping) with an error, so
+     * the rest of the batch is still answered; a rejected notification is simply dropped.
+     */
+    private void rejectBatchEntry(Exchange entryExchange, Object entry, Consumer<Object> onResponse) {
+        Map<?, ?> message = entry instanceof Map<?, ?> map ? map : Map.of();
+        if (message.containsKey("method") && !message.containsKey("id")) {
+            onResponse.accept(null);
+            return;
+        }
+        LOG.warn("MCP batch executor rejected entry method={} id={}", message.get("method"), message.get("id"));
+        entryExchange.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID, message.get("id"));
+        writeJsonRpcError(entryExchange, JSON_RPC_INTERNAL_ERROR, "Server busy: batch entry was not executed", 503);
+        onResponse.accept(entryExchange.getMessage().getBody());
+    }
+
+    private void completeBatch(Exchange exchange, Object[] responses, long startedAtNanos) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(64 * responses.length);
+        json.write('[');
+        int written = 0;
+        for (Object body : responses) {
+            byte[] bytes = body instanceof String text ? text.getBytes(StandardCharsets.UTF_8) : (byte[]) body;
+            if (bytes == null || bytes.length == 0) {
+                continue;
+            }
+            if (written++ > 0) {
+                json.write(',');
+            }
+            json.writeBytes(bytes);
+        }
+        json.write(']');
+
+        exchange.removeProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_BATCH);
+        Object protocolVersion = exchange.getProperty(McpHttpValidatorProcessor.EXCHANGE_PROTOCOL_VERSION);
+        exchange.getMessage().setHeader("MCP-Protocol-Version", protocolVersion != null
+                ? protocolVersion.toString() : McpHttpValidatorProcessor.DEFAULT_PROTOCOL_VERSION);
+        if (written == 0) {
+            exchange.getMessage().setBody(null);
+            exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, 202);
+        } else {
+            exchange.getMessage().setBody(websocket ? json.toString(StandardCharsets.UTF_8) : json.toByteArray());
+            exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+            exchange.getMessage().setHeader(Exchange.CONTENT_TYPE, "application/json");
+        }
+
+        if (LOG.isDebugEnabled()) {
+            long durationMs = (System.nanoTime() - startedAtNanos) / 1_000_000;
+            LOG.debug("Completed MCP batch size={} responses={} durationMs={}", responses.length, written, durationMs);
+        }
+    }
+
+    private void processBatchEntry(Exchange entryExchange, Object entry, Consumer<Object> onResponse) {
+        long startedAtNanos = System.nanoTime();
+        if (!(entry instanceof Map<?, ?>)) {
+            writeJsonRpcError(entryExchange, JSON_RPC_INVALID_REQUEST, "Batch entry must be a JSON-RPC object", 400);
+            onResponse.accept(entryExchange.getMessage().getBody());
+            return;
+        }
+        try {
+            jsonRpcEnvelope.process(entryExchange);
+        } catch (Exception e) {
+            Object id = ((Map<?, ?>) entry).get("id");
+            if (id != null && entryExchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID) == null) {
+                // keep the caller's id on the error so the entry can be correlated inside the batch
+                entryExchange.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID, id);
+            }
+            handleFailure(entryExchange, e, startedAtNanos);
+            onResponse.accept(entryExchange.getMessage().getBody());
+            return;
+        }
+        processMessage(entryExchange, startedAtNanos, doneSync -> {
+            if (!"REQUEST".equals(entryExchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TYPE))) {
+                // JSON-RPC: notifications and client responses never get a batch entry
+                onResponse.accept(null);
+                return;
+            }
+            Exception failure = entryExchange.getException();
+            if (failure != null) {
+                // there is no per-entry transport status, so route failures become an error entry
+                entryExchange.setException(null);
+                handleFailure(entryExchange, failure, startedAtNanos);
+            }
+            onResponse.accept(entryExchange.getMessage().getBody());
+        });
+    }
+
+    /**
+     * Returns the virtual thread dispatcher (and its metrics) when running with
+     * {@code executionMode=virtual}, otherwise {@code null}.
+     */
+    public McpVirtualThreadDispatcher getVirtualThreadDispatcher() {
+        return virtualThreadDispatcher;
+    }
+
     @Override
     protected void doStop() throws Exception {
         LOG.info("Stopping MCP consumer for endpoint: {}", endpoint.getEndpointUri());
         
-        // Stop transport listener first, then invoke parent lifecycle stop.
+        // Close the event streams so open SSE responses complete, then stop the transport listener.
+        if (eventStreams != null) {
+            eventStreams.stop();
+        }
         if (undertowConsumer != null) {
             try {
                 undertowConsumer.stop();
@@ -170,10 +678,53 @@ public class McpConsumer extends DefaultConsumer {
                 LOG.warn("Error stopping MCP Undertow consumer", e);
             }
         }
+        if (virtualThreadDispatcher != null) {
+            virtualThreadDispatcher.stop();
+            endpoint.getCamelContext().getRegistry().unbind(virtualThreadDispatcherName);
+            virtualThreadDispatcher = null;
+            virtualThreadDispatcherName = null;
+        }
+        if (remoteAddressHandlerName != null) {
+            endpoint.getCamelContext().getRegistry().unbind(remoteAddressHandlerName);
+            remoteAddressHandlerName = null;
+        }
+        if (eventStreamDispatcher != null) {
+            eventStreamDispatcher.stop();
+            endpoint.getCamelContext().getRegistry().unbind(eventStreamDispatcherName);
+            eventStreamDispatcher = null;
+            eventStreamDispatcherName = null;
+        }
+        if (batchExecutor != null) {
+            endpoint.getCamelContext().getExecutorServiceManager().shutdown(batchExecutor);
+            batchExecutor = null;
+        }
         
         super.doStop();
     }
     
+    /**
+     * With {@code http2=true} the listener is created by a dedicated Undertow component whose hosts
+     * enable HTTP/2 (h2 over TLS, h2c upgrade in cleartext); other endpoints keep the shared
+     * {@code undertow} component and its HTTP/1.1 hosts.
+     */
+    private String resolveUndertowScheme(McpConfiguration config) {
+        if (!config.isHttp2() || config.isWebsocket()) {
+            return "undertow";
+        }
+        CamelContext camelContext = endpoint.getCamelContext();
+        synchronized (McpConsumer.class) {
+            if (camelContext.hasComponent(HTTP2_UNDERTOW_COMPONENT) == null) {
+                UndertowHostOptions hostOptions = new UndertowHostOptions();
+                hostOptions.setHttp2Enabled(true);
+                UndertowComponent component = new UndertowComponent(camelContext);
+                component.setHostOptions(hostOptions);
+                camelContext.addComponent(HTTP2_UNDERTOW_COMPONENT, component);
+                LOG.info("Registered HTTP/2 enabled Undertow component '{}'", HTTP2_UNDERTOW_COMPONENT);
+            }
+        }
+        return HTTP2_UNDERTOW_COMPONENT;
+    }
+
     /**
      * Builds the Undertow component URI based on configuration.
      */
@@ -204,6 +755,18 @@ public class McpConsumer extends DefaultConsumer {
             // HTTP endpoint
             uri.append(baseUri);
             appendQueryParam(uri, "httpMethodRestrict", config.getHttpMethodRestrict());
+            // Hand the request channel to the size guard/envelope parser instead of pre-buffering it.
+            appendQueryParam(uri, "useStreaming", "true");
+            StringBuilder handlers = new StringBuilder();
+            for (String handler : new String[] {remoteAddressHandlerName, virtualThreadDispatcherName,
+                    eventStreamDispatcherName}) {
+                if (handler != null) {
+                    handlers.append(handlers.isEmpty() ? "#" : ",#").append(handler);
+                }
+            }
+            if (!handlers.isEmpty()) {
+                appendQueryParam(uri, "handlers", handlers.toString());
+            }
         }
         
         return uri.toString();
@@ -218,6 +781,14 @@ public class McpConsumer extends DefaultConsumer {
         uri.append(param).append("=").append(value);
     }
 
+    /**
+     * HTTP responses carry the UTF-8 bytes produced by Jackson so Undertow writes them without
+     * re-encoding; WebSocket responses stay strings so they are sent as text frames.
+     */
+    private Object encode(Object payload) throws JsonProcessingException {
+        return websocket ? jsonWriter.writeValueAsString(payload) : jsonWriter.writeValueAsBytes(payload);
+    }
+
     private void writeJsonRpcError(Exchange exchange, int code, String message, int statusCode) {
         try {
             Object id = exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID);
@@ -231,7 +802,7 @@ public class McpConsumer extends DefaultConsumer {
             envelope.put("id", id);
             envelope.put("error", error);
 
-            exchange.getMessage().setBody(objectMapper.writeValueAsString(envelope));
+            exchange.getMessage().setBody(encode(envelope));
             exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, statusCode);
             exchange.getMessage().setHeader(Exchange.CONTENT_TYPE, "application/json");
             exchange.getMessage().setHeader("Cache-Control", "no-store");
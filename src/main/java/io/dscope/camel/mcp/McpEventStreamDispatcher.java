@@ -0,0 +1,80 @@
+package io.dscope.camel.mcp;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import org.apache.camel.component.undertow.CamelUndertowHttpHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import io.undertow.util.Methods;
+
+/**
+ * Undertow handler that runs SSE {@code GET} requests on a dedicated pool of virtual threads instead of
+ * XNIO worker threads. An open event stream blocks its thread until the next event, so serving it on a
+ * worker would let a handful of idle subscribers starve JSON-RPC requests.
+ * <p>
+ * At most {@code maxStreams} streams are served at once; further {@code GET}s are refused with
+ * {@code 503} and {@code Retry-After} before they reach the MCP pipeline. Other methods pass through.
+ */
+final class McpEventStreamDispatcher implements CamelUndertowHttpHandler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(McpEventStreamDispatcher.class);
+
+    private final int maxStreams;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+    private HttpHandler next;
+
+    McpEventStreamDispatcher(String name, int maxStreams) {
+        this.maxStreams = Math.max(1, maxStreams);
+        this.permits = new Semaphore(this.maxStreams);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+    }
+
+    @Override
+    public void setNext(HttpHandler next) {
+        this.next = next;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        if (!Methods.GET.equals(exchange.getRequestMethod())) {
+            next.handleRequest(exchange);
+            return;
+        }
+        if (!permits.tryAcquire()) {
+            LOG.warn("MCP event stream limit {} reached, refusing stream from {}", maxStreams, exchange.getSourceAddress());
+            exchange.setStatusCode(503);
+            exchange.getResponseHeaders().put(Headers.RETRY_AFTER, "1");
+            exchange.endExchange();
+            return;
+        }
+        exchange.dispatch(executor, stream -> {
+            try {
+                next.handleRequest(stream);
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    int getMaxStreams() {
+        return maxStreams;
+    }
+
+    int getOpenStreams() {
+        return maxStreams - permits.availablePermits();
+    }
+
+    /**
+     * Stops accepting streams; open ones end when their event stream is closed.
+     */
+    void stop() {
+        executor.shutdown();
+    }
+}
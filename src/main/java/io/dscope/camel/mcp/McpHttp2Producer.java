@@ -0,0 +1,110 @@
+package io.dscope.camel.mcp;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.http.base.HttpOperationFailedException;
+import org.apache.camel.support.DefaultAsyncProducer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Remote transport used by {@link McpProducer} when {@code http2=true}.
+ * <p>
+ * Posts the JSON-RPC request with the JDK {@link HttpClient} pinned to HTTP/2: TLS targets negotiate
+ * {@code h2} through ALPN and cleartext targets upgrade to {@code h2c}, so concurrent calls to one MCP
+ * server are multiplexed over a single connection. The exchange completes from the client's
+ * future; like {@code camel-http}, non-2xx answers fail it with an {@link HttpOperationFailedException}.
+ */
+class McpHttp2Producer extends DefaultAsyncProducer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(McpHttp2Producer.class);
+
+    private final URI target;
+    private final HttpClient client;
+
+    McpHttp2Producer(Endpoint endpoint, String targetUri) {
+        super(endpoint);
+        this.target = URI.create(targetUri);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        HttpRequest request;
+        try {
+            request = buildRequest(exchange.getIn());
+        } catch (RuntimeException e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, failure) -> {
+            try {
+                if (failure != null) {
+                    exchange.setException(failure);
+                } else {
+                    writeResponse(exchange, response);
+                }
+            } finally {
+                callback.done(false);
+            }
+        });
+        return false;
+    }
+
+    private HttpRequest buildRequest(Message message) {
+        byte[] body = message.getBody(byte[].class);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target)
+                .POST(body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body));
+        message.getHeaders().forEach((name, value) -> {
+            // Camel* headers are exchange metadata, not HTTP headers
+            if (value != null && !name.startsWith("Camel")) {
+                builder.header(name, String.valueOf(value));
+            }
+        });
+        return builder.build();
+    }
+
+    private void writeResponse(Exchange exchange, HttpResponse<byte[]> response) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("MCP HTTP/2 transport uri={} status={} version={} size={}B", target, response.statusCode(),
+                    response.version(), response.body().length);
+        }
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            Map<String, String> headers = new LinkedHashMap<>();
+            response.headers().map().forEach((name, values) -> headers.put(name, String.join(",", values)));
+            exchange.setException(new HttpOperationFailedException(target.toString(), response.statusCode(), null,
+                    headers.get("location"), headers, new String(response.body(), StandardCharsets.UTF_8)));
+            return;
+        }
+        Message out = exchange.getMessage();
+        out.getHeaders().clear();
+        out.setHeader(Exchange.HTTP_RESPONSE_CODE, response.statusCode());
+        response.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":")) {
+                out.setHeader(name, String.join(",", values));
+            }
+        });
+        out.setBody(response.body());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        client.close();
+        super.doStop();
+    }
+}
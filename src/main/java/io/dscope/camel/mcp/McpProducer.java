@@ -4,9 +4,13 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
 
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProducer;
+import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
-import org.apache.camel.ProducerTemplate;
-import org.apache.camel.support.DefaultProducer;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.support.DefaultAsyncProducer;
+import org.apache.camel.support.service.ServiceHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,6 +20,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dscope.camel.mcp.model.McpRequest;
 import io.dscope.camel.mcp.model.McpResponse;
 import io.dscope.camel.mcp.processor.McpHttpValidatorProcessor;
+import io.dscope.camel.mcp.service.McpJsonCodec;
 
 /**
  * Camel producer-side implementation for MCP client calls.
@@ -23,8 +28,10 @@ import io.dscope.camel.mcp.processor.McpHttpValidatorProcessor;
  * It wraps the incoming exchange body into a JSON-RPC 2.0 MCP request,
  * sends it to the configured target URI, and maps the JSON response back
  * to an {@link McpResponse} object.
+ * The call is made through the target endpoint's {@link AsyncProducer}, so transports that
+ * support asynchronous routing complete the exchange without parking the calling thread.
  */
-public class McpProducer extends DefaultProducer {
+public class McpProducer extends DefaultAsyncProducer {
     private static final Logger LOG = LoggerFactory.getLogger(McpProducer.class);
     public static final String HEADER_METHOD = "CamelMcpMethod";
     public static final String HEADER_PROTOCOL_VERSION = "CamelMcpProtocolVersion";
@@ -34,70 +41,126 @@ public class McpProducer extends DefaultProducer {
     private static final int PAYLOAD_PREVIEW_LIMIT = 4000;
 
     private final McpEndpoint endpoint;
-    private final ObjectMapper mapper = new ObjectMapper();
+    private final McpJsonCodec codec;
+    private final ObjectMapper mapper;
 
-    public McpProducer(McpEndpoint endpoint) { super(endpoint); this.endpoint = endpoint; }
+    private volatile AsyncProducer targetProducer;
+    private volatile boolean localDispatch;
+
+    public McpProducer(McpEndpoint endpoint) {
+        super(endpoint);
+        this.endpoint = endpoint;
+        this.codec = McpJsonCodec.lookupOrDefault(endpoint.getCamelContext());
+        this.mapper = codec.mapper();
+    }
 
     @Override
-    public void process(Exchange exchange) throws Exception {
+    public boolean process(Exchange exchange, AsyncCallback callback) {
         McpConfiguration cfg = endpoint.getConfiguration();
         long startedAtNanos = System.nanoTime();
 
         // Build MCP JSON-RPC request envelope.
         McpRequest req = new McpRequest();
-        req.setJsonrpc("2.0");
-        req.setId(UUID.randomUUID().toString());
-        req.setMethod(resolveMethod(exchange, cfg));
-        req.setParams(resolveParams(exchange));
+        Exchange call;
+        AsyncProducer producer;
+        try {
+            req.setJsonrpc("2.0");
+            req.setId(UUID.randomUUID().toString());
+            req.setMethod(resolveMethod(exchange, cfg));
+            req.setParams(resolveParams(exchange));
 
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("Dispatching MCP request id={} method={} targetUri={} paramKeys={} params={}",
-                req.getId(), req.getMethod(), cfg.getUri(), req.getParams().keySet(), previewPayload(req.getParams()));
-        }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Dispatching MCP request id={} method={} targetUri={} paramKeys={} params={}",
+                    req.getId(), req.getMethod(), cfg.getUri(), req.getParams().keySet(), previewPayload(req.getParams()));
+            }
 
-        McpResponse resp;
-        try {
-            resp = dispatchByUriStructure(cfg.getUri(), req);
+            producer = resolveTargetProducer(cfg.getUri());
+            call = createCall(producer, req, cfg.getUri());
         } catch (Exception e) {
-            long durationMs = (System.nanoTime() - startedAtNanos) / 1_000_000;
-            LOG.error("MCP request failed id={} method={} targetUri={} durationMs={}",
-                    req.getId(), req.getMethod(), cfg.getUri(), durationMs, e);
-            throw e;
+            LOG.error("MCP request failed id={} method={} targetUri={}", req.getId(), req.getMethod(), cfg.getUri(), e);
+            exchange.setException(e);
+            callback.done(true);
+            return true;
         }
 
-        if (LOG.isDebugEnabled()) {
-            long durationMs = (System.nanoTime() - startedAtNanos) / 1_000_000;
-            boolean hasError = resp != null && resp.getError() != null;
-            LOG.debug("Received MCP response id={} method={} durationMs={} hasError={} response={}",
-                req.getId(), req.getMethod(), durationMs, hasError, previewPayload(resp));
+        // The target producer calls back when the remote/local MCP server answered; no thread waits for it.
+        return producer.process(call, doneSync -> {
+            try {
+                if (call.getException() != null) {
+                    throw call.getException();
+                }
+                McpResponse resp = readResponse(call, req, cfg.getUri());
+                if (LOG.isDebugEnabled()) {
+                    long durationMs = (System.nanoTime() - startedAtNanos) / 1_000_000;
+                    boolean hasError = resp != null && resp.getError() != null;
+                    LOG.debug("Received MCP response id={} method={} durationMs={} hasError={} response={}",
+                        req.getId(), req.getMethod(), durationMs, hasError, previewPayload(resp));
+                }
+                exchange.getMessage().setBody(resp);
+            } catch (Exception e) {
+                long durationMs = (System.nanoTime() - startedAtNanos) / 1_000_000;
+                LOG.error("MCP request failed id={} method={} targetUri={} durationMs={}",
+                        req.getId(), req.getMethod(), cfg.getUri(), durationMs, e);
+                exchange.setException(e);
+            } finally {
+                callback.done(doneSync);
+            }
+        });
+    }
+
+    /**
+     * Resolves (once) the producer for the URI structure: {@code mcp:camel:<camel-endpoint>} dispatches
+     * to a local Camel route, anything else goes through the remote transport endpoint (an HTTP/2
+     * client for {@code http(s)} targets when {@code http2=true}).
+     */
+    private AsyncProducer resolveTargetProducer(String targetUri) throws Exception {
+        AsyncProducer producer = targetProducer;
+        if (producer != null) {
+            return producer;
+        }
+        synchronized (this) {
+            if (targetProducer == null) {
+                boolean local = targetUri != null && targetUri.startsWith(LOCAL_URI_PREFIX);
+                String uri = local ? targetUri.substring(LOCAL_URI_PREFIX.length()) : targetUri;
+                AsyncProducer created;
+                if (!local && endpoint.getConfiguration().isHttp2() && isHttpUri(uri)) {
+                    created = new McpHttp2Producer(endpoint, uri);
+                } else {
+                    Endpoint target = endpoint.getCamelContext().getEndpoint(uri);
+                    created = target.createAsyncProducer();
+                }
+                ServiceHelper.startService(created);
+                localDispatch = local;
+                targetProducer = created;
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Resolved MCP {} dispatch uri={} producer={}", local ? "local" : "remote", uri,
+                            created.getClass().getSimpleName());
+                }
+            }
+            return targetProducer;
         }
+    }
 
-        exchange.getMessage().setBody(resp);
+    private static boolean isHttpUri(String uri) {
+        return uri != null && (uri.startsWith("http://") || uri.startsWith("https://"));
     }
 
-    private McpResponse dispatchByUriStructure(String targetUri, McpRequest req) throws Exception {
-        // Local Camel route dispatch: mcp:camel:<camel-endpoint>
-        // Example: mcp:camel:direct:mcp-service?method=ping
-        if (targetUri != null && targetUri.startsWith(LOCAL_URI_PREFIX)) {
-            String localUri = targetUri.substring(LOCAL_URI_PREFIX.length());
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Using local MCP dispatch id={} method={} localUri={}", req.getId(), req.getMethod(), localUri);
-            }
-            Object localResponse = endpoint.getCamelContext()
-                    .createProducerTemplate()
-                    .requestBody(localUri, req, Object.class);
+    private Exchange createCall(AsyncProducer producer, McpRequest req, String targetUri) throws Exception {
+        Exchange call = producer.getEndpoint().createExchange(ExchangePattern.InOut);
+        if (localDispatch) {
             if (LOG.isDebugEnabled()) {
-                LOG.debug("Local MCP response id={} method={} localUri={} payload={}",
-                        req.getId(), req.getMethod(), localUri, previewPayload(localResponse));
+                LOG.debug("Using local MCP dispatch id={} method={} localUri={}",
+                        req.getId(), req.getMethod(), producer.getEndpoint().getEndpointUri());
             }
-            return toMcpResponse(localResponse);
+            call.getIn().setBody(req);
+            return call;
         }
 
         // Remote transport dispatch (HTTP/WebSocket/etc) keeps JSON string wire format.
         if (LOG.isDebugEnabled()) {
             LOG.debug("Using remote MCP dispatch id={} method={} uri={}", req.getId(), req.getMethod(), targetUri);
         }
-        String json = mapper.writeValueAsString(req);
+        String json = codec.requestWriter().writeValueAsString(req);
         if (LOG.isDebugEnabled()) {
             LOG.debug("Remote MCP request payload id={} method={} uri={} payload={}",
                     req.getId(), req.getMethod(), targetUri, previewText(json));
@@ -107,13 +170,33 @@ public class McpProducer extends DefaultProducer {
             LOG.debug("Remote MCP request headers id={} method={} uri={} headers={}",
                 req.getId(), req.getMethod(), targetUri, transportHeaders);
         }
-        ProducerTemplate template = endpoint.getCamelContext().createProducerTemplate();
-        String result = template.requestBodyAndHeaders(targetUri, json, transportHeaders, String.class);
+        call.getIn().setBody(json);
+        call.getIn().setHeaders(transportHeaders);
+        return call;
+    }
+
+    private McpResponse readResponse(Exchange call, McpRequest req, String targetUri) throws Exception {
+        if (localDispatch) {
+            Object localResponse = call.getMessage().getBody();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Local MCP response id={} method={} localUri={} payload={}",
+                        req.getId(), req.getMethod(), targetUri, previewPayload(localResponse));
+            }
+            return toMcpResponse(localResponse);
+        }
+        String result = call.getMessage().getBody(String.class);
         if (LOG.isDebugEnabled()) {
             LOG.debug("Remote MCP response payload id={} method={} uri={} payload={}",
                     req.getId(), req.getMethod(), targetUri, previewText(result));
         }
-        return mapper.readValue(result, McpResponse.class);
+        return codec.responseReader().readValue(result);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopService(targetProducer);
+        targetProducer = null;
+        super.doStop();
     }
 
     private McpResponse toMcpResponse(Object responseBody) {
@@ -126,7 +209,7 @@ public class McpProducer extends DefaultProducer {
         }
         if (responseBody instanceof String json) {
             try {
-                return mapper.readValue(json, McpResponse.class);
+                return codec.responseReader().readValue(json);
             } catch (JsonProcessingException e) {
                 LOG.error("Failed to parse local MCP response JSON size={}B", json.length(), e);
                 throw new IllegalStateException("Failed to parse local MCP response JSON", e);
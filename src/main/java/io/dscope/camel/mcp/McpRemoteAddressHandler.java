@@ -0,0 +1,38 @@
+package io.dscope.camel.mcp;
+
+import java.net.InetSocketAddress;
+
+import org.apache.camel.component.undertow.CamelUndertowHttpHandler;
+
+import io.dscope.camel.mcp.processor.McpRateLimitProcessor;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HttpString;
+
+/**
+ * Undertow handler registered when {@code mcp.rate.key=remoteAddress}: replaces any client-supplied
+ * {@value McpRateLimitProcessor#HEADER_REMOTE_ADDRESS} header with the peer's socket address, which
+ * camel-undertow does not otherwise expose to the exchange.
+ */
+final class McpRemoteAddressHandler implements CamelUndertowHttpHandler {
+
+    private static final HttpString HEADER = HttpString.tryFromString(McpRateLimitProcessor.HEADER_REMOTE_ADDRESS);
+
+    private HttpHandler next;
+
+    @Override
+    public void setNext(HttpHandler next) {
+        this.next = next;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        InetSocketAddress source = exchange.getSourceAddress();
+        if (source != null && source.getAddress() != null) {
+            exchange.getRequestHeaders().put(HEADER, source.getAddress().getHostAddress());
+        } else {
+            exchange.getRequestHeaders().remove(HEADER);
+        }
+        next.handleRequest(exchange);
+    }
+}
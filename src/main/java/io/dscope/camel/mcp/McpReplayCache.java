@@ -0,0 +1,169 @@
+package io.dscope.camel.mcp;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded, TTL-based cache of JSON-RPC responses used by the consumer when {@code replayCache=true}.
+ * <p>
+ * Requests are keyed by session, method and JSON-RPC {@code id}, and an entry only answers a request
+ * whose params equal those it was claimed with. The first request for a key executes and owns the entry; a retry that arrives while it runs attaches to the running execution, and a
+ * retry that arrives after it completed gets the stored response without executing the method
+ * again. Only successful responses are kept, for {@code ttlMillis} after completion; when the owner
+ * fails the entry is dropped and attached retries execute on their own.
+ */
+public class McpReplayCache {
+
+    /**
+     * A completed response: the serialized body and the transport headers to restore.
+     */
+    public record Response(Object body, Map<String, Object> headers) {
+    }
+
+    /**
+     * Result of {@link #claim(String, Object)}: {@code owner} is {@code true} when the caller must execute
+     * the request and then {@link #complete complete} or {@link #abandon abandon} the entry.
+     */
+    public record Claim(String key, Entry entry, boolean owner) {
+    }
+
+    /**
+     * One cached execution; completes with the stored response, or with {@code null} when abandoned.
+     */
+    public static final class Entry {
+
+        private final CompletableFuture<Response> response = new CompletableFuture<>();
+        private final Object params;
+        private volatile long expiresAtMillis = Long.MAX_VALUE;
+
+        private Entry(Object params) {
+            this.params = params;
+        }
+
+        /**
+         * Returns the stored response if the execution already succeeded, otherwise {@code null}.
+         */
+        public Response getNow() {
+            return response.getNow(null);
+        }
+
+        /**
+         * Runs {@code action} with the stored response (or {@code null} if the owner failed) once
+         * the execution finishes; immediately if it already has.
+         */
+        public void onComplete(Consumer<Response> action) {
+            response.thenAccept(action);
+        }
+
+        private boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Set<String> methods;
+    private final Map<String, Entry> entries;
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder attached = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+
+    /**
+     * @param maxEntries maximum number of cached executions; the oldest is evicted beyond it
+     * @param ttlMillis  how long a completed response is replayed
+     * @param methods    comma-separated JSON-RPC methods whose responses may be replayed
+     */
+    public McpReplayCache(int maxEntries, long ttlMillis, String methods) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = Math.max(1L, ttlMillis);
+        this.methods = methods == null ? Set.of() : Arrays.stream(methods.split(","))
+                .map(String::trim)
+                .filter(method -> !method.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.entries = new LinkedHashMap<>(64, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > McpReplayCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Builds the cache key, or returns {@code null} when the request is not replayable (method not
+     * allow-listed, or no session or id to scope it by). String and numeric ids are keyed apart, so
+     * {@code "1"} and {@code 1} are different requests.
+     */
+    public String key(String sessionId, String method, Object id) {
+        if (sessionId == null || sessionId.isBlank() || id == null || !methods.contains(method)) {
+            return null;
+        }
+        return sessionId + '\n' + method + '\n' + (id instanceof String ? 's' : 'n') + id;
+    }
+
+    /**
+     * Returns the live entry for {@code key} if it was claimed with equal {@code params}, otherwise
+     * creates one owned by the caller, so a request that reuses an id with different params is
+     * executed rather than answered with the response to the earlier one.
+     */
+    public Claim claim(String key, Object params) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry existing = entries.get(key);
+            if (existing != null && !existing.isExpired(now) && Objects.equals(existing.params, params)) {
+                if (existing.getNow() != null) {
+                    replayed.increment();
+                } else {
+                    attached.increment();
+                }
+                return new Claim(key, existing, false);
+            }
+            Entry entry = new Entry(params);
+            entries.put(key, entry);
+            executed.increment();
+            return new Claim(key, entry, true);
+        }
+    }
+
+    /**
+     * Stores the owner's response and releases attached retries.
+     */
+    public void complete(Claim claim, Response response) {
+        claim.entry().expiresAtMillis = System.currentTimeMillis() + ttlMillis;
+        claim.entry().response.complete(response);
+    }
+
+    /**
+     * Drops the owner's entry without a response; attached retries execute on their own.
+     */
+    public void abandon(Claim claim) {
+        synchronized (entries) {
+            entries.remove(claim.key(), claim.entry());
+        }
+        claim.entry().response.complete(null);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getExecuted() {
+        return executed.sum();
+    }
+
+    public long getAttached() {
+        return attached.sum();
+    }
+
+    public long getReplayed() {
+        return replayed.sum();
+    }
+}
@@ -0,0 +1,222 @@
+package io.dscope.camel.mcp;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Negotiated {@code gzip}/{@code deflate} compression of MCP HTTP responses.
+ * <p>
+ * Only responses of allow-listed methods at or above the size threshold are compressed. For catalog
+ * and resource responses ({@code tools/list}, {@code resources/list}, {@code resources/read}) the
+ * compressed form of everything from the {@code "result"} member onwards is cached: the JSON-RPC
+ * head, which differs per request id, is compressed on its own with a sync flush and spliced in front
+ * of the cached blocks, so repeated catalog and UI bundle reads cost a checksum instead of a deflate.
+ */
+public class McpResponseCompressor {
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    private static final Set<String> CACHEABLE_METHODS = Set.of("tools/list", "resources/list", "resources/read");
+    private static final byte[] RESULT_MARKER = "\"result\":".getBytes(StandardCharsets.US_ASCII);
+    private static final int RESULT_MARKER_SCAN_LIMIT = 256;
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final byte[] ZLIB_HEADER = {0x78, (byte) 0x9c};
+    private static final byte[] EMPTY = new byte[0];
+
+    private record CachedBlocks(byte[] source, byte[] deflated) {
+    }
+
+    private final int threshold;
+    private final Set<String> methods;
+    private final int cacheSize;
+    private final Map<Integer, CachedBlocks> cache;
+    private final LongAdder compressed = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    /**
+     * @param threshold minimum uncompressed size in bytes
+     * @param methods   comma-separated JSON-RPC methods whose responses may be compressed
+     * @param cacheSize number of precompressed catalog/resource payloads kept; {@code 0} disables caching
+     */
+    public McpResponseCompressor(int threshold, String methods, int cacheSize) {
+        this.threshold = Math.max(0, threshold);
+        this.methods = methods == null ? Set.of() : Arrays.stream(methods.split(","))
+                .map(String::trim)
+                .filter(method -> !method.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.cacheSize = Math.max(0, cacheSize);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CachedBlocks> eldest) {
+                return size() > McpResponseCompressor.this.cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Picks the content coding for an {@code Accept-Encoding} header, preferring gzip over deflate.
+     *
+     * @return {@link #GZIP}, {@link #DEFLATE} or {@code null} when neither is acceptable
+     */
+    public static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        double gzip = -1;
+        double deflate = -1;
+        double any = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            double quality = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            switch (tokens[0].trim().toLowerCase(Locale.ROOT)) {
+                case "gzip", "x-gzip" -> gzip = quality;
+                case DEFLATE -> deflate = quality;
+                case "*" -> any = quality;
+                default -> {
+                    // identity and codings we do not produce
+                }
+            }
+        }
+        gzip = gzip < 0 ? any : gzip;
+        deflate = deflate < 0 ? any : deflate;
+        if (gzip <= 0 && deflate <= 0) {
+            return null;
+        }
+        return gzip >= deflate ? GZIP : DEFLATE;
+    }
+
+    /**
+     * Whether a response of the given method and size should be compressed. Batch responses, which
+     * carry no single method, only have to reach the threshold.
+     */
+    public boolean shouldCompress(String method, int length) {
+        return length >= threshold && (method == null || methods.contains(method));
+    }
+
+    /**
+     * Compresses a JSON response body with the given coding ({@link #GZIP} or {@link #DEFLATE}).
+     */
+    public byte[] compress(byte[] body, String encoding, String method) {
+        int split = 0;
+        byte[] blocks;
+        if (cacheSize > 0 && CACHEABLE_METHODS.contains(method)) {
+            split = resultOffset(body);
+            blocks = cachedBlocks(body, split);
+        } else {
+            blocks = deflate(body, 0, body.length, true);
+        }
+        byte[] head = split > 0 ? deflate(body, 0, split, false) : EMPTY;
+        compressed.increment();
+
+        boolean gzip = GZIP.equals(encoding);
+        byte[] header = gzip ? GZIP_HEADER : ZLIB_HEADER;
+        ByteBuffer out = ByteBuffer.allocate(header.length + head.length + blocks.length + (gzip ? 8 : 4));
+        out.put(header).put(head).put(blocks);
+        if (gzip) {
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            out.order(ByteOrder.LITTLE_ENDIAN).putInt((int) crc.getValue()).putInt(body.length);
+        } else {
+            Adler32 adler = new Adler32();
+            adler.update(body);
+            out.putInt((int) adler.getValue());
+        }
+        return out.array();
+    }
+
+    public long getCompressedCount() {
+        return compressed.sum();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    private byte[] cachedBlocks(byte[] body, int split) {
+        int key = ByteBuffer.wrap(body, split, body.length - split).hashCode();
+        CachedBlocks cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+        if (cached != null && Arrays.equals(cached.source(), 0, cached.source().length, body, split, body.length)) {
+            cacheHits.increment();
+            return cached.deflated();
+        }
+        cacheMisses.increment();
+        byte[] deflated = deflate(body, split, body.length - split, true);
+        synchronized (cache) {
+            cache.put(key, new CachedBlocks(Arrays.copyOfRange(body, split, body.length), deflated));
+        }
+        return deflated;
+    }
+
+    /**
+     * Offset of the top-level {@code "result":} member within the first bytes of the envelope, or
+     * {@code 0} when the body has a different shape (the whole body is then cached as one unit).
+     */
+    private static int resultOffset(byte[] body) {
+        int limit = Math.min(body.length, RESULT_MARKER_SCAN_LIMIT) - RESULT_MARKER.length;
+        for (int i = 1; i <= limit; i++) {
+            if (Arrays.equals(body, i, i + RESULT_MARKER.length, RESULT_MARKER, 0, RESULT_MARKER.length)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Raw DEFLATE of a slice. The head of a spliced response is sync-flushed so it ends on a byte
+     * boundary without a final block; a tail is finished and independent of any earlier window.
+     */
+    private static byte[] deflate(byte[] source, int offset, int length, boolean finish) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(source, offset, length);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, length / 4));
+            byte[] buffer = new byte[8192];
+            if (finish) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    out.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                int count;
+                do {
+                    count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    out.write(buffer, 0, count);
+                } while (count == buffer.length || !deflater.needsInput());
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package io.dscope.camel.mcp;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.component.undertow.CamelUndertowHttpHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Methods;
+
+/**
+ * Undertow handler used by {@code executionMode=virtual}: each request leaves the IO thread on its own
+ * virtual thread instead of an XNIO worker, so tools blocking on JDBC or HTTP do not exhaust the
+ * worker pool.
+ * <p>
+ * At most {@code maxConcurrent} requests run the MCP pipeline at once; further requests park their
+ * (cheap) virtual thread until a slot frees up. Long-lived SSE {@code GET} streams are not counted
+ * against the cap. {@link #snapshot()} exposes in-flight, waiting and completed counters.
+ */
+public class McpVirtualThreadDispatcher implements CamelUndertowHttpHandler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(McpVirtualThreadDispatcher.class);
+
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger streams = new AtomicInteger();
+    private final AtomicInteger peakActive = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private HttpHandler next;
+
+    public McpVirtualThreadDispatcher(String name, int maxConcurrent) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.permits = new Semaphore(this.maxConcurrent);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+    }
+
+    @Override
+    public void setNext(HttpHandler next) {
+        this.next = next;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        if (exchange.isInIoThread()) {
+            exchange.dispatch(executor, this);
+            return;
+        }
+        if (Methods.GET.equals(exchange.getRequestMethod())) {
+            streams.incrementAndGet();
+            try {
+                next.handleRequest(exchange);
+            } finally {
+                streams.decrementAndGet();
+            }
+            return;
+        }
+
+        waiting.incrementAndGet();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.setStatusCode(503);
+            exchange.endExchange();
+            return;
+        } finally {
+            waiting.decrementAndGet();
+        }
+        peakActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        try {
+            next.handleRequest(exchange);
+            completed.increment();
+        } catch (Exception | Error e) {
+            failed.increment();
+            throw e;
+        } finally {
+            active.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getActive() {
+        return active.get();
+    }
+
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("executionMode", "virtual");
+        snapshot.put("maxConcurrent", maxConcurrent);
+        snapshot.put("active", active.get());
+        snapshot.put("waiting", waiting.get());
+        snapshot.put("peakActive", peakActive.get());
+        snapshot.put("openStreams", streams.get());
+        snapshot.put("completed", completed.sum());
+        snapshot.put("failed", failed.sum());
+        return snapshot;
+    }
+
+    /**
+     * Stops accepting new work; requests already running finish on their virtual threads.
+     */
+    public void stop() {
+        executor.shutdown();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Stopped MCP virtual thread dispatcher {}", snapshot());
+        }
+    }
+}
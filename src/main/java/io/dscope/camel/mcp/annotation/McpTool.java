@@ -0,0 +1,46 @@
+package io.dscope.camel.mcp.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a method as an MCP tool.
+ * <p>
+ * The {@link io.dscope.camel.mcp.annotation.processing.McpToolAnnotationProcessor annotation processor}
+ * generates, next to the declaring class {@code Foo}, a {@code FooMcpTools} provider holding the tool's
+ * {@code McpMethodDefinition} (with an {@code inputSchema} derived from the {@link McpToolArg} parameters)
+ * and a handler that converts the arguments and calls the method directly. The method must not be
+ * private and must return {@code Map<String, Object>}, the {@code tools/call} result.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface McpTool {
+
+    /**
+     * Tool name; defaults to the method name.
+     */
+    String name() default "";
+
+    String title() default "";
+
+    String description() default "";
+
+    /**
+     * Further names dispatched to the same method; they are not listed by {@code tools/list}.
+     */
+    String[] aliases() default {};
+
+    /**
+     * The tool's {@code annotations} as a JSON object, checked and compiled into the catalog at build time.
+     */
+    String annotations() default "";
+
+    /**
+     * The tool's {@code outputSchema} as a JSON object, checked and compiled into the catalog at build time.
+     */
+    String outputSchema() default "";
+}
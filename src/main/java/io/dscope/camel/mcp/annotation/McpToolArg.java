@@ -0,0 +1,45 @@
+package io.dscope.camel.mcp.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Describes a parameter of an {@link McpTool} method as a tool argument.
+ * <p>
+ * The parameter type sets the argument's JSON type: {@code String} is {@code string}, {@code int},
+ * {@code long} and their wrappers are {@code integer}, {@code double}, {@code float} and {@code Number}
+ * are {@code number}, {@code boolean} is {@code boolean}, {@code List<T>} is an {@code array} of the
+ * element type and {@code Map<String, Object>} is an {@code object}. A {@code Map<String, Object>}
+ * parameter without this annotation receives all arguments unconverted.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.PARAMETER)
+public @interface McpToolArg {
+
+    /**
+     * Argument name; defaults to the parameter name.
+     */
+    String name() default "";
+
+    String description() default "";
+
+    /**
+     * Whether the argument must be present; arguments with a {@link #defaultValue()} are never required.
+     */
+    boolean required() default true;
+
+    /**
+     * Value used when the argument is absent: the text itself for {@code string} arguments, otherwise a
+     * JSON literal such as {@code 50}, {@code true} or {@code [1, 2]}.
+     */
+    String defaultValue() default "";
+
+    /**
+     * The values a {@code string} argument may take, published as the schema's {@code enum}.
+     */
+    String[] allowed() default {};
+}
@@ -0,0 +1,594 @@
+package io.dscope.camel.mcp.annotation.processing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.dscope.camel.mcp.annotation.McpTool;
+import io.dscope.camel.mcp.annotation.McpToolArg;
+
+/**
+ * Generates an {@code McpToolProvider} for every class with {@link McpTool} methods.
+ * <p>
+ * For a class {@code Foo} it writes {@code FooMcpTools} to the same package: the tool definitions are
+ * built from constants (the input schema derived from the parameters, the {@code annotations} and
+ * {@code outputSchema} JSON parsed here), and each handler is a lambda converting the arguments with
+ * {@code McpToolArguments} and calling the method. The providers are listed in
+ * {@code META-INF/services/io.dscope.camel.mcp.catalog.McpToolProvider}, so at runtime neither YAML
+ * nor reflection is involved. Invalid declarations are reported as compile errors on the element.
+ */
+@SupportedAnnotationTypes("io.dscope.camel.mcp.annotation.McpTool")
+public class McpToolAnnotationProcessor extends AbstractProcessor {
+
+    static final String SERVICE_FILE = "META-INF/services/io.dscope.camel.mcp.catalog.McpToolProvider";
+
+    private static final String SUFFIX = "McpTools";
+    private static final String ARGUMENTS = "McpToolArguments";
+    private static final Object INVALID = new Object();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Set<String> providers = new TreeSet<>();
+    private Elements elements;
+    private Types types;
+    private Messager messager;
+    private Filer filer;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.messager = processingEnv.getMessager();
+        this.filer = processingEnv.getFiler();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        if (round.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+        Map<TypeElement, List<ExecutableElement>> byOwner = new LinkedHashMap<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(round.getElementsAnnotatedWith(McpTool.class))) {
+            byOwner.computeIfAbsent((TypeElement) method.getEnclosingElement(), owner -> new ArrayList<>()).add(method);
+        }
+        byOwner.forEach(this::generate);
+        return true;
+    }
+
+    private void generate(TypeElement owner, List<ExecutableElement> methods) {
+        if (owner.getKind() != ElementKind.CLASS || owner.getModifiers().contains(Modifier.PRIVATE)
+                || (owner.getNestingKind() == NestingKind.MEMBER && !owner.getModifiers().contains(Modifier.STATIC))
+                || (owner.getNestingKind() != NestingKind.TOP_LEVEL && owner.getNestingKind() != NestingKind.MEMBER)) {
+            error(owner, "@McpTool methods must be declared by a top-level or static nested class that is not private");
+            return;
+        }
+        List<Tool> tools = new ArrayList<>();
+        Set<String> names = new LinkedHashSet<>();
+        boolean valid = true;
+        for (ExecutableElement method : methods) {
+            Tool tool = tool(method);
+            if (tool == null) {
+                valid = false;
+                continue;
+            }
+            for (String name : tool.handlerNames()) {
+                if (!names.add(name)) {
+                    error(method, "Tool name " + name + " is declared twice in " + owner.getSimpleName());
+                    valid = false;
+                }
+            }
+            tools.add(tool);
+        }
+        boolean instance = tools.stream().anyMatch(tool -> !tool.method().getModifiers().contains(Modifier.STATIC));
+        if (instance && (owner.getModifiers().contains(Modifier.ABSTRACT) || !hasNoArgConstructor(owner))) {
+            error(owner, "A class with instance @McpTool methods needs a non-private no-argument constructor");
+            valid = false;
+        }
+        if (!valid) {
+            return;
+        }
+
+        String packageName = elements.getPackageOf(owner).getQualifiedName().toString();
+        String simpleName = providerName(owner);
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try (Writer writer = filer.createSourceFile(qualifiedName, owner).openWriter()) {
+            writer.write(source(packageName, simpleName, owner.getQualifiedName().toString(), tools, instance));
+        } catch (IOException e) {
+            error(owner, "Unable to write " + qualifiedName + ": " + e.getMessage());
+            return;
+        }
+        providers.add(qualifiedName);
+    }
+
+    private Tool tool(ExecutableElement method) {
+        McpTool annotation = method.getAnnotation(McpTool.class);
+        boolean valid = true;
+        if (method.getModifiers().contains(Modifier.PRIVATE)) {
+            error(method, "@McpTool methods must not be private");
+            valid = false;
+        }
+        if (!types.isAssignable(method.getReturnType(), stringObjectMap())) {
+            error(method, "@McpTool methods must return Map<String, Object>");
+            valid = false;
+        }
+        String name = annotation.name().isBlank() ? method.getSimpleName().toString() : annotation.name();
+        Object annotations = json(method, "annotations", annotation.annotations());
+        Object outputSchema = json(method, "outputSchema", annotation.outputSchema());
+        if (annotations == INVALID || outputSchema == INVALID) {
+            valid = false;
+        }
+
+        List<Argument> arguments = new ArrayList<>();
+        for (VariableElement parameter : method.getParameters()) {
+            Argument argument = argument(name, parameter);
+            if (argument == null) {
+                valid = false;
+            } else {
+                arguments.add(argument);
+            }
+        }
+        if (!valid) {
+            return null;
+        }
+
+        boolean open = arguments.stream().anyMatch(argument -> argument.kind() == Kind.ALL);
+        Map<String, Object> properties = new LinkedHashMap<>();
+        List<Object> required = new ArrayList<>();
+        for (Argument argument : arguments) {
+            if (argument.kind() != Kind.ALL) {
+                properties.put(argument.name(), argument.schema());
+                if (argument.required()) {
+                    required.add(argument.name());
+                }
+            }
+        }
+        Map<String, Object> inputSchema = new LinkedHashMap<>();
+        inputSchema.put("type", "object");
+        if (!open) {
+            inputSchema.put("additionalProperties", false);
+        }
+        inputSchema.put("properties", properties);
+        if (!required.isEmpty()) {
+            inputSchema.put("required", required);
+        }
+        List<String> aliases = new ArrayList<>();
+        for (String alias : annotation.aliases()) {
+            if (!alias.isBlank()) {
+                aliases.add(alias.trim());
+            }
+        }
+        return new Tool(method, name, blankToNull(annotation.title()), blankToNull(annotation.description()),
+                aliases, inputSchema, outputSchema, annotations, arguments);
+    }
+
+    private Argument argument(String tool, VariableElement parameter) {
+        McpToolArg annotation = parameter.getAnnotation(McpToolArg.class);
+        TypeMirror type = parameter.asType();
+        if (annotation == null && types.isSameType(type, stringObjectMap())) {
+            return new Argument(parameter.getSimpleName().toString(), Kind.ALL, false, null, null);
+        }
+        String name = annotation == null || annotation.name().isBlank()
+                ? parameter.getSimpleName().toString() : annotation.name();
+        Kind kind = kind(type);
+        if (kind == null) {
+            error(parameter, "Unsupported type " + type + " for argument " + name + " of tool " + tool);
+            return null;
+        }
+
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", kind.jsonType);
+        if (kind == Kind.LIST) {
+            Kind element = elementKind(type);
+            if (element != null) {
+                schema.put("items", Map.of("type", element.jsonType));
+            }
+        }
+        if (annotation != null && !annotation.description().isBlank()) {
+            schema.put("description", annotation.description());
+        }
+        if (annotation != null && annotation.allowed().length > 0) {
+            if (kind != Kind.STRING) {
+                error(parameter, "Only string arguments can list allowed values");
+                return null;
+            }
+            schema.put("enum", List.of((Object[]) annotation.allowed()));
+        }
+
+        Object fallback = null;
+        if (annotation != null && !annotation.defaultValue().isEmpty()) {
+            fallback = defaultValue(parameter, name, kind, annotation.defaultValue());
+            if (fallback == INVALID) {
+                return null;
+            }
+            schema.put("default", fallback);
+        }
+        boolean required = fallback == null && (annotation == null || annotation.required());
+        String fallbackCode = fallback != null ? literal(kind, fallback)
+                : type.getKind().isPrimitive() ? kind.primitiveZero : "null";
+        return new Argument(name, kind, required, schema, fallbackCode);
+    }
+
+    private Object defaultValue(Element parameter, String name, Kind kind, String text) {
+        if (kind == Kind.STRING) {
+            return text;
+        }
+        Object value;
+        try {
+            value = mapper.readValue(text, Object.class);
+        } catch (JsonProcessingException e) {
+            error(parameter, "Default of argument " + name + " is not a JSON value: " + text);
+            return INVALID;
+        }
+        boolean matches = switch (kind) {
+            case INT -> value instanceof Integer;
+            case LONG -> value instanceof Integer || value instanceof Long;
+            case DOUBLE, NUMBER -> value instanceof Number;
+            case BOOLEAN -> value instanceof Boolean;
+            case LIST -> value instanceof List<?>;
+            case OBJECT -> value instanceof Map<?, ?>;
+            default -> false;
+        };
+        if (!matches) {
+            error(parameter, "Default of argument " + name + " is not " + kind.jsonType + ": " + text);
+            return INVALID;
+        }
+        return value;
+    }
+
+    private Object json(Element element, String attribute, String text) {
+        if (text.isBlank()) {
+            return null;
+        }
+        try {
+            Object value = mapper.readValue(text, Object.class);
+            if (value instanceof Map<?, ?>) {
+                return value;
+            }
+        } catch (JsonProcessingException e) {
+            error(element, "@McpTool " + attribute + " is not valid JSON: " + e.getOriginalMessage());
+            return INVALID;
+        }
+        error(element, "@McpTool " + attribute + " must be a JSON object");
+        return INVALID;
+    }
+
+    private Kind kind(TypeMirror type) {
+        switch (type.getKind()) {
+            case INT:
+                return Kind.INT;
+            case LONG:
+                return Kind.LONG;
+            case DOUBLE:
+                return Kind.DOUBLE;
+            case BOOLEAN:
+                return Kind.BOOLEAN;
+            case DECLARED:
+                break;
+            default:
+                return null;
+        }
+        if (types.isSameType(type, stringObjectMap())) {
+            return Kind.OBJECT;
+        }
+        String erasure = types.erasure(type).toString();
+        return switch (erasure) {
+            case "java.lang.String" -> Kind.STRING;
+            case "java.lang.Integer" -> Kind.INT;
+            case "java.lang.Long" -> Kind.LONG;
+            case "java.lang.Double" -> Kind.DOUBLE;
+            case "java.lang.Number" -> Kind.NUMBER;
+            case "java.lang.Boolean" -> Kind.BOOLEAN;
+            case "java.util.List" -> Kind.LIST;
+            default -> null;
+        };
+    }
+
+    private Kind elementKind(TypeMirror listType) {
+        List<? extends TypeMirror> arguments = ((DeclaredType) listType).getTypeArguments();
+        if (arguments.size() != 1 || arguments.get(0).getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        Kind kind = kind(arguments.get(0));
+        return kind == Kind.LIST ? null : kind;
+    }
+
+    private boolean hasNoArgConstructor(TypeElement owner) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(owner.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private DeclaredType stringObjectMap() {
+        return types.getDeclaredType(elements.getTypeElement("java.util.Map"),
+                elements.getTypeElement("java.lang.String").asType(),
+                elements.getTypeElement("java.lang.Object").asType());
+    }
+
+    private static String providerName(TypeElement owner) {
+        StringBuilder name = new StringBuilder(owner.getSimpleName());
+        for (Element enclosing = owner.getEnclosingElement(); enclosing instanceof TypeElement type;
+                enclosing = enclosing.getEnclosingElement()) {
+            name.insert(0, type.getSimpleName() + "_");
+        }
+        return name.append(SUFFIX).toString();
+    }
+
+    private String source(String packageName, String simpleName, String owner, List<Tool> tools, boolean instance) {
+        StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("import java.util.Collections;\n")
+                .append("import java.util.LinkedHashMap;\n")
+                .append("import java.util.List;\n")
+                .append("import java.util.Map;\n\n")
+                .append("import javax.annotation.processing.Generated;\n\n")
+                .append("import io.dscope.camel.mcp.catalog.McpMethodDefinition;\n")
+                .append("import io.dscope.camel.mcp.catalog.").append(ARGUMENTS).append(";\n")
+                .append("import io.dscope.camel.mcp.catalog.McpToolHandler;\n")
+                .append("import io.dscope.camel.mcp.catalog.McpToolProvider;\n\n")
+                .append("/**\n * MCP tools declared by {@link ").append(owner).append("}.\n */\n")
+                .append("@Generated(\"").append(McpToolAnnotationProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(simpleName).append(" implements McpToolProvider {\n\n")
+                .append("    private final Map<String, McpToolHandler> handlers;\n\n");
+
+        if (instance) {
+            out.append("    public ").append(simpleName).append("() {\n")
+                    .append("        this(new ").append(owner).append("());\n")
+                    .append("    }\n\n")
+                    .append("    public ").append(simpleName).append("(").append(owner).append(" target) {\n");
+        } else {
+            out.append("    public ").append(simpleName).append("() {\n");
+        }
+        out.append("        Map<String, McpToolHandler> handlers = new LinkedHashMap<>();\n");
+        for (int i = 0; i < tools.size(); i++) {
+            Tool tool = tools.get(i);
+            boolean isStatic = tool.method().getModifiers().contains(Modifier.STATIC);
+            out.append("        McpToolHandler handler").append(i).append(" = arguments -> ")
+                    .append(isStatic ? owner : "target").append('.').append(tool.method().getSimpleName()).append('(');
+            for (int a = 0; a < tool.arguments().size(); a++) {
+                out.append(a == 0 ? "\n                " : ",\n                ").append(call(tool.arguments().get(a)));
+            }
+            out.append(");\n");
+            for (String name : tool.handlerNames()) {
+                out.append("        handlers.put(").append(quote(name)).append(", handler").append(i).append(");\n");
+            }
+        }
+        out.append("        this.handlers = Collections.unmodifiableMap(handlers);\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public List<McpMethodDefinition> definitions() {\n")
+                .append("        return List.of(");
+        for (int i = 0; i < tools.size(); i++) {
+            out.append(i == 0 ? "" : ", ").append("tool").append(i).append("()");
+        }
+        out.append(");\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Map<String, McpToolHandler> handlers() {\n")
+                .append("        return handlers;\n")
+                .append("    }\n");
+
+        for (int i = 0; i < tools.size(); i++) {
+            Tool tool = tools.get(i);
+            out.append("\n    private static McpMethodDefinition tool").append(i).append("() {\n")
+                    .append("        McpMethodDefinition definition = new McpMethodDefinition();\n")
+                    .append("        definition.setName(").append(quote(tool.name())).append(");\n");
+            if (tool.title() != null) {
+                out.append("        definition.setTitle(").append(quote(tool.title())).append(");\n");
+            }
+            if (tool.description() != null) {
+                out.append("        definition.setDescription(").append(quote(tool.description())).append(");\n");
+            }
+            out.append("        definition.setInputSchema(").append(literal(tool.inputSchema())).append(");\n");
+            if (tool.outputSchema() != null) {
+                out.append("        definition.setOutputSchema(").append(literal(tool.outputSchema())).append(");\n");
+            }
+            if (tool.annotations() != null) {
+                out.append("        definition.setAnnotations(").append(literal(tool.annotations())).append(");\n");
+            }
+            out.append("        return definition;\n")
+                    .append("    }\n");
+        }
+        return out.append("}\n").toString();
+    }
+
+    private static String call(Argument argument) {
+        if (argument.kind() == Kind.ALL) {
+            return "arguments";
+        }
+        return ARGUMENTS + "." + argument.kind().converter + "(arguments, " + quote(argument.name()) + ", "
+                + argument.required() + ", " + argument.fallbackCode() + ")";
+    }
+
+    private static String literal(Kind kind, Object value) {
+        return switch (kind) {
+            case INT -> value.toString();
+            case LONG -> ((Number) value).longValue() + "L";
+            case DOUBLE -> Double.toString(((Number) value).doubleValue());
+            default -> literal(value);
+        };
+    }
+
+    /**
+     * Java source for a parsed JSON value.
+     */
+    static String literal(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof String text) {
+            return quote(text);
+        }
+        if (value instanceof Long number) {
+            return number + "L";
+        }
+        if (value instanceof Integer || value instanceof Boolean) {
+            return value.toString();
+        }
+        if (value instanceof Number number) {
+            return Double.toString(number.doubleValue());
+        }
+        StringBuilder out = new StringBuilder();
+        if (value instanceof Map<?, ?> map) {
+            if (map.isEmpty()) {
+                return "Map.of()";
+            }
+            out.append(ARGUMENTS).append(".objectOf(");
+            String separator = "";
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                out.append(separator).append(quote(entry.getKey().toString())).append(", ").append(literal(entry.getValue()));
+                separator = ", ";
+            }
+            return out.append(')').toString();
+        }
+        if (value instanceof List<?> list) {
+            out.append(ARGUMENTS).append(".arrayOf(");
+            String separator = "";
+            for (Object element : list) {
+                out.append(separator).append(literal(element));
+                separator = ", ";
+            }
+            return out.append(')').toString();
+        }
+        throw new IllegalArgumentException("Unsupported JSON value " + value.getClass().getName());
+    }
+
+    static String quote(String text) {
+        StringBuilder out = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20 || c > 0x7e) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    private void writeServiceFile() {
+        if (providers.isEmpty()) {
+            return;
+        }
+        Set<String> lines = new TreeSet<>(providers);
+        // Keep the providers of classes that were not recompiled in an incremental build.
+        try {
+            FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                reader.lines().map(String::trim).filter(line -> !line.isEmpty() && !line.startsWith("#")).forEach(lines::add);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // no previous service file
+        }
+        try (Writer writer = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE).openWriter()) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Unable to write " + SERVICE_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private void error(Element element, String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static String blankToNull(String text) {
+        return text.isBlank() ? null : text;
+    }
+
+    private enum Kind {
+        STRING("string", "string", "null"),
+        INT("integer", "intValue", "0"),
+        LONG("integer", "longValue", "0L"),
+        DOUBLE("number", "doubleValue", "0.0"),
+        NUMBER("number", "number", "null"),
+        BOOLEAN("boolean", "bool", "false"),
+        LIST("array", "list", "null"),
+        OBJECT("object", "object", "null"),
+        /** An unannotated {@code Map<String, Object>} parameter receiving all arguments. */
+        ALL("object", null, "null");
+
+        private final String jsonType;
+        private final String converter;
+        private final String primitiveZero;
+
+        Kind(String jsonType, String converter, String primitiveZero) {
+            this.jsonType = jsonType;
+            this.converter = converter;
+            this.primitiveZero = primitiveZero;
+        }
+    }
+
+    private record Argument(String name, Kind kind, boolean required, Map<String, Object> schema,
+            String fallbackCode) {
+    }
+
+    private record Tool(ExecutableElement method, String name, String title, String description, List<String> aliases,
+            Map<String, Object> inputSchema, Object outputSchema, Object annotations, List<Argument> arguments) {
+
+        private List<String> handlerNames() {
+            List<String> names = new ArrayList<>();
+            names.add(name);
+            names.addAll(aliases);
+            return names;
+        }
+    }
+}
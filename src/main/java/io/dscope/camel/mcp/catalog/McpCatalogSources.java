@@ -0,0 +1,265 @@
+package io.dscope.camel.mcp.catalog;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * The locations a catalog is loaded from, in order:
+ * <ul>
+ * <li>{@code classpath:mcp/methods.yaml} – the first matching resource on the classpath;</li>
+ * <li>{@code classpath*:mcp/tools.yaml} – every matching resource, e.g. one per jar;</li>
+ * <li>{@code /etc/mcp/methods.yaml} or {@code file:/etc/mcp/methods.yaml} – a file;</li>
+ * <li>{@code /etc/mcp/tools.d} – every {@code .yaml}/{@code .yml} file in a directory, by name;</li>
+ * <li>{@code /etc/mcp/tools-*.yaml} – files matching a glob (walked from the directory before the first
+ * wildcard), by path.</li>
+ * </ul>
+ * All fragments are read in parallel, one virtual thread each, and their definitions are concatenated in
+ * location order, so the result does not depend on which file parsed first.
+ */
+public final class McpCatalogSources {
+
+    private static final String CLASSPATH = "classpath:";
+    private static final String CLASSPATH_ALL = "classpath*:";
+    private static final String FILE = "file:";
+
+    private final List<String> locations;
+    private final List<Location> resolved;
+
+    private McpCatalogSources(List<String> locations) {
+        this.locations = List.copyOf(locations);
+        this.resolved = this.locations.stream().map(Location::of).toList();
+    }
+
+    /**
+     * Parses a comma-separated list of locations.
+     */
+    public static McpCatalogSources parse(String locations) {
+        List<String> list = new ArrayList<>();
+        for (String location : locations.split(",")) {
+            if (!location.isBlank()) {
+                list.add(location.trim());
+            }
+        }
+        return new McpCatalogSources(list);
+    }
+
+    public static McpCatalogSources of(Path file) {
+        return new McpCatalogSources(List.of(file.toString()));
+    }
+
+    public List<String> getLocations() {
+        return locations;
+    }
+
+    /**
+     * The file when these sources are exactly one plain file, otherwise {@code null}.
+     */
+    public Path singleFile() {
+        return resolved.size() == 1 && resolved.get(0).kind == Kind.FILE ? resolved.get(0).path : null;
+    }
+
+    /**
+     * Whether any location is on the file system and can therefore be watched.
+     */
+    public boolean hasFileLocations() {
+        return resolved.stream().anyMatch(location -> location.kind != Kind.CLASSPATH);
+    }
+
+    /**
+     * Directories whose entries can change these sources.
+     */
+    Set<Path> directories() {
+        Set<Path> directories = new LinkedHashSet<>();
+        for (Location location : resolved) {
+            switch (location.kind) {
+                case FILE -> directories.add(location.path.getParent());
+                case DIRECTORY, GLOB -> directories.add(location.path);
+                default -> {
+                }
+            }
+        }
+        return directories;
+    }
+
+    /**
+     * Whether a change to {@code file} can change these sources.
+     */
+    boolean matches(Path file) {
+        Path normalized = file.toAbsolutePath().normalize();
+        for (Location location : resolved) {
+            boolean match = switch (location.kind) {
+                case FILE -> normalized.equals(location.path);
+                case DIRECTORY -> location.path.equals(normalized.getParent()) && isYaml(normalized);
+                case GLOB -> location.matcher.matches(normalized);
+                default -> false;
+            };
+            if (match) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads one fragment; the stream is closed by the caller.
+     */
+    @FunctionalInterface
+    public interface FragmentReader<T> {
+        List<T> read(InputStream in) throws IOException;
+    }
+
+    /**
+     * Resolves the locations, reads every fragment in parallel and returns their entries in location order.
+     *
+     * @throws IllegalStateException if a file location does not exist or a fragment cannot be read or parsed
+     */
+    public <T> List<T> load(FragmentReader<T> reader) {
+        List<Fragment> fragments = new ArrayList<>();
+        for (Location location : resolved) {
+            location.resolve(fragments);
+        }
+        if (fragments.size() == 1) {
+            return fragments.get(0).read(reader);
+        }
+        List<T> entries = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<T>>> parsed = new ArrayList<>(fragments.size());
+            for (Fragment fragment : fragments) {
+                parsed.add(executor.submit(() -> fragment.read(reader)));
+            }
+            for (Future<List<T>> future : parsed) {
+                entries.addAll(future.get());
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading MCP catalog from " + locations, e);
+        }
+        return entries;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", locations);
+    }
+
+    private static boolean isYaml(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(".yaml") || name.endsWith(".yml");
+    }
+
+    private enum Kind {
+        CLASSPATH,
+        FILE,
+        DIRECTORY,
+        GLOB
+    }
+
+    private record Location(String text, Kind kind, String resource, boolean allResources, Path path,
+            PathMatcher matcher) {
+
+        private static Location of(String text) {
+            if (text.startsWith(CLASSPATH_ALL)) {
+                return new Location(text, Kind.CLASSPATH, text.substring(CLASSPATH_ALL.length()), true, null, null);
+            }
+            if (text.startsWith(CLASSPATH)) {
+                return new Location(text, Kind.CLASSPATH, text.substring(CLASSPATH.length()), false, null, null);
+            }
+            String file = text.startsWith(FILE) ? text.substring(FILE.length()) : text;
+            int wildcard = indexOfWildcard(file);
+            if (wildcard >= 0) {
+                int separator = file.lastIndexOf('/', wildcard);
+                Path base = Path.of(separator < 0 ? "." : file.substring(0, Math.max(1, separator)))
+                        .toAbsolutePath().normalize();
+                String pattern = base.resolve(file.substring(separator + 1)).toString();
+                return new Location(text, Kind.GLOB, null, false, base,
+                        FileSystems.getDefault().getPathMatcher("glob:" + pattern));
+            }
+            Path path = Path.of(file).toAbsolutePath().normalize();
+            return new Location(text, Files.isDirectory(path) ? Kind.DIRECTORY : Kind.FILE, null, false, path, null);
+        }
+
+        private static int indexOfWildcard(String file) {
+            for (int i = 0; i < file.length(); i++) {
+                char c = file.charAt(i);
+                if (c == '*' || c == '?' || c == '[' || c == '{') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void resolve(List<Fragment> fragments) {
+            try {
+                switch (kind) {
+                    case CLASSPATH -> {
+                        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+                        if (cl == null) {
+                            cl = McpCatalogSources.class.getClassLoader();
+                        }
+                        if (allResources) {
+                            for (URL url : Collections.list(cl.getResources(resource))) {
+                                fragments.add(new Fragment(text, url, null));
+                            }
+                        } else {
+                            URL url = cl.getResource(resource);
+                            if (url != null) {
+                                fragments.add(new Fragment(text, url, null));
+                            }
+                        }
+                    }
+                    case FILE -> fragments.add(new Fragment(text, null, path));
+                    case DIRECTORY -> {
+                        try (Stream<Path> files = Files.list(path)) {
+                            files.filter(file -> Files.isRegularFile(file) && isYaml(file)).sorted()
+                                    .forEach(file -> fragments.add(new Fragment(text, null, file)));
+                        }
+                    }
+                    case GLOB -> {
+                        if (Files.isDirectory(path)) {
+                            try (Stream<Path> files = Files.walk(path)) {
+                                files.filter(file -> Files.isRegularFile(file) && matcher.matches(file)).sorted()
+                                        .forEach(file -> fragments.add(new Fragment(text, null, file)));
+                            }
+                        }
+                    }
+                    default -> throw new IllegalStateException("Unknown location kind " + kind);
+                }
+            } catch (IOException | UncheckedIOException e) {
+                throw new IllegalStateException("Failed to resolve MCP catalog location " + text, e);
+            }
+        }
+    }
+
+    private record Fragment(String location, URL url, Path file) {
+
+        private <T> List<T> read(FragmentReader<T> reader) {
+            try (InputStream in = url != null ? url.openStream() : Files.newInputStream(file)) {
+                List<T> entries = reader.read(in);
+                return entries == null ? List.of() : entries;
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to load MCP catalog from " + (url != null ? url : file), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package io.dscope.camel.mcp.catalog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.dscope.camel.mcp.model.McpUiNotification;
+import io.dscope.camel.mcp.service.McpEventStreamRegistry;
+import io.dscope.camel.mcp.service.McpWebSocketNotifier;
+
+/**
+ * Reloads file-backed catalogs when their YAML files change and tells connected clients.
+ * <p>
+ * A single daemon thread waits on a {@link WatchService} for the directories of the catalogs' file,
+ * directory and glob locations; a glob's base directory is watched, not its subdirectories. Changes are
+ * debounced by {@code mcp.catalog.watchDebounceMillis} (default 100) so an editor's save is read
+ * once, then each affected catalog is re-read from all of its locations, validated and swapped on that
+ * thread. When the list result changed, {@code notifications/tools/list_changed} or
+ * {@code notifications/resources/list_changed} is broadcast to every open event stream and, when a
+ * {@link McpWebSocketNotifier} is set, to the clients of its WebSocket endpoint. A file that fails to
+ * parse or validate is logged and the previous definitions stay in place.
+ */
+public class McpCatalogWatcher implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(McpCatalogWatcher.class);
+
+    public static final String TOOLS_LIST_CHANGED = "notifications/tools/list_changed";
+    public static final String RESOURCES_LIST_CHANGED = "notifications/resources/list_changed";
+
+    private final McpEventStreamRegistry eventStreams;
+    private final long debounceMillis;
+    private final List<Target> targets = new CopyOnWriteArrayList<>();
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile McpWebSocketNotifier webSocketNotifier;
+    private WatchService watchService;
+    private Thread thread;
+
+    public McpCatalogWatcher(McpEventStreamRegistry eventStreams) {
+        this.eventStreams = eventStreams;
+        this.debounceMillis = Math.max(0L, Long.getLong("mcp.catalog.watchDebounceMillis", 100L));
+    }
+
+    public void watch(McpMethodCatalog catalog) {
+        register(catalog.getSources(), catalog::reload, TOOLS_LIST_CHANGED);
+    }
+
+    public void watch(McpResourceCatalog catalog) {
+        register(catalog.getSources(), catalog::reload, RESOURCES_LIST_CHANGED);
+    }
+
+    private synchronized void register(McpCatalogSources sources, BooleanSupplier reload, String notification) {
+        if (sources == null || !sources.hasFileLocations()) {
+            throw new IllegalArgumentException("Only file-backed catalogs can be watched");
+        }
+        try {
+            if (watchService == null) {
+                watchService = FileSystems.getDefault().newWatchService();
+            }
+            for (Path directory : sources.directories()) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to watch MCP catalog " + sources, e);
+        }
+        targets.add(new Target(sources, reload, notification));
+        LOG.info("Watching MCP catalog {} for changes", sources);
+    }
+
+    /**
+     * Starts the watch thread; catalogs registered afterwards are picked up as well.
+     */
+    public synchronized void start() {
+        if (thread != null || watchService == null) {
+            return;
+        }
+        thread = new Thread(this::run, "McpCatalogWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                LOG.debug("Failed to close MCP catalog watch service", e);
+            }
+        }
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    /**
+     * Also broadcasts list changes through {@code webSocketNotifier}, which must be started.
+     */
+    public void setWebSocketNotifier(McpWebSocketNotifier webSocketNotifier) {
+        this.webSocketNotifier = webSocketNotifier;
+    }
+
+    public long getReloads() {
+        return reloads.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    private void run() {
+        WatchService service = watchService;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<Target> changed = new LinkedHashSet<>();
+                collect(service.take(), changed);
+                // Editors write a file in several steps; wait for them to settle before reading it.
+                for (WatchKey key = service.poll(debounceMillis, TimeUnit.MILLISECONDS); key != null;
+                        key = service.poll(debounceMillis, TimeUnit.MILLISECONDS)) {
+                    collect(key, changed);
+                }
+                changed.forEach(this::reload);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // closed by close()
+        }
+        LOG.debug("MCP catalog watcher stopped");
+    }
+
+    private void collect(WatchKey key, Set<Target> changed) {
+        Path directory = (Path) key.watchable();
+        List<WatchEvent<?>> events = key.pollEvents();
+        for (WatchEvent<?> event : events) {
+            if (event.context() instanceof Path name) {
+                Path file = directory.resolve(name);
+                for (Target target : targets) {
+                    if (target.sources().matches(file)) {
+                        changed.add(target);
+                    }
+                }
+            }
+        }
+        key.reset();
+    }
+
+    private void reload(Target target) {
+        McpCatalogSources sources = target.sources();
+        try {
+            boolean listChanged = target.reload().getAsBoolean();
+            reloads.incrementAndGet();
+            if (!listChanged) {
+                LOG.debug("Reloaded MCP catalog {} without changes", sources);
+                return;
+            }
+            int delivered = eventStreams.broadcast(Map.of("jsonrpc", "2.0", "method", target.notification()));
+            McpWebSocketNotifier notifier = webSocketNotifier;
+            if (notifier != null) {
+                notifier.broadcast(new McpUiNotification(target.notification(), null));
+            }
+            LOG.info("Reloaded MCP catalog {}; sent {} to {} streams{}", sources, target.notification(), delivered,
+                    notifier != null ? " and WebSocket clients" : "");
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            LOG.error("Rejected MCP catalog reload from {}; keeping the current definitions: {}", sources, e.getMessage());
+        }
+    }
+
+    private record Target(McpCatalogSources sources, BooleanSupplier reload, String notification) {
+    }
+}
@@ -0,0 +1,142 @@
+package io.dscope.camel.mcp.catalog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.dscope.camel.mcp.service.McpPreparedJson;
+
+/**
+ * The entries of one catalog generation as served by {@code tools/list} or {@code resources/list}, whole
+ * or in pages.
+ * <p>
+ * Every snapshot has a process-wide unique generation. A page's {@code nextCursor} names the generation,
+ * offset and page size, so a client walking the pages keeps reading the snapshot it started on even if
+ * the catalog is reloaded meanwhile; the catalog keeps the last {@value #RETAINED_GENERATIONS} replaced
+ * generations for that. Results are prepared once per snapshot and page. Only cursors on the page grid
+ * of the configured page size are accepted, so forged cursors cannot grow the page cache beyond one
+ * entry per page.
+ */
+final class McpListSnapshot {
+
+    static final int RETAINED_GENERATIONS = 4;
+
+    private static final AtomicLong GENERATIONS = new AtomicLong();
+    private static final Base64.Encoder CURSOR_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder CURSOR_DECODER = Base64.getUrlDecoder();
+
+    private final long generation = GENERATIONS.incrementAndGet();
+    private final String field;
+    private final List<?> entries;
+    private final Map<Long, McpPreparedJson> pages = new ConcurrentHashMap<>();
+    private volatile McpPreparedJson all;
+
+    McpListSnapshot(String field, List<?> entries) {
+        this.field = field;
+        this.entries = entries;
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    /**
+     * The complete result, {@code {"<field>":[...]}}.
+     */
+    McpPreparedJson all() {
+        McpPreparedJson result = all;
+        if (result == null) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put(field, entries);
+            // Racing threads prepare identical results, so the last write wins harmlessly.
+            all = result = McpPreparedJson.of(body);
+        }
+        return result;
+    }
+
+    /**
+     * The page of {@code pageSize} entries from {@code offset}, with a {@code nextCursor} unless it is the last.
+     */
+    McpPreparedJson page(int offset, int pageSize) {
+        return pages.computeIfAbsent(((long) offset << 32) | pageSize, key -> {
+            int end = Math.min(entries.size(), offset + pageSize);
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put(field, entries.subList(offset, end));
+            if (end < entries.size()) {
+                body.put("nextCursor", encode(end, pageSize));
+            }
+            return McpPreparedJson.of(body);
+        });
+    }
+
+    /**
+     * Resolves a list request against the current snapshot or, for a cursor, the generation it was
+     * issued for.
+     *
+     * @param retained replaced generations, guarded by its own monitor
+     * @throws IllegalArgumentException if pagination is off, or the cursor is malformed, out of range, not
+     *                                  on the page grid of {@code pageSize} or its generation is gone
+     */
+    static McpPreparedJson resolve(McpListSnapshot current, Map<Long, McpListSnapshot> retained, String cursor,
+            int pageSize) {
+        if (cursor == null) {
+            return pageSize > 0 ? current.page(0, pageSize) : current.all();
+        }
+        if (pageSize <= 0) {
+            // Pagination is off, so no cursor was ever handed out.
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        long generation;
+        int offset;
+        int size;
+        try {
+            String[] parts = new String(CURSOR_DECODER.decode(cursor), StandardCharsets.UTF_8).split(":");
+            generation = Long.parseLong(parts[0]);
+            offset = Integer.parseInt(parts[1]);
+            size = Integer.parseInt(parts[2]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        McpListSnapshot snapshot = current;
+        if (snapshot.generation != generation) {
+            synchronized (retained) {
+                snapshot = retained.get(generation);
+            }
+        }
+        if (snapshot == null) {
+            throw new IllegalArgumentException("Cursor expired, the catalog has changed; list again without a cursor");
+        }
+        if (size != pageSize || offset <= 0 || offset >= snapshot.entries.size() || offset % pageSize != 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return snapshot.page(offset, size);
+    }
+
+    /**
+     * Returns an insertion-ordered map that keeps the last {@value #RETAINED_GENERATIONS} generations.
+     */
+    static Map<Long, McpListSnapshot> retainedGenerations() {
+        return new LinkedHashMap<>() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, McpListSnapshot> eldest) {
+                return size() > RETAINED_GENERATIONS;
+            }
+        };
+    }
+
+    static void retain(Map<Long, McpListSnapshot> retained, McpListSnapshot replaced) {
+        synchronized (retained) {
+            retained.put(replaced.generation, replaced);
+        }
+    }
+
+    private String encode(int offset, int pageSize) {
+        return CURSOR_ENCODER.encodeToString((generation + ":" + offset + ":" + pageSize).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,78 +2,341 @@ package io.dscope.camel.mcp.catalog;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.apache.camel.BindToRegistry;
+import org.apache.camel.CamelContext;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
+import io.dscope.camel.mcp.service.McpJsonCodec;
+import io.dscope.camel.mcp.service.McpPreparedJson;
+
 /**
  * Loads MCP tool definitions from configuration for use by processors.
+ * <p>
+ * Definitions come from {@code classpath:mcp/methods.yaml}, from the file named by
+ * {@code mcp.catalog.methodsFile}, or from the comma-separated {@link McpCatalogSources locations} in
+ * {@code mcp.catalog.methodsSources}, whose fragments are parsed in parallel and concatenated in order.
+ * Tools generated from {@code @McpTool} methods ({@link McpToolProviders}) are added after them unless a
+ * location defines a tool of the same name. The default processors share one {@link #shared() instance}
+ * per configuration. A catalog with file locations can be {@link #reload() reloaded}: the new
+ * definitions are parsed and validated by the caller and swapped in as one immutable snapshot, so
+ * readers never lock and never see a partial catalog. Each snapshot builds and serializes its
+ * {@code tools/list} result, and each page of it, once on first use with the default {@link McpJsonCodec}
+ * (a catalog is shared across Camel contexts, so no context's codec applies), and indexes its tools for
+ * {@link #searchTools(String, String, int) search} and compiles their input and output schemas when it is created.
  */
 @BindToRegistry("mcpMethodCatalog")
 public class McpMethodCatalog {
 
+    public static final String METHODS_FILE_PROPERTY = "mcp.catalog.methodsFile";
+    public static final String METHODS_SOURCES_PROPERTY = "mcp.catalog.methodsSources";
+    public static final String REGISTRY_NAME = "mcpMethodCatalog";
+
     private static final String DEFAULT_RESOURCE = "classpath:mcp/methods.yaml";
 
-    private final Map<String, McpMethodDefinition> methods;
+    private static volatile McpMethodCatalog shared;
+
+    private final McpCatalogSources sources;
+    private final Map<Long, McpListSnapshot> retained = McpListSnapshot.retainedGenerations();
+    private volatile Snapshot snapshot;
 
     public McpMethodCatalog() {
-        this(loadDefinitionsFromClasspath());
+        this(configuredSources());
+    }
+
+    private McpMethodCatalog(McpCatalogSources sources) {
+        this(sources, index(load(sources)));
+    }
+
+    private McpMethodCatalog(McpCatalogSources sources, Map<String, McpMethodDefinition> definitions) {
+        this.sources = sources;
+        this.snapshot = new Snapshot(definitions);
     }
 
     public McpMethodCatalog(Collection<McpMethodDefinition> definitions) {
-        Map<String, McpMethodDefinition> map = new LinkedHashMap<>();
-        if (definitions != null) {
-            for (McpMethodDefinition definition : definitions) {
-                if (definition == null || definition.getName() == null || definition.getName().isBlank()) {
-                    continue;
+        this(null, index(definitions));
+    }
+
+    /**
+     * Creates a catalog backed by a YAML file that can be {@link #reload() reloaded}.
+     */
+    public static McpMethodCatalog fromFile(Path source) {
+        return fromSources(McpCatalogSources.of(source));
+    }
+
+    /**
+     * Creates a catalog from several locations, read in parallel, that can be {@link #reload() reloaded}.
+     */
+    public static McpMethodCatalog fromSources(McpCatalogSources sources) {
+        return new McpMethodCatalog(sources);
+    }
+
+    /**
+     * The catalog for the configured sources, parsed once per process and shared by every processor
+     * created with its default constructor. It is parsed again only when the configured locations change.
+     */
+    public static McpMethodCatalog shared() {
+        String locations = configuredSources().toString();
+        McpMethodCatalog catalog = shared;
+        if (catalog == null || !locations.equals(catalog.sources.toString())) {
+            synchronized (McpMethodCatalog.class) {
+                catalog = shared;
+                if (catalog == null || !locations.equals(catalog.sources.toString())) {
+                    shared = catalog = new McpMethodCatalog(McpCatalogSources.parse(locations));
                 }
-                map.put(definition.getName(), definition);
             }
         }
-        this.methods = Collections.unmodifiableMap(map);
+        return catalog;
+    }
+
+    /**
+     * Returns the catalog bound as {@value #REGISTRY_NAME}, binding the {@link #shared() shared} one if
+     * there is none yet.
+     */
+    public static McpMethodCatalog lookupOrCreate(CamelContext camelContext) {
+        McpMethodCatalog catalog = camelContext.getRegistry().lookupByNameAndType(REGISTRY_NAME, McpMethodCatalog.class);
+        if (catalog == null) {
+            synchronized (McpMethodCatalog.class) {
+                catalog = camelContext.getRegistry().lookupByNameAndType(REGISTRY_NAME, McpMethodCatalog.class);
+                if (catalog == null) {
+                    catalog = shared();
+                    camelContext.getRegistry().bind(REGISTRY_NAME, catalog);
+                }
+            }
+        }
+        return catalog;
     }
 
     public Collection<McpMethodDefinition> list() {
-        return methods.values();
+        return snapshot.methods.values();
     }
 
     public Optional<McpMethodDefinition> findByName(String name) {
         if (name == null) {
             return Optional.empty();
         }
-        return Optional.ofNullable(methods.get(name));
+        return Optional.ofNullable(snapshot.methods.get(name));
+    }
+
+    /**
+     * Returns the {@code tools/list} result ({@code {"tools":[...]}}) for the current definitions,
+     * prepared once per snapshot.
+     */
+    public McpPreparedJson getToolsListResult() {
+        return snapshot.tools.all();
+    }
+
+    /**
+     * Returns one page of the {@code tools/list} result. Without a cursor this is the first page of the
+     * current definitions, or the whole result when {@code pageSize} is not positive; with a cursor it is
+     * the page that cursor names, taken from the same snapshot as the page that issued it.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or its snapshot is no longer retained
+     */
+    public McpPreparedJson getToolsListPage(String cursor, int pageSize) {
+        return McpListSnapshot.resolve(snapshot.tools, retained, cursor, pageSize);
+    }
+
+    /**
+     * Returns the validator compiled from the tool's {@code inputSchema} (and required arguments) when the
+     * current definitions were loaded, or {@link McpSchemaValidator#ACCEPT_ALL} for tools the catalog does
+     * not define.
+     */
+    public McpSchemaValidator getInputValidator(String name) {
+        McpSchemaValidator validator = name == null ? null : snapshot.inputValidators.get(name);
+        return validator != null ? validator : McpSchemaValidator.ACCEPT_ALL;
+    }
+
+    /**
+     * Returns the validator compiled from the tool's {@code outputSchema}, or
+     * {@link McpSchemaValidator#ACCEPT_ALL} when it has none or the catalog does not define the tool.
+     */
+    public McpSchemaValidator getOutputValidator(String name) {
+        McpSchemaValidator validator = name == null ? null : snapshot.outputValidators.get(name);
+        return validator != null ? validator : McpSchemaValidator.ACCEPT_ALL;
+    }
+
+    /**
+     * Searches the current definitions with the snapshot's inverted index.
+     *
+     * @param query free text matched against tokens of name, title, description and annotation values;
+     *              {@code null} or blank matches every tool
+     * @param tag   annotation value, or key of a {@code true} annotation, the tools must carry; may be {@code null}
+     * @param limit maximum number of tools returned
+     * @return {@code tools/list} entries, best match first
+     */
+    public List<Map<String, Object>> searchTools(String query, String tag, int limit) {
+        Snapshot current = snapshot;
+        int[] ordinals = current.index.search(query, tag, Math.max(0, limit));
+        List<Map<String, Object>> tools = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            tools.add(current.entries.get(ordinal));
+        }
+        return tools;
+    }
+
+    /**
+     * The file this catalog was loaded from when that is its only location, otherwise {@code null}.
+     */
+    public Path getSource() {
+        return sources == null ? null : sources.singleFile();
+    }
+
+    /**
+     * The locations this catalog was loaded from, or {@code null} for in-memory catalogs.
+     */
+    public McpCatalogSources getSources() {
+        return sources;
+    }
+
+    /**
+     * Re-reads every source location and swaps in their definitions.
+     *
+     * @return whether the {@code tools/list} result changed
+     * @throws IllegalStateException    if the catalog is in-memory or a location cannot be read or parsed
+     * @throws IllegalArgumentException if a definition has no name or a name is used twice; the current
+     *                                  definitions stay in place
+     */
+    public boolean reload() {
+        if (sources == null) {
+            throw new IllegalStateException("MCP method catalog is not backed by files or resources");
+        }
+        return replace(load(sources));
     }
 
-    private static List<McpMethodDefinition> loadDefinitionsFromClasspath() {
-        String path = DEFAULT_RESOURCE.substring("classpath:".length());
-        ClassLoader cl = Thread.currentThread().getContextClassLoader();
-        if (cl == null) {
-            cl = McpMethodCatalog.class.getClassLoader();
+    /**
+     * Validates {@code definitions} and swaps them in atomically.
+     *
+     * @return whether the {@code tools/list} result changed
+     * @throws IllegalArgumentException if a definition has no name or a name is used twice
+     */
+    public boolean replace(Collection<McpMethodDefinition> definitions) {
+        Map<String, McpMethodDefinition> methods = new LinkedHashMap<>();
+        for (McpMethodDefinition definition : definitions) {
+            if (definition == null || definition.getName() == null || definition.getName().isBlank()) {
+                throw new IllegalArgumentException("MCP method definition without a name");
+            }
+            if (methods.put(definition.getName(), definition) != null) {
+                throw new IllegalArgumentException("Duplicate MCP method definition: " + definition.getName());
+            }
         }
-        try (InputStream in = cl.getResourceAsStream(path)) {
-            if (in == null) {
-                return List.of();
+        Snapshot next = new Snapshot(Collections.unmodifiableMap(methods));
+        // Serialize before the swap so requests never pay for it and the change check is exact.
+        String nextEtag = next.tools.all().etag();
+        Snapshot previous = snapshot;
+        // Keep the old generation reachable first so its cursors never miss it.
+        McpListSnapshot.retain(retained, previous.tools);
+        snapshot = next;
+        return !nextEtag.equals(previous.tools.all().etag());
+    }
+
+    private static Map<String, McpMethodDefinition> index(Collection<McpMethodDefinition> definitions) {
+        Map<String, McpMethodDefinition> map = new LinkedHashMap<>();
+        if (definitions != null) {
+            for (McpMethodDefinition definition : definitions) {
+                if (definition == null || definition.getName() == null || definition.getName().isBlank()) {
+                    continue;
+                }
+                map.put(definition.getName(), definition);
             }
-            ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
-            McpMethodDefinitions holder = mapper.readValue(in, McpMethodDefinitions.class);
-            if (holder.methods == null) {
-                return List.of();
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static Map<String, Object> toToolEntry(McpMethodDefinition definition) {
+        Map<String, Object> tool = new LinkedHashMap<>();
+        tool.put("name", definition.getName());
+        tool.put("title", definition.getTitle());
+        tool.put("description", definition.getDescription());
+        tool.put("inputSchema", orEmpty(definition.getInputSchema()));
+        tool.put("outputSchema", orEmpty(definition.getOutputSchema()));
+        tool.put("annotations", orEmpty(definition.getAnnotations()));
+        if (definition.getMeta() != null) {
+            tool.put("_meta", McpJsonCodec.getDefault().mapper().convertValue(definition.getMeta(), Map.class));
+        }
+        return Collections.unmodifiableMap(tool);
+    }
+
+    private static Map<String, Object> orEmpty(Map<String, Object> source) {
+        return source == null ? Map.of() : source;
+    }
+
+    /**
+     * The definitions of every source location, followed by the generated {@link McpToolProvider} tools
+     * that no location defines.
+     */
+    private static List<McpMethodDefinition> load(McpCatalogSources sources) {
+        List<McpMethodDefinition> definitions = new ArrayList<>(sources.load(McpMethodCatalog::readDefinitions));
+        Set<String> declared = new HashSet<>();
+        definitions.forEach(definition -> declared.add(definition.getName()));
+        for (McpMethodDefinition generated : McpToolProviders.definitions()) {
+            if (!declared.contains(generated.getName())) {
+                definitions.add(generated);
             }
-            return holder.methods;
-        } catch (IOException e) {
-            throw new IllegalStateException("Failed to load MCP method definitions from " + DEFAULT_RESOURCE, e);
         }
+        return definitions;
+    }
+
+    private static McpCatalogSources configuredSources() {
+        String locations = System.getProperty(METHODS_SOURCES_PROPERTY);
+        if (locations != null && !locations.isBlank()) {
+            return McpCatalogSources.parse(locations);
+        }
+        String file = System.getProperty(METHODS_FILE_PROPERTY);
+        return McpCatalogSources.parse(file == null || file.isBlank() ? DEFAULT_RESOURCE : file.trim());
+    }
+
+    private static List<McpMethodDefinition> readDefinitions(InputStream in) throws IOException {
+        ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
+        McpMethodDefinitions holder = mapper.readValue(in, McpMethodDefinitions.class);
+        if (holder == null || holder.methods == null) {
+            return List.of();
+        }
+        return holder.methods;
     }
 
     private static class McpMethodDefinitions {
         public List<McpMethodDefinition> methods;
     }
+
+    /**
+     * One immutable generation of the catalog.
+     */
+    private static final class Snapshot {
+
+        private final Map<String, McpMethodDefinition> methods;
+        private final List<Map<String, Object>> entries;
+        private final McpListSnapshot tools;
+        private final McpToolIndex index;
+        private final Map<String, McpSchemaValidator> inputValidators;
+        private final Map<String, McpSchemaValidator> outputValidators;
+
+        private Snapshot(Map<String, McpMethodDefinition> methods) {
+            this.methods = methods;
+            Map<String, McpSchemaValidator> inputs = new HashMap<>();
+            Map<String, McpSchemaValidator> outputs = new HashMap<>();
+            methods.forEach((name, definition) -> {
+                inputs.put(name, McpSchemaValidator.compile(definition.getInputSchema(), definition.getRequiredArguments()));
+                outputs.put(name, McpSchemaValidator.compile(definition.getOutputSchema()));
+            });
+            this.inputValidators = inputs;
+            this.outputValidators = outputs;
+            this.entries = methods.values().stream().map(McpMethodCatalog::toToolEntry).toList();
+            this.tools = new McpListSnapshot("tools", entries);
+            this.index = new McpToolIndex(List.copyOf(methods.values()));
+        }
+    }
 }
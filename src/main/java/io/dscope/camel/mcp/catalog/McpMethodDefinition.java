@@ -23,6 +23,7 @@ public class McpMethodDefinition {
     private Map<String, Object> inputSchema = Map.of();
     private Map<String, Object> outputSchema = Map.of();
     private List<String> requiredArguments = List.of();
+    private McpMethodRateLimit rateLimit;
 
     @JsonProperty("_meta")
     private McpToolMeta meta;
@@ -100,6 +101,17 @@ public class McpMethodDefinition {
         }
     }
 
+    /**
+     * Optional per-tool rate limit; not part of the {@code tools/list} entry.
+     */
+    public McpMethodRateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public void setRateLimit(McpMethodRateLimit rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
     @JsonProperty("_meta")
     public McpToolMeta getMeta() {
         return meta;
@@ -0,0 +1,41 @@
+package io.dscope.camel.mcp.catalog;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Per-tool token bucket declared under {@code rateLimit} in {@code methods.yaml}; it applies to each
+ * rate limiter key (client, session, ...) on top of the limiter's own bucket.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class McpMethodRateLimit {
+
+    private int capacity = 1;
+    private Double refillPerSecond;
+
+    public McpMethodRateLimit() {
+    }
+
+    public McpMethodRateLimit(int capacity, double refillPerSecond) {
+        this.capacity = Math.max(1, capacity);
+        this.refillPerSecond = refillPerSecond;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Tokens added per second; defaults to {@link #getCapacity()}, {@code 0} means no refill.
+     */
+    public double getRefillPerSecond() {
+        return refillPerSecond == null ? capacity : refillPerSecond;
+    }
+
+    public void setRefillPerSecond(Double refillPerSecond) {
+        this.refillPerSecond = refillPerSecond;
+    }
+}
@@ -0,0 +1,168 @@
+package io.dscope.camel.mcp.catalog;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks a sample of {@code tools/call} results against the tool's {@code outputSchema} to catch contract
+ * drift in production.
+ * <p>
+ * {@code McpMethodRouter} offers the result of every {@code tools/call} (and {@code ui/tools/call}) to
+ * the checker bound as {@value #REGISTRY_NAME}, whichever handler produced it. A fraction
+ * {@code mcp.outputSchema.sampleRate} (default 0, off; {@code 0.01} checks one in a hundred) is queued
+ * and validated with the catalog's compiled validator on a single daemon thread, never on the response
+ * path. When the queue ({@code mcp.outputSchema.queueSize}, default 1000) is full the sample is dropped.
+ * Only sampled results are extracted from the response, on the checker thread. Checked and violating
+ * results are counted per tool and reported by {@link #snapshot()}; the response must not be modified
+ * after it has been offered.
+ */
+public class McpOutputSchemaChecker implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(McpOutputSchemaChecker.class);
+
+    public static final String REGISTRY_NAME = "mcpOutputSchemaChecker";
+
+    private final McpMethodCatalog catalog;
+    private final double sampleRate;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ToolCounters> tools = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    public McpOutputSchemaChecker(McpMethodCatalog catalog) {
+        this(catalog, Double.parseDouble(System.getProperty("mcp.outputSchema.sampleRate", "0")),
+                Integer.getInteger("mcp.outputSchema.queueSize", 1000));
+    }
+
+    /**
+     * @param sampleRate fraction of results checked, {@code 0} to {@code 1}
+     * @param queueSize  samples waiting for the checker thread before new ones are dropped
+     */
+    public McpOutputSchemaChecker(McpMethodCatalog catalog, double sampleRate, int queueSize) {
+        this.catalog = catalog;
+        this.sampleRate = Math.max(0d, Math.min(1d, sampleRate));
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), runnable -> {
+                    Thread thread = new Thread(runnable, "McpOutputSchemaChecker");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public boolean isEnabled() {
+        return sampleRate > 0d;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Offers a tool result; returns immediately whether or not it is sampled.
+     */
+    public void sample(String toolName, Object structuredContent) {
+        sample(toolName, () -> structuredContent);
+    }
+
+    /**
+     * Offers a tool result whose {@code structuredContent} is only extracted, on the checker thread, if it
+     * is sampled; a {@code null} result is not counted.
+     */
+    public void sample(String toolName, Supplier<Object> structuredContent) {
+        if (sampleRate <= 0d || toolName == null
+                || (sampleRate < 1d && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        McpSchemaValidator validator = catalog.getOutputValidator(toolName);
+        if (validator == McpSchemaValidator.ACCEPT_ALL) {
+            return;
+        }
+        try {
+            executor.execute(() -> check(toolName, validator, structuredContent));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    private void check(String toolName, McpSchemaValidator validator, Supplier<Object> result) {
+        List<McpSchemaValidator.Violation> violations;
+        try {
+            Object structuredContent = result.get();
+            if (structuredContent == null) {
+                return;
+            }
+            violations = validator.validate(structuredContent, "structuredContent");
+        } catch (RuntimeException e) {
+            LOG.debug("Unable to check output of tool {}", toolName, e);
+            return;
+        }
+        ToolCounters counters = tools.computeIfAbsent(toolName, name -> new ToolCounters());
+        if (!violations.isEmpty()) {
+            counters.violations.increment();
+            counters.lastViolation = violations.get(0).toString();
+            LOG.warn("Tool {} returned structuredContent that does not match its outputSchema: {}", toolName, violations);
+        }
+        // counted last, so a reader that sees the check also sees its violation
+        counters.checked.increment();
+    }
+
+    public long getChecked(String toolName) {
+        ToolCounters counters = tools.get(toolName);
+        return counters == null ? 0L : counters.checked.sum();
+    }
+
+    public long getViolations(String toolName) {
+        ToolCounters counters = tools.get(toolName);
+        return counters == null ? 0L : counters.violations.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Sample rate, dropped samples and, per checked tool, {@code checked}, {@code violations} and the
+     * {@code lastViolation}.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> perTool = new TreeMap<>();
+        tools.forEach((name, counters) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("checked", counters.checked.sum());
+            entry.put("violations", counters.violations.sum());
+            if (counters.lastViolation != null) {
+                entry.put("lastViolation", counters.lastViolation);
+            }
+            perTool.put(name, entry);
+        });
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("sampleRate", sampleRate);
+        snapshot.put("pending", executor.getQueue().size());
+        snapshot.put("dropped", dropped.sum());
+        snapshot.put("tools", perTool);
+        return snapshot;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static final class ToolCounters {
+        private final LongAdder checked = new LongAdder();
+        private final LongAdder violations = new LongAdder();
+        private volatile String lastViolation;
+    }
+}
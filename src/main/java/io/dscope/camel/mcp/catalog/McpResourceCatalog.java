@@ -2,6 +2,7 @@ package io.dscope.camel.mcp.catalog;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -10,53 +11,137 @@ import java.util.Map;
 import java.util.Optional;
 
 import org.apache.camel.BindToRegistry;
+import org.apache.camel.CamelContext;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
 import io.dscope.camel.mcp.model.McpResource;
+import io.dscope.camel.mcp.service.McpPreparedJson;
 
 /**
  * Loads MCP resource definitions from configuration for use by processors.
+ * <p>
+ * Definitions come from {@code classpath:mcp/resources.yaml}, from the file named by
+ * {@code mcp.catalog.resourcesFile}, or from the {@link McpCatalogSources locations} in
+ * {@code mcp.catalog.resourcesSources}; a catalog with file locations can be {@link #reload() reloaded} and is
+ * swapped as one immutable snapshot, like {@link McpMethodCatalog}. Each snapshot builds and serializes
+ * its {@code resources/list} result, and each page of it, once on first use.
  */
 @BindToRegistry("mcpResourceCatalog")
 public class McpResourceCatalog {
 
+    public static final String RESOURCES_FILE_PROPERTY = "mcp.catalog.resourcesFile";
+    public static final String RESOURCES_SOURCES_PROPERTY = "mcp.catalog.resourcesSources";
+    public static final String REGISTRY_NAME = "mcpResourceCatalog";
+
     private static final String DEFAULT_RESOURCE = "classpath:mcp/resources.yaml";
 
-    private final Map<String, McpResourceDefinition> resources;
+    private static volatile McpResourceCatalog shared;
+
+    private final McpCatalogSources sources;
+    private final Map<Long, McpListSnapshot> retained = McpListSnapshot.retainedGenerations();
+    private volatile Snapshot snapshot;
 
     public McpResourceCatalog() {
-        this(loadDefinitionsFromClasspath());
+        this(configuredSources());
+    }
+
+    private McpResourceCatalog(McpCatalogSources sources) {
+        this(sources, index(sources.load(McpResourceCatalog::readDefinitions)));
+    }
+
+    private McpResourceCatalog(McpCatalogSources sources, Map<String, McpResourceDefinition> definitions) {
+        this.sources = sources;
+        this.snapshot = new Snapshot(definitions);
     }
 
     public McpResourceCatalog(Collection<McpResourceDefinition> definitions) {
-        Map<String, McpResourceDefinition> map = new LinkedHashMap<>();
-        if (definitions != null) {
-            for (McpResourceDefinition definition : definitions) {
-                if (definition == null || definition.getUri() == null || definition.getUri().isBlank()) {
-                    continue;
+        this(null, index(definitions));
+    }
+
+    /**
+     * Creates a catalog backed by a YAML file that can be {@link #reload() reloaded}.
+     */
+    public static McpResourceCatalog fromFile(Path source) {
+        return fromSources(McpCatalogSources.of(source));
+    }
+
+    /**
+     * Creates a catalog from several locations, read in parallel, that can be {@link #reload() reloaded}.
+     */
+    public static McpResourceCatalog fromSources(McpCatalogSources sources) {
+        return new McpResourceCatalog(sources);
+    }
+
+    /**
+     * The catalog for the configured sources, parsed once per process and shared by every processor
+     * created with its default constructor. It is parsed again only when the configured locations change.
+     */
+    public static McpResourceCatalog shared() {
+        String locations = configuredSources().toString();
+        McpResourceCatalog catalog = shared;
+        if (catalog == null || !locations.equals(catalog.sources.toString())) {
+            synchronized (McpResourceCatalog.class) {
+                catalog = shared;
+                if (catalog == null || !locations.equals(catalog.sources.toString())) {
+                    shared = catalog = new McpResourceCatalog(McpCatalogSources.parse(locations));
                 }
-                map.put(definition.getUri(), definition);
             }
         }
-        this.resources = Collections.unmodifiableMap(map);
+        return catalog;
+    }
+
+    /**
+     * Returns the catalog bound as {@value #REGISTRY_NAME}, binding the {@link #shared() shared} one if
+     * there is none yet.
+     */
+    public static McpResourceCatalog lookupOrCreate(CamelContext camelContext) {
+        McpResourceCatalog catalog = camelContext.getRegistry().lookupByNameAndType(REGISTRY_NAME, McpResourceCatalog.class);
+        if (catalog == null) {
+            synchronized (McpResourceCatalog.class) {
+                catalog = camelContext.getRegistry().lookupByNameAndType(REGISTRY_NAME, McpResourceCatalog.class);
+                if (catalog == null) {
+                    catalog = shared();
+                    camelContext.getRegistry().bind(REGISTRY_NAME, catalog);
+                }
+            }
+        }
+        return catalog;
     }
 
     /**
      * Lists all resources as McpResource objects for the resources/list response.
      */
     public List<McpResource> listResources() {
-        return resources.values().stream()
+        return snapshot.resources.values().stream()
                 .map(McpResourceDefinition::toResource)
                 .toList();
     }
 
+    /**
+     * Returns the {@code resources/list} result ({@code {"resources":[...]}}) for the current definitions,
+     * prepared once per snapshot.
+     */
+    public McpPreparedJson getResourcesListResult() {
+        return snapshot.list.all();
+    }
+
+    /**
+     * Returns one page of the {@code resources/list} result, paged like
+     * {@link McpMethodCatalog#getToolsListPage(String, int)}.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or its snapshot is no longer retained
+     */
+    public McpPreparedJson getResourcesListPage(String cursor, int pageSize) {
+        return McpListSnapshot.resolve(snapshot.list, retained, cursor, pageSize);
+    }
+
     /**
      * Returns all resource definitions.
      */
     public Collection<McpResourceDefinition> list() {
-        return resources.values();
+        return snapshot.resources.values();
     }
 
     /**
@@ -66,38 +151,116 @@ public class McpResourceCatalog {
         if (uri == null) {
             return Optional.empty();
         }
-        return Optional.ofNullable(resources.get(uri));
+        return Optional.ofNullable(snapshot.resources.get(uri));
     }
 
     /**
      * Checks if a resource with the given URI exists.
      */
     public boolean hasResource(String uri) {
-        return uri != null && resources.containsKey(uri);
+        return uri != null && snapshot.resources.containsKey(uri);
     }
 
-    private static List<McpResourceDefinition> loadDefinitionsFromClasspath() {
-        String path = DEFAULT_RESOURCE.substring("classpath:".length());
-        ClassLoader cl = Thread.currentThread().getContextClassLoader();
-        if (cl == null) {
-            cl = McpResourceCatalog.class.getClassLoader();
+    /**
+     * The file this catalog was loaded from when that is its only location, otherwise {@code null}.
+     */
+    public Path getSource() {
+        return sources == null ? null : sources.singleFile();
+    }
+
+    /**
+     * The locations this catalog was loaded from, or {@code null} for in-memory catalogs.
+     */
+    public McpCatalogSources getSources() {
+        return sources;
+    }
+
+    /**
+     * Re-reads every source location and swaps in their definitions.
+     *
+     * @return whether the {@code resources/list} result changed
+     * @throws IllegalStateException    if the catalog is in-memory or a location cannot be read or parsed
+     * @throws IllegalArgumentException if a definition has no URI or a URI is used twice; the current
+     *                                  definitions stay in place
+     */
+    public boolean reload() {
+        if (sources == null) {
+            throw new IllegalStateException("MCP resource catalog is not backed by files or resources");
         }
-        try (InputStream in = cl.getResourceAsStream(path)) {
-            if (in == null) {
-                return List.of();
+        return replace(sources.load(McpResourceCatalog::readDefinitions));
+    }
+
+    /**
+     * Validates {@code definitions} and swaps them in atomically.
+     *
+     * @return whether the {@code resources/list} result changed
+     * @throws IllegalArgumentException if a definition has no URI or a URI is used twice
+     */
+    public boolean replace(Collection<McpResourceDefinition> definitions) {
+        Map<String, McpResourceDefinition> resources = new LinkedHashMap<>();
+        for (McpResourceDefinition definition : definitions) {
+            if (definition == null || definition.getUri() == null || definition.getUri().isBlank()) {
+                throw new IllegalArgumentException("MCP resource definition without a uri");
+            }
+            if (resources.put(definition.getUri(), definition) != null) {
+                throw new IllegalArgumentException("Duplicate MCP resource definition: " + definition.getUri());
             }
-            ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
-            McpResourceDefinitions holder = mapper.readValue(in, McpResourceDefinitions.class);
-            if (holder.resources == null) {
-                return List.of();
+        }
+        Snapshot next = new Snapshot(Collections.unmodifiableMap(resources));
+        String nextEtag = next.list.all().etag();
+        Snapshot previous = snapshot;
+        McpListSnapshot.retain(retained, previous.list);
+        snapshot = next;
+        return !nextEtag.equals(previous.list.all().etag());
+    }
+
+    private static Map<String, McpResourceDefinition> index(Collection<McpResourceDefinition> definitions) {
+        Map<String, McpResourceDefinition> map = new LinkedHashMap<>();
+        if (definitions != null) {
+            for (McpResourceDefinition definition : definitions) {
+                if (definition == null || definition.getUri() == null || definition.getUri().isBlank()) {
+                    continue;
+                }
+                map.put(definition.getUri(), definition);
             }
-            return holder.resources;
-        } catch (IOException e) {
-            throw new IllegalStateException("Failed to load MCP resource definitions from " + DEFAULT_RESOURCE, e);
         }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static McpCatalogSources configuredSources() {
+        String locations = System.getProperty(RESOURCES_SOURCES_PROPERTY);
+        if (locations != null && !locations.isBlank()) {
+            return McpCatalogSources.parse(locations);
+        }
+        String file = System.getProperty(RESOURCES_FILE_PROPERTY);
+        return McpCatalogSources.parse(file == null || file.isBlank() ? DEFAULT_RESOURCE : file.trim());
+    }
+
+    private static List<McpResourceDefinition> readDefinitions(InputStream in) throws IOException {
+        ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
+        McpResourceDefinitions holder = mapper.readValue(in, McpResourceDefinitions.class);
+        if (holder == null || holder.resources == null) {
+            return List.of();
+        }
+        return holder.resources;
     }
 
     private static class McpResourceDefinitions {
         public List<McpResourceDefinition> resources;
     }
+
+    /**
+     * One immutable generation of the catalog.
+     */
+    private static final class Snapshot {
+
+        private final Map<String, McpResourceDefinition> resources;
+        private final McpListSnapshot list;
+
+        private Snapshot(Map<String, McpResourceDefinition> resources) {
+            this.resources = resources;
+            this.list = new McpListSnapshot("resources",
+                    resources.values().stream().map(McpResourceDefinition::toResource).toList());
+        }
+    }
 }
@@ -0,0 +1,457 @@
+package io.dscope.camel.mcp.catalog;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A JSON Schema compiled once into a tree of checks that validate parsed JSON values ({@link Map},
+ * {@link List}, {@link String}, {@link Number}, {@link Boolean}, {@code null}).
+ * <p>
+ * Supports {@code type}, {@code enum}, {@code const}, {@code required}, {@code properties},
+ * {@code additionalProperties}, {@code items}, {@code minItems}/{@code maxItems}, {@code uniqueItems},
+ * {@code minLength}/{@code maxLength}, {@code pattern}, {@code minimum}/{@code maximum},
+ * {@code exclusiveMinimum}/{@code exclusiveMaximum}, {@code multipleOf} and {@code allOf}/{@code anyOf}/
+ * {@code oneOf}. Other keywords, including {@code $ref} and {@code format}, are ignored, so a schema the
+ * validator does not fully understand is enforced only as far as it is understood; malformed keyword values
+ * are logged and skipped rather than failing the catalog.
+ */
+public final class McpSchemaValidator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(McpSchemaValidator.class);
+
+    /**
+     * Accepts every value; used for tools without an input schema.
+     */
+    public static final McpSchemaValidator ACCEPT_ALL = new McpSchemaValidator(new Check[0]);
+
+    private static final int MAX_VIOLATIONS = 16;
+
+    private final Check[] checks;
+
+    private McpSchemaValidator(Check[] checks) {
+        this.checks = checks;
+    }
+
+    /**
+     * Compiles {@code schema}; {@code null} or empty schemas accept everything.
+     */
+    public static McpSchemaValidator compile(Map<String, Object> schema) {
+        return compile(schema, List.of());
+    }
+
+    /**
+     * Compiles {@code schema} with {@code required} added to the top-level required properties, as
+     * declared by {@link McpMethodDefinition#getRequiredArguments()}.
+     */
+    public static McpSchemaValidator compile(Map<String, Object> schema, Collection<String> required) {
+        Map<String, Object> root = schema == null ? Map.of() : schema;
+        if (required != null && !required.isEmpty()) {
+            Set<String> names = new LinkedHashSet<>(required);
+            if (root.get("required") instanceof List<?> declared) {
+                declared.forEach(name -> names.add(String.valueOf(name)));
+            }
+            root = new LinkedHashMap<>(root);
+            root.put("required", List.copyOf(names));
+        }
+        Check[] checks = compileNode(root);
+        return checks.length == 0 ? ACCEPT_ALL : new McpSchemaValidator(checks);
+    }
+
+    /**
+     * Whether {@code value} conforms.
+     */
+    public boolean accepts(Object value) {
+        return validate(value, "$").isEmpty();
+    }
+
+    /**
+     * Returns up to 16 violations of {@code value}, with paths below {@code root} such as
+     * {@code arguments.items[2].id}; an empty list means the value conforms.
+     */
+    public List<Violation> validate(Object value, String root) {
+        if (checks.length == 0) {
+            return List.of();
+        }
+        List<Violation> violations = new ArrayList<>(2);
+        run(checks, value, root, violations);
+        return violations.size() > MAX_VIOLATIONS ? violations.subList(0, MAX_VIOLATIONS) : violations;
+    }
+
+    public record Violation(String path, String message) {
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("path", path);
+            map.put("message", message);
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return path + ": " + message;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Check {
+        void check(Object value, String path, List<Violation> violations);
+    }
+
+    private static void run(Check[] checks, Object value, String path, List<Violation> violations) {
+        for (Check check : checks) {
+            if (violations.size() >= MAX_VIOLATIONS) {
+                return;
+            }
+            check.check(value, path, violations);
+        }
+    }
+
+    private static boolean conforms(Check[] checks, Object value) {
+        List<Violation> scratch = new ArrayList<>(1);
+        run(checks, value, "", scratch);
+        return scratch.isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Check[] compileNode(Object node) {
+        if (!(node instanceof Map<?, ?> raw) || raw.isEmpty()) {
+            return new Check[0];
+        }
+        Map<String, Object> schema = (Map<String, Object>) raw;
+        List<Check> checks = new ArrayList<>();
+
+        Object type = schema.get("type");
+        if (type instanceof String || type instanceof List<?>) {
+            Set<String> types = new LinkedHashSet<>();
+            if (type instanceof List<?> list) {
+                list.forEach(t -> types.add(String.valueOf(t)));
+            } else {
+                types.add((String) type);
+            }
+            String expected = String.join(" or ", types);
+            checks.add((value, path, violations) -> {
+                for (String t : types) {
+                    if (isType(value, t)) {
+                        return;
+                    }
+                }
+                violations.add(new Violation(path, "expected " + expected + " but was " + typeOf(value)));
+            });
+        }
+        if (schema.get("enum") instanceof List<?> allowed) {
+            checks.add((value, path, violations) -> {
+                for (Object candidate : allowed) {
+                    if (jsonEquals(candidate, value)) {
+                        return;
+                    }
+                }
+                violations.add(new Violation(path, "must be one of " + allowed));
+            });
+        }
+        if (schema.containsKey("const")) {
+            Object constant = schema.get("const");
+            checks.add((value, path, violations) -> {
+                if (!jsonEquals(constant, value)) {
+                    violations.add(new Violation(path, "must be " + constant));
+                }
+            });
+        }
+        compileObject(schema, checks);
+        compileArray(schema, checks);
+        compileString(schema, checks);
+        compileNumber(schema, checks);
+        compileCombinators(schema, checks);
+        return checks.toArray(new Check[0]);
+    }
+
+    private static void compileObject(Map<String, Object> schema, List<Check> checks) {
+        if (schema.get("required") instanceof List<?> list && !list.isEmpty()) {
+            String[] required = list.stream().map(String::valueOf).toArray(String[]::new);
+            checks.add((value, path, violations) -> {
+                if (value instanceof Map<?, ?> map) {
+                    for (String name : required) {
+                        if (!map.containsKey(name)) {
+                            violations.add(new Violation(path + "." + name, "is required"));
+                        }
+                    }
+                }
+            });
+        }
+        Map<String, Check[]> properties = new LinkedHashMap<>();
+        if (schema.get("properties") instanceof Map<?, ?> declared) {
+            declared.forEach((name, property) -> {
+                Check[] compiled = compileNode(property);
+                properties.put(String.valueOf(name), compiled);
+            });
+        }
+        Object additional = schema.get("additionalProperties");
+        boolean forbidAdditional = Boolean.FALSE.equals(additional);
+        Check[] additionalChecks = compileNode(additional);
+        if (properties.values().stream().allMatch(c -> c.length == 0) && !forbidAdditional && additionalChecks.length == 0) {
+            return;
+        }
+        checks.add((value, path, violations) -> {
+            if (!(value instanceof Map<?, ?> map)) {
+                return;
+            }
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                String name = String.valueOf(entry.getKey());
+                Check[] property = properties.get(name);
+                if (property != null) {
+                    if (property.length > 0) {
+                        run(property, entry.getValue(), path + "." + name, violations);
+                    }
+                } else if (forbidAdditional) {
+                    violations.add(new Violation(path + "." + name, "is not allowed"));
+                } else if (additionalChecks.length > 0) {
+                    run(additionalChecks, entry.getValue(), path + "." + name, violations);
+                }
+            }
+        });
+    }
+
+    private static void compileArray(Map<String, Object> schema, List<Check> checks) {
+        Check[] items = compileNode(schema.get("items"));
+        if (items.length > 0) {
+            checks.add((value, path, violations) -> {
+                if (value instanceof List<?> list) {
+                    for (int i = 0; i < list.size() && violations.size() < MAX_VIOLATIONS; i++) {
+                        run(items, list.get(i), path + "[" + i + "]", violations);
+                    }
+                }
+            });
+        }
+        Integer minItems = integer(schema, "minItems");
+        Integer maxItems = integer(schema, "maxItems");
+        if (minItems != null || maxItems != null) {
+            checks.add((value, path, violations) -> {
+                if (value instanceof List<?> list) {
+                    if (minItems != null && list.size() < minItems) {
+                        violations.add(new Violation(path, "must have at least " + minItems + " items"));
+                    } else if (maxItems != null && list.size() > maxItems) {
+                        violations.add(new Violation(path, "must have at most " + maxItems + " items"));
+                    }
+                }
+            });
+        }
+        if (Boolean.TRUE.equals(schema.get("uniqueItems"))) {
+            // One hashing pass over normalized items; arguments come from the client, so no pairwise scan.
+            checks.add((value, path, violations) -> {
+                if (value instanceof List<?> list) {
+                    Map<Object, Integer> seen = new HashMap<>(list.size() * 2);
+                    for (int i = 0; i < list.size(); i++) {
+                        Integer first = seen.putIfAbsent(normalize(list.get(i)), i);
+                        if (first != null) {
+                            violations.add(new Violation(path + "[" + i + "]", "duplicates item " + first));
+                            return;
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    private static void compileString(Map<String, Object> schema, List<Check> checks) {
+        Integer minLength = integer(schema, "minLength");
+        Integer maxLength = integer(schema, "maxLength");
+        if (minLength != null || maxLength != null) {
+            checks.add((value, path, violations) -> {
+                if (value instanceof CharSequence text) {
+                    int length = text.toString().codePointCount(0, text.length());
+                    if (minLength != null && length < minLength) {
+                        violations.add(new Violation(path, "must be at least " + minLength + " characters"));
+                    } else if (maxLength != null && length > maxLength) {
+                        violations.add(new Violation(path, "must be at most " + maxLength + " characters"));
+                    }
+                }
+            });
+        }
+        if (schema.get("pattern") instanceof String regex) {
+            try {
+                Pattern pattern = Pattern.compile(regex);
+                checks.add((value, path, violations) -> {
+                    if (value instanceof CharSequence text && !pattern.matcher(text).find()) {
+                        violations.add(new Violation(path, "must match " + regex));
+                    }
+                });
+            } catch (PatternSyntaxException e) {
+                LOG.warn("Ignoring invalid JSON Schema pattern {}: {}", regex, e.getDescription());
+            }
+        }
+    }
+
+    private static void compileNumber(Map<String, Object> schema, List<Check> checks) {
+        addBound(checks, schema, "minimum", (value, bound) -> value >= bound, "must be >= ");
+        addBound(checks, schema, "maximum", (value, bound) -> value <= bound, "must be <= ");
+        addBound(checks, schema, "exclusiveMinimum", (value, bound) -> value > bound, "must be > ");
+        addBound(checks, schema, "exclusiveMaximum", (value, bound) -> value < bound, "must be < ");
+        if (schema.get("multipleOf") instanceof Number divisor && divisor.doubleValue() > 0) {
+            BigDecimal step = new BigDecimal(divisor.toString());
+            checks.add((value, path, violations) -> {
+                if (value instanceof Number number && Double.isFinite(number.doubleValue())
+                        && new BigDecimal(number.toString()).remainder(step).signum() != 0) {
+                    violations.add(new Violation(path, "must be a multiple of " + divisor));
+                }
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface Bound {
+        boolean holds(double value, double bound);
+    }
+
+    private static void addBound(List<Check> checks, Map<String, Object> schema, String keyword, Bound bound,
+            String message) {
+        if (schema.get(keyword) instanceof Number limit) {
+            double threshold = limit.doubleValue();
+            String text = message + limit;
+            checks.add((value, path, violations) -> {
+                if (value instanceof Number number && !bound.holds(number.doubleValue(), threshold)) {
+                    violations.add(new Violation(path, text));
+                }
+            });
+        }
+    }
+
+    private static void compileCombinators(Map<String, Object> schema, List<Check> checks) {
+        if (schema.get("allOf") instanceof List<?> all) {
+            for (Object branch : all) {
+                Check[] compiled = compileNode(branch);
+                if (compiled.length > 0) {
+                    checks.add((value, path, violations) -> run(compiled, value, path, violations));
+                }
+            }
+        }
+        if (schema.get("anyOf") instanceof List<?> any && !any.isEmpty()) {
+            Check[][] branches = any.stream().map(McpSchemaValidator::compileNode).toArray(Check[][]::new);
+            checks.add((value, path, violations) -> {
+                for (Check[] branch : branches) {
+                    if (conforms(branch, value)) {
+                        return;
+                    }
+                }
+                violations.add(new Violation(path, "does not match any of the allowed schemas"));
+            });
+        }
+        if (schema.get("oneOf") instanceof List<?> one && !one.isEmpty()) {
+            Check[][] branches = one.stream().map(McpSchemaValidator::compileNode).toArray(Check[][]::new);
+            checks.add((value, path, violations) -> {
+                int matches = 0;
+                for (Check[] branch : branches) {
+                    if (conforms(branch, value)) {
+                        matches++;
+                    }
+                }
+                if (matches != 1) {
+                    violations.add(new Violation(path, "must match exactly one schema but matched " + matches));
+                }
+            });
+        }
+    }
+
+    private static Integer integer(Map<String, Object> schema, String keyword) {
+        return schema.get(keyword) instanceof Number number ? number.intValue() : null;
+    }
+
+    private static boolean isType(Object value, String type) {
+        return switch (type) {
+            case "string" -> value instanceof CharSequence;
+            case "integer" -> isInteger(value);
+            case "number" -> value instanceof Number;
+            case "boolean" -> value instanceof Boolean;
+            case "object" -> value instanceof Map<?, ?>;
+            case "array" -> value instanceof List<?>;
+            case "null" -> value == null;
+            default -> true;
+        };
+    }
+
+    private static boolean isInteger(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || value instanceof BigInteger) {
+            return true;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.stripTrailingZeros().scale() <= 0;
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            return !Double.isInfinite(d) && d == Math.rint(d);
+        }
+        return false;
+    }
+
+    private static String typeOf(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence) {
+            return "string";
+        }
+        if (value instanceof Number) {
+            return isInteger(value) ? "integer" : "number";
+        }
+        if (value instanceof Boolean) {
+            return "boolean";
+        }
+        if (value instanceof Map<?, ?>) {
+            return "object";
+        }
+        if (value instanceof List<?>) {
+            return "array";
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    /**
+     * Maps a JSON value to one whose {@code equals} and {@code hashCode} follow JSON equality: finite
+     * numbers become stripped {@link BigDecimal}s (so 1 and 1.0 match), text becomes {@link String},
+     * and arrays and objects are normalized element by element.
+     */
+    private static Object normalize(Object value) {
+        if (value instanceof Number number) {
+            return Double.isFinite(number.doubleValue()) ? new BigDecimal(number.toString()).stripTrailingZeros() : number;
+        }
+        if (value instanceof CharSequence text) {
+            return text.toString();
+        }
+        if (value instanceof List<?> list) {
+            List<Object> normalized = new ArrayList<>(list.size());
+            list.forEach(item -> normalized.add(normalize(item)));
+            return normalized;
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> normalized = new HashMap<>(map.size() * 2);
+            map.forEach((key, item) -> normalized.put(String.valueOf(key), normalize(item)));
+            return normalized;
+        }
+        return value;
+    }
+
+    private static boolean jsonEquals(Object expected, Object actual) {
+        if (expected instanceof Number a && actual instanceof Number b
+                && Double.isFinite(a.doubleValue()) && Double.isFinite(b.doubleValue())) {
+            // 1 and 1.0 are the same JSON number
+            return new BigDecimal(a.toString()).compareTo(new BigDecimal(b.toString())) == 0;
+        }
+        if (expected instanceof CharSequence a && actual instanceof CharSequence b) {
+            return a.toString().contentEquals(b);
+        }
+        return Objects.equals(expected, actual);
+    }
+}
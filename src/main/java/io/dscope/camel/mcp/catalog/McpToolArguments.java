@@ -0,0 +1,138 @@
+package io.dscope.camel.mcp.catalog;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Argument conversion and schema literals for generated {@link McpToolProvider}s.
+ * <p>
+ * Each converter returns the named argument, or {@code fallback} when it is absent, and throws
+ * {@link IllegalArgumentException} when a required argument is missing or a value has the wrong type.
+ */
+public final class McpToolArguments {
+
+    private McpToolArguments() {
+    }
+
+    public static String string(Map<String, Object> arguments, String name, boolean required, String fallback) {
+        Object value = argument(arguments, name, required);
+        return value == null ? fallback : value.toString();
+    }
+
+    public static Integer intValue(Map<String, Object> arguments, String name, boolean required, Integer fallback) {
+        Object value = argument(arguments, name, required);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return value instanceof Number number ? Math.toIntExact(number.longValue()) : Integer.valueOf(value.toString().trim());
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw mismatch(name, "an integer");
+        }
+    }
+
+    public static Long longValue(Map<String, Object> arguments, String name, boolean required, Long fallback) {
+        Object value = argument(arguments, name, required);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return value instanceof Number number ? number.longValue() : Long.valueOf(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw mismatch(name, "an integer");
+        }
+    }
+
+    public static Double doubleValue(Map<String, Object> arguments, String name, boolean required, Double fallback) {
+        Number value = number(arguments, name, required, fallback);
+        return value == null ? null : value.doubleValue();
+    }
+
+    public static Number number(Map<String, Object> arguments, String name, boolean required, Number fallback) {
+        Object value = argument(arguments, name, required);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return value instanceof Number number ? number : Double.valueOf(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw mismatch(name, "a number");
+        }
+    }
+
+    public static Boolean bool(Map<String, Object> arguments, String name, boolean required, Boolean fallback) {
+        Object value = argument(arguments, name, required);
+        if (value == null) {
+            return fallback;
+        }
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        String text = value.toString().trim();
+        if ("true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text)) {
+            return Boolean.valueOf(text);
+        }
+        throw mismatch(name, "a boolean");
+    }
+
+    /**
+     * Returns a list argument; its elements are not converted.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> list(Map<String, Object> arguments, String name, boolean required, List<?> fallback) {
+        Object value = argument(arguments, name, required);
+        if (value == null) {
+            return (List<T>) fallback;
+        }
+        if (value instanceof List<?> list) {
+            return (List<T>) list;
+        }
+        throw mismatch(name, "an array");
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> object(Map<String, Object> arguments, String name, boolean required,
+            Map<String, Object> fallback) {
+        Object value = argument(arguments, name, required);
+        if (value == null) {
+            return fallback;
+        }
+        if (value instanceof Map<?, ?> map) {
+            return (Map<String, Object>) map;
+        }
+        throw mismatch(name, "an object");
+    }
+
+    /**
+     * An unmodifiable, insertion-ordered JSON object from alternating keys and values.
+     */
+    public static Map<String, Object> objectOf(Object... keysAndValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < keysAndValues.length; i += 2) {
+            map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * An unmodifiable JSON array; unlike {@link List#of} it may hold {@code null}.
+     */
+    public static List<Object> arrayOf(Object... values) {
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    private static Object argument(Map<String, Object> arguments, String name, boolean required) {
+        Object value = arguments == null ? null : arguments.get(name);
+        if (value == null && required) {
+            throw new IllegalArgumentException("Missing required argument: " + name);
+        }
+        return value;
+    }
+
+    private static IllegalArgumentException mismatch(String name, String expected) {
+        return new IllegalArgumentException("Argument " + name + " must be " + expected);
+    }
+}
@@ -0,0 +1,16 @@
+package io.dscope.camel.mcp.catalog;
+
+import java.util.Map;
+
+/**
+ * Runs one tool for a {@code tools/call} request.
+ */
+@FunctionalInterface
+public interface McpToolHandler {
+
+    /**
+     * @param arguments the request's {@code arguments}, never {@code null}
+     * @return the {@code tools/call} result
+     */
+    Map<String, Object> call(Map<String, Object> arguments) throws Exception;
+}
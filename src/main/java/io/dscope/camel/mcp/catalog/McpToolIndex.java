@@ -0,0 +1,164 @@
+package io.dscope.camel.mcp.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index over one catalog snapshot's tools, built once when the snapshot is created.
+ * <p>
+ * Text tokens come from the name, title, description and annotation values, weighted in that order
+ * (a name hit outranks a description hit). Tags are the string values of the annotations plus the keys
+ * of annotations that are {@code true}, so {@code readOnlyHint} selects read-only tools. Postings are
+ * sorted tool ordinals, so a query costs one pass over the postings of its tokens and the tag filter is a
+ * binary search per candidate.
+ */
+final class McpToolIndex {
+
+    private static final int NAME_WEIGHT = 8;
+    private static final int TITLE_WEIGHT = 4;
+    private static final int ANNOTATION_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final int size;
+    private final Map<String, Postings> text;
+    private final Map<String, int[]> tags;
+
+    McpToolIndex(List<McpMethodDefinition> tools) {
+        this.size = tools.size();
+        Map<String, Map<Integer, Integer>> textBuilder = new HashMap<>();
+        Map<String, Set<Integer>> tagBuilder = new HashMap<>();
+        for (int ordinal = 0; ordinal < tools.size(); ordinal++) {
+            McpMethodDefinition tool = tools.get(ordinal);
+            addText(textBuilder, ordinal, tool.getName(), NAME_WEIGHT);
+            addText(textBuilder, ordinal, tool.getTitle(), TITLE_WEIGHT);
+            addText(textBuilder, ordinal, tool.getDescription(), DESCRIPTION_WEIGHT);
+            if (tool.getAnnotations() != null) {
+                for (Map.Entry<String, Object> annotation : tool.getAnnotations().entrySet()) {
+                    Object value = annotation.getValue();
+                    if (Boolean.TRUE.equals(value)) {
+                        addTag(tagBuilder, ordinal, annotation.getKey());
+                    } else if (value instanceof CharSequence || value instanceof Number) {
+                        addText(textBuilder, ordinal, value.toString(), ANNOTATION_WEIGHT);
+                        addTag(tagBuilder, ordinal, value.toString());
+                    }
+                }
+            }
+        }
+        this.text = new HashMap<>(textBuilder.size() * 2);
+        textBuilder.forEach((token, hits) -> text.put(token, Postings.of(hits)));
+        this.tags = new HashMap<>(tagBuilder.size() * 2);
+        tagBuilder.forEach((tag, ordinals) -> tags.put(tag, ordinals.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Returns the ordinals of the best matching tools, best first, ties in catalog order.
+     *
+     * @param query free text; every token that occurs adds its weight, {@code null} or blank matches all
+     * @param tag   annotation tag the tools must carry, or {@code null}
+     * @param limit maximum number of ordinals returned
+     */
+    int[] search(String query, String tag, int limit) {
+        int[] required = NO_POSTINGS;
+        if (tag != null && !tag.isBlank()) {
+            required = tags.getOrDefault(tag.trim().toLowerCase(Locale.ROOT), NO_POSTINGS);
+            if (required.length == 0) {
+                return NO_POSTINGS;
+            }
+        }
+        boolean filtered = required != NO_POSTINGS;
+        Set<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            if (filtered) {
+                return Arrays.copyOf(required, Math.min(limit, required.length));
+            }
+            int[] result = new int[Math.min(limit, size)];
+            Arrays.setAll(result, i -> i);
+            return result;
+        }
+
+        int[] scores = new int[size];
+        int[] matched = new int[size];
+        int matches = 0;
+        for (String token : tokens) {
+            Postings postings = text.get(token);
+            if (postings == null) {
+                continue;
+            }
+            for (int i = 0; i < postings.ordinals.length; i++) {
+                int ordinal = postings.ordinals[i];
+                if (filtered && Arrays.binarySearch(required, ordinal) < 0) {
+                    continue;
+                }
+                if (scores[ordinal] == 0) {
+                    matched[matches++] = ordinal;
+                }
+                scores[ordinal] += postings.weights[i];
+            }
+        }
+        // Pack score and ordinal into one long so a primitive sort ranks by score, then catalog order.
+        long[] ranked = new long[matches];
+        for (int i = 0; i < matches; i++) {
+            ranked[i] = ((long) -scores[matched[i]] << 32) | matched[i];
+        }
+        Arrays.sort(ranked);
+        int[] result = new int[Math.min(limit, matches)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (int) ranked[i];
+        }
+        return result;
+    }
+
+    /**
+     * Lower-cased runs of letters and digits.
+     */
+    static Set<String> tokenize(String value) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (value == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= value.length(); i++) {
+            boolean part = i < value.length() && Character.isLetterOrDigit(value.charAt(i));
+            if (part && start < 0) {
+                start = i;
+            } else if (!part && start >= 0) {
+                tokens.add(value.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addText(Map<String, Map<Integer, Integer>> index, int ordinal, String value, int weight) {
+        for (String token : tokenize(value)) {
+            index.computeIfAbsent(token, key -> new HashMap<>()).merge(ordinal, weight, Math::max);
+        }
+    }
+
+    private static void addTag(Map<String, Set<Integer>> index, int ordinal, String tag) {
+        // Ordinals arrive in ascending order, so insertion order keeps the postings sorted.
+        index.computeIfAbsent(tag.trim().toLowerCase(Locale.ROOT), key -> new LinkedHashSet<>()).add(ordinal);
+    }
+
+    private record Postings(int[] ordinals, int[] weights) {
+
+        private static Postings of(Map<Integer, Integer> hits) {
+            List<Integer> ordinals = new ArrayList<>(hits.keySet());
+            ordinals.sort(null);
+            int[] ids = new int[ordinals.size()];
+            int[] weights = new int[ordinals.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = ordinals.get(i);
+                weights[i] = hits.get(ids[i]);
+            }
+            return new Postings(ids, weights);
+        }
+    }
+}
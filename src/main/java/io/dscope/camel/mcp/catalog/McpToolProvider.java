@@ -0,0 +1,24 @@
+package io.dscope.camel.mcp.catalog;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tools contributed by code rather than by a YAML catalog.
+ * <p>
+ * Implementations are normally generated from {@link io.dscope.camel.mcp.annotation.McpTool} methods and
+ * listed in {@code META-INF/services/io.dscope.camel.mcp.catalog.McpToolProvider}, which is how
+ * {@link McpToolProviders} finds them.
+ */
+public interface McpToolProvider {
+
+    /**
+     * The tools' definitions, as {@code tools/list} publishes them.
+     */
+    List<McpMethodDefinition> definitions();
+
+    /**
+     * Handlers by tool name, including aliases.
+     */
+    Map<String, McpToolHandler> handlers();
+}
@@ -0,0 +1,46 @@
+package io.dscope.camel.mcp.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * The {@link McpToolProvider}s registered on the classpath, instantiated once per process.
+ */
+public final class McpToolProviders {
+
+    private static volatile List<McpToolProvider> installed;
+
+    private McpToolProviders() {
+    }
+
+    public static List<McpToolProvider> installed() {
+        List<McpToolProvider> providers = installed;
+        if (providers == null) {
+            synchronized (McpToolProviders.class) {
+                providers = installed;
+                if (providers == null) {
+                    ClassLoader cl = Thread.currentThread().getContextClassLoader();
+                    if (cl == null) {
+                        cl = McpToolProviders.class.getClassLoader();
+                    }
+                    List<McpToolProvider> loaded = new ArrayList<>();
+                    ServiceLoader.load(McpToolProvider.class, cl).forEach(loaded::add);
+                    installed = providers = List.copyOf(loaded);
+                }
+            }
+        }
+        return providers;
+    }
+
+    /**
+     * The definitions of every installed provider, in classpath order.
+     */
+    public static List<McpMethodDefinition> definitions() {
+        List<McpMethodDefinition> definitions = new ArrayList<>();
+        for (McpToolProvider provider : installed()) {
+            definitions.addAll(provider.definitions());
+        }
+        return definitions;
+    }
+}
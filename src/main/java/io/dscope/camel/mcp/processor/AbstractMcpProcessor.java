@@ -7,6 +7,8 @@ import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.Processor;
 
+import io.dscope.camel.mcp.service.McpJsonCodec;
+
 /**
  * Base MCP processor offering shared utilities for working with JSON-RPC
  * metadata, request payloads, and standard response headers. Resource-specific
@@ -15,6 +17,8 @@ import org.apache.camel.Processor;
  */
 public abstract class AbstractMcpProcessor implements Processor {
 
+    private volatile McpJsonCodec jsonCodec;
+
     @Override
     public final void process(Exchange exchange) throws Exception {
         doProcess(requireExchange(exchange));
@@ -75,8 +79,40 @@ public abstract class AbstractMcpProcessor implements Processor {
         setProtocolHeaders(exchange, resolveProtocolVersion(exchange));
     }
 
+    /**
+     * Uses {@code jsonCodec} instead of the codec bound in the exchange's Camel context.
+     */
+    public void setJsonCodec(McpJsonCodec jsonCodec) {
+        this.jsonCodec = jsonCodec;
+    }
+
+    /**
+     * Returns the injected codec or, failing that, the one bound in the exchange's Camel context, which
+     * is resolved on the first exchange that has a context and reused afterwards.
+     */
+    protected final McpJsonCodec jsonCodec(Exchange exchange) {
+        McpJsonCodec codec = jsonCodec;
+        if (codec == null) {
+            if (exchange.getContext() == null) {
+                return McpJsonCodec.getDefault();
+            }
+            codec = McpJsonCodec.lookupOrDefault(exchange.getContext());
+            jsonCodec = codec;
+        }
+        return codec;
+    }
+
+    /**
+     * Returns the injected codec or the one resolved from an earlier exchange, for helpers that are
+     * called without an exchange; the default codec until then.
+     */
+    protected final McpJsonCodec jsonCodec() {
+        McpJsonCodec codec = jsonCodec;
+        return codec != null ? codec : McpJsonCodec.getDefault();
+    }
+
     protected final void writeJson(Exchange exchange, Map<String, Object> payload) {
-        McpJsonWriter.writeJson(exchange, payload);
+        McpJsonWriter.writeJson(exchange, jsonCodec(exchange).writer(), payload);
     }
 
     protected final Map<String, Object> createEnvelopeSkeleton() {
@@ -5,6 +5,8 @@ import java.util.Map;
 
 import org.apache.camel.Exchange;
 
+import io.dscope.camel.mcp.service.McpPreparedJson;
+
 /**
  * Base class for MCP response processors. It offers convenience helpers to
  * produce JSON-RPC result or error envelopes and to apply the standard HTTP
@@ -30,6 +32,35 @@ public abstract class AbstractMcpResponseProcessor extends AbstractMcpProcessor
         applyJsonResponseHeaders(exchange, 200);
     }
 
+    /**
+     * Writes a result prepared ahead of time, splicing in only the request id, and tags it with an
+     * {@code ETag}. When the client's copy is still current the full result is not sent: a {@code GET}
+     * or {@code HEAD} whose {@code If-None-Match} names the tag gets {@code 304} without a body, and a
+     * JSON-RPC request whose {@code params.etag} names it gets the result
+     * {@code {"unchanged":true,"etag":...}}, since a POST must always carry a JSON-RPC response.
+     *
+     * @return {@code false} when the client's copy was still current
+     */
+    protected final boolean writePreparedResult(Exchange exchange, McpPreparedJson result) {
+        in(exchange).setHeader("ETag", result.etag());
+        String httpMethod = in(exchange).getHeader(Exchange.HTTP_METHOD, String.class);
+        if (("GET".equalsIgnoreCase(httpMethod) || "HEAD".equalsIgnoreCase(httpMethod))
+                && result.matches(in(exchange).getHeader("If-None-Match", String.class))) {
+            applyNoContentResponse(exchange, 304);
+            return false;
+        }
+        if (getRequestParameters(exchange).get("etag") instanceof String known && result.matches(known)) {
+            Map<String, Object> unchanged = newResultMap();
+            unchanged.put("unchanged", Boolean.TRUE);
+            unchanged.put("etag", result.etag());
+            writeResult(exchange, unchanged);
+            return false;
+        }
+        McpJsonWriter.setJsonBody(exchange, result.resultEnvelope(getJsonRpcId(exchange), jsonCodec(exchange)));
+        applyJsonResponseHeaders(exchange, 200);
+        return true;
+    }
+
     protected final void writeError(Exchange exchange, Map<String, Object> error, int statusCode) {
         Map<String, Object> envelope = createEnvelopeSkeleton();
         envelope.put("id", getJsonRpcId(exchange));
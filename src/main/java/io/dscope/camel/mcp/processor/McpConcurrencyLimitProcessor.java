@@ -0,0 +1,268 @@
+package io.dscope.camel.mcp.processor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.BindToRegistry;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.support.SynchronizationAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import io.dscope.camel.mcp.service.McpJsonCodec;
+
+/**
+ * Adaptive concurrency limit for MCP requests with system property configuration.
+ * <p>
+ * The limit follows observed latency with a gradient algorithm: a short-term average of request
+ * latency is compared with a long-term one, and while latency rises the limit shrinks towards what the
+ * tools sustain; while it is stable the limit grows by about its square root per sample. Requests
+ * beyond the limit are shed immediately with a {@code 503}, {@code Retry-After} and a JSON-RPC
+ * {@code -32000} error built from pre-serialized fragments, instead of queueing.
+ * <p>
+ * The {@code mcp:} consumer acquires and releases around the route. Used as a route step, the permit is
+ * released when the exchange completes. Configurable via {@code mcp.concurrency.enabled} (default
+ * {@code false}), {@code mcp.concurrency.initialLimit} (20), {@code mcp.concurrency.minLimit} (1),
+ * {@code mcp.concurrency.maxLimit} (1000) and {@code mcp.concurrency.retryAfterSeconds} (1).
+ * <p>
+ * Control-plane methods ({@code mcp.controlMethods}) do not count against the adaptive limit: they get
+ * a fixed pool of {@code mcp.concurrency.controlLimit} slots (default 10) and do not feed latency
+ * samples, so pings and reconnects keep working while slow tool calls hold every other slot.
+ */
+@BindToRegistry("mcpConcurrencyLimit")
+public class McpConcurrencyLimitProcessor implements Processor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(McpConcurrencyLimitProcessor.class);
+
+    public static final String REGISTRY_NAME = "mcpConcurrencyLimit";
+
+    private static final int JSON_RPC_SERVER_OVERLOADED = -32000;
+    private static final double SHORT_WINDOW_WEIGHT = 0.1D;
+    private static final double LONG_WINDOW_WEIGHT = 0.005D;
+    private static final double TOLERANCE = 1.5D;
+    private static final double SMOOTHING = 0.2D;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int retryAfterSeconds;
+    private final int controlLimit;
+    private final McpControlPlaneMethods controlMethods;
+    private final byte[] errorPrefix;
+    private final byte[] errorSuffix;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger controlInFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final Object sampleLock = new Object();
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortLatencyNanos;
+    private double longLatencyNanos;
+
+    public McpConcurrencyLimitProcessor() {
+        this.enabled = Boolean.parseBoolean(System.getProperty("mcp.concurrency.enabled", "false"));
+        this.minLimit = Math.max(1, Integer.getInteger("mcp.concurrency.minLimit", 1));
+        this.maxLimit = Math.max(minLimit, Integer.getInteger("mcp.concurrency.maxLimit", 1000));
+        this.retryAfterSeconds = Math.max(1, Integer.getInteger("mcp.concurrency.retryAfterSeconds", 1));
+        this.estimatedLimit = Math.min(maxLimit, Math.max(minLimit, Integer.getInteger("mcp.concurrency.initialLimit", 20)));
+        this.limit = (int) estimatedLimit;
+        this.controlLimit = Math.max(1, Integer.getInteger("mcp.concurrency.controlLimit", 10));
+        this.controlMethods = new McpControlPlaneMethods();
+        this.errorPrefix = "{\"jsonrpc\":\"2.0\",\"id\":".getBytes(StandardCharsets.UTF_8);
+        this.errorSuffix = (",\"error\":{\"code\":" + JSON_RPC_SERVER_OVERLOADED
+                + ",\"message\":\"Server overloaded, retry after " + retryAfterSeconds + "s\"}}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the limiter bound in the Camel registry under {@link #REGISTRY_NAME}, binding a new one if
+     * none exists, so that every consumer of a context and its health endpoint share one limit.
+     */
+    public static McpConcurrencyLimitProcessor lookupOrCreate(CamelContext camelContext) {
+        McpConcurrencyLimitProcessor limiter = camelContext.getRegistry()
+                .lookupByNameAndType(REGISTRY_NAME, McpConcurrencyLimitProcessor.class);
+        if (limiter == null) {
+            synchronized (McpConcurrencyLimitProcessor.class) {
+                limiter = camelContext.getRegistry().lookupByNameAndType(REGISTRY_NAME, McpConcurrencyLimitProcessor.class);
+                if (limiter == null) {
+                    limiter = new McpConcurrencyLimitProcessor();
+                    camelContext.getRegistry().bind(REGISTRY_NAME, limiter);
+                }
+            }
+        }
+        return limiter;
+    }
+
+    @Override
+    public void process(Exchange exchange) {
+        if (!enabled) {
+            return;
+        }
+        String method = exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD, String.class);
+        long startedAtNanos = tryAcquire(method);
+        if (startedAtNanos < 0) {
+            shed(exchange, false);
+            exchange.setRouteStop(true);
+            return;
+        }
+        exchange.getExchangeExtension().addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onDone(Exchange completed) {
+                release(method, startedAtNanos);
+            }
+        });
+    }
+
+    /**
+     * Takes a slot if fewer than {@link #getLimit()} requests are in flight; returns the start time to
+     * pass to {@link #release(long)}, or {@code -1} when the request must be shed.
+     */
+    public long tryAcquire() {
+        if (tryIncrement(inFlight, limit)) {
+            accepted.increment();
+            return System.nanoTime();
+        }
+        shed.increment();
+        return -1L;
+    }
+
+    /**
+     * Takes a slot in the lane of {@code method}: the reserved control-plane pool or the adaptive limit.
+     * Release it with {@link #release(String, long)}.
+     */
+    public long tryAcquire(String method) {
+        if (!controlMethods.isControl(method)) {
+            return tryAcquire();
+        }
+        if (tryIncrement(controlInFlight, controlLimit)) {
+            accepted.increment();
+            return System.nanoTime();
+        }
+        shed.increment();
+        return -1L;
+    }
+
+    private static boolean tryIncrement(AtomicInteger counter, int max) {
+        for (int current = counter.get(); current < max; current = counter.get()) {
+            if (counter.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Frees a slot taken by {@link #tryAcquire(String)} for the same method.
+     */
+    public void release(String method, long startedAtNanos) {
+        if (controlMethods.isControl(method)) {
+            controlInFlight.decrementAndGet();
+        } else {
+            release(startedAtNanos);
+        }
+    }
+
+    /**
+     * Frees the slot taken by {@link #tryAcquire()} and feeds the request's latency into the limit.
+     */
+    public void release(long startedAtNanos) {
+        long latency = System.nanoTime() - startedAtNanos;
+        int inFlightBefore = inFlight.getAndDecrement();
+        synchronized (sampleLock) {
+            if (shortLatencyNanos == 0D) {
+                shortLatencyNanos = latency;
+                longLatencyNanos = latency;
+            }
+            shortLatencyNanos += (latency - shortLatencyNanos) * SHORT_WINDOW_WEIGHT;
+            longLatencyNanos += (latency - longLatencyNanos) * LONG_WINDOW_WEIGHT;
+            if (longLatencyNanos > 2D * shortLatencyNanos) {
+                // Latency dropped for good: let the baseline catch up instead of over-admitting.
+                longLatencyNanos *= 0.95D;
+            }
+            if (inFlightBefore < estimatedLimit / 2D) {
+                // Not using the limit, so latency says nothing about it.
+                return;
+            }
+            double gradient = Math.max(0.5D, Math.min(1.0D, TOLERANCE * longLatencyNanos / shortLatencyNanos));
+            double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            estimatedLimit = Math.min(maxLimit, Math.max(minLimit, estimatedLimit * (1D - SMOOTHING) + target * SMOOTHING));
+            int updated = (int) estimatedLimit;
+            if (updated != limit) {
+                limit = updated;
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("MCP concurrency limit={} shortLatencyMs={} longLatencyMs={}", updated,
+                            shortLatencyNanos / 1_000_000D, longLatencyNanos / 1_000_000D);
+                }
+            }
+        }
+    }
+
+    /**
+     * Answers a shed request: {@code 503} with {@code Retry-After} and a JSON-RPC error echoing the
+     * request id, as text for WebSocket frames and as bytes otherwise.
+     */
+    public void shed(Exchange exchange, boolean text) {
+        Object id = exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID);
+        byte[] idJson;
+        try {
+            idJson = McpJsonCodec.of(exchange).writer().writeValueAsBytes(id);
+        } catch (JsonProcessingException e) {
+            idJson = "null".getBytes(StandardCharsets.UTF_8);
+        }
+        byte[] body = new byte[errorPrefix.length + idJson.length + errorSuffix.length];
+        System.arraycopy(errorPrefix, 0, body, 0, errorPrefix.length);
+        System.arraycopy(idJson, 0, body, errorPrefix.length, idJson.length);
+        System.arraycopy(errorSuffix, 0, body, errorPrefix.length + idJson.length, errorSuffix.length);
+
+        exchange.getMessage().setBody(text ? new String(body, StandardCharsets.UTF_8) : body);
+        exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, 503);
+        exchange.getMessage().setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        exchange.getMessage().setHeader(Exchange.CONTENT_TYPE, "application/json");
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Shed MCP request method={} id={} limit={} inFlight={}",
+                    exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD), id, limit, inFlight.get());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getShed() {
+        return shed.sum();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("limit", limit);
+        snapshot.put("inFlight", inFlight.get());
+        snapshot.put("minLimit", minLimit);
+        snapshot.put("maxLimit", maxLimit);
+        snapshot.put("controlInFlight", controlInFlight.get());
+        snapshot.put("controlLimit", controlLimit);
+        synchronized (sampleLock) {
+            snapshot.put("shortLatencyMillis", shortLatencyNanos / 1_000_000D);
+            snapshot.put("longLatencyMillis", longLatencyNanos / 1_000_000D);
+        }
+        snapshot.put("accepted", accepted.sum());
+        snapshot.put("shed", shed.sum());
+        return snapshot;
+    }
+}
@@ -0,0 +1,51 @@
+package io.dscope.camel.mcp.processor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recognizes control-plane methods, the cheap calls clients use to stay connected, so admission can give
+ * them a lane of their own instead of queueing them behind {@code tools/call}.
+ * <p>
+ * Configured via {@code mcp.controlMethods}, a comma-separated list of method names where a trailing
+ * {@code /*} matches a whole namespace (default {@code ping,initialize,notifications/*,tools/list}).
+ */
+final class McpControlPlaneMethods {
+
+    static final String DEFAULT_METHODS = "ping,initialize,notifications/*,tools/list";
+
+    private final Set<String> methods = new HashSet<>();
+    private final List<String> prefixes = new ArrayList<>();
+
+    McpControlPlaneMethods() {
+        this(System.getProperty("mcp.controlMethods", DEFAULT_METHODS));
+    }
+
+    McpControlPlaneMethods(String configured) {
+        for (String method : configured.split(",")) {
+            String trimmed = method.trim();
+            if (trimmed.endsWith("/*")) {
+                prefixes.add(trimmed.substring(0, trimmed.length() - 1));
+            } else if (!trimmed.isEmpty()) {
+                methods.add(trimmed);
+            }
+        }
+    }
+
+    boolean isControl(String method) {
+        if (method == null) {
+            return false;
+        }
+        if (methods.contains(method)) {
+            return true;
+        }
+        for (String prefix : prefixes) {
+            if (method.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
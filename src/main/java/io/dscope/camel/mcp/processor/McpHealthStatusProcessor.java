@@ -10,26 +10,38 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.dscope.camel.mcp.catalog.McpOutputSchemaChecker;
+import io.dscope.camel.mcp.service.McpJsonCodec;
 
 /**
- * Emits a simple health status JSON payload for MCP deployments, including rate limiter snapshot.
+ * Emits a simple health status JSON payload for MCP deployments, including rate limiter snapshot and,
+ * when adaptive concurrency limiting is enabled, the current limit and in-flight requests, and, when
+ * output schema sampling is enabled, the per-tool conformance counters.
  */
 @BindToRegistry("mcpHealthStatus")
 public class McpHealthStatusProcessor implements Processor {
 
     private static final Logger LOG = LoggerFactory.getLogger(McpHealthStatusProcessor.class);
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-
     private final McpRateLimitProcessor rateLimit;
+    private final McpConcurrencyLimitProcessor concurrencyLimit;
 
     public McpHealthStatusProcessor() {
         this(null);
     }
 
     public McpHealthStatusProcessor(McpRateLimitProcessor rateLimit) {
+        this(rateLimit, null);
+    }
+
+    /**
+     * @param concurrencyLimit limiter to report; when {@code null} the one bound as
+     *                         {@code mcpConcurrencyLimit} in the registry is reported, if enabled
+     */
+    public McpHealthStatusProcessor(McpRateLimitProcessor rateLimit, McpConcurrencyLimitProcessor concurrencyLimit) {
         this.rateLimit = rateLimit;
+        this.concurrencyLimit = concurrencyLimit;
     }
 
     @Override
@@ -43,10 +55,22 @@ public class McpHealthStatusProcessor implements Processor {
         if (rateLimit != null) {
             body.put("rateLimiter", rateLimit.snapshot());
         }
+        McpConcurrencyLimitProcessor limiter = concurrencyLimit;
+        if (limiter == null && exchange.getContext() != null) {
+            limiter = exchange.getContext().getRegistry().lookupByNameAndType(McpConcurrencyLimitProcessor.REGISTRY_NAME,
+                    McpConcurrencyLimitProcessor.class);
+        }
+        if (limiter != null && limiter.isEnabled()) {
+            body.put("concurrencyLimiter", limiter.snapshot());
+        }
+        McpOutputSchemaChecker outputSchema = exchange.getContext() == null ? null : exchange.getContext().getRegistry()
+                .lookupByNameAndType(McpOutputSchemaChecker.REGISTRY_NAME, McpOutputSchemaChecker.class);
+        if (outputSchema != null && outputSchema.isEnabled()) {
+            body.put("outputSchema", outputSchema.snapshot());
+        }
 
         try {
-            String json = OBJECT_MAPPER.writeValueAsString(body);
-            exchange.getIn().setBody(json);
+            McpJsonWriter.setJsonBody(exchange, McpJsonCodec.of(exchange).writer().writeValueAsBytes(body));
         } catch (JsonProcessingException e) {
             LOG.error("Failed to serialize MCP health status payload keys={}", body.keySet(), e);
             exchange.getIn().setBody("{\"status\":\"DEGRADED\"}");
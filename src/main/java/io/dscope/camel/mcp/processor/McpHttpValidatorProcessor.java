@@ -14,7 +14,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Validates HTTP transport headers for MCP requests.
+ * Validates HTTP transport headers for MCP requests. A {@code GET} opening the event stream only has
+ * to accept {@code text/event-stream}; it carries no JSON body.
  */
 @BindToRegistry("mcpHttpValidator")
 public class McpHttpValidatorProcessor implements Processor {
@@ -36,12 +37,14 @@ public class McpHttpValidatorProcessor implements Processor {
         String accept = in.getHeader("Accept", String.class);
         String contentType = in.getHeader("Content-Type", String.class);
         try {
-            if (!containsAllMediaTypes(accept, "application/json", "text/event-stream")) {
+            if ("GET".equalsIgnoreCase(in.getHeader(Exchange.HTTP_METHOD, String.class))) {
+                if (!containsAllMediaTypes(accept, "text/event-stream")) {
+                    throw new IllegalArgumentException("Accept header must include text/event-stream to open the MCP event stream");
+                }
+            } else if (!containsAllMediaTypes(accept, "application/json", "text/event-stream")) {
                 throw new IllegalArgumentException(
                     "Accept header must include application/json and text/event-stream for MCP Streamable HTTP transport");
-            }
-
-            if (!containsAnyMediaType(contentType, "application/json")) {
+            } else if (!containsAnyMediaType(contentType, "application/json")) {
                 throw new IllegalArgumentException("Content-Type must be application/json for MCP requests");
             }
 
@@ -7,8 +7,11 @@ import java.util.Optional;
 import org.apache.camel.BindToRegistry;
 import org.apache.camel.Exchange;
 
+import io.dscope.camel.mcp.service.McpEventStreamRegistry;
+
 /**
- * Responds to MCP initialize requests with server info and capabilities.
+ * Responds to MCP initialize requests with server info and capabilities, and issues the session id
+ * ({@code Mcp-Session-Id}) under which the client reads its event stream.
  */
 @BindToRegistry("mcpInitialize")
 public class McpInitializeProcessor extends AbstractMcpResponseProcessor {
@@ -42,6 +45,8 @@ public class McpInitializeProcessor extends AbstractMcpResponseProcessor {
 
         writeResult(exchange, result);
         setProtocolHeaders(exchange, protocolVersion);
+        in(exchange).setHeader(McpStreamProcessor.HEADER_SESSION_ID,
+                McpEventStreamRegistry.lookupOrCreate(exchange.getContext()).openSession());
     }
 
     private Map<String, Object> buildServerInfo() {
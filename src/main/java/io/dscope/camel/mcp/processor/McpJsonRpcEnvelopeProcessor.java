@@ -1,8 +1,11 @@
 package io.dscope.camel.mcp.processor;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -10,15 +13,26 @@ import org.apache.camel.BindToRegistry;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.Processor;
+import org.apache.camel.StreamCache;
 import org.apache.camel.TypeConversionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import io.dscope.camel.mcp.service.McpJsonCodec;
 
 /**
  * Parses JSON-RPC envelopes and stores metadata on the exchange for downstream processors.
+ * <p>
+ * By default raw bodies ({@code byte[]}, {@code InputStream}, {@code String}) are read with Jackson's
+ * streaming parser in a single pass; set {@code mcp.jsonrpc.streamingParse=false} to fall back to
+ * binding the whole payload to a map first.
  */
 @BindToRegistry("mcpJsonRpcEnvelope")
 public class McpJsonRpcEnvelopeProcessor implements Processor {
@@ -32,15 +46,97 @@ public class McpJsonRpcEnvelopeProcessor implements Processor {
     public static final String EXCHANGE_PROPERTY_TOOL_NAME = "mcp.tool.name";
     public static final String EXCHANGE_PROPERTY_NOTIFICATION_TYPE = "mcp.notification.type";
     public static final String EXCHANGE_PROPERTY_NOTIFICATION_PARAMS = "mcp.notification.params";
+    public static final String EXCHANGE_PROPERTY_BATCH = "mcp.jsonrpc.batch";
 
     private enum MessageType {
         REQUEST,
         NOTIFICATION,
-        RESPONSE
+        RESPONSE,
+        BATCH
+    }
+
+    /**
+     * Shapes the exchange body (and method-specific properties) from a message's params.
+     */
+    @FunctionalInterface
+    private interface ParamsBinder {
+        void bind(Exchange exchange, String method, Map<String, Object> params);
+    }
+
+    private final boolean streamingParse;
+    private final McpMethodTable<ParamsBinder> binders = McpMethodTable.<ParamsBinder>empty()
+            .with("initialize", (exchange, method, params) -> handleInitialize(exchange, params))
+            .with("ping", (exchange, method, params) -> handlePing(exchange, params))
+            .with("resources/list", (exchange, method, params) -> handleResourcesList(exchange, params))
+            .with("resources/read", (exchange, method, params) -> handleResourcesRead(exchange, params))
+            .with("resources/get", (exchange, method, params) -> handleResourcesGet(exchange, params))
+            .with("tools/list", (exchange, method, params) -> handleToolsList(exchange, params))
+            .with("tools/call", (exchange, method, params) -> handleToolsCall(exchange, params))
+            .with("health", (exchange, method, params) -> handleHealth(exchange, params))
+            .with("stream", (exchange, method, params) -> handleStream(exchange, params))
+            // MCP Apps Bridge methods
+            .with("ui/initialize", (exchange, method, params) -> handleUiInitialize(exchange, params))
+            .with("ui/message", (exchange, method, params) -> handleUiMessage(exchange, params))
+            .with("ui/update-model-context", (exchange, method, params) -> handleUiUpdateModelContext(exchange, params))
+            .with("ui/tools/call", (exchange, method, params) -> handleUiToolsCall(exchange, params))
+            .with("notifications/*", this::handleNotification)
+            .with("ui/notifications/*", this::handleUiNotification);
+    private boolean batchEnabled;
+    private McpMethodRouter methodRouter;
+    private volatile McpJsonCodec jsonCodec;
+
+    /**
+     * Creates a processor whose parse mode is taken from the {@code mcp.jsonrpc.streamingParse}
+     * system property (defaults to {@code true}).
+     */
+    public McpJsonRpcEnvelopeProcessor() {
+        this(Boolean.parseBoolean(System.getProperty("mcp.jsonrpc.streamingParse", "true")));
+    }
+
+    /**
+     * @param streamingParse when {@code true} non-map bodies are read with a single-pass Jackson
+     *                       {@link JsonParser} and {@code params} is only materialized on first access;
+     *                       when {@code false} the whole payload is bound to a map tree up-front
+     */
+    public McpJsonRpcEnvelopeProcessor(boolean streamingParse) {
+        this.streamingParse = streamingParse;
+    }
+
+    public boolean isStreamingParse() {
+        return streamingParse;
+    }
+
+    public boolean isBatchEnabled() {
+        return batchEnabled;
+    }
+
+    /**
+     * When enabled, a top-level JSON array is accepted as a JSON-RPC batch: the entries are stored
+     * under {@link #EXCHANGE_PROPERTY_BATCH} and the type is set to {@code BATCH} so the caller can
+     * dispatch each entry. When disabled (the default) batches are rejected.
+     */
+    public void setBatchEnabled(boolean batchEnabled) {
+        this.batchEnabled = batchEnabled;
+    }
+
+    /**
+     * Parses with {@code jsonCodec} instead of the codec bound in the exchange's Camel context.
+     */
+    public void setJsonCodec(McpJsonCodec jsonCodec) {
+        this.jsonCodec = jsonCodec;
     }
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-    private static final TypeReference<Map<String, Object>> MAP_TYPE_REFERENCE = new TypeReference<>() { };
+    public McpMethodRouter getMethodRouter() {
+        return methodRouter;
+    }
+
+    /**
+     * Methods registered on this router (beyond the built-in MCP methods) are accepted as well, with
+     * their params object as the exchange body.
+     */
+    public void setMethodRouter(McpMethodRouter methodRouter) {
+        this.methodRouter = methodRouter;
+    }
 
     @Override
     public void process(Exchange exchange) {
@@ -50,8 +146,8 @@ public class McpJsonRpcEnvelopeProcessor implements Processor {
 
         try {
             Message message = exchange.getIn();
-            Map<String, Object> payload = readPayload(exchange, message);
-            if (payload == null) {
+            Envelope envelope = readEnvelope(exchange, message, jsonCodec(exchange));
+            if (envelope == null) {
                 String bodyType = Optional.ofNullable(exchange.getProperty("mcp.jsonrpc.bodyType", String.class)).orElse("<unknown>");
                 String bodyText = Optional.ofNullable(exchange.getProperty("mcp.jsonrpc.bodyText", String.class)).orElse(null);
                 int previewLength = bodyText == null ? 0 : Math.min(bodyText.length(), 200);
@@ -59,26 +155,35 @@ public class McpJsonRpcEnvelopeProcessor implements Processor {
                 throw new IllegalArgumentException("JSON-RPC payload must be an object (bodyType=" + bodyType + ", preview=" + preview + ")");
             }
 
-            exchange.setProperty(EXCHANGE_PROPERTY_RAW_MESSAGE, payload);
+            if (envelope.batch() != null) {
+                handleBatch(exchange, envelope.batch());
+                return;
+            }
 
-            String version = asTrimmedString(payload.get("jsonrpc"))
+            exchange.setProperty(EXCHANGE_PROPERTY_RAW_MESSAGE, envelope.raw());
+
+            String version = asTrimmedString(envelope.version())
                     .orElseThrow(() -> new IllegalArgumentException("jsonrpc version is required"));
             if (!"2.0".equals(version)) {
                 throw new IllegalArgumentException("Unsupported jsonrpc version: " + version);
             }
 
-            Object idValue = payload.get("id");
-            boolean hasId = payload.containsKey("id") && idValue != null;
-            asTrimmedString(payload.get("method"))
-                    .ifPresentOrElse(method -> handleMethod(exchange, payload, method, hasId, idValue), () -> {
-                        if (payload.containsKey("result") || payload.containsKey("error")) {
+            Object idValue = envelope.id();
+            boolean hasId = envelope.hasId() && idValue != null;
+            asTrimmedString(envelope.method())
+                    .ifPresentOrElse(method -> handleMethod(exchange, envelope.params(), method, hasId, idValue), () -> {
+                        if (envelope.hasResult() || envelope.hasError()) {
                             exchange.setProperty(EXCHANGE_PROPERTY_TYPE, MessageType.RESPONSE.name());
-                            if (payload.containsKey("id")) {
+                            if (exchange.getIn().getBody() instanceof InputStream && !(exchange.getIn().getBody() instanceof StreamCache)) {
+                                // a consumed transport stream cannot be re-read downstream
+                                exchange.getIn().setBody(envelope.raw());
+                            }
+                            if (envelope.hasId()) {
                                 exchange.setProperty(EXCHANGE_PROPERTY_ID, idValue);
                             }
                             if (LOG.isDebugEnabled()) {
                                 LOG.debug("Parsed JSON-RPC response id={} hasResult={} hasError={}",
-                                        idValue, payload.containsKey("result"), payload.containsKey("error"));
+                                        idValue, envelope.hasResult(), envelope.hasError());
                             }
                         } else {
                             throw new IllegalArgumentException("JSON-RPC payload must contain method, result or error");
@@ -95,7 +200,21 @@ public class McpJsonRpcEnvelopeProcessor implements Processor {
         }
     }
 
-    private void handleMethod(Exchange exchange, Map<String, Object> payload, String method, boolean hasId, Object idValue) {
+    private void handleBatch(Exchange exchange, List<Object> entries) {
+        if (!batchEnabled) {
+            throw new IllegalArgumentException("JSON-RPC batch requests are not supported by this endpoint");
+        }
+        if (entries.isEmpty()) {
+            throw new IllegalArgumentException("JSON-RPC batch must contain at least one request");
+        }
+        exchange.setProperty(EXCHANGE_PROPERTY_TYPE, MessageType.BATCH.name());
+        exchange.setProperty(EXCHANGE_PROPERTY_BATCH, entries);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Parsed JSON-RPC batch size={}", entries.size());
+        }
+    }
+
+    private void handleMethod(Exchange exchange, Object rawParams, String method, boolean hasId, Object idValue) {
         MessageType type = hasId ? MessageType.REQUEST : MessageType.NOTIFICATION;
         exchange.setProperty(EXCHANGE_PROPERTY_TYPE, type.name());
         exchange.setProperty(EXCHANGE_PROPERTY_METHOD, method);
@@ -104,37 +223,19 @@ public class McpJsonRpcEnvelopeProcessor implements Processor {
         }
 
         if (LOG.isDebugEnabled()) {
-            Object rawParams = payload.get("params");
             LOG.debug("Parsed JSON-RPC {} method={} id={} hasParams={}",
                     type.name(), method, idValue, rawParams != null);
         }
 
-        Map<String, Object> params = asMap(payload.get("params"), "params");
+        Map<String, Object> params = asMap(rawParams, "params");
 
-        switch (method) {
-            case "initialize" -> handleInitialize(exchange, params);
-            case "ping" -> handlePing(exchange, params);
-            case "resources/list" -> handleResourcesList(exchange, params);
-            case "resources/read" -> handleResourcesRead(exchange, params);
-            case "resources/get" -> handleResourcesGet(exchange, params);
-            case "tools/list" -> handleToolsList(exchange, params);
-            case "tools/call" -> handleToolsCall(exchange, params);
-            case "health" -> handleHealth(exchange, params);
-            case "stream" -> handleStream(exchange, params);
-            // MCP Apps Bridge methods
-            case "ui/initialize" -> handleUiInitialize(exchange, params);
-            case "ui/message" -> handleUiMessage(exchange, params);
-            case "ui/update-model-context" -> handleUiUpdateModelContext(exchange, params);
-            case "ui/tools/call" -> handleUiToolsCall(exchange, params);
-            default -> {
-                if (method.startsWith("notifications/")) {
-                    handleNotification(exchange, method, params);
-                } else if (method.startsWith("ui/notifications/")) {
-                    handleUiNotification(exchange, method, params);
-                } else {
-                    throw new IllegalArgumentException("Unsupported MCP method: " + method);
-                }
-            }
+        ParamsBinder binder = binders.lookup(method);
+        if (binder != null) {
+            binder.bind(exchange, method, params);
+        } else if (methodRouter != null && methodRouter.supports(method)) {
+            exchange.getIn().setBody(params == null ? Map.of() : params);
+        } else {
+            throw new IllegalArgumentException("Unsupported MCP method: " + method);
         }
     }
 
@@ -256,40 +357,52 @@ public class McpJsonRpcEnvelopeProcessor implements Processor {
         return Optional.of(text);
     }
 
+    private McpJsonCodec jsonCodec(Exchange exchange) {
+        McpJsonCodec codec = jsonCodec;
+        if (codec == null) {
+            if (exchange.getContext() == null) {
+                return McpJsonCodec.getDefault();
+            }
+            codec = McpJsonCodec.lookupOrDefault(exchange.getContext());
+            jsonCodec = codec;
+        }
+        return codec;
+    }
+
     @SuppressWarnings("unchecked")
-    private Map<String, Object> readPayload(Exchange exchange, Message message) {
+    private Envelope readEnvelope(Exchange exchange, Message message, McpJsonCodec codec) {
         Object body = message.getBody();
         exchange.setProperty("mcp.jsonrpc.bodyType", body != null ? body.getClass().getName() : "<null>");
         if (LOG.isDebugEnabled()) {
-            LOG.debug("Reading JSON-RPC payload bodyType={}", exchange.getProperty("mcp.jsonrpc.bodyType"));
+            LOG.debug("Reading JSON-RPC payload bodyType={} streamingParse={}",
+                    exchange.getProperty("mcp.jsonrpc.bodyType"), streamingParse);
         }
         if (body == null) {
             return null;
         }
 
         if (body instanceof Map<?, ?> map) {
-            return (Map<String, Object>) map;
+            return Envelope.of((Map<String, Object>) map, (Map<String, Object>) map);
+        }
+        if (body instanceof List<?> list) {
+            return Envelope.batch((List<Object>) list);
         }
 
         try {
-            String json = message.getBody(String.class);
-            if (json == null) {
-                byte[] bytes = message.getBody(byte[].class);
-                if (bytes != null && bytes.length > 0) {
-                    json = new String(bytes, StandardCharsets.UTF_8);
-                }
+            if (streamingParse) {
+                return streamEnvelope(exchange, message, body, codec);
             }
-
-            if (json == null || json.isBlank()) {
-                exchange.setProperty("mcp.jsonrpc.bodyText", json);
-                return null;
-            }
-            exchange.setProperty("mcp.jsonrpc.bodyText", json);
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("JSON-RPC payload text size={}B", json.length());
+            Object payload = readPayload(exchange, message, codec);
+            if (payload instanceof List<?> list) {
+                return Envelope.batch((List<Object>) list);
             }
-            return OBJECT_MAPPER.readValue(json, MAP_TYPE_REFERENCE);
+            return payload instanceof Map<?, ?> map
+                    ? Envelope.of((Map<String, Object>) map, (Map<String, Object>) map)
+                    : null;
         } catch (IOException e) {
+            if (exchange.getProperty("mcp.jsonrpc.bodyText") == null) {
+                exchange.setProperty("mcp.jsonrpc.bodyText", previewBody(body));
+            }
             LOG.error("Unable to parse JSON-RPC payload bodyType={} bodyPreview={}",
                     exchange.getProperty("mcp.jsonrpc.bodyType", String.class),
                     previewBodyText(exchange.getProperty("mcp.jsonrpc.bodyText", String.class)),
@@ -303,6 +416,175 @@ public class McpJsonRpcEnvelopeProcessor implements Processor {
         }
     }
 
+    /**
+     * Single-pass envelope read: {@code jsonrpc}, {@code method} and {@code id} are taken straight from
+     * the token stream, structured members are captured as {@link TokenBuffer}s and {@code params} is
+     * exposed as a lazily bound map so no {@link LinkedHashMap} tree is built unless it is read.
+     */
+    private Envelope streamEnvelope(Exchange exchange, Message message, Object body, McpJsonCodec codec)
+            throws IOException {
+        try (JsonParser parser = createParser(codec.mapper(), message, body)) {
+            JsonToken first = parser == null ? null : parser.nextToken();
+            if (first == JsonToken.START_ARRAY) {
+                List<Object> entries = streamBatch(parser, codec);
+                requireEnd(parser);
+                return Envelope.batch(entries);
+            }
+            if (first != JsonToken.START_OBJECT) {
+                exchange.setProperty("mcp.jsonrpc.bodyText", previewBody(body));
+                return null;
+            }
+
+            Map<String, Object> members = new LinkedHashMap<>();
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken token = parser.nextToken();
+                if (!token.isStructStart()) {
+                    members.put(field, scalarValue(parser, token));
+                } else if ("params".equals(field) && token == JsonToken.START_OBJECT) {
+                    TokenBuffer buffer = capture(parser);
+                    members.put(field, new McpLazyJsonMap(() -> bindMap(buffer, codec)));
+                } else if ("jsonrpc".equals(field) || "method".equals(field) || "id".equals(field)
+                        || "params".equals(field)) {
+                    members.put(field, parser.readValueAs(Object.class));
+                } else {
+                    members.put(field, capture(parser));
+                }
+            }
+            requireEnd(parser);
+            if (body instanceof StreamCache cache) {
+                cache.reset();
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Streamed JSON-RPC envelope members={} bytesRead={}B",
+                        members.keySet(), parser.currentLocation().getByteOffset());
+            }
+            return Envelope.of(members, new McpLazyJsonMap(() -> bindMembers(members, codec)));
+        }
+    }
+
+    /**
+     * Rejects anything but whitespace after the root value, which the single-pass read would otherwise ignore.
+     */
+    private static void requireEnd(JsonParser parser) throws IOException {
+        if (parser.nextToken() != null) {
+            throw new JsonParseException(parser, "Unexpected content after the JSON-RPC payload");
+        }
+    }
+
+    /**
+     * Reads the entries of a batch array; object entries are kept as lazily bound maps so the
+     * per-entry dispatch binds them on its own thread.
+     */
+    private List<Object> streamBatch(JsonParser parser, McpJsonCodec codec) throws IOException {
+        List<Object> entries = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                TokenBuffer buffer = capture(parser);
+                entries.add(new McpLazyJsonMap(() -> bindMap(buffer, codec)));
+            } else if (token.isStructStart()) {
+                entries.add(parser.readValueAs(Object.class));
+            } else {
+                entries.add(scalarValue(parser, token));
+            }
+        }
+        if (token == null) {
+            throw new JsonEOFException(parser, null, "Unexpected end-of-input in JSON-RPC batch");
+        }
+        return entries;
+    }
+
+    private JsonParser createParser(ObjectMapper mapper, Message message, Object body) throws IOException {
+        JsonParser parser;
+        if (body instanceof byte[] bytes) {
+            parser = mapper.createParser(bytes);
+        } else if (body instanceof InputStream stream) {
+            parser = mapper.createParser(stream);
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        } else if (body instanceof String text) {
+            parser = mapper.createParser(text);
+        } else {
+            byte[] bytes = message.getBody(byte[].class);
+            if (bytes == null) {
+                return null;
+            }
+            parser = mapper.createParser(bytes);
+        }
+        return parser;
+    }
+
+    private Object scalarValue(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_NULL -> null;
+            default -> parser.readValueAs(Object.class);
+        };
+    }
+
+    private TokenBuffer capture(JsonParser parser) throws IOException {
+        TokenBuffer buffer = new TokenBuffer(parser);
+        buffer.copyCurrentStructure(parser);
+        return buffer;
+    }
+
+    private static Map<String, Object> bindMap(TokenBuffer buffer, McpJsonCodec codec) {
+        try (JsonParser parser = buffer.asParser(codec.mapper())) {
+            return codec.mapReader().readValue(parser);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to bind JSON-RPC params", e);
+        }
+    }
+
+    private static Map<String, Object> bindMembers(Map<String, Object> members, McpJsonCodec codec) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        members.forEach((key, value) -> {
+            if (value instanceof TokenBuffer buffer) {
+                try (JsonParser parser = buffer.asParser(codec.mapper())) {
+                    payload.put(key, codec.mapper().readValue(parser, Object.class));
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Unable to bind JSON-RPC member " + key, e);
+                }
+            } else {
+                payload.put(key, value);
+            }
+        });
+        return payload;
+    }
+
+    private Object readPayload(Exchange exchange, Message message, McpJsonCodec codec) throws IOException {
+        String json = message.getBody(String.class);
+        if (json == null) {
+            byte[] bytes = message.getBody(byte[].class);
+            if (bytes != null && bytes.length > 0) {
+                json = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+
+        if (json == null || json.isBlank()) {
+            exchange.setProperty("mcp.jsonrpc.bodyText", json);
+            return null;
+        }
+        exchange.setProperty("mcp.jsonrpc.bodyText", json);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("JSON-RPC payload text size={}B", json.length());
+        }
+        return codec.mapper().readValue(json, Object.class);
+    }
+
+    private String previewBody(Object body) {
+        if (body instanceof String text) {
+            return previewBodyText(text);
+        }
+        if (body instanceof byte[] bytes) {
+            return new String(bytes, 0, Math.min(bytes.length, 200), StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+
     private String previewBodyText(String bodyText) {
         if (bodyText == null) {
             return "<null>";
@@ -310,4 +592,22 @@ public class McpJsonRpcEnvelopeProcessor implements Processor {
         int maxLength = Math.min(bodyText.length(), 200);
         return bodyText.substring(0, maxLength);
     }
+
+    /**
+     * JSON-RPC members relevant to dispatch, independent of how the payload was read.
+     */
+    private record Envelope(Object version, Object method, Object id, boolean hasId,
+                            boolean hasResult, boolean hasError, Object params, Map<String, Object> raw,
+                            List<Object> batch) {
+
+        static Envelope of(Map<String, Object> members, Map<String, Object> raw) {
+            return new Envelope(members.get("jsonrpc"), members.get("method"), members.get("id"),
+                    members.containsKey("id"), members.containsKey("result"), members.containsKey("error"),
+                    members.get("params"), raw, null);
+        }
+
+        static Envelope batch(List<Object> entries) {
+            return new Envelope(null, null, null, false, false, false, null, null, entries);
+        }
+    }
 }
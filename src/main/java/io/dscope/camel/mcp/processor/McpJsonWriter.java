@@ -1,5 +1,6 @@
 package io.dscope.camel.mcp.processor;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 import org.apache.camel.Exchange;
@@ -7,25 +8,39 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.dscope.camel.mcp.service.McpJsonCodec;
 
 /**
- * Utility for serializing MCP responses to JSON strings for HTTP transport.
+ * Utility for serializing MCP responses to JSON for HTTP transport. Payloads are written straight to
+ * UTF-8 bytes so the transport does not have to encode an intermediate {@code String} again. On a
+ * WebSocket exchange the body is a {@code String} instead, since Undertow sends a {@code byte[]} body
+ * as a binary frame and MCP clients expect JSON-RPC in text frames.
  */
 final class McpJsonWriter {
 
     private static final Logger LOG = LoggerFactory.getLogger(McpJsonWriter.class);
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    /** Header Undertow sets on exchanges received over a WebSocket. */
+    static final String WEBSOCKET_CONNECTION_KEY = "websocket.connectionKey";
 
     private McpJsonWriter() {
         // no instances
     }
 
+    /**
+     * Serializes {@code payload} with the codec bound in the exchange's Camel context.
+     */
     static void writeJson(Exchange exchange, Object payload) {
+        Objects.requireNonNull(exchange, "exchange");
+        writeJson(exchange, McpJsonCodec.of(exchange).writer(), payload);
+    }
+
+    static void writeJson(Exchange exchange, ObjectWriter writer, Object payload) {
         Objects.requireNonNull(exchange, "exchange");
         try {
-            exchange.getIn().setBody(OBJECT_MAPPER.writeValueAsString(payload));
+            setJsonBody(exchange, writer.writeValueAsBytes(payload));
         } catch (JsonProcessingException e) {
             LOG.error("Unable to serialize MCP response payloadType={} method={} id={}",
                     payload != null ? payload.getClass().getName() : "<null>",
@@ -35,4 +50,15 @@ final class McpJsonWriter {
             throw new IllegalStateException("Unable to serialize MCP response", e);
         }
     }
+
+    /**
+     * Sets already serialized UTF-8 JSON as the body, as text when the exchange came in over a WebSocket.
+     */
+    static void setJsonBody(Exchange exchange, byte[] json) {
+        if (exchange.getIn().getHeader(WEBSOCKET_CONNECTION_KEY) != null) {
+            exchange.getIn().setBody(new String(json, StandardCharsets.UTF_8));
+        } else {
+            exchange.getIn().setBody(json);
+        }
+    }
 }
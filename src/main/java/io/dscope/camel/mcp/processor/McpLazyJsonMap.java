@@ -0,0 +1,71 @@
+package io.dscope.camel.mcp.processor;
+
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Map view whose contents are only materialized on first access. Used by the streaming
+ * JSON-RPC parser so that {@code params} (and the raw envelope) are not turned into a
+ * {@link LinkedHashMap} tree unless a downstream processor actually reads them.
+ */
+final class McpLazyJsonMap extends AbstractMap<String, Object> {
+
+    private Supplier<Map<String, Object>> loader;
+    private Map<String, Object> delegate;
+
+    McpLazyJsonMap(Supplier<Map<String, Object>> loader) {
+        this.loader = Objects.requireNonNull(loader, "loader");
+    }
+
+    boolean isMaterialized() {
+        return delegate != null;
+    }
+
+    private Map<String, Object> delegate() {
+        if (delegate == null) {
+            Map<String, Object> loaded = loader.get();
+            delegate = loaded instanceof LinkedHashMap<String, Object> linked ? linked : new LinkedHashMap<>(loaded);
+            loader = null;
+        }
+        return delegate;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return delegate().entrySet();
+    }
+
+    @Override
+    public int size() {
+        return delegate().size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return delegate().containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return delegate().get(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return delegate().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return delegate().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate().clear();
+    }
+}
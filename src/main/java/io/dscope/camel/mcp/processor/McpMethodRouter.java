@@ -0,0 +1,326 @@
+package io.dscope.camel.mcp.processor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.camel.BindToRegistry;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.component.bean.BeanProcessor;
+import org.apache.camel.support.service.ServiceHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.dscope.camel.mcp.catalog.McpMethodCatalog;
+import io.dscope.camel.mcp.catalog.McpOutputSchemaChecker;
+import io.dscope.camel.mcp.catalog.McpSchemaValidator;
+import io.dscope.camel.mcp.service.McpJsonCodec;
+import io.dscope.camel.mcp.service.McpUiSessionRegistry;
+
+/**
+ * Dispatches a JSON-RPC message parsed by {@link McpJsonRpcEnvelopeProcessor} to the processor
+ * registered for its method, replacing a per-request chain of {@code choice}/{@code simple} predicates
+ * with one table lookup.
+ * <p>
+ * The built-in MCP and MCP Apps methods are registered on construction; {@code tools/call} (and
+ * {@code ui/tools/call}) become available once a tools handler is set. Custom methods, including
+ * {@code prefix/*} families, can be added with {@link #register(String, Processor)} at startup.
+ * Requests for unknown methods get a {@code -32601} error; {@code notifications/*} run through
+ * {@link McpNotificationProcessor} and, like the MCP Apps {@code ui/notifications/*}, are then
+ * acknowledged, or end the route when {@code acknowledgeNotifications=false} (WebSocket).
+ * <p>
+ * Before the tools handler runs, {@code params.arguments} is checked against the validator the catalog
+ * compiled from the tool's {@code inputSchema}; a call that does not conform is answered with
+ * {@code -32602} and the offending paths in {@code error.data.violations}. Set
+ * {@code mcp.tools.validateArguments=false} to leave validation to the handler. After it has run, the
+ * result is offered to the {@link McpOutputSchemaChecker} bound as
+ * {@value McpOutputSchemaChecker#REGISTRY_NAME}, looked up on the first call, whether the handler wrote
+ * the JSON-RPC response itself or left a result or envelope map as the body.
+ */
+@BindToRegistry("mcpMethodRouter")
+public class McpMethodRouter implements Processor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(McpMethodRouter.class);
+
+    public static final String REGISTRY_NAME = "mcpMethodRouter";
+
+    private static final int JSON_RPC_INVALID_PARAMS = -32602;
+    private static final int JSON_RPC_METHOD_NOT_FOUND = -32601;
+    private static final int JSON_RPC_INTERNAL_ERROR = -32603;
+
+    private final Object registrationLock = new Object();
+    private final McpNotificationProcessor notification = new McpNotificationProcessor();
+    private final McpErrorProcessor error = new McpErrorProcessor();
+    private final McpUiToolsCallProcessor uiToolsCall;
+    private final McpUiToolsCallPostProcessor uiToolsCallPost;
+    private final McpMethodCatalog methodCatalog;
+    private final boolean validateArguments;
+    private volatile McpMethodTable<Processor> requests = McpMethodTable.empty();
+    private volatile McpMethodTable<Processor> notifications = McpMethodTable.empty();
+    private volatile McpOutputSchemaChecker outputSchemaChecker;
+    private volatile boolean outputSchemaCheckerResolved;
+    private volatile boolean acknowledgeNotifications = true;
+
+    public McpMethodRouter() {
+        this(McpMethodCatalog.shared(), new McpUiSessionRegistry());
+    }
+
+    public McpMethodRouter(McpMethodCatalog methodCatalog, McpUiSessionRegistry uiSessionRegistry) {
+        this.uiToolsCall = new McpUiToolsCallProcessor(uiSessionRegistry);
+        this.uiToolsCallPost = new McpUiToolsCallPostProcessor(uiSessionRegistry);
+        this.methodCatalog = methodCatalog;
+        this.validateArguments = Boolean.parseBoolean(System.getProperty("mcp.tools.validateArguments", "true"));
+
+        register("initialize", new McpInitializeProcessor());
+        register("ping", new McpPingProcessor());
+        register("tools/list", new McpToolsListProcessor(methodCatalog));
+        register("resources/list", new McpResourcesListProcessor());
+        register("resources/read", new McpResourcesReadProcessor());
+        register("resources/get", new McpResourcesGetProcessor());
+        register("ui/initialize", new McpUiInitializeProcessor(uiSessionRegistry));
+        register("ui/message", new McpUiMessageProcessor(uiSessionRegistry));
+        register("ui/update-model-context", new McpUiUpdateModelContextProcessor(uiSessionRegistry));
+
+        registerNotification("notifications/initialized", new McpNotificationsInitializedProcessor());
+        registerNotification("notifications/*", new McpNotificationAckProcessor());
+        registerNotification("ui/notifications/*", new McpNotificationAckProcessor());
+    }
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        String method = exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD, String.class);
+        String type = exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TYPE, String.class);
+
+        if ("NOTIFICATION".equals(type)) {
+            Processor acknowledgement = notifications.lookup(method);
+            if (acknowledgement == null) {
+                throw new IllegalArgumentException("Unsupported MCP notification: " + method);
+            }
+            if (method.startsWith("notifications/")) {
+                notification.process(exchange);
+            }
+            if (acknowledgeNotifications) {
+                acknowledgement.process(exchange);
+            } else {
+                exchange.setRouteStop(true);
+            }
+            return;
+        }
+
+        Processor handler = requests.lookup(method);
+        if (handler == null) {
+            LOG.warn("Unsupported MCP method: {}", method);
+            exchange.setProperty(McpErrorProcessor.PROPERTY_ERROR_CODE, JSON_RPC_METHOD_NOT_FOUND);
+            exchange.setProperty(McpErrorProcessor.PROPERTY_ERROR_MESSAGE, "Unsupported MCP method: " + method);
+            error.process(exchange);
+            return;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Routing MCP method={} id={} to {}", method,
+                    exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID), handler.getClass().getSimpleName());
+        }
+        handler.process(exchange);
+    }
+
+    /**
+     * Registers (or replaces) the processor for a request method or a {@code prefix/*} family.
+     */
+    public final McpMethodRouter register(String method, Processor handler) {
+        synchronized (registrationLock) {
+            requests = requests.with(method, handler);
+        }
+        return this;
+    }
+
+    /**
+     * Registers (or replaces) the acknowledgement step for a notification method or family; it runs
+     * after {@link McpNotificationProcessor} has extracted the notification type and params.
+     */
+    public final McpMethodRouter registerNotification(String method, Processor acknowledgement) {
+        synchronized (registrationLock) {
+            notifications = notifications.with(method, acknowledgement);
+        }
+        return this;
+    }
+
+    /**
+     * Whether a request or notification with this method would be dispatched.
+     */
+    public boolean supports(String method) {
+        return requests.lookup(method) != null || notifications.lookup(method) != null;
+    }
+
+    public Set<String> getMethods() {
+        return requests.patterns();
+    }
+
+    /**
+     * Sets the {@code tools/call} handler, a {@link Processor} or any bean Camel can invoke, and
+     * enables {@code ui/tools/call}, which wraps it with the MCP Apps session checks.
+     */
+    public void setToolsCall(Object toolsCall) {
+        Processor target = asProcessor(toolsCall);
+        Processor call = exchange -> {
+            target.process(exchange);
+            sampleOutput(exchange);
+        };
+        Processor handler = validateArguments ? exchange -> {
+            if (argumentsConform(exchange)) {
+                call.process(exchange);
+            }
+        } : call;
+        register("tools/call", handler);
+        register("ui/tools/call", exchange -> callUiTool(exchange, handler));
+    }
+
+    /**
+     * Replaces the built-in {@code resources/get} handler.
+     */
+    public void setResourcesGet(Object resourcesGet) {
+        register("resources/get", asProcessor(resourcesGet));
+    }
+
+    /**
+     * Checks sampled tool results with {@code outputSchemaChecker} instead of the one bound in the
+     * registry; {@code null} turns sampling off.
+     */
+    public void setOutputSchemaChecker(McpOutputSchemaChecker outputSchemaChecker) {
+        this.outputSchemaChecker = outputSchemaChecker;
+        this.outputSchemaCheckerResolved = true;
+    }
+
+    public boolean isAcknowledgeNotifications() {
+        return acknowledgeNotifications;
+    }
+
+    public void setAcknowledgeNotifications(boolean acknowledgeNotifications) {
+        this.acknowledgeNotifications = acknowledgeNotifications;
+    }
+
+    private boolean argumentsConform(Exchange exchange) throws Exception {
+        String toolName = exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TOOL_NAME, String.class);
+        McpSchemaValidator validator = methodCatalog.getInputValidator(toolName);
+        if (validator == McpSchemaValidator.ACCEPT_ALL) {
+            return true;
+        }
+        List<McpSchemaValidator.Violation> violations = validator.validate(exchange.getIn().getBody(), "arguments");
+        if (violations.isEmpty()) {
+            return true;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Rejecting tools/call id={} tool={}: {}", exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID),
+                    toolName, violations);
+        }
+        exchange.setProperty(McpErrorProcessor.PROPERTY_ERROR_CODE, JSON_RPC_INVALID_PARAMS);
+        exchange.setProperty(McpErrorProcessor.PROPERTY_ERROR_MESSAGE,
+                "Invalid arguments for tool " + toolName + ": " + violations.get(0)
+                        + (violations.size() > 1 ? " (+" + (violations.size() - 1) + " more)" : ""));
+        exchange.setProperty(McpErrorProcessor.PROPERTY_ERROR_DATA,
+                Map.of("violations", violations.stream().map(McpSchemaValidator.Violation::toMap).toList()));
+        error.process(exchange);
+        return false;
+    }
+
+    private void sampleOutput(Exchange exchange) {
+        McpOutputSchemaChecker checker = outputSchemaChecker;
+        if (!outputSchemaCheckerResolved) {
+            if (exchange.getContext() == null) {
+                return;
+            }
+            checker = exchange.getContext().getRegistry()
+                    .lookupByNameAndType(McpOutputSchemaChecker.REGISTRY_NAME, McpOutputSchemaChecker.class);
+            outputSchemaChecker = checker;
+            outputSchemaCheckerResolved = true;
+        }
+        if (checker == null || !checker.isEnabled()) {
+            return;
+        }
+        Object body = exchange.getMessage().getBody();
+        CamelContext context = exchange.getContext();
+        checker.sample(exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TOOL_NAME, String.class),
+                () -> structuredContent(body, context == null ? McpJsonCodec.getDefault() : McpJsonCodec.lookupOrDefault(context)));
+    }
+
+    /**
+     * Finds {@code structuredContent} in a tools/call response body: serialized JSON or an envelope or
+     * result map.
+     */
+    private static Object structuredContent(Object body, McpJsonCodec codec) {
+        Object response = body;
+        try {
+            if (body instanceof byte[] bytes) {
+                response = codec.mapReader().readValue(bytes);
+            } else if (body instanceof String text) {
+                response = codec.mapReader().readValue(text);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!(response instanceof Map<?, ?> map)) {
+            return null;
+        }
+        Object result = map.containsKey("jsonrpc") ? map.get("result") : map;
+        return result instanceof Map<?, ?> resultMap ? resultMap.get("structuredContent") : null;
+    }
+
+    private void callUiTool(Exchange exchange, Processor toolsCall) throws Exception {
+        try {
+            uiToolsCall.process(exchange);
+            toolsCall.process(exchange);
+            uiToolsCallPost.process(exchange);
+        } catch (Exception e) {
+            uiToolsCallPost.process(exchange);
+            exchange.setProperty(McpErrorProcessor.PROPERTY_ERROR_CODE, JSON_RPC_INTERNAL_ERROR);
+            exchange.setProperty(McpErrorProcessor.PROPERTY_ERROR_MESSAGE, "UI tool execution failed: " + e.getMessage());
+            error.process(exchange);
+        }
+    }
+
+    private static Processor asProcessor(Object bean) {
+        if (bean == null) {
+            throw new IllegalArgumentException("MCP method handler must not be null");
+        }
+        if (bean instanceof Processor processor) {
+            return processor;
+        }
+        return new BeanHandler(bean);
+    }
+
+    /**
+     * Invokes a plain bean through Camel bean binding, created on first use with the exchange's context.
+     */
+    private static final class BeanHandler implements Processor {
+
+        private final Object bean;
+        private volatile BeanProcessor delegate;
+
+        private BeanHandler(Object bean) {
+            this.bean = bean;
+        }
+
+        @Override
+        public void process(Exchange exchange) throws Exception {
+            BeanProcessor processor = delegate;
+            if (processor == null) {
+                synchronized (this) {
+                    if (delegate == null) {
+                        BeanProcessor created = new BeanProcessor(bean, exchange.getContext());
+                        ServiceHelper.startService(created);
+                        delegate = created;
+                    }
+                    processor = delegate;
+                }
+            }
+            processor.process(exchange);
+            if (exchange.getException() != null) {
+                Exception failure = exchange.getException();
+                exchange.setException(null);
+                throw failure;
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.dscope.camel.mcp.processor;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable JSON-RPC method lookup table.
+ * <p>
+ * Exact method names resolve with a single hash probe (method strings cache their hash code);
+ * {@code prefix/*} families such as {@code notifications/*} match by the longest {@code /}-delimited
+ * prefix, so a lookup costs at most one probe per path segment. {@link #with(String, Object)} returns
+ * a copy, which lets a table be published through a {@code volatile} field and read without locking.
+ */
+final class McpMethodTable<T> {
+
+    static final String FAMILY_SUFFIX = "/*";
+
+    private static final McpMethodTable<?> EMPTY = new McpMethodTable<>(Map.of(), Map.of());
+
+    private final Map<String, T> exact;
+    private final Map<String, T> families;
+
+    private McpMethodTable(Map<String, T> exact, Map<String, T> families) {
+        this.exact = exact;
+        this.families = families;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> McpMethodTable<T> empty() {
+        return (McpMethodTable<T>) EMPTY;
+    }
+
+    /**
+     * Returns a table that also maps {@code pattern} (an exact method or a {@code prefix/*} family)
+     * to {@code value}, replacing any previous mapping of the same pattern.
+     */
+    McpMethodTable<T> with(String pattern, T value) {
+        if (pattern == null || pattern.isBlank()) {
+            throw new IllegalArgumentException("Method pattern must not be blank");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("Handler for method " + pattern + " must not be null");
+        }
+        String key = pattern.trim();
+        if (key.endsWith(FAMILY_SUFFIX)) {
+            Map<String, T> copy = new HashMap<>(families);
+            copy.put(key.substring(0, key.length() - 1), value);
+            return new McpMethodTable<>(exact, copy);
+        }
+        Map<String, T> copy = new HashMap<>(exact);
+        copy.put(key, value);
+        return new McpMethodTable<>(copy, families);
+    }
+
+    /**
+     * Resolves the value for a concrete method name, or {@code null} when nothing matches.
+     */
+    T lookup(String method) {
+        if (method == null) {
+            return null;
+        }
+        T value = exact.get(method);
+        if (value != null || families.isEmpty()) {
+            return value;
+        }
+        for (int slash = method.lastIndexOf('/'); slash > 0; slash = method.lastIndexOf('/', slash - 1)) {
+            value = families.get(method.substring(0, slash + 1));
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Registered patterns; families are reported with their {@code /*} suffix.
+     */
+    Set<String> patterns() {
+        Set<String> patterns = new LinkedHashSet<>(exact.keySet());
+        families.keySet().forEach(prefix -> patterns.add(prefix + "*"));
+        return patterns;
+    }
+}
@@ -1,9 +1,8 @@
 package io.dscope.camel.mcp.processor;
 
+import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.BindToRegistry;
 import org.apache.camel.Exchange;
@@ -11,31 +10,112 @@ import org.apache.camel.Processor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.dscope.camel.mcp.catalog.McpMethodCatalog;
+import io.dscope.camel.mcp.catalog.McpMethodDefinition;
+import io.dscope.camel.mcp.catalog.McpMethodRateLimit;
+import io.dscope.camel.mcp.service.McpEventStreamRegistry;
+import io.dscope.camel.mcp.service.McpFileRateLimitStore;
+import io.dscope.camel.mcp.service.McpLeasingRateLimitStore;
+import io.dscope.camel.mcp.service.McpLocalRateLimitStore;
+import io.dscope.camel.mcp.service.McpRateLimitStore;
+
 /**
  * Token-bucket rate limiter for MCP requests with system property configuration.
+ * <p>
+ * Buckets are held by a {@link McpRateLimitStore}: by default a {@link McpLocalRateLimitStore}
+ * (lock-free GCRA buckets per JVM). {@code mcp.rate.store=file:<dir>} shares them between replicas
+ * through a {@link McpFileRateLimitStore}, taking {@code mcp.rate.leaseSize} tokens at a time; any
+ * other store can be set with {@link #setRateLimitStore(McpRateLimitStore)}.
+ * <p>
+ * {@code mcp.rate.key} selects what a bucket is kept for: {@code global} (default, one bucket),
+ * {@code remoteAddress}, {@code session}, {@code tool} or {@code header:<name>}; the local store
+ * keeps at most {@code mcp.rate.maxKeys} keyed buckets. Tools that declare a {@code rateLimit} in
+ * {@code methods.yaml} also get a bucket per tool and key.
+ * <p>
+ * Control-plane methods ({@code mcp.controlMethods}: {@code ping}, {@code initialize},
+ * {@code notifications/*} and {@code tools/list} by default) draw from the main bucket first and fall
+ * back to a reserved bucket sized by {@code mcp.rate.controlCapacity} (default 10) and
+ * {@code mcp.rate.controlRefillPerSecond}, so a client whose tool calls have used up the main bucket can
+ * still ping and reconnect. The reserve is kept per client even with {@code mcp.rate.key=global}
+ * (by a session issued by {@code initialize}, peer address or WebSocket connection), so one client
+ * cannot drain another's.
  */
 @BindToRegistry("mcpRateLimit")
 public class McpRateLimitProcessor implements Processor {
 
     private static final Logger LOG = LoggerFactory.getLogger(McpRateLimitProcessor.class);
 
+    /**
+     * Request header carrying the client's socket address; set by the {@code mcp:} consumer when
+     * {@code mcp.rate.key=remoteAddress}.
+     */
+    public static final String HEADER_REMOTE_ADDRESS = "Mcp-Remote-Address";
+
+    private static final String KEY_GLOBAL = "global";
+    private static final String KEY_REMOTE_ADDRESS = "remoteAddress";
+    private static final String KEY_SESSION = "session";
+    private static final String KEY_TOOL = "tool";
+    private static final String KEY_HEADER_PREFIX = "header:";
+    private static final String WEBSOCKET_CONNECTION_KEY = "websocket.connectionKey";
+    private static final String STORE_LOCAL = "local";
+    private static final String STORE_FILE_PREFIX = "file:";
+
     private final boolean enabled;
     private final int capacity;
-    private final double refillPerMillis;
-    private final AtomicLong lastRefillTime = new AtomicLong(System.currentTimeMillis());
-    private final AtomicInteger availableTokens;
-    private double fractionalTokens;
+    private final double refillPerSecond;
+    private final String key;
+    private final String keyHeader;
+    private final int maxKeys;
+    private final int controlCapacity;
+    private final double controlRefillPerSecond;
+    private final McpControlPlaneMethods controlMethods;
+    private volatile McpRateLimitStore store;
+    private volatile McpMethodCatalog methodCatalog;
+    private volatile McpEventStreamRegistry eventStreams;
 
     public McpRateLimitProcessor() {
+        this(null);
+    }
+
+    /**
+     * @param methodCatalog catalog providing per-tool limits; when {@code null} it is looked up as
+     *                      {@code mcpMethodCatalog} in the registry, or loaded from the classpath
+     */
+    public McpRateLimitProcessor(McpMethodCatalog methodCatalog) {
         this.enabled = Boolean.parseBoolean(System.getProperty("mcp.rate.enabled", "true"));
         this.capacity = Math.max(1, Integer.getInteger("mcp.rate.bucketCapacity", 50));
-        double refillPerSecond = Double.parseDouble(System.getProperty("mcp.rate.refillPerSecond", String.valueOf(capacity)));
-        if (refillPerSecond <= 0D) {
-            this.refillPerMillis = 0D;
+        this.refillPerSecond = Math.max(0D,
+                Double.parseDouble(System.getProperty("mcp.rate.refillPerSecond", String.valueOf(capacity))));
+        String configuredKey = System.getProperty("mcp.rate.key", KEY_GLOBAL).trim();
+        if (configuredKey.startsWith(KEY_HEADER_PREFIX) && configuredKey.length() > KEY_HEADER_PREFIX.length()) {
+            this.keyHeader = configuredKey.substring(KEY_HEADER_PREFIX.length());
+        } else if (!KEY_GLOBAL.equals(configuredKey) && !KEY_REMOTE_ADDRESS.equals(configuredKey)
+                && !KEY_SESSION.equals(configuredKey) && !KEY_TOOL.equals(configuredKey)) {
+            throw new IllegalArgumentException("Unsupported mcp.rate.key: " + configuredKey
+                    + " (expected global, remoteAddress, session, tool or header:<name>)");
         } else {
-            this.refillPerMillis = refillPerSecond / 1000D;
+            this.keyHeader = null;
         }
-        this.availableTokens = new AtomicInteger(capacity);
+        this.key = configuredKey;
+        this.maxKeys = Math.max(1, Integer.getInteger("mcp.rate.maxKeys", 100_000));
+        this.controlCapacity = Math.max(1, Integer.getInteger("mcp.rate.controlCapacity", 10));
+        this.controlRefillPerSecond = Math.max(0D, Double.parseDouble(
+                System.getProperty("mcp.rate.controlRefillPerSecond", String.valueOf(controlCapacity))));
+        this.controlMethods = new McpControlPlaneMethods();
+        this.store = createStore(System.getProperty("mcp.rate.store", STORE_LOCAL).trim(),
+                Integer.getInteger("mcp.rate.leaseSize", 10), maxKeys);
+        this.methodCatalog = methodCatalog;
+    }
+
+    private static McpRateLimitStore createStore(String store, int leaseSize, int maxKeys) {
+        if (STORE_LOCAL.equals(store)) {
+            return new McpLocalRateLimitStore(maxKeys);
+        }
+        if (store.startsWith(STORE_FILE_PREFIX) && store.length() > STORE_FILE_PREFIX.length()) {
+            return new McpLeasingRateLimitStore(
+                    new McpFileRateLimitStore(Path.of(store.substring(STORE_FILE_PREFIX.length()))), leaseSize, maxKeys);
+        }
+        throw new IllegalArgumentException("Unsupported mcp.rate.store: " + store + " (expected local or file:<dir>)");
     }
 
     @Override
@@ -43,52 +123,137 @@ public class McpRateLimitProcessor implements Processor {
         if (!enabled) {
             return;
         }
-        long now = System.currentTimeMillis();
-        refillTokens(now);
-        int remaining;
-        synchronized (this) {
-            int tokens = availableTokens.get();
-            if (tokens <= 0) {
-                LOG.error("MCP rate limit exceeded capacity={} refillPerSecond={} availableTokens={}",
-                        capacity, getRefillPerSecond(), tokens);
-                throw new IllegalArgumentException("Rate limit exceeded: no tokens available (capacity " + capacity + ")");
+        McpRateLimitStore buckets = store;
+        String clientKey = resolveKey(exchange);
+        String method = exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD, String.class);
+        if (controlMethods.isControl(method)) {
+            // The reserve is additive: it only covers what the main bucket can no longer grant.
+            McpRateLimitStore.Lease controlLease = buckets.acquire(clientKey == null ? null : "k\n" + clientKey,
+                    capacity, refillPerSecond, 1);
+            if (!controlLease.isGranted()) {
+                controlLease = buckets.acquire("c\n" + controlKey(exchange, clientKey),
+                        controlCapacity, controlRefillPerSecond, 1);
+            }
+            if (!controlLease.isGranted()) {
+                LOG.error("MCP control-plane rate limit exceeded method={} key={} capacity={} refillPerSecond={}",
+                        method, clientKey == null ? KEY_GLOBAL : clientKey, controlCapacity, controlRefillPerSecond);
+                throw new IllegalArgumentException("Rate limit exceeded for " + method
+                        + ": no tokens available (capacity " + controlCapacity + ")");
+            }
+            exchange.setProperty("mcp.rate.tokensRemaining", controlLease.remaining());
+            return;
+        }
+        McpRateLimitStore.Lease lease = buckets.acquire(clientKey == null ? null : "k\n" + clientKey, capacity, refillPerSecond, 1);
+        if (!lease.isGranted()) {
+            LOG.error("MCP rate limit exceeded key={} capacity={} refillPerSecond={} availableTokens={}",
+                    clientKey == null ? KEY_GLOBAL : clientKey, capacity, refillPerSecond, lease.remaining());
+            throw new IllegalArgumentException("Rate limit exceeded: no tokens available (capacity " + capacity + ")");
+        }
+        int remaining = lease.remaining();
+
+        String tool = exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TOOL_NAME, String.class);
+        McpMethodRateLimit toolLimit = toolLimit(exchange, tool);
+        if (toolLimit != null) {
+            McpRateLimitStore.Lease toolLease = buckets.acquire("t\n" + tool + "\n" + (clientKey == null ? "" : clientKey),
+                    toolLimit.getCapacity(), toolLimit.getRefillPerSecond(), 1);
+            if (!toolLease.isGranted()) {
+                LOG.error("MCP rate limit exceeded tool={} key={} capacity={} refillPerSecond={}",
+                        tool, clientKey == null ? KEY_GLOBAL : clientKey, toolLimit.getCapacity(), toolLimit.getRefillPerSecond());
+                throw new IllegalArgumentException("Rate limit exceeded for tool " + tool
+                        + ": no tokens available (capacity " + toolLimit.getCapacity() + ")");
             }
-            remaining = availableTokens.decrementAndGet();
+            remaining = Math.min(remaining, toolLease.remaining());
         }
+
         exchange.setProperty("mcp.rate.tokensRemaining", remaining);
         if (LOG.isDebugEnabled()) {
-            LOG.debug("MCP rate limiter accepted request tokensRemaining={}", remaining);
+            LOG.debug("MCP rate limiter accepted request key={} tokensRemaining={}", clientKey, remaining);
         }
     }
 
-    private void refillTokens(long now) {
-        if (refillPerMillis <= 0) {
-            return;
+    /**
+     * Returns the bucket key for the configured key mode, {@code null} for the global bucket. Requests
+     * without a value for the key share one anonymous bucket.
+     */
+    private String resolveKey(Exchange exchange) {
+        String value;
+        switch (key) {
+            case KEY_GLOBAL:
+                return null;
+            case KEY_REMOTE_ADDRESS:
+                value = exchange.getIn().getHeader(HEADER_REMOTE_ADDRESS, String.class);
+                if (value == null) {
+                    value = exchange.getIn().getHeader(WEBSOCKET_CONNECTION_KEY, String.class);
+                }
+                break;
+            case KEY_SESSION:
+                value = exchange.getIn().getHeader(McpStreamProcessor.HEADER_SESSION_ID, String.class);
+                break;
+            case KEY_TOOL:
+                value = exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TOOL_NAME, String.class);
+                break;
+            default:
+                value = exchange.getIn().getHeader(keyHeader, String.class);
+                break;
         }
-        long last = lastRefillTime.get();
-        if (now <= last) {
-            return;
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Returns the client a control-plane reserve is kept for: the configured key, or with the global
+     * bucket the caller's session, peer address or WebSocket connection. The session only counts when
+     * this server issued it, so a client cannot get a fresh reserve by making up session ids.
+     */
+    private String controlKey(Exchange exchange, String clientKey) {
+        if (clientKey != null) {
+            return clientKey;
         }
-        long elapsed = now - last;
-        double tokensToAdd = elapsed * refillPerMillis;
-        if (tokensToAdd <= 0D) {
-            return;
+        String sessionId = exchange.getIn().getHeader(McpStreamProcessor.HEADER_SESSION_ID, String.class);
+        if (sessionId != null && exchange.getContext() != null) {
+            McpEventStreamRegistry sessions = eventStreams;
+            if (sessions == null) {
+                eventStreams = sessions = McpEventStreamRegistry.lookupOrCreate(exchange.getContext());
+            }
+            if (sessions.isSession(sessionId)) {
+                return sessionId;
+            }
         }
-        if (lastRefillTime.compareAndSet(last, now)) {
-            synchronized (this) {
-                int current = availableTokens.get();
-                double total = current + tokensToAdd + fractionalTokens;
-                int tokensToApply = (int) Math.min(capacity - current, Math.floor(total - current));
-                if (tokensToApply > 0) {
-                    availableTokens.set(Math.min(capacity, current + tokensToApply));
-                }
-                double newTotal = Math.min(capacity, total);
-                fractionalTokens = Math.max(0D, newTotal - availableTokens.get());
-                if (availableTokens.get() >= capacity) {
-                    fractionalTokens = 0D;
-                }
+        for (String header : new String[] {HEADER_REMOTE_ADDRESS, WEBSOCKET_CONNECTION_KEY}) {
+            String value = exchange.getIn().getHeader(header, String.class);
+            if (value != null && !value.isBlank()) {
+                return value;
             }
         }
+        return "";
+    }
+
+    private McpMethodRateLimit toolLimit(Exchange exchange, String tool) {
+        if (tool == null) {
+            return null;
+        }
+        McpMethodCatalog catalog = methodCatalog;
+        if (catalog == null) {
+            methodCatalog = catalog = McpMethodCatalog.lookupOrCreate(exchange.getContext());
+        }
+        return catalog.findByName(tool).map(McpMethodDefinition::getRateLimit).orElse(null);
+    }
+
+    public void setMethodCatalog(McpMethodCatalog methodCatalog) {
+        this.methodCatalog = methodCatalog;
+    }
+
+    public McpRateLimitStore getRateLimitStore() {
+        return store;
+    }
+
+    /**
+     * Replaces the bucket store, e.g. with a shared store wrapped in a {@link McpLeasingRateLimitStore}.
+     */
+    public void setRateLimitStore(McpRateLimitStore store) {
+        if (store == null) {
+            throw new IllegalArgumentException("Rate limit store must not be null");
+        }
+        this.store = store;
     }
 
     public boolean isEnabled() {
@@ -100,24 +265,53 @@ public class McpRateLimitProcessor implements Processor {
     }
 
     public double getRefillPerSecond() {
-        return refillPerMillis * 1000D;
+        return refillPerSecond;
+    }
+
+    public int getControlCapacity() {
+        return controlCapacity;
+    }
+
+    /**
+     * Key mode from {@code mcp.rate.key}.
+     */
+    public String getKey() {
+        return key;
     }
 
+    /**
+     * Tokens left in the global bucket; {@link #getCapacity()} when limiting by key.
+     */
     public int getAvailableTokens() {
-        return availableTokens.get();
+        return store.available(null, capacity, refillPerSecond);
     }
 
+    /**
+     * @deprecated buckets refill continuously rather than at discrete refill times, so there is no
+     *             last refill to report; this returns the current time, at which
+     *             {@link #getAvailableTokens()} is exact. Use that instead.
+     */
+    @Deprecated(since = "1.5.0", forRemoval = true)
     public long getLastRefillTime() {
-        return lastRefillTime.get();
+        return System.currentTimeMillis();
+    }
+
+    public int getTrackedKeys() {
+        return store.size();
     }
 
-    public synchronized Map<String, Object> snapshot() {
+    public Map<String, Object> snapshot() {
         Map<String, Object> snapshot = new LinkedHashMap<>();
         snapshot.put("enabled", enabled);
         snapshot.put("capacity", capacity);
-        snapshot.put("availableTokens", availableTokens.get());
+        snapshot.put("availableTokens", getAvailableTokens());
         snapshot.put("refillPerSecond", getRefillPerSecond());
-        snapshot.put("lastRefillEpochMillis", lastRefillTime.get());
+        // kept for existing health consumers: with continuous refill the token count is as of now
+        snapshot.put("lastRefillEpochMillis", System.currentTimeMillis());
+        snapshot.put("controlCapacity", controlCapacity);
+        snapshot.put("key", key);
+        snapshot.put("trackedKeys", getTrackedKeys());
+        snapshot.put("store", store.getClass().getSimpleName());
         return snapshot;
     }
 }
@@ -1,9 +1,12 @@
 package io.dscope.camel.mcp.processor;
 
-import java.nio.charset.StandardCharsets;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 import org.apache.camel.BindToRegistry;
 import org.apache.camel.Exchange;
+import org.apache.camel.Message;
 import org.apache.camel.Processor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +15,11 @@ import org.slf4j.LoggerFactory;
  * Simple per-request size guard to reject overly large MCP JSON-RPC payloads before parsing.
  * Configurable via system/property: mcp.maxRequestBytes (defaults 32768).
  * Can be disabled via system property {@code mcp.requestSizeGuard.enabled=false}.
+ * <p>
+ * The guard never copies the body: a declared {@code Content-Length} is checked first,
+ * {@code byte[]} and {@code String} bodies are measured in place, and streamed bodies are wrapped
+ * in a counting stream that fails as soon as the limit is crossed, so oversized payloads are
+ * rejected before they are buffered.
  */
 @BindToRegistry("mcpRequestSizeGuard")
 public class McpRequestSizeGuardProcessor implements Processor {
@@ -35,23 +43,36 @@ public class McpRequestSizeGuardProcessor implements Processor {
         if (!enabled) {
             return;
         }
-        Object body = exchange.getIn().getBody();
+        Message in = exchange.getIn();
+        long declaredLength = contentLength(in);
+        if (declaredLength > maxBytes) {
+            reject(declaredLength, "Content-Length");
+        }
+        Object body = in.getBody();
         if (body == null) {
             return;
         }
-        byte[] bytes;
-        if (body instanceof byte[] b) {
-            bytes = b;
+        long length;
+        if (body instanceof byte[] bytes) {
+            length = bytes.length;
+        } else if (body instanceof String text) {
+            length = utf8Length(text, maxBytes);
+        } else if (body instanceof BoundedInputStream) {
+            return;
+        } else if (body instanceof InputStream stream) {
+            in.setBody(new BoundedInputStream(stream, maxBytes));
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("MCP request body streamed through size guard declaredLength={} max={}",
+                        declaredLength, maxBytes);
+            }
+            return;
         } else {
-            String text = exchange.getIn().getBody(String.class);
-            bytes = text.getBytes(StandardCharsets.UTF_8);
-            exchange.getIn().setBody(text);
+            byte[] bytes = in.getBody(byte[].class);
+            length = bytes == null ? 0 : bytes.length;
+            in.setBody(bytes);
         }
-        int length = bytes.length;
         if (length > maxBytes) {
-            LOG.error("MCP request rejected by size guard size={} max={} bodyType={}",
-                    length, maxBytes, body.getClass().getName());
-            throw new IllegalArgumentException("Request body too large (" + length + " bytes, max " + maxBytes + ")");
+            reject(length, body.getClass().getName());
         }
         if (LOG.isDebugEnabled()) {
             LOG.debug("MCP request size check passed size={} max={} bodyType={}",
@@ -66,4 +87,106 @@ public class McpRequestSizeGuardProcessor implements Processor {
     public boolean isEnabled() {
         return enabled;
     }
+
+    private void reject(long length, String source) {
+        LOG.error("MCP request rejected by size guard size={} max={} bodyType={}", length, maxBytes, source);
+        throw new IllegalArgumentException("Request body too large (" + length + " bytes, max " + maxBytes + ")");
+    }
+
+    private static long contentLength(Message in) {
+        Object header = in.getHeader("Content-Length");
+        if (header instanceof Number number) {
+            return number.longValue();
+        }
+        if (header == null) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(header.toString().trim());
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * Counts the UTF-8 encoded length of {@code text} without encoding it, stopping once
+     * {@code limit} has been exceeded.
+     */
+    static long utf8Length(CharSequence text, long limit) {
+        long length = 0;
+        int size = text.length();
+        for (int i = 0; i < size && length <= limit; i++) {
+            char ch = text.charAt(i);
+            if (ch < 0x80) {
+                length++;
+            } else if (ch < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(ch) && i + 1 < size && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Pass-through stream that fails with the size guard error once more than {@code maxBytes}
+     * have been read, so the JSON parser consumes the transport stream directly.
+     */
+    static final class BoundedInputStream extends FilterInputStream {
+
+        private final int maxBytes;
+        private long count;
+
+        BoundedInputStream(InputStream delegate, int maxBytes) {
+            super(delegate);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                advance(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                advance(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            if (skipped > 0) {
+                advance(skipped);
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        private void advance(long read) {
+            count += read;
+            if (count > maxBytes) {
+                LOG.error("MCP request rejected by size guard bytesRead={} max={} bodyType=stream", count, maxBytes);
+                throw new IllegalArgumentException("Request body too large (exceeds max " + maxBytes + " bytes)");
+            }
+        }
+    }
 }
@@ -1,7 +1,6 @@
 package io.dscope.camel.mcp.processor;
 
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.apache.camel.BindToRegistry;
@@ -9,28 +8,37 @@ import org.apache.camel.Exchange;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import io.dscope.camel.mcp.catalog.McpResourceCatalog;
-import io.dscope.camel.mcp.model.McpResource;
+import io.dscope.camel.mcp.service.McpPreparedJson;
 
 /**
- * Implements the MCP resources/list method using a registry-backed catalog.
+ * Implements the MCP resources/list method using a registry-backed catalog. The result is prepared once
+ * by the catalog; clients can revalidate it with {@code If-None-Match}.
+ * When {@code mcp.list.pageSize} is positive the result is paged: each page carries a {@code nextCursor}
+ * that the client sends back as {@code params.cursor}.
  */
 @BindToRegistry("mcpResourcesList")
 public class McpResourcesListProcessor extends AbstractMcpResponseProcessor {
 
     private static final Logger LOG = LoggerFactory.getLogger(McpResourcesListProcessor.class);
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     private final McpResourceCatalog catalog;
+    private final int pageSize;
 
     public McpResourcesListProcessor() {
-        this(new McpResourceCatalog());
+        this(McpResourceCatalog.shared());
     }
 
     public McpResourcesListProcessor(McpResourceCatalog catalog) {
+        this(catalog, Integer.getInteger(McpToolsListProcessor.PAGE_SIZE_PROPERTY, 0));
+    }
+
+    /**
+     * @param pageSize entries per page; zero or less returns the whole list in one result
+     */
+    public McpResourcesListProcessor(McpResourceCatalog catalog, int pageSize) {
         this.catalog = catalog;
+        this.pageSize = pageSize;
     }
 
     @Override
@@ -40,20 +48,26 @@ public class McpResourcesListProcessor extends AbstractMcpResponseProcessor {
             LOG.debug("Processing resources/list request id={} params={}", getJsonRpcId(exchange), params);
         }
 
-        List<McpResource> resources = catalog.listResources();
-
-        List<Map<String, Object>> resourceMaps = resources.stream()
-                .map(r -> OBJECT_MAPPER.convertValue(r, Map.class))
-                .map(m -> (Map<String, Object>) m)
-                .toList();
-
-        Map<String, Object> result = new LinkedHashMap<>();
-        result.put("resources", resourceMaps);
-
-        writeResult(exchange, result);
+        Object cursor = params.get("cursor");
+        McpPreparedJson result;
+        try {
+            result = catalog.getResourcesListPage(cursor == null ? null : cursor.toString(), pageSize);
+        } catch (IllegalArgumentException e) {
+            writeError(exchange, createError(-32602, e.getMessage()), 400);
+            return;
+        }
+        boolean written = writePreparedResult(exchange, result);
 
         if (LOG.isDebugEnabled()) {
-            LOG.debug("resources/list response id={} contains {} resources", getJsonRpcId(exchange), resources.size());
+            LOG.debug("resources/list response id={} cursor={} of {} resources etag={} notModified={}",
+                    getJsonRpcId(exchange), cursor, catalog.list().size(), result.etag(), !written);
         }
     }
+
+    private Map<String, Object> createError(int code, String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("code", code);
+        error.put("message", message);
+        return error;
+    }
 }
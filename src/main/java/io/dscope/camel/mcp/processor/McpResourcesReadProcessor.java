@@ -26,13 +26,12 @@ import io.dscope.camel.mcp.model.McpResourceContent;
 public class McpResourcesReadProcessor extends AbstractMcpResponseProcessor {
 
     private static final Logger LOG = LoggerFactory.getLogger(McpResourcesReadProcessor.class);
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private static final String BUILTIN_UI_PATH = "io/dscope/camel/mcp/ui/";
 
     private final McpResourceCatalog catalog;
 
     public McpResourcesReadProcessor() {
-        this(new McpResourceCatalog());
+        this(McpResourceCatalog.shared());
     }
 
     public McpResourcesReadProcessor(McpResourceCatalog catalog) {
@@ -62,17 +61,18 @@ public class McpResourcesReadProcessor extends AbstractMcpResponseProcessor {
         McpResourceDefinition def = optDef.get();
 
         try {
+            ObjectMapper mapper = jsonCodec(exchange).mapper();
             String content = loadContent(def);
 
             // Inject config if it's the built-in UI
             if (def.getSource() != null && def.getSource().startsWith("builtin:")) {
-                content = injectConfig(content, def.getConfig());
+                content = injectConfig(content, def.getConfig(), mapper);
             }
 
             McpResourceContent resourceContent = McpResourceContent.text(
                     uri, def.getMimeType(), content);
 
-            Map<String, Object> contentMap = OBJECT_MAPPER.convertValue(resourceContent, Map.class);
+            Map<String, Object> contentMap = mapper.convertValue(resourceContent, Map.class);
 
             Map<String, Object> result = new LinkedHashMap<>();
             result.put("contents", List.of(contentMap));
@@ -130,12 +130,12 @@ public class McpResourcesReadProcessor extends AbstractMcpResponseProcessor {
         }
     }
 
-    private String injectConfig(String html, Map<String, String> config) {
+    private String injectConfig(String html, Map<String, String> config, ObjectMapper mapper) {
         if (config == null || config.isEmpty()) {
             return html;
         }
         try {
-            String configJson = OBJECT_MAPPER.writeValueAsString(config);
+            String configJson = mapper.writeValueAsString(config);
             // Use spread operator to merge config at end (user config wins)
             return html.replace(
                     "};  // END CONFIG",
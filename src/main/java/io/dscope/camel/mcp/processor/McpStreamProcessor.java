@@ -1,25 +1,263 @@
 package io.dscope.camel.mcp.processor;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.camel.BindToRegistry;
+import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.apache.camel.component.undertow.UndertowEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.dscope.camel.mcp.service.McpEventStream;
+import io.dscope.camel.mcp.service.McpEventStreamRegistry;
 
 /**
- * Provides a minimal Server-Sent Events handshake body so MCP clients can subscribe even if
- * no events are emitted yet.
+ * Serves the MCP Server-Sent Events stream for the caller's session ({@code Mcp-Session-Id}).
+ * Only sessions issued by {@link McpEventStreamRegistry#openSession()} (on {@code initialize}) can be
+ * read: a request without the header is answered with 400, an unknown or expired session with 404 so
+ * the client initializes again.
+ * <p>
+ * When the exchange comes from an Undertow endpoint with {@code useStreaming=true} (as the
+ * {@code mcp:} consumer creates), the response is held open and every event published to the
+ * session's {@link McpEventStream} is written as soon as it arrives, with comment heartbeats while
+ * idle. Otherwise the handshake and the currently buffered events are returned and the client
+ * reconnects. In both modes a {@code Last-Event-ID} header replays only the events that were missed.
+ * Configurable via system properties {@code mcp.sse.heartbeatMillis} (default 15000),
+ * {@code mcp.sse.retryMillis} (default 3000) and {@code mcp.sse.maxStreamMillis} (default 300000; the
+ * client reconnects with {@code Last-Event-ID} afterwards, {@code 0} keeps the response open until the
+ * stream closes).
  */
 @BindToRegistry("mcpStream")
 public class McpStreamProcessor implements Processor {
 
+    private static final Logger LOG = LoggerFactory.getLogger(McpStreamProcessor.class);
+
+    public static final String HEADER_SESSION_ID = "Mcp-Session-Id";
+    public static final String HEADER_LAST_EVENT_ID = "Last-Event-ID";
+
+    private static final String HANDSHAKE = ":ok\n\n";
+    private static final byte[] HEARTBEAT = ":ping\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private volatile McpEventStreamRegistry eventStreams;
+    private final long heartbeatMillis;
+    private final long retryMillis;
+    private final long maxStreamMillis;
+
+    public McpStreamProcessor() {
+        this(null);
+    }
+
+    /**
+     * @param eventStreams registry to serve events from; when {@code null} the registry bound in the
+     *                     Camel context is used (and created on first use)
+     */
+    public McpStreamProcessor(McpEventStreamRegistry eventStreams) {
+        this.eventStreams = eventStreams;
+        this.heartbeatMillis = Math.max(1L, Long.getLong("mcp.sse.heartbeatMillis", 15_000L));
+        this.retryMillis = Long.getLong("mcp.sse.retryMillis", 3_000L);
+        this.maxStreamMillis = Long.getLong("mcp.sse.maxStreamMillis", 300_000L);
+    }
+
     @Override
     public void process(Exchange exchange) {
         if (exchange == null) {
             throw new IllegalArgumentException("Exchange must not be null");
         }
+        String sessionId = exchange.getIn().getHeader(HEADER_SESSION_ID, String.class);
+        McpEventStreamRegistry registry = resolveEventStreams(exchange);
+        if (sessionId == null || sessionId.isBlank()) {
+            reject(exchange, 400, "Mcp-Session-Id header is required to open the event stream");
+            return;
+        }
+        if (!registry.isSession(sessionId)) {
+            reject(exchange, 404, "Unknown or expired MCP session");
+            return;
+        }
+        McpEventStream stream = registry.stream(sessionId);
+        long lastEventId = lastEventId(exchange, stream);
+
         exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
         exchange.getIn().setHeader(Exchange.CONTENT_TYPE, "text/event-stream");
         exchange.getIn().setHeader("Cache-Control", "no-store");
         exchange.getIn().setHeader("Connection", "keep-alive");
-        exchange.getIn().setBody(":ok\n\n");
+
+        if (supportsStreaming(exchange.getFromEndpoint())) {
+            exchange.getIn().setBody(new EventStreamInputStream(stream, lastEventId, heartbeatMillis,
+                    retryMillis, maxStreamMillis));
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Opened MCP event stream {} lastEventId={}", stream.getStreamId(), lastEventId);
+            }
+            return;
+        }
+
+        List<McpEventStream.Event> missed = stream.eventsAfter(lastEventId);
+        if (missed.isEmpty()) {
+            exchange.getIn().setBody(HANDSHAKE);
+            return;
+        }
+        StringBuilder body = new StringBuilder(HANDSHAKE);
+        missed.forEach(event -> appendEvent(body, event));
+        exchange.getIn().setBody(body.toString());
+    }
+
+    public long getHeartbeatMillis() {
+        return heartbeatMillis;
+    }
+
+    public long getMaxStreamMillis() {
+        return maxStreamMillis;
+    }
+
+    private static void reject(Exchange exchange, int statusCode, String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("code", -32600);
+        error.put("message", message);
+        Map<String, Object> envelope = new LinkedHashMap<>();
+        envelope.put("jsonrpc", "2.0");
+        envelope.put("id", null);
+        envelope.put("error", error);
+        McpJsonWriter.writeJson(exchange, envelope);
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, statusCode);
+        exchange.getIn().setHeader(Exchange.CONTENT_TYPE, "application/json");
+        exchange.getIn().setHeader("Cache-Control", "no-store");
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Refused MCP event stream status={} session={}", statusCode,
+                    exchange.getIn().getHeader(HEADER_SESSION_ID));
+        }
+    }
+
+    private McpEventStreamRegistry resolveEventStreams(Exchange exchange) {
+        McpEventStreamRegistry registry = eventStreams;
+        if (registry == null) {
+            registry = McpEventStreamRegistry.lookupOrCreate(exchange.getContext());
+            eventStreams = registry;
+        }
+        return registry;
+    }
+
+    private static long lastEventId(Exchange exchange, McpEventStream stream) {
+        String header = exchange.getIn().getHeader(HEADER_LAST_EVENT_ID, String.class);
+        if (header == null || header.isBlank()) {
+            return 0L;
+        }
+        try {
+            long lastEventId = Long.parseLong(header.trim());
+            // ids from before a restart are ahead of the new log; resend what is buffered instead
+            return lastEventId > stream.getLastEventId() ? 0L : Math.max(0L, lastEventId);
+        } catch (NumberFormatException e) {
+            LOG.debug("Ignoring malformed Last-Event-ID '{}' for stream {}", header, stream.getStreamId());
+            return 0L;
+        }
+    }
+
+    private static boolean supportsStreaming(Endpoint endpoint) {
+        return endpoint instanceof UndertowEndpoint undertow && undertow.isUseStreaming();
+    }
+
+    static void appendEvent(StringBuilder out, McpEventStream.Event event) {
+        out.append("id: ").append(event.id()).append('\n');
+        for (String line : event.data().split("\n", -1)) {
+            out.append("data: ").append(line).append('\n');
+        }
+        out.append('\n');
+    }
+
+    /**
+     * Response body that blocks on the event stream and yields SSE frames as events arrive. Undertow
+     * copies it to the connection and flushes after every read, so each frame is pushed immediately;
+     * the response ends when the stream is closed, the maximum duration elapses or the client goes away
+     * (the next write fails and the body is closed).
+     */
+    static final class EventStreamInputStream extends InputStream {
+
+        private final McpEventStream stream;
+        private final long heartbeatMillis;
+        private final long deadlineMillis;
+        private long lastEventId;
+        private byte[] chunk;
+        private int position;
+        private volatile boolean closed;
+
+        EventStreamInputStream(McpEventStream stream, long lastEventId, long heartbeatMillis, long retryMillis,
+                long maxStreamMillis) {
+            this.stream = stream;
+            this.lastEventId = lastEventId;
+            this.heartbeatMillis = heartbeatMillis;
+            this.deadlineMillis = maxStreamMillis > 0 ? System.currentTimeMillis() + maxStreamMillis : Long.MAX_VALUE;
+            String handshake = retryMillis > 0 ? ":ok\nretry: " + retryMillis + "\n\n" : HANDSHAKE;
+            this.chunk = handshake.getBytes(StandardCharsets.US_ASCII);
+        }
+
+        @Override
+        public int read() {
+            if (!fill()) {
+                return -1;
+            }
+            return chunk[position++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(length, chunk.length - position);
+            System.arraycopy(chunk, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return chunk == null ? 0 : chunk.length - position;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Closed MCP event stream {} lastEventId={}", stream.getStreamId(), lastEventId);
+                }
+            }
+        }
+
+        private boolean fill() {
+            while (chunk == null || position >= chunk.length) {
+                chunk = null;
+                position = 0;
+                long remaining = deadlineMillis - System.currentTimeMillis();
+                if (closed || remaining <= 0) {
+                    return false;
+                }
+                List<McpEventStream.Event> events;
+                try {
+                    events = stream.awaitEventsAfter(lastEventId, Math.min(heartbeatMillis, remaining));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                if (!events.isEmpty()) {
+                    StringBuilder frames = new StringBuilder(128 * events.size());
+                    events.forEach(event -> appendEvent(frames, event));
+                    lastEventId = events.get(events.size() - 1).id();
+                    chunk = frames.toString().getBytes(StandardCharsets.UTF_8);
+                } else if (stream.isClosed()) {
+                    return false;
+                } else if (System.currentTimeMillis() < deadlineMillis) {
+                    chunk = HEARTBEAT;
+                }
+            }
+            return true;
+        }
     }
 }
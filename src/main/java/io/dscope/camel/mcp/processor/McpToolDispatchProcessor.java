@@ -0,0 +1,75 @@
+package io.dscope.camel.mcp.processor;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.camel.BindToRegistry;
+import org.apache.camel.Exchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.dscope.camel.mcp.catalog.McpToolHandler;
+import io.dscope.camel.mcp.catalog.McpToolProvider;
+import io.dscope.camel.mcp.catalog.McpToolProviders;
+
+/**
+ * Implements tools/call for tools contributed by {@link McpToolProvider}s, usually generated from
+ * {@code @McpTool} methods. The handlers of all providers are merged once; a call is a map lookup and a
+ * direct invocation of the tool method.
+ */
+@BindToRegistry("mcpToolDispatch")
+public class McpToolDispatchProcessor extends AbstractMcpResponseProcessor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(McpToolDispatchProcessor.class);
+
+    private final Map<String, McpToolHandler> handlers;
+
+    /**
+     * Dispatches to every provider registered on the classpath.
+     */
+    public McpToolDispatchProcessor() {
+        this(McpToolProviders.installed());
+    }
+
+    public McpToolDispatchProcessor(McpToolProvider... providers) {
+        this(List.of(providers));
+    }
+
+    /**
+     * @throws IllegalArgumentException if two providers handle the same tool name
+     */
+    public McpToolDispatchProcessor(Collection<? extends McpToolProvider> providers) {
+        Map<String, McpToolHandler> merged = new HashMap<>();
+        for (McpToolProvider provider : providers) {
+            provider.handlers().forEach((name, handler) -> {
+                if (merged.putIfAbsent(name, handler) != null) {
+                    throw new IllegalArgumentException("Duplicate MCP tool handler: " + name);
+                }
+            });
+        }
+        this.handlers = Map.copyOf(merged);
+    }
+
+    public Set<String> getToolNames() {
+        return handlers.keySet();
+    }
+
+    @Override
+    protected void handleResponse(Exchange exchange) throws Exception {
+        String toolName = getToolName(exchange);
+        if (toolName == null || toolName.isBlank()) {
+            throw new IllegalArgumentException("Tool name is required for tools/call");
+        }
+        McpToolHandler handler = handlers.get(toolName);
+        if (handler == null) {
+            throw new IllegalArgumentException("Unknown tool: " + toolName);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Dispatching tools/call id={} tool={}", getJsonRpcId(exchange), toolName);
+        }
+        writeResult(exchange, handler.call(getRequestParameters(exchange)));
+    }
+}
@@ -14,19 +14,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 @BindToRegistry("mcpToolResponseProcessor")
 public class McpToolResponseProcessor extends AbstractMcpResponseProcessor {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
     @Override
     protected void handleResponse(Exchange exchange) throws Exception {
+        ObjectMapper objectMapper = jsonCodec(exchange).mapper();
         Integer httpCode = exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
         boolean abortRoute = Boolean.TRUE.equals(exchange.getProperty("abortRoute", Boolean.class));
         if (abortRoute || (httpCode != null && httpCode >= 400)) {
-            writeError(exchange, error(-32602, extractErrorMessage(exchange)), httpCode != null ? httpCode : 400);
+            writeError(exchange, error(-32602, extractErrorMessage(exchange, objectMapper)), httpCode != null ? httpCode : 400);
             return;
         }
 
         String toolName = exchange.getProperty("mcp.tool.name", String.class);
-        Object resultPayload = normalizeResult(exchange.getMessage().getBody());
+        Object resultPayload = normalizeResult(exchange.getMessage().getBody(), objectMapper);
 
         Map<String, Object> structuredContent = new LinkedHashMap<>();
         structuredContent.put("status", "ok");
@@ -55,7 +54,7 @@ public class McpToolResponseProcessor extends AbstractMcpResponseProcessor {
         return error;
     }
 
-    private String extractErrorMessage(Exchange exchange) {
+    private String extractErrorMessage(Exchange exchange, ObjectMapper objectMapper) {
         Object body = exchange.getMessage().getBody();
         if (body == null) {
             return "Tool invocation failed";
@@ -77,7 +76,7 @@ public class McpToolResponseProcessor extends AbstractMcpResponseProcessor {
         return String.valueOf(body);
     }
 
-    private Object normalizeResult(Object body) {
+    private Object normalizeResult(Object body, ObjectMapper objectMapper) {
         if (!(body instanceof String text)) {
             return body;
         }
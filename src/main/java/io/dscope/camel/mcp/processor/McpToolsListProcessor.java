@@ -9,28 +9,46 @@ import org.apache.camel.Exchange;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import io.dscope.camel.mcp.catalog.McpMethodCatalog;
-import io.dscope.camel.mcp.catalog.McpMethodDefinition;
+import io.dscope.camel.mcp.service.McpPreparedJson;
 
 /**
- * Implements the MCP tools/list method using a registry-backed catalog.
+ * Implements the MCP tools/list method using a registry-backed catalog. The result is prepared once by
+ * the catalog; clients can revalidate it with {@code If-None-Match}.
+ * When {@code mcp.list.pageSize} is positive the result is paged: each page carries a {@code nextCursor}
+ * that the client sends back as {@code params.cursor}.
+ * <p>
+ * A request with {@code params.query} or {@code params.tag} is answered from the catalog's search index
+ * instead: the best matches, at most {@code params.limit} and never more than {@code mcp.list.searchLimit}
+ * (default 50), in one unpaged result.
  */
 @BindToRegistry("mcpToolsList")
 public class McpToolsListProcessor extends AbstractMcpResponseProcessor {
 
     private static final Logger LOG = LoggerFactory.getLogger(McpToolsListProcessor.class);
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static final String PAGE_SIZE_PROPERTY = "mcp.list.pageSize";
+    public static final String SEARCH_LIMIT_PROPERTY = "mcp.list.searchLimit";
 
     private final McpMethodCatalog catalog;
+    private final int pageSize;
+    private final int searchLimit;
 
     public McpToolsListProcessor() {
-        this(new McpMethodCatalog());
+        this(McpMethodCatalog.shared());
     }
 
     public McpToolsListProcessor(McpMethodCatalog catalog) {
+        this(catalog, Integer.getInteger(PAGE_SIZE_PROPERTY, 0));
+    }
+
+    /**
+     * @param pageSize entries per page; zero or less returns the whole list in one result
+     */
+    public McpToolsListProcessor(McpMethodCatalog catalog, int pageSize) {
         this.catalog = catalog;
+        this.pageSize = pageSize;
+        this.searchLimit = Math.max(1, Integer.getInteger(SEARCH_LIMIT_PROPERTY, 50));
     }
 
     @Override
@@ -40,41 +58,54 @@ public class McpToolsListProcessor extends AbstractMcpResponseProcessor {
             LOG.debug("Processing tools/list request id={} params={}", getJsonRpcId(exchange), params);
         }
 
-        List<Map<String, Object>> tools = catalog.list().stream()
-                .map(this::toToolEntry)
-                .toList();
-
-        Map<String, Object> result = new LinkedHashMap<>();
-        result.put("tools", tools);
+        Object query = params.get("query");
+        Object tag = params.get("tag");
+        if (query != null || tag != null) {
+            search(exchange, query, tag, params.get("limit"));
+            return;
+        }
 
-        writeResult(exchange, result);
+        Object cursor = params.get("cursor");
+        McpPreparedJson result;
+        try {
+            result = catalog.getToolsListPage(cursor == null ? null : cursor.toString(), pageSize);
+        } catch (IllegalArgumentException e) {
+            writeError(exchange, createError(-32602, e.getMessage()), 400);
+            return;
+        }
+        boolean written = writePreparedResult(exchange, result);
 
         if (LOG.isDebugEnabled()) {
-            LOG.debug("tools/list response id={} contains {} tools", getJsonRpcId(exchange), tools.size());
+            LOG.debug("tools/list response id={} cursor={} of {} tools etag={} notModified={}",
+                    getJsonRpcId(exchange), cursor, catalog.list().size(), result.etag(), !written);
         }
     }
 
-    private Map<String, Object> toToolEntry(McpMethodDefinition definition) {
-        Map<String, Object> tool = new LinkedHashMap<>();
-        tool.put("name", definition.getName());
-        tool.put("title", definition.getTitle());
-        tool.put("description", definition.getDescription());
-        tool.put("inputSchema", deepCopy(definition.getInputSchema()));
-        tool.put("outputSchema", deepCopy(definition.getOutputSchema()));
-        tool.put("annotations", deepCopy(definition.getAnnotations()));
-        // Include _meta if present
-        if (definition.getMeta() != null) {
-            tool.put("_meta", OBJECT_MAPPER.convertValue(definition.getMeta(), Map.class));
+    private void search(Exchange exchange, Object query, Object tag, Object requestedLimit) {
+        int limit = searchLimit;
+        if (requestedLimit != null) {
+            if (!(requestedLimit instanceof Number number) || number.intValue() < 1) {
+                writeError(exchange, createError(-32602, "Invalid limit: " + requestedLimit), 400);
+                return;
+            }
+            limit = Math.min(limit, number.intValue());
         }
-        return tool;
-    }
+        List<Map<String, Object>> tools = catalog.searchTools(query == null ? null : query.toString(),
+                tag == null ? null : tag.toString(), limit);
+        Map<String, Object> result = newResultMap();
+        result.put("tools", tools);
+        writeResult(exchange, result);
 
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> deepCopy(Map<String, Object> source) {
-        if (source == null || source.isEmpty()) {
-            return Map.of();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("tools/list search id={} query={} tag={} matched {} tools", getJsonRpcId(exchange), query, tag,
+                    tools.size());
         }
-        return OBJECT_MAPPER.convertValue(source, Map.class);
     }
 
+    private Map<String, Object> createError(int code, String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("code", code);
+        error.put("message", message);
+        return error;
+    }
 }
@@ -22,7 +22,6 @@ public class RemoteMcpToolCallProxyProcessor extends AbstractMcpResponseProcesso
     private static final Logger LOG = LoggerFactory.getLogger(RemoteMcpToolCallProxyProcessor.class);
     private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
     private final HttpClient httpClient;
     private final URI remoteEndpoint;
     private final Map<String, Object> defaultArguments;
@@ -41,6 +40,7 @@ public class RemoteMcpToolCallProxyProcessor extends AbstractMcpResponseProcesso
 
     @Override
     protected void handleResponse(Exchange exchange) throws Exception {
+        ObjectMapper objectMapper = jsonCodec(exchange).mapper();
         String toolName = getToolName(exchange);
         Map<String, Object> arguments = getRequestParameters(exchange, true);
         defaultArguments.forEach(arguments::putIfAbsent);
@@ -75,7 +75,7 @@ public class RemoteMcpToolCallProxyProcessor extends AbstractMcpResponseProcesso
         exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, response.statusCode());
         Map<String, Object> rpcPayload;
         try {
-            rpcPayload = parseBody(response.body());
+            rpcPayload = parseBody(objectMapper, response.body());
         } catch (IOException ex) {
             exchange.setProperty("abortRoute", Boolean.TRUE);
             exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, 502);
@@ -96,7 +96,14 @@ public class RemoteMcpToolCallProxyProcessor extends AbstractMcpResponseProcesso
         exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
     }
 
+    /**
+     * Parses a remote response, plain JSON or SSE, with the codec this processor last resolved.
+     */
     public Map<String, Object> parseBody(String body) throws IOException {
+        return parseBody(jsonCodec().mapper(), body);
+    }
+
+    private Map<String, Object> parseBody(ObjectMapper objectMapper, String body) throws IOException {
         if (body == null || body.isBlank()) {
             return Map.of();
         }
@@ -104,18 +111,18 @@ public class RemoteMcpToolCallProxyProcessor extends AbstractMcpResponseProcesso
         if (trimmed.startsWith("{")) {
             return objectMapper.readValue(trimmed, MAP_TYPE);
         }
-        Map<String, Object> ssePayload = parseSseBody(trimmed);
+        Map<String, Object> ssePayload = parseSseBody(objectMapper, trimmed);
         if (!ssePayload.isEmpty()) {
             return ssePayload;
         }
         throw new IOException("Remote MCP response is not JSON or SSE JSON-RPC");
     }
 
-    private Map<String, Object> parseSseBody(String body) throws IOException {
+    private Map<String, Object> parseSseBody(ObjectMapper objectMapper, String body) throws IOException {
         StringBuilder data = new StringBuilder();
         for (String line : body.split("\\R", -1)) {
             if (line.isBlank()) {
-                Map<String, Object> event = parseSseData(data);
+                Map<String, Object> event = parseSseData(objectMapper, data);
                 if (!event.isEmpty()) {
                     return event;
                 }
@@ -129,10 +136,10 @@ public class RemoteMcpToolCallProxyProcessor extends AbstractMcpResponseProcesso
                 data.append(line.substring("data:".length()).stripLeading());
             }
         }
-        return parseSseData(data);
+        return parseSseData(objectMapper, data);
     }
 
-    private Map<String, Object> parseSseData(StringBuilder data) throws IOException {
+    private Map<String, Object> parseSseData(ObjectMapper objectMapper, StringBuilder data) throws IOException {
         if (data.isEmpty()) {
             return Map.of();
         }
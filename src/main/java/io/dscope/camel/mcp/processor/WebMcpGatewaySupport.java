@@ -17,12 +17,13 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.dscope.camel.mcp.service.McpJsonCodec;
+
 public class WebMcpGatewaySupport {
 
     public static final String DEFAULT_PROTOCOL_VERSION = "2025-06-18";
     private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
     private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(15)).build();
 
     protected Map<String, Object> readRequest(Exchange exchange) throws IOException {
@@ -32,7 +33,7 @@ public class WebMcpGatewaySupport {
         }
         String text = exchange.getMessage().getBody(String.class);
         text = text == null ? "" : text.trim();
-        return text.isBlank() ? Map.of() : objectMapper.readValue(text, MAP_TYPE);
+        return text.isBlank() ? Map.of() : objectMapper(exchange).readValue(text, MAP_TYPE);
     }
 
     protected Map<String, Object> mapValue(Object value) {
@@ -49,6 +50,10 @@ public class WebMcpGatewaySupport {
     }
 
     protected Object normalizeResult(Object body) {
+        return normalizeResult(body, McpJsonCodec.getDefault().mapper());
+    }
+
+    protected Object normalizeResult(Object body, ObjectMapper objectMapper) {
         if (!(body instanceof String text)) {
             return body;
         }
@@ -70,7 +75,7 @@ public class WebMcpGatewaySupport {
             writeError(exchange, id, -32602, body == null ? "Tool invocation failed" : String.valueOf(body), httpCode == null ? 400 : httpCode);
             return;
         }
-        Object resultPayload = normalizeResult(body);
+        Object resultPayload = normalizeResult(body, objectMapper(exchange));
         Map<String, Object> structuredContent = new LinkedHashMap<>();
         structuredContent.put("status", "ok");
         structuredContent.put("method", toolName);
@@ -111,7 +116,7 @@ public class WebMcpGatewaySupport {
             .header("Content-Type", "application/json")
             .header("Accept", "application/json, text/event-stream")
             .header("MCP-Protocol-Version", resolvedProtocolVersion)
-            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(payload)))
+            .POST(HttpRequest.BodyPublishers.ofString(objectMapper(exchange).writeValueAsString(payload)))
             .build();
 
         HttpResponse<String> response;
@@ -125,7 +130,7 @@ public class WebMcpGatewaySupport {
             return;
         }
 
-        Map<String, Object> rpcPayload = parseMap(response.body());
+        Map<String, Object> rpcPayload = parseMap(objectMapper(exchange), response.body());
         Object rpcError = rpcPayload.get("error");
         if (response.statusCode() >= 400 || rpcError != null) {
             writeError(exchange, id, -32602, extractRemoteError(response.body(), rpcError), response.statusCode() >= 400 ? response.statusCode() : 400);
@@ -161,7 +166,7 @@ public class WebMcpGatewaySupport {
                 "message", message == null || message.isBlank() ? "WebMCP request failed" : message)));
     }
 
-    private Map<String, Object> parseMap(String body) throws IOException {
+    private Map<String, Object> parseMap(ObjectMapper objectMapper, String body) throws IOException {
         if (body == null || body.isBlank()) {
             return Map.of();
         }
@@ -196,11 +201,18 @@ public class WebMcpGatewaySupport {
         return body == null || body.isBlank() ? "Tool invocation failed" : body;
     }
 
+    /**
+     * The mapper of the codec bound in the exchange's Camel context.
+     */
+    private static ObjectMapper objectMapper(Exchange exchange) {
+        return McpJsonCodec.of(exchange).mapper();
+    }
+
     private void writeJson(Exchange exchange, int statusCode, Map<String, Object> body) {
         try {
             exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, statusCode);
             exchange.getMessage().setHeader(Exchange.CONTENT_TYPE, "application/json; charset=UTF-8");
-            exchange.getMessage().setBody(objectMapper.writeValueAsString(body));
+            exchange.getMessage().setBody(objectMapper(exchange).writeValueAsBytes(body));
         } catch (JsonProcessingException ex) {
             throw new IllegalStateException("Unable to write WebMCP response", ex);
         }
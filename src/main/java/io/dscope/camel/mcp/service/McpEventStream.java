@@ -0,0 +1,120 @@
+package io.dscope.camel.mcp.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resumable log of server-sent events for one MCP stream.
+ * <p>
+ * Events get monotonically increasing ids and are kept in a fixed-size ring buffer, so a client
+ * reconnecting with {@code Last-Event-ID} can be replayed whatever it missed as long as it is still
+ * buffered. Readers block in {@link #awaitEventsAfter(long, long)} until new events arrive.
+ */
+public final class McpEventStream {
+
+    /**
+     * A single buffered event; {@code data} is the serialized JSON-RPC message.
+     */
+    public record Event(long id, String data) {
+    }
+
+    private final String streamId;
+    private final Event[] ring;
+    private long lastEventId;
+    private boolean closed;
+    private volatile long lastActivityMillis;
+
+    public McpEventStream(String streamId, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Event stream capacity must be positive");
+        }
+        this.streamId = streamId;
+        this.ring = new Event[capacity];
+        this.lastActivityMillis = System.currentTimeMillis();
+    }
+
+    public String getStreamId() {
+        return streamId;
+    }
+
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * Appends an event and wakes up every waiting reader.
+     *
+     * @return the id assigned to the event
+     */
+    public synchronized long append(String data) {
+        if (closed) {
+            throw new IllegalStateException("Event stream " + streamId + " is closed");
+        }
+        long id = ++lastEventId;
+        ring[(int) (id % ring.length)] = new Event(id, data);
+        lastActivityMillis = System.currentTimeMillis();
+        notifyAll();
+        return id;
+    }
+
+    public synchronized long getLastEventId() {
+        return lastEventId;
+    }
+
+    /**
+     * Returns the id of the oldest event still buffered, or {@code 0} when nothing was published yet.
+     */
+    public synchronized long getOldestEventId() {
+        return lastEventId == 0 ? 0 : Math.max(1, lastEventId - ring.length + 1);
+    }
+
+    /**
+     * Returns the buffered events with an id greater than {@code afterId}, oldest first.
+     */
+    public synchronized List<Event> eventsAfter(long afterId) {
+        long from = Math.max(afterId + 1, getOldestEventId());
+        if (lastEventId == 0 || from > lastEventId) {
+            return Collections.emptyList();
+        }
+        List<Event> events = new ArrayList<>((int) (lastEventId - from + 1));
+        for (long id = from; id <= lastEventId; id++) {
+            events.add(ring[(int) (id % ring.length)]);
+        }
+        return events;
+    }
+
+    /**
+     * Waits up to {@code timeoutMillis} for events newer than {@code afterId}.
+     *
+     * @return the new events, or an empty list if the timeout elapsed or the stream was closed
+     */
+    public synchronized List<Event> awaitEventsAfter(long afterId, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (lastEventId <= afterId && !closed) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+            wait(remaining);
+        }
+        lastActivityMillis = System.currentTimeMillis();
+        return eventsAfter(afterId);
+    }
+
+    /**
+     * Closes the stream; readers drain what is buffered and then end their response.
+     */
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    long getLastActivityMillis() {
+        return lastActivityMillis;
+    }
+}
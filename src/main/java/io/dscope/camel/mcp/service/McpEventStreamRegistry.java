@@ -0,0 +1,232 @@
+package io.dscope.camel.mcp.service;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.BindToRegistry;
+import org.apache.camel.CamelContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+/**
+ * Registry of server-sent event streams used for MCP Streamable HTTP server push.
+ * <p>
+ * Streams are keyed by MCP session id ({@link #DEFAULT_STREAM_ID} when the publisher has none) and
+ * are created on first use. Notifications, progress updates and server-initiated requests published
+ * here are delivered to the connected SSE client by {@code McpStreamProcessor}, or replayed on
+ * reconnect from the stream's ring buffer. Clients can only read the streams of sessions issued by
+ * {@link #openSession()}, so one client cannot subscribe to another's events by guessing its id.
+ * Configurable via system properties {@code mcp.sse.bufferSize} (events kept per stream, default 256)
+ * and {@code mcp.sse.maxStreams} (default 1024; the least recently active stream is evicted beyond it).
+ */
+@BindToRegistry("mcpEventStreams")
+public class McpEventStreamRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(McpEventStreamRegistry.class);
+
+    public static final String REGISTRY_NAME = "mcpEventStreams";
+    public static final String DEFAULT_STREAM_ID = "default";
+
+    private final Map<String, McpEventStream> streams = new ConcurrentHashMap<>();
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+    private final int bufferSize;
+    private final int maxStreams;
+    private volatile McpJsonCodec jsonCodec = McpJsonCodec.getDefault();
+
+    public McpEventStreamRegistry() {
+        this(Integer.getInteger("mcp.sse.bufferSize", 256), Integer.getInteger("mcp.sse.maxStreams", 1024));
+    }
+
+    public McpEventStreamRegistry(int bufferSize, int maxStreams) {
+        this.bufferSize = Math.max(1, bufferSize);
+        this.maxStreams = Math.max(1, maxStreams);
+    }
+
+    /**
+     * Serializes events with {@code jsonCodec} instead of the default codec.
+     */
+    public void setJsonCodec(McpJsonCodec jsonCodec) {
+        this.jsonCodec = jsonCodec == null ? McpJsonCodec.getDefault() : jsonCodec;
+    }
+
+    /**
+     * Returns the registry bound in the Camel registry under {@link #REGISTRY_NAME}, binding a new
+     * one that serializes with the context's codec if none exists, so that publishers and stream
+     * processors of one context share streams.
+     */
+    public static McpEventStreamRegistry lookupOrCreate(CamelContext camelContext) {
+        McpEventStreamRegistry registry = camelContext.getRegistry()
+                .lookupByNameAndType(REGISTRY_NAME, McpEventStreamRegistry.class);
+        if (registry == null) {
+            synchronized (McpEventStreamRegistry.class) {
+                registry = camelContext.getRegistry().lookupByNameAndType(REGISTRY_NAME, McpEventStreamRegistry.class);
+                if (registry == null) {
+                    registry = new McpEventStreamRegistry();
+                    registry.setJsonCodec(McpJsonCodec.lookupOrDefault(camelContext));
+                    camelContext.getRegistry().bind(REGISTRY_NAME, registry);
+                }
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * Issues a new MCP session id (returned to the client in {@code Mcp-Session-Id} on
+     * {@code initialize}) and creates its stream.
+     */
+    public String openSession() {
+        String sessionId = UUID.randomUUID().toString();
+        stream(sessionId);
+        sessions.add(sessionId);
+        return sessionId;
+    }
+
+    /**
+     * Returns whether {@code sessionId} was issued by {@link #openSession()} and has not been removed
+     * or evicted since.
+     */
+    public boolean isSession(String sessionId) {
+        return sessionId != null && !sessionId.isBlank() && sessions.contains(sessionId.trim());
+    }
+
+    /**
+     * Returns the stream for {@code streamId}, creating it if needed.
+     */
+    public McpEventStream stream(String streamId) {
+        String key = normalize(streamId);
+        McpEventStream stream = streams.get(key);
+        if (stream != null && !stream.isClosed()) {
+            return stream;
+        }
+        if (stream == null && streams.size() >= maxStreams) {
+            evictLeastRecentlyActive();
+        }
+        return streams.compute(key, (id, existing) ->
+                existing == null || existing.isClosed() ? new McpEventStream(id, bufferSize) : existing);
+    }
+
+    public Optional<McpEventStream> find(String streamId) {
+        return Optional.ofNullable(streams.get(normalize(streamId)));
+    }
+
+    /**
+     * Publishes a JSON-RPC message (notification, progress or server-initiated request) to a stream.
+     *
+     * @return the event id assigned to the message
+     */
+    public long publish(String streamId, Map<String, Object> message) {
+        String data = serialize(message);
+        long id = stream(streamId).append(data);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Published MCP event stream={} eventId={} method={}", normalize(streamId), id, message.get("method"));
+        }
+        return id;
+    }
+
+    /**
+     * Publishes a JSON-RPC notification with the given method and params to a stream.
+     */
+    public long notify(String streamId, String method, Map<String, Object> params) {
+        Map<String, Object> notification = new LinkedHashMap<>();
+        notification.put("jsonrpc", "2.0");
+        notification.put("method", method);
+        if (params != null) {
+            notification.put("params", params);
+        }
+        return publish(streamId, notification);
+    }
+
+    /**
+     * Publishes a {@code notifications/progress} message to a stream.
+     */
+    public long progress(String streamId, Object progressToken, double progress, Double total) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("progressToken", progressToken);
+        params.put("progress", progress);
+        if (total != null) {
+            params.put("total", total);
+        }
+        return notify(streamId, "notifications/progress", params);
+    }
+
+    /**
+     * Publishes a message to every open stream.
+     *
+     * @return number of streams the message was appended to
+     */
+    public int broadcast(Map<String, Object> message) {
+        String data = serialize(message);
+        int delivered = 0;
+        for (McpEventStream stream : streams.values()) {
+            try {
+                stream.append(data);
+                delivered++;
+            } catch (IllegalStateException e) {
+                // closed concurrently; nothing to deliver to
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Closes and forgets a stream; a connected client sees its response end.
+     */
+    public void remove(String streamId) {
+        String key = normalize(streamId);
+        sessions.remove(key);
+        McpEventStream removed = streams.remove(key);
+        if (removed != null) {
+            removed.close();
+            LOG.debug("Removed MCP event stream {}", removed.getStreamId());
+        }
+    }
+
+    public int size() {
+        return streams.size();
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getMaxStreams() {
+        return maxStreams;
+    }
+
+    /**
+     * Closes every stream so that blocked SSE responses complete.
+     */
+    public void stop() {
+        streams.values().forEach(McpEventStream::close);
+        streams.clear();
+        sessions.clear();
+    }
+
+    private void evictLeastRecentlyActive() {
+        streams.values().stream()
+                .min(Comparator.comparingLong(McpEventStream::getLastActivityMillis))
+                .ifPresent(oldest -> {
+                    LOG.warn("MCP event stream limit {} reached, evicting stream {}", maxStreams, oldest.getStreamId());
+                    remove(oldest.getStreamId());
+                });
+    }
+
+    private static String normalize(String streamId) {
+        return streamId == null || streamId.isBlank() ? DEFAULT_STREAM_ID : streamId.trim();
+    }
+
+    private String serialize(Map<String, Object> message) {
+        try {
+            return jsonCodec.mapper().writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to serialize MCP event", e);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package io.dscope.camel.mcp.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link McpRateLimitStore} shared by every process that can lock files in one directory, such as
+ * replicas on a shared volume or several JVMs on one host; it also stands in for a networked store in
+ * tests.
+ * <p>
+ * Each bucket is one file holding its GCRA theoretical arrival time in epoch nanoseconds, read and
+ * advanced under an exclusive {@link FileLock}. Every call touches the file system, so wrap the store
+ * in a {@link McpLeasingRateLimitStore}. Replicas must have reasonably synchronized clocks.
+ * <p>
+ * Reading a bucket that has no file yet does not create one. A keyed bucket that has refilled
+ * completely is indistinguishable from a missing one, so at most every {@code sweepIntervalMillis}
+ * the next {@link #acquire} deletes the files of such buckets; see {@link #sweep()}.
+ */
+public class McpFileRateLimitStore implements McpRateLimitStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(McpFileRateLimitStore.class);
+
+    private static final int LOCK_STRIPES = 64;
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+    private static final String GLOBAL_FILE = "global";
+    private static final String BUCKET_SUFFIX = ".bucket";
+    private static final long DEFAULT_SWEEP_INTERVAL_MILLIS = 60_000L;
+
+    private final Path directory;
+    // FileLock is held per JVM, so threads of this JVM also need to take turns per file.
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final long sweepIntervalNanos;
+    private final AtomicLong nextSweep;
+
+    public McpFileRateLimitStore(Path directory) {
+        this(directory, DEFAULT_SWEEP_INTERVAL_MILLIS);
+    }
+
+    /**
+     * @param sweepIntervalMillis how often refilled bucket files are deleted; {@code 0} or less only
+     *                            sweeps when {@link #sweep()} is called
+     */
+    public McpFileRateLimitStore(Path directory, long sweepIntervalMillis) {
+        this.directory = directory;
+        this.sweepIntervalNanos = sweepIntervalMillis > 0L ? TimeUnit.MILLISECONDS.toNanos(sweepIntervalMillis) : 0L;
+        this.nextSweep = new AtomicLong(System.nanoTime() + sweepIntervalNanos);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create rate limit store directory " + directory, e);
+        }
+    }
+
+    @Override
+    public Lease acquire(String key, int capacity, double refillPerSecond, int permits) {
+        sweepIfDue();
+        boolean refilling = refillPerSecond > 0D;
+        long interval = interval(refillPerSecond);
+        long burst = capacity * interval;
+        return update(key, (arrival, channel) -> {
+            long now = refilling ? epochNanos() : 0L;
+            long base = Math.max(arrival, now);
+            int available = (int) ((burst - (base - now)) / interval);
+            if (available <= 0) {
+                return Lease.DENIED;
+            }
+            int granted = Math.min(permits, available);
+            write(channel, base + granted * interval);
+            return new Lease(granted, available - granted);
+        });
+    }
+
+    @Override
+    public int available(String key, int capacity, double refillPerSecond) {
+        long interval = interval(refillPerSecond);
+        String name = key == null ? GLOBAL_FILE : fileName(key);
+        Path file = directory.resolve(name);
+        synchronized (lock(name)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                 FileLock lock = channel.lock(0L, Long.MAX_VALUE, true)) {
+                long arrival = read(channel);
+                long now = refillPerSecond > 0D ? epochNanos() : 0L;
+                return (int) ((capacity * interval - Math.max(0L, arrival - now)) / interval);
+            } catch (NoSuchFileException e) {
+                return capacity;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read rate limit bucket " + file, e);
+            }
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Deletes the files of keyed buckets that have refilled completely, each under its lock. Buckets
+     * without refill never come back to full and are kept, as is the global bucket.
+     *
+     * @return the number of bucket files deleted
+     */
+    public int sweep() {
+        long now = epochNanos();
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + BUCKET_SUFFIX)) {
+            for (Path file : files) {
+                if (deleteIfRefilled(file, now)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to sweep rate limit store directory {}", directory, e);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Swept {} refilled rate limit buckets from {}", deleted, directory);
+        }
+        return deleted;
+    }
+
+    private void sweepIfDue() {
+        if (sweepIntervalNanos <= 0L) {
+            return;
+        }
+        long due = nextSweep.get();
+        long clock = System.nanoTime();
+        if (clock - due >= 0L && nextSweep.compareAndSet(due, clock + sweepIntervalNanos)) {
+            sweep();
+        }
+    }
+
+    private boolean deleteIfRefilled(Path file, long now) {
+        String name = file.getFileName().toString();
+        synchronized (lock(name)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                // Refilling buckets hold an epoch timestamp, written no earlier than the file was
+                // last modified; buckets without refill hold a small token count instead.
+                long arrival = read(channel);
+                long modified = Files.getLastModifiedTime(file).to(TimeUnit.NANOSECONDS);
+                if (arrival <= 0L || arrival > now || arrival < modified - TimeUnit.HOURS.toNanos(1)) {
+                    return false;
+                }
+                Files.delete(file);
+                return true;
+            } catch (NoSuchFileException e) {
+                return false;
+            } catch (IOException e) {
+                LOG.warn("Unable to sweep rate limit bucket {}", file, e);
+                return false;
+            }
+        }
+    }
+
+    private <T> T update(String key, BucketUpdate<T> update) {
+        String name = key == null ? GLOBAL_FILE : fileName(key);
+        Path file = directory.resolve(name);
+        synchronized (lock(name)) {
+            while (true) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+                     FileLock lock = channel.lock()) {
+                    if (!Files.exists(file)) {
+                        // swept by another replica while waiting for the lock; start from a new file
+                        continue;
+                    }
+                    return update.apply(read(channel), channel);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Unable to update rate limit bucket " + file, e);
+                }
+            }
+        }
+    }
+
+    private Object lock(String name) {
+        return locks[(name.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    private static long read(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        return channel.read(buffer, 0) == Long.BYTES ? buffer.flip().getLong() : 0L;
+    }
+
+    private static void write(FileChannel channel, long arrival) throws IOException {
+        channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, arrival), 0);
+    }
+
+    private static long interval(double refillPerSecond) {
+        return refillPerSecond > 0D ? Math.max(1L, Math.round(NANOS_PER_SECOND / refillPerSecond)) : 1L;
+    }
+
+    private static long epochNanos() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+
+    private static String fileName(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8))) + BUCKET_SUFFIX;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface BucketUpdate<T> {
+        T apply(long arrival, FileChannel channel) throws IOException;
+    }
+}
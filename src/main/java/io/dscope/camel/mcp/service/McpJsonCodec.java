@@ -0,0 +1,152 @@
+package io.dscope.camel.mcp.service;
+
+import java.util.Map;
+
+import org.apache.camel.BindToRegistry;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.dscope.camel.mcp.model.McpRequest;
+import io.dscope.camel.mcp.model.McpResponse;
+
+/**
+ * Component-wide JSON codec shared by the MCP consumer, producer, client and processors.
+ * <p>
+ * Holding a single {@link ObjectMapper} means serializer/deserializer caches are built once, and the
+ * {@link ObjectReader}/{@link ObjectWriter}s for the hot types (JSON-RPC envelope map, {@link McpRequest},
+ * {@link McpResponse}) are created once with it rather than per call. Readers and writers are immutable
+ * and thread-safe. Processors, the SSE and WebSocket notifiers and {@link io.dscope.camel.mcp.McpClient}
+ * resolve the codec bound in their Camel context (see {@link #of(Exchange)}), so binding a differently
+ * configured codec as {@value #REGISTRY_NAME} applies to what a route reads and writes. Catalog lists
+ * ({@code tools/list}, {@code resources/list}) are prepared once per process with the default codec,
+ * since catalogs are shared across contexts.
+ * The Jackson Blackbird module is registered when {@code mcp.json.blackbird=true} and it is on the classpath.
+ */
+@BindToRegistry("mcpJsonCodec")
+public class McpJsonCodec {
+
+    private static final Logger LOG = LoggerFactory.getLogger(McpJsonCodec.class);
+
+    public static final String REGISTRY_NAME = "mcpJsonCodec";
+
+    static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
+    public static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private static final McpJsonCodec DEFAULT = new McpJsonCodec();
+
+    private final ObjectMapper mapper;
+    private final boolean blackbirdEnabled;
+    private final ObjectReader mapReader;
+    private final ObjectReader requestReader;
+    private final ObjectReader responseReader;
+    private final ObjectWriter writer;
+    private final ObjectWriter requestWriter;
+    private final ObjectWriter responseWriter;
+
+    public McpJsonCodec() {
+        this(Boolean.getBoolean("mcp.json.blackbird"));
+    }
+
+    public McpJsonCodec(boolean blackbird) {
+        this.mapper = new ObjectMapper();
+        this.blackbirdEnabled = blackbird && registerBlackbird(mapper);
+        this.mapReader = mapper.readerFor(MAP_TYPE);
+        this.requestReader = mapper.readerFor(McpRequest.class);
+        this.responseReader = mapper.readerFor(McpResponse.class);
+        this.writer = mapper.writer();
+        this.requestWriter = mapper.writerFor(McpRequest.class);
+        this.responseWriter = mapper.writerFor(McpResponse.class);
+    }
+
+    /**
+     * Returns the process-wide codec used by processors that are created without a Camel context.
+     */
+    public static McpJsonCodec getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the codec bound in the Camel registry under {@link #REGISTRY_NAME}, binding the default
+     * codec if none is registered.
+     */
+    public static McpJsonCodec lookupOrDefault(CamelContext camelContext) {
+        McpJsonCodec codec = camelContext.getRegistry().lookupByNameAndType(REGISTRY_NAME, McpJsonCodec.class);
+        if (codec == null) {
+            codec = DEFAULT;
+            camelContext.getRegistry().bind(REGISTRY_NAME, codec);
+        }
+        return codec;
+    }
+
+    /**
+     * Returns the codec for an exchange: the one bound in its Camel context, or the default codec when
+     * the exchange has no context.
+     */
+    public static McpJsonCodec of(Exchange exchange) {
+        CamelContext camelContext = exchange == null ? null : exchange.getContext();
+        return camelContext == null ? DEFAULT : lookupOrDefault(camelContext);
+    }
+
+    public ObjectMapper mapper() {
+        return mapper;
+    }
+
+    /**
+     * Reader for JSON objects bound to {@code Map<String, Object>} (JSON-RPC envelopes, params, results).
+     */
+    public ObjectReader mapReader() {
+        return mapReader;
+    }
+
+    public ObjectReader requestReader() {
+        return requestReader;
+    }
+
+    public ObjectReader responseReader() {
+        return responseReader;
+    }
+
+    /**
+     * Writer for arbitrary payloads (maps, lists, model objects).
+     */
+    public ObjectWriter writer() {
+        return writer;
+    }
+
+    public ObjectWriter requestWriter() {
+        return requestWriter;
+    }
+
+    public ObjectWriter responseWriter() {
+        return responseWriter;
+    }
+
+    public boolean isBlackbirdEnabled() {
+        return blackbirdEnabled;
+    }
+
+    private static boolean registerBlackbird(ObjectMapper mapper) {
+        try {
+            Class<?> moduleType = Class.forName(BLACKBIRD_MODULE, true, McpJsonCodec.class.getClassLoader());
+            mapper.registerModule((Module) moduleType.getDeclaredConstructor().newInstance());
+            LOG.info("MCP JSON codec registered Jackson Blackbird module");
+            return true;
+        } catch (ClassNotFoundException e) {
+            LOG.warn("mcp.json.blackbird=true but {} is not on the classpath; using reflection-based access", BLACKBIRD_MODULE);
+            return false;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            LOG.warn("Unable to register Jackson Blackbird module; using reflection-based access", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.dscope.camel.mcp.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Takes tokens from a shared {@link McpRateLimitStore} in leases of {@code leaseSize} and hands them
+ * out locally, so the shared store is consulted about once per {@code leaseSize} requests per key.
+ * <p>
+ * A node can run ahead of the shared bucket by at most one lease per key; tokens still leased when
+ * the number of keys exceeds {@code maxKeys} are dropped, which only ever makes the limit stricter.
+ * After the shared bucket refuses a lease, the key is refused locally for one refill interval (at
+ * most a second), so rejected traffic does not reach the shared store either.
+ */
+public class McpLeasingRateLimitStore implements McpRateLimitStore {
+
+    private static final String GLOBAL_KEY = "\u0000global";
+    private static final long MAX_BACKOFF_NANOS = 1_000_000_000L;
+
+    private final McpRateLimitStore delegate;
+    private final int leaseSize;
+    private final int maxKeys;
+    private final Map<String, Leased> leases = new ConcurrentHashMap<>();
+
+    public McpLeasingRateLimitStore(McpRateLimitStore delegate, int leaseSize, int maxKeys) {
+        this.delegate = delegate;
+        this.leaseSize = Math.max(1, leaseSize);
+        this.maxKeys = Math.max(1, maxKeys);
+    }
+
+    @Override
+    public Lease acquire(String key, int capacity, double refillPerSecond, int permits) {
+        String leaseKey = key == null ? GLOBAL_KEY : key;
+        Leased leased = leases.get(leaseKey);
+        if (leased == null) {
+            if (leases.size() >= maxKeys) {
+                leases.clear();
+            }
+            leased = leases.computeIfAbsent(leaseKey, k -> new Leased());
+        }
+        for (int have = leased.tokens.get(); have >= permits; have = leased.tokens.get()) {
+            if (leased.tokens.compareAndSet(have, have - permits)) {
+                return new Lease(permits, have - permits);
+            }
+        }
+        long now = System.nanoTime();
+        if (now - leased.retryAtNanos < 0) {
+            return Lease.DENIED;
+        }
+
+        Lease lease = delegate.acquire(key, capacity, refillPerSecond, Math.max(permits, leaseSize));
+        if (!lease.isGranted()) {
+            leased.retryAtNanos = now + (refillPerSecond > 0D
+                    ? Math.min(MAX_BACKOFF_NANOS, (long) (1_000_000_000D / refillPerSecond))
+                    : MAX_BACKOFF_NANOS);
+            return lease;
+        }
+        if (lease.granted() <= permits) {
+            return lease;
+        }
+        int left = leased.tokens.addAndGet(lease.granted() - permits);
+        return new Lease(permits, left);
+    }
+
+    @Override
+    public int available(String key, int capacity, double refillPerSecond) {
+        Leased leased = leases.get(key == null ? GLOBAL_KEY : key);
+        return (leased == null ? 0 : leased.tokens.get()) + delegate.available(key, capacity, refillPerSecond);
+    }
+
+    @Override
+    public int size() {
+        return leases.size();
+    }
+
+    public McpRateLimitStore getDelegate() {
+        return delegate;
+    }
+
+    public int getLeaseSize() {
+        return leaseSize;
+    }
+
+    /**
+     * Tokens leased for one key and the time before which the shared store is not asked again.
+     */
+    private static final class Leased {
+
+        private final AtomicInteger tokens = new AtomicInteger();
+        private volatile long retryAtNanos = System.nanoTime();
+    }
+}
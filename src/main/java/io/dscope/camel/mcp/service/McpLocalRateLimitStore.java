@@ -0,0 +1,175 @@
+package io.dscope.camel.mcp.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory {@link McpRateLimitStore}, the default.
+ * <p>
+ * Each bucket is kept as a single {@code long}, its theoretical arrival time (GCRA): the
+ * {@link System#nanoTime()} offset at which the bucket would be full again. Taking tokens advances
+ * it by one refill interval per token with a compare-and-set, and is refused when that would put it
+ * more than {@code capacity} intervals ahead of now, so the global bucket takes no lock at all.
+ * <p>
+ * Keyed buckets live in {@value #STRIPES} independently locked, access-ordered maps bounded by
+ * {@code maxKeys}. A bucket that has refilled completely is indistinguishable from a new one, so
+ * such buckets are dropped from the least recently used end as new keys arrive. Buckets that still
+ * owe tokens are never dropped, since that would hand a throttled client a full bucket; while a
+ * stripe is full of them, new keys share that stripe's overflow bucket instead.
+ */
+public class McpLocalRateLimitStore implements McpRateLimitStore {
+
+    private static final int STRIPES = 64;
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+
+    private final long originNanos = System.nanoTime();
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private volatile Bucket global;
+
+    public McpLocalRateLimitStore(int maxKeys) {
+        int perStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    @Override
+    public Lease acquire(String key, int capacity, double refillPerSecond, int permits) {
+        long clock = System.nanoTime() - originNanos;
+        return bucket(key, capacity, refillPerSecond, clock).acquire(clock, permits);
+    }
+
+    @Override
+    public int available(String key, int capacity, double refillPerSecond) {
+        long clock = System.nanoTime() - originNanos;
+        return bucket(key, capacity, refillPerSecond, clock).available(clock);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private Bucket bucket(String key, int capacity, double refillPerSecond, long clock) {
+        if (key == null) {
+            Bucket bucket = global;
+            if (bucket == null) {
+                synchronized (this) {
+                    if (global == null) {
+                        global = new Bucket(capacity, refillPerSecond);
+                    }
+                    bucket = global;
+                }
+            }
+            return bucket;
+        }
+        int hash = key.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                stripe.evictFull(clock);
+                if (stripe.isAtCapacity()) {
+                    return stripe.overflow(capacity, refillPerSecond);
+                }
+                bucket = new Bucket(capacity, refillPerSecond);
+                stripe.put(key, bucket);
+            }
+            return bucket;
+        }
+    }
+
+    /**
+     * One GCRA bucket. Without refill the clock stands still and every token uses up one of
+     * {@code capacity} unit intervals.
+     */
+    private static final class Bucket {
+
+        private final boolean refilling;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final AtomicLong theoreticalArrival = new AtomicLong();
+
+        private Bucket(int capacity, double refillPerSecond) {
+            this.refilling = refillPerSecond > 0D;
+            this.intervalNanos = refilling ? Math.max(1L, Math.round(NANOS_PER_SECOND / refillPerSecond)) : 1L;
+            this.burstNanos = capacity * intervalNanos;
+        }
+
+        private Lease acquire(long clock, int permits) {
+            long now = refilling ? clock : 0L;
+            long arrival;
+            long next;
+            int available;
+            int granted;
+            do {
+                arrival = theoreticalArrival.get();
+                long base = Math.max(arrival, now);
+                available = tokens(base, now);
+                if (available <= 0) {
+                    return Lease.DENIED;
+                }
+                granted = Math.min(permits, available);
+                next = base + granted * intervalNanos;
+            } while (!theoreticalArrival.compareAndSet(arrival, next));
+            return new Lease(granted, available - granted);
+        }
+
+        private int available(long clock) {
+            long now = refilling ? clock : 0L;
+            return tokens(theoreticalArrival.get(), now);
+        }
+
+        private boolean isFull(long clock) {
+            return refilling && theoreticalArrival.get() <= clock;
+        }
+
+        private int tokens(long arrival, long now) {
+            return (int) ((burstNanos - Math.max(0L, arrival - now)) / intervalNanos);
+        }
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+
+        private static final long serialVersionUID = 1L;
+        private static final int EVICTION_SCAN = 4;
+
+        private final int maxEntries;
+        private Bucket overflow;
+
+        private Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        /**
+         * Drops the completely refilled buckets among the {@value #EVICTION_SCAN} least recently used.
+         */
+        private void evictFull(long clock) {
+            Iterator<Bucket> eldest = values().iterator();
+            for (int i = 0; i < EVICTION_SCAN && eldest.hasNext(); i++) {
+                if (eldest.next().isFull(clock)) {
+                    eldest.remove();
+                }
+            }
+        }
+
+        private boolean isAtCapacity() {
+            return size() >= maxEntries;
+        }
+
+        private Bucket overflow(int capacity, double refillPerSecond) {
+            if (overflow == null) {
+                overflow = new Bucket(capacity, refillPerSecond);
+            }
+            return overflow;
+        }
+    }
+}
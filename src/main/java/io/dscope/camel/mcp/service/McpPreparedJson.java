@@ -0,0 +1,161 @@
+package io.dscope.camel.mcp.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+/**
+ * A JSON-RPC result computed once: a frozen copy of the value, its UTF-8 JSON bytes and an entity tag
+ * derived from their content.
+ * <p>
+ * Catalog-backed responses such as {@code tools/list} are identical for every caller except for the
+ * request id, so {@link #resultEnvelope(Object)} only splices the serialized id between pre-encoded
+ * fragments. Catalogs prepare their lists once per process, shared by every Camel context, so they use
+ * the default {@link McpJsonCodec}. Instances are immutable and safe to share between threads.
+ */
+public final class McpPreparedJson {
+
+    private static final byte[] ENVELOPE_PREFIX = "{\"jsonrpc\":\"2.0\",\"id\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RESULT_FIELD = ",\"result\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NULL_ID = "null".getBytes(StandardCharsets.UTF_8);
+
+    private final Object value;
+    private final byte[] json;
+    private final String etag;
+
+    private McpPreparedJson(Object value, byte[] json, String etag) {
+        this.value = value;
+        this.json = json;
+        this.etag = etag;
+    }
+
+    /**
+     * Serializes {@code value} with the default {@link McpJsonCodec} and freezes a copy of it.
+     */
+    public static McpPreparedJson of(Object value) {
+        return of(value, McpJsonCodec.getDefault());
+    }
+
+    /**
+     * Serializes {@code value} with {@code codec} and freezes a copy of it.
+     */
+    public static McpPreparedJson of(Object value, McpJsonCodec codec) {
+        try {
+            byte[] json = codec.writer().writeValueAsBytes(value);
+            Object tree = codec.mapper().readValue(json, Object.class);
+            return new McpPreparedJson(freeze(tree), json, etag(json));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to prepare MCP JSON payload", e);
+        }
+    }
+
+    /**
+     * The value as an unmodifiable tree of maps, lists and scalars.
+     */
+    public Object value() {
+        return value;
+    }
+
+    /**
+     * Strong entity tag of the serialized value, quoted as sent in {@code ETag}.
+     */
+    public String etag() {
+        return etag;
+    }
+
+    public int size() {
+        return json.length;
+    }
+
+    /**
+     * Returns a complete JSON-RPC response {@code {"jsonrpc":"2.0","id":<id>,"result":<value>}}.
+     */
+    public byte[] resultEnvelope(Object id) {
+        return resultEnvelope(id, McpJsonCodec.getDefault());
+    }
+
+    /**
+     * Like {@link #resultEnvelope(Object)}, serializing a non-numeric id with {@code codec}.
+     */
+    public byte[] resultEnvelope(Object id, McpJsonCodec codec) {
+        byte[] idJson = serializeId(id, codec);
+        byte[] envelope = new byte[ENVELOPE_PREFIX.length + idJson.length + RESULT_FIELD.length + json.length + 1];
+        int offset = 0;
+        System.arraycopy(ENVELOPE_PREFIX, 0, envelope, offset, ENVELOPE_PREFIX.length);
+        offset += ENVELOPE_PREFIX.length;
+        System.arraycopy(idJson, 0, envelope, offset, idJson.length);
+        offset += idJson.length;
+        System.arraycopy(RESULT_FIELD, 0, envelope, offset, RESULT_FIELD.length);
+        offset += RESULT_FIELD.length;
+        System.arraycopy(json, 0, envelope, offset, json.length);
+        envelope[envelope.length - 1] = '}';
+        return envelope;
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header value names this payload's entity tag. A wildcard
+     * {@code *} is not a revalidation and never matches.
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (etag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] serializeId(Object id, McpJsonCodec codec) {
+        if (id == null) {
+            return NULL_ID;
+        }
+        if (id instanceof Number || id instanceof Boolean) {
+            return id.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            return codec.writer().writeValueAsBytes(id);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize JSON-RPC id", e);
+        }
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Object freeze(Object node) {
+        if (node instanceof Map<?, ?> map) {
+            Map<Object, Object> frozen = new LinkedHashMap<>();
+            map.forEach((key, child) -> frozen.put(key, freeze(child)));
+            return Collections.unmodifiableMap(frozen);
+        }
+        if (node instanceof Collection<?> collection) {
+            List<Object> frozen = new ArrayList<>(collection.size());
+            collection.forEach(child -> frozen.add(freeze(child)));
+            return Collections.unmodifiableList(frozen);
+        }
+        return node;
+    }
+}
@@ -0,0 +1,42 @@
+package io.dscope.camel.mcp.service;
+
+/**
+ * Storage for the token buckets of {@code McpRateLimitProcessor}.
+ * <p>
+ * {@link McpLocalRateLimitStore} keeps buckets in memory, per JVM. A store shared by several replicas
+ * (for example {@link McpFileRateLimitStore}) makes the configured limit cluster-wide; wrap it in a
+ * {@link McpLeasingRateLimitStore} so each node takes tokens in batches instead of on every request.
+ * Implementations must be thread-safe. A {@code null} key denotes the limiter's global bucket.
+ */
+public interface McpRateLimitStore {
+
+    /**
+     * Outcome of {@link #acquire}: the tokens granted and the tokens left afterwards.
+     */
+    record Lease(int granted, int remaining) {
+
+        public static final Lease DENIED = new Lease(0, 0);
+
+        public boolean isGranted() {
+            return granted > 0;
+        }
+    }
+
+    /**
+     * Takes up to {@code permits} tokens from the bucket for {@code key}, creating a full bucket with
+     * the given capacity and refill rate ({@code 0} means no refill) if it does not exist yet.
+     */
+    Lease acquire(String key, int capacity, double refillPerSecond, int permits);
+
+    /**
+     * Tokens currently available in the bucket for {@code key}, without taking any.
+     */
+    int available(String key, int capacity, double refillPerSecond);
+
+    /**
+     * Number of keyed buckets held by this store, or {@code -1} when not known.
+     */
+    default int size() {
+        return -1;
+    }
+}
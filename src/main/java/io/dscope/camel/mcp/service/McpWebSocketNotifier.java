@@ -22,7 +22,6 @@ import io.dscope.camel.mcp.model.McpUiNotification;
 public class McpWebSocketNotifier {
 
     private static final Logger LOG = LoggerFactory.getLogger(McpWebSocketNotifier.class);
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     private final McpUiSessionRegistry sessionRegistry;
     private final CamelContext camelContext;
@@ -30,6 +29,7 @@ public class McpWebSocketNotifier {
     private final Map<String, String> sessionToConnectionId = new ConcurrentHashMap<>();
 
     private ProducerTemplate producerTemplate;
+    private volatile ObjectMapper objectMapper = McpJsonCodec.getDefault().mapper();
 
     public McpWebSocketNotifier(McpUiSessionRegistry sessionRegistry, CamelContext camelContext) {
         this(sessionRegistry, camelContext, "undertow:ws://0.0.0.0:8090/mcp");
@@ -42,10 +42,11 @@ public class McpWebSocketNotifier {
     }
 
     /**
-     * Starts the notifier and creates the producer template.
+     * Starts the notifier, creates the producer template and picks up the context's JSON codec.
      */
     public void start() {
         if (camelContext != null) {
+            objectMapper = McpJsonCodec.lookupOrDefault(camelContext).mapper();
             producerTemplate = camelContext.createProducerTemplate();
             LOG.info("WebSocket notifier started with endpoint: {}", webSocketEndpoint);
         }
@@ -115,7 +116,7 @@ public class McpWebSocketNotifier {
         }
 
         try {
-            String json = OBJECT_MAPPER.writeValueAsString(notification.toMap());
+            String json = objectMapper.writeValueAsString(notification.toMap());
             sendToConnection(connectionId, json);
             LOG.debug("Sent notification to session {}: {}", sessionId, notification.getMethod());
             return true;
@@ -174,7 +175,7 @@ public class McpWebSocketNotifier {
         }
 
         try {
-            String json = OBJECT_MAPPER.writeValueAsString(notification.toMap());
+            String json = objectMapper.writeValueAsString(notification.toMap());
             // Use sendToAll header for broadcast
             producerTemplate.sendBodyAndHeader(webSocketEndpoint, json, "CamelWebSocketSendToAll", "true");
             LOG.debug("Broadcast notification: {}", notification.getMethod());
@@ -1,5 +1,7 @@
 package io.dscope.camel.mcp;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -106,6 +108,24 @@ public class McpClientTest {
         }
     }
 
+    @Test
+    public void shouldIterateToolsAcrossPagesLazily() throws Exception {
+        AtomicReference<Map<String, Object>> seenHeaders = new AtomicReference<>();
+
+        try (CamelContext context = createContext(seenHeaders)) {
+            context.start();
+            ProducerTemplate template = context.createProducerTemplate();
+
+            Iterator<Map<String, Object>> tools = McpClient.listTools(template, MCP_ENDPOINT);
+            assertNull(seenHeaders.get());
+
+            List<Object> names = new ArrayList<>();
+            tools.forEachRemaining(tool -> names.add(tool.get("name")));
+            assertEquals(List.of("echo", "summarize"), names);
+            assertFalse(tools.hasNext());
+        }
+    }
+
     @Test
     public void shouldSendExplicitRemoteMcpHeaders() throws Exception {
         AtomicReference<Map<String, Object>> seenHeaders = new AtomicReference<>();
@@ -181,7 +201,13 @@ public class McpClientTest {
                                 result.put("pong", true);
                             }
                             if ("tools/list".equals(method)) {
-                                result.put("tools", List.of(Map.of("name", "echo")));
+                                Object params = request.get("params");
+                                if (params instanceof Map<?, ?> map && "page-2".equals(map.get("cursor"))) {
+                                    result.put("tools", List.of(Map.of("name", "summarize")));
+                                } else {
+                                    result.put("tools", List.of(Map.of("name", "echo")));
+                                    result.put("nextCursor", "page-2");
+                                }
                             }
 
                             Map<String, Object> response = Map.of(
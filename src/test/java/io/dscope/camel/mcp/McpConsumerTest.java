@@ -5,12 +5,41 @@ import org.apache.camel.Exchange;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.dscope.camel.mcp.model.McpResponse;
+import io.dscope.camel.mcp.processor.McpConcurrencyLimitProcessor;
+import io.dscope.camel.mcp.processor.McpPingProcessor;
+import io.dscope.camel.mcp.service.McpEventStreamRegistry;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -194,6 +223,558 @@ class McpConsumerTest {
         assertTrue(response.contains("Accept header must include application/json and text/event-stream"), response);
     }
 
+    @Test
+    void testOversizedRequestIsRejectedByStreamingSizeGuard() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("mcp:http://localhost:9881/mcp")
+                    .process(exchange -> exchange.getMessage().setBody(Map.of("ok", Boolean.TRUE)));
+            }
+        });
+
+        context.start();
+        TimeUnit.MILLISECONDS.sleep(500);
+
+        String request = "{\"jsonrpc\":\"2.0\",\"id\":\"big\",\"method\":\"tools/call\",\"params\":{\"name\":\"echo\","
+            + "\"arguments\":{\"text\":\"" + "x".repeat(40 * 1024) + "\"}}}";
+
+        Exchange exchange = template.request("http://localhost:9881/mcp?throwExceptionOnFailure=false", incoming -> {
+            incoming.getMessage().setBody(request);
+            incoming.getMessage().setHeader("Content-Type", "application/json");
+            incoming.getMessage().setHeader("Accept", "application/json, text/event-stream");
+        });
+
+        String response = exchange.getMessage().getBody(String.class);
+        assertEquals(400, exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class));
+        assertTrue(response.contains("Request body too large"), response);
+    }
+
+    @Test
+    void testBatchRequestReturnsOrderedResponses() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("mcp:http://localhost:9882/mcp?batchParallelism=3")
+                    .process(exchange -> {
+                        String method = exchange.getProperty("mcp.jsonrpc.method", String.class);
+                        if ("tools/call".equals(method)) {
+                            // Finish out of order to prove responses keep request order.
+                            TimeUnit.MILLISECONDS.sleep(200);
+                        }
+                        if (!"REQUEST".equals(exchange.getProperty("mcp.jsonrpc.type"))) {
+                            exchange.getMessage().setBody(null);
+                            return;
+                        }
+                        exchange.getMessage().setBody(Map.of(
+                            "jsonrpc", "2.0",
+                            "id", exchange.getProperty("mcp.jsonrpc.id"),
+                            "result", Map.of("method", method)));
+                    });
+            }
+        });
+
+        context.start();
+        TimeUnit.MILLISECONDS.sleep(500);
+
+        String request = """
+            [
+              {"jsonrpc": "2.0", "id": 1, "method": "tools/call", "params": {"name": "slow"}},
+              {"jsonrpc": "2.0", "method": "notifications/initialized"},
+              {"jsonrpc": "2.0", "id": 2, "method": "ping"},
+              {"jsonrpc": "1.0", "id": 3, "method": "ping"},
+              42
+            ]
+            """;
+
+        Exchange exchange = template.request("http://localhost:9882/mcp?throwExceptionOnFailure=false", incoming -> {
+            incoming.getMessage().setBody(request);
+            incoming.getMessage().setHeader("Content-Type", "application/json");
+            incoming.getMessage().setHeader("Accept", "application/json, text/event-stream");
+        });
+
+        assertEquals(200, exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class));
+        List<?> responses = new ObjectMapper().readValue(exchange.getMessage().getBody(String.class), List.class);
+        assertEquals(4, responses.size(), responses.toString());
+        assertEquals(Map.of("method", "tools/call"), ((Map<?, ?>) responses.get(0)).get("result"));
+        assertEquals(Map.of("method", "ping"), ((Map<?, ?>) responses.get(1)).get("result"));
+        assertEquals(3, ((Map<?, ?>) responses.get(2)).get("id"));
+        assertEquals(-32600, ((Map<?, ?>) ((Map<?, ?>) responses.get(2)).get("error")).get("code"));
+        assertNull(((Map<?, ?>) responses.get(3)).get("id"));
+        assertEquals(-32600, ((Map<?, ?>) ((Map<?, ?>) responses.get(3)).get("error")).get("code"));
+    }
+
+    @Test
+    void testRejectedBatchEntriesAreAnsweredWithErrors() throws Exception {
+        context.getExecutorServiceManager().getDefaultThreadPoolProfile().setMaxQueueSize(1);
+        context.getExecutorServiceManager().getDefaultThreadPoolProfile().setRejectedPolicy(ThreadPoolRejectedPolicy.Abort);
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("mcp:http://localhost:9891/mcp?batchParallelism=1")
+                    .process(exchange -> {
+                        TimeUnit.MILLISECONDS.sleep(200);
+                        exchange.getMessage().setBody(Map.of(
+                            "jsonrpc", "2.0",
+                            "id", exchange.getProperty("mcp.jsonrpc.id"),
+                            "result", Map.of()));
+                    });
+            }
+        });
+
+        context.start();
+        TimeUnit.MILLISECONDS.sleep(500);
+
+        String request = """
+            [
+              {"jsonrpc": "2.0", "id": 1, "method": "tools/call", "params": {"name": "slow"}},
+              {"jsonrpc": "2.0", "id": 2, "method": "tools/call", "params": {"name": "slow"}},
+              {"jsonrpc": "2.0", "id": 3, "method": "tools/call", "params": {"name": "slow"}},
+              {"jsonrpc": "2.0", "method": "notifications/initialized"}
+            ]
+            """;
+
+        Exchange exchange = template.request("http://localhost:9891/mcp?throwExceptionOnFailure=false", incoming -> {
+            incoming.getMessage().setBody(request);
+            incoming.getMessage().setHeader("Content-Type", "application/json");
+            incoming.getMessage().setHeader("Accept", "application/json, text/event-stream");
+        });
+
+        assertEquals(200, exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class));
+        List<?> responses = new ObjectMapper().readValue(exchange.getMessage().getBody(String.class), List.class);
+        assertEquals(3, responses.size(), responses.toString());
+        assertEquals(Map.of(), ((Map<?, ?>) responses.get(0)).get("result"));
+        assertEquals(Map.of(), ((Map<?, ?>) responses.get(1)).get("result"));
+        assertEquals(3, ((Map<?, ?>) responses.get(2)).get("id"));
+        assertEquals(-32603, ((Map<?, ?>) ((Map<?, ?>) responses.get(2)).get("error")).get("code"));
+    }
+
+    @Test
+    void testWebSocketRepliesAreTextFrames() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("mcp:http://localhost:9890/ws?websocket=true")
+                    .process(new McpPingProcessor())
+                    .setHeader("CamelWebSocketSendToAll", constant("false"))
+                    .to("undertow:ws://localhost:9890/ws");
+            }
+        });
+
+        context.start();
+        TimeUnit.MILLISECONDS.sleep(500);
+
+        CompletableFuture<String> text = new CompletableFuture<>();
+        WebSocket socket = HttpClient.newHttpClient().newWebSocketBuilder()
+                .buildAsync(URI.create("ws://localhost:9890/ws"), new WebSocket.Listener() {
+                    private final StringBuilder frame = new StringBuilder();
+
+                    @Override
+                    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+                        frame.append(data);
+                        if (last) {
+                            text.complete(frame.toString());
+                        }
+                        return WebSocket.Listener.super.onText(webSocket, data, last);
+                    }
+
+                    @Override
+                    public CompletionStage<?> onBinary(WebSocket webSocket, ByteBuffer data, boolean last) {
+                        text.completeExceptionally(new AssertionError("reply was sent as a binary frame"));
+                        return WebSocket.Listener.super.onBinary(webSocket, data, last);
+                    }
+                })
+                .get(5, TimeUnit.SECONDS);
+        try {
+            socket.sendText("{\"jsonrpc\":\"2.0\",\"id\":7,\"method\":\"ping\"}", true);
+            String reply = text.get(5, TimeUnit.SECONDS);
+            assertTrue(reply.contains("\"id\":7"), reply);
+        } finally {
+            socket.abort();
+        }
+    }
+
+    @Test
+    void testGetStreamsPublishedEventsOverSse() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("mcp:http://localhost:9883/mcp?httpMethodRestrict=GET,POST")
+                    .process(exchange -> exchange.getMessage().setBody(Map.of("jsonrpc", "2.0", "result", Map.of())));
+            }
+        });
+
+        context.start();
+        TimeUnit.MILLISECONDS.sleep(500);
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest initialize = HttpRequest.newBuilder(URI.create("http://localhost:9883/mcp"))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json, text/event-stream")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"initialize\"}"))
+                .build();
+        String sessionId = client.send(initialize, HttpResponse.BodyHandlers.ofString()).headers()
+                .firstValue("Mcp-Session-Id").orElseThrow();
+
+        McpEventStreamRegistry eventStreams = McpEventStreamRegistry.lookupOrCreate(context);
+        eventStreams.notify(sessionId, "notifications/message", Map.of("text", "missed"));
+
+        // A session the server did not issue cannot subscribe.
+        HttpRequest forged = HttpRequest.newBuilder(URI.create("http://localhost:9883/mcp"))
+                .header("Accept", "text/event-stream")
+                .header("Mcp-Session-Id", "sse-1")
+                .GET()
+                .build();
+        assertEquals(404, client.send(forged, HttpResponse.BodyHandlers.ofString()).statusCode());
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:9883/mcp"))
+                .header("Accept", "text/event-stream")
+                .header("Mcp-Session-Id", sessionId)
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/event-stream"));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            assertEquals("id: 1", readUntilPrefix(reader, "id: "));
+            assertTrue(reader.readLine().contains("\"missed\""));
+
+            // Published after the client connected: delivered on the open response.
+            eventStreams.progress(sessionId, "tok-1", 1, 2.0);
+            assertEquals("id: 2", readUntilPrefix(reader, "id: "));
+            assertTrue(reader.readLine().contains("notifications/progress"));
+
+            eventStreams.remove(sessionId);
+            assertNull(readUntilPrefix(reader, "id: "));
+        }
+    }
+
+    private static String readUntilPrefix(BufferedReader reader, String prefix) throws Exception {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.startsWith(prefix)) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void testVirtualExecutionModeCapsConcurrentRequests() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Set<Boolean> virtualThreads = ConcurrentHashMap.newKeySet();
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("mcp:http://localhost:9884/mcp?executionMode=virtual&maxConcurrentRequests=2").routeId("virtual")
+                    .process(exchange -> {
+                        virtualThreads.add(Thread.currentThread().isVirtual());
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        try {
+                            TimeUnit.MILLISECONDS.sleep(200);
+                        } finally {
+                            inFlight.decrementAndGet();
+                        }
+                        exchange.getMessage().setBody(Map.of("jsonrpc", "2.0",
+                            "id", exchange.getProperty("mcp.jsonrpc.id"), "result", Map.of()));
+                    });
+            }
+        });
+
+        context.start();
+        TimeUnit.MILLISECONDS.sleep(500);
+
+        List<CompletableFuture<Exchange>> calls = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            String body = "{\"jsonrpc\":\"2.0\",\"id\":" + i + ",\"method\":\"ping\"}";
+            calls.add(template.asyncSend("http://localhost:9884/mcp", incoming -> {
+                incoming.getMessage().setBody(body);
+                incoming.getMessage().setHeader("Content-Type", "application/json");
+                incoming.getMessage().setHeader("Accept", "application/json, text/event-stream");
+            }));
+        }
+        for (CompletableFuture<Exchange> call : calls) {
+            assertEquals(200, call.get(10, TimeUnit.SECONDS).getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class));
+        }
+
+        assertEquals(Set.of(true), virtualThreads);
+        assertTrue(maxInFlight.get() <= 2, "in flight: " + maxInFlight.get());
+        McpVirtualThreadDispatcher dispatcher = ((McpConsumer) context.getRoute("virtual").getConsumer())
+                .getVirtualThreadDispatcher();
+        // counters are updated once the response has been handed back to Undertow
+        long deadline = System.currentTimeMillis() + 2000;
+        while (dispatcher.getActive() > 0 && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        Map<String, Object> metrics = dispatcher.snapshot();
+        assertEquals(5L, metrics.get("completed"));
+        assertEquals(2, metrics.get("maxConcurrent"));
+        assertEquals(0, metrics.get("active"));
+    }
+
+    @Test
+    void testLargeResponsesAreCompressedWhenAccepted() throws Exception {
+        String description = "x".repeat(4096);
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("mcp:http://localhost:9885/mcp")
+                    .process(exchange -> {
+                        // envelope members in JSON-RPC order, as the MCP processors write them
+                        Map<String, Object> body = new LinkedHashMap<>();
+                        body.put("jsonrpc", "2.0");
+                        body.put("id", exchange.getProperty("mcp.jsonrpc.id"));
+                        body.put("result", Map.of("tools", List.of(Map.of("name", "echo", "description", description))));
+                        exchange.getMessage().setBody(body);
+                    });
+            }
+        });
+
+        context.start();
+        TimeUnit.MILLISECONDS.sleep(500);
+
+        HttpClient client = HttpClient.newHttpClient();
+        for (int id = 1; id <= 2; id++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:9885/mcp"))
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json, text/event-stream")
+                    .header("Accept-Encoding", "br;q=1.0, gzip;q=0.8")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"method\":\"tools/list\"}"))
+                    .build();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            assertEquals(200, response.statusCode());
+            assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+            assertTrue(response.body().length < description.length());
+
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+                Map<?, ?> body = new ObjectMapper().readValue(in, Map.class);
+                assertEquals(id, body.get("id"));
+                assertTrue(body.get("result").toString().contains(description));
+            }
+        }
+
+        McpConsumer consumer = (McpConsumer) context.getRoutes().get(0).getConsumer();
+        assertEquals(1L, consumer.getResponseCompressor().getCacheHits());
+
+        // Without Accept-Encoding the response is left as is.
+        HttpRequest plain = HttpRequest.newBuilder(URI.create("http://localhost:9885/mcp"))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json, text/event-stream")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"jsonrpc\":\"2.0\",\"id\":3,\"method\":\"tools/list\"}"))
+                .build();
+        HttpResponse<String> response = client.send(plain, HttpResponse.BodyHandlers.ofString());
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+        assertTrue(response.body().contains(description));
+    }
+
+    @Test
+    void testRetriedToolCallsAreReplayedPerSession() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("mcp:http://localhost:9887/mcp?replayCache=true")
+                    .process(exchange -> {
+                        if ("initialize".equals(exchange.getProperty("mcp.jsonrpc.method"))) {
+                            exchange.getMessage().setBody(Map.of("jsonrpc", "2.0", "id", 1, "result", Map.of()));
+                            return;
+                        }
+                        int execution = executions.incrementAndGet();
+                        TimeUnit.MILLISECONDS.sleep(300);
+                        exchange.getMessage().setBody(Map.of(
+                            "jsonrpc", "2.0",
+                            "id", exchange.getProperty("mcp.jsonrpc.id"),
+                            "result", Map.of("execution", execution)));
+                    });
+            }
+        });
+
+        context.start();
+        TimeUnit.MILLISECONDS.sleep(500);
+
+        HttpClient client = HttpClient.newHttpClient();
+        String sessionA = initialize(client);
+        String sessionB = initialize(client);
+        String call = "{\"jsonrpc\":\"2.0\",\"id\":\"call-1\",\"method\":\"tools/call\",\"params\":{\"name\":\"slow\"}}";
+        // The retry arrives while the first call is still running and attaches to it.
+        CompletableFuture<HttpResponse<String>> first = client.sendAsync(toolCall(call, sessionA), HttpResponse.BodyHandlers.ofString());
+        TimeUnit.MILLISECONDS.sleep(100);
+        CompletableFuture<HttpResponse<String>> retry = client.sendAsync(toolCall(call, sessionA), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, first.get(5, TimeUnit.SECONDS).statusCode());
+        assertEquals(first.get().body(), retry.get(5, TimeUnit.SECONDS).body());
+        assertTrue(first.get().body().contains("\"execution\":1"));
+
+        // A late retry gets the stored response; another session executes on its own.
+        HttpResponse<String> late = client.send(toolCall(call, sessionA), HttpResponse.BodyHandlers.ofString());
+        assertEquals(first.get().body(), late.body());
+        assertEquals("application/json", late.headers().firstValue("Content-Type").orElse(null));
+        HttpResponse<String> other = client.send(toolCall(call, sessionB), HttpResponse.BodyHandlers.ofString());
+        assertTrue(other.body().contains("\"execution\":2"));
+        assertEquals(2, executions.get());
+
+        // The same id with other params, or under a session this server did not issue, executes again.
+        String changed = call.replace("slow", "other");
+        assertTrue(client.send(toolCall(changed, sessionA), HttpResponse.BodyHandlers.ofString()).body().contains("\"execution\":3"));
+        assertTrue(client.send(toolCall(call, "forged"), HttpResponse.BodyHandlers.ofString()).body().contains("\"execution\":4"));
+        assertTrue(client.send(toolCall(call, "forged"), HttpResponse.BodyHandlers.ofString()).body().contains("\"execution\":5"));
+
+        McpReplayCache cache = ((McpConsumer) context.getRoutes().get(0).getConsumer()).getReplayCache();
+        assertEquals(3L, cache.getExecuted());
+        assertEquals(1L, cache.getAttached());
+        assertEquals(1L, cache.getReplayed());
+    }
+
+    @Test
+    void testRemoteAddressRateLimitKeyUsesPeerAddress() throws Exception {
+        System.setProperty("mcp.rate.key", "remoteAddress");
+        try {
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() {
+                    from("mcp:http://localhost:9888/mcp")
+                        .process(exchange -> exchange.getMessage().setBody(Map.of(
+                            "jsonrpc", "2.0",
+                            "id", exchange.getProperty("mcp.jsonrpc.id"),
+                            "result", Map.of("client", exchange.getIn().getHeader("Mcp-Remote-Address", String.class)))));
+                }
+            });
+            context.start();
+        } finally {
+            System.clearProperty("mcp.rate.key");
+        }
+        TimeUnit.MILLISECONDS.sleep(500);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:9888/mcp"))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json, text/event-stream")
+                .header("Mcp-Remote-Address", "10.0.0.1")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"ping\"}"))
+                .build();
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("127.0.0.1"), response.body());
+    }
+
+    @Test
+    void testToolCallsBeyondConcurrencyLimitAreShedWhileControlPlaneIsAdmitted() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        System.setProperty("mcp.concurrency.enabled", "true");
+        System.setProperty("mcp.concurrency.initialLimit", "1");
+        System.setProperty("mcp.concurrency.maxLimit", "1");
+        try {
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() {
+                    from("mcp:http://localhost:9889/mcp")
+                        .process(exchange -> {
+                            if ("tools/call".equals(exchange.getProperty("mcp.jsonrpc.method"))) {
+                                release.await(5, TimeUnit.SECONDS);
+                            }
+                            exchange.getMessage().setBody(Map.of(
+                                "jsonrpc", "2.0",
+                                "id", exchange.getProperty("mcp.jsonrpc.id"),
+                                "result", Map.of()));
+                        });
+                }
+            });
+            context.start();
+        } finally {
+            System.clearProperty("mcp.concurrency.enabled");
+            System.clearProperty("mcp.concurrency.initialLimit");
+            System.clearProperty("mcp.concurrency.maxLimit");
+        }
+        TimeUnit.MILLISECONDS.sleep(500);
+
+        HttpClient client = HttpClient.newHttpClient();
+        CompletableFuture<HttpResponse<String>> admitted = client.sendAsync(jsonRpc(9889, 1, "tools/call"),
+                HttpResponse.BodyHandlers.ofString());
+        McpConcurrencyLimitProcessor limiter = McpConcurrencyLimitProcessor.lookupOrCreate(context);
+        for (int i = 0; i < 50 && limiter.getInFlight() == 0; i++) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        HttpResponse<String> shed = client.send(jsonRpc(9889, 2, "tools/call"), HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> ping = client.send(jsonRpc(9889, 3, "ping"), HttpResponse.BodyHandlers.ofString());
+        release.countDown();
+
+        assertEquals(200, ping.statusCode());
+
+        assertEquals(503, shed.statusCode());
+        assertEquals("1", shed.headers().firstValue("Retry-After").orElse(null));
+        Map<?, ?> error = (Map<?, ?>) new ObjectMapper().readValue(shed.body(), Map.class).get("error");
+        assertEquals(-32000, error.get("code"));
+        assertTrue(shed.body().contains("\"id\":2"), shed.body());
+        assertEquals(200, admitted.get(5, TimeUnit.SECONDS).statusCode());
+        assertEquals(1L, limiter.getShed());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private static HttpRequest jsonRpc(int port, int id, String method) {
+        String params = "tools/call".equals(method) ? ",\"params\":{\"name\":\"slow\"}" : "";
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/mcp"))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json, text/event-stream")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"method\":\"" + method + "\"" + params + "}"))
+                .build();
+    }
+
+    private static String initialize(HttpClient client) throws Exception {
+        HttpRequest initialize = HttpRequest.newBuilder(URI.create("http://localhost:9887/mcp"))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json, text/event-stream")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"initialize\"}"))
+                .build();
+        return client.send(initialize, HttpResponse.BodyHandlers.ofString()).headers().firstValue("Mcp-Session-Id").orElseThrow();
+    }
+
+    private static HttpRequest toolCall(String body, String sessionId) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:9887/mcp"))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json, text/event-stream")
+                .header("Mcp-Session-Id", sessionId)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    @Test
+    void testHttp2ConsumerAndProducerNegotiateH2c() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("mcp:http://localhost:9886/mcp?http2=true")
+                    .process(exchange -> exchange.getMessage().setBody(Map.of(
+                        "jsonrpc", "2.0",
+                        "id", exchange.getProperty("mcp.jsonrpc.id"),
+                        "result", Map.of("method", exchange.getProperty("mcp.jsonrpc.method")))));
+
+                from("direct:h2")
+                    .to("mcp:http://localhost:9886/mcp?http2=true&method=ping");
+            }
+        });
+
+        context.start();
+        TimeUnit.MILLISECONDS.sleep(500);
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:9886/mcp"))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json, text/event-stream")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"ping\"}"))
+                .build();
+        client.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertEquals(HttpClient.Version.HTTP_2, response.version());
+        assertTrue(response.body().contains("\"ping\""));
+
+        Object reply = template.requestBody("direct:h2", Map.of());
+        McpResponse mcpResponse = assertInstanceOf(McpResponse.class, reply);
+        assertEquals(Map.of("method", "ping"), mcpResponse.getResult());
+    }
+
     @Test
     void testConsumerStopsCleanly() throws Exception {
         context.addRoutes(new RouteBuilder() {
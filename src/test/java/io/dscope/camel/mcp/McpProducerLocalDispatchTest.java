@@ -2,7 +2,10 @@ package io.dscope.camel.mcp;
 
 import io.dscope.camel.mcp.model.McpRequest;
 import io.dscope.camel.mcp.model.McpResponse;
+import org.apache.camel.AsyncProducer;
 import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.impl.DefaultCamelContext;
@@ -10,9 +13,12 @@ import org.junit.jupiter.api.Test;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -69,6 +75,44 @@ public class McpProducerLocalDispatchTest {
         }
     }
 
+    @Test
+    public void shouldCompleteAsynchronouslyWhenLocalRouteIsAsync() throws Exception {
+        try (CamelContext context = createContextForMapResponse()) {
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() {
+                    from("direct:local-async")
+                            .delay(100).asyncDelayed()
+                            .to("direct:local-map-response");
+                }
+            });
+            context.start();
+
+            Endpoint endpoint = context.getEndpoint("mcp:camel:direct:local-async?method=tools/list");
+            AsyncProducer producer = endpoint.createAsyncProducer();
+            producer.start();
+            try {
+                Exchange exchange = endpoint.createExchange();
+                exchange.getIn().setBody(Map.of());
+                CountDownLatch done = new CountDownLatch(1);
+                AtomicReference<Boolean> completedSync = new AtomicReference<>();
+
+                boolean sync = producer.process(exchange, doneSync -> {
+                    completedSync.set(doneSync);
+                    done.countDown();
+                });
+
+                assertFalse(sync);
+                assertTrue(done.await(5, TimeUnit.SECONDS));
+                assertEquals(Boolean.FALSE, completedSync.get());
+                McpResponse response = exchange.getMessage().getBody(McpResponse.class);
+                assertEquals("tools/list", ((Map<?, ?>) response.getResult()).get("method"));
+            } finally {
+                producer.stop();
+            }
+        }
+    }
+
     private CamelContext createContextForMcpResponse(AtomicReference<McpRequest> seenRequest) throws Exception {
         CamelContext context = new DefaultCamelContext();
         context.addComponent("mcp", new McpComponent());
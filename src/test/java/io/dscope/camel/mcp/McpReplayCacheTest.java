@@ -0,0 +1,93 @@
+package io.dscope.camel.mcp;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class McpReplayCacheTest {
+
+    @Test
+    void shouldOnlyKeyListedMethodsWithSessionAndId() {
+        McpReplayCache cache = new McpReplayCache(10, 60_000, "tools/call, resources/read");
+
+        assertEquals("s\ntools/call\nn7", cache.key("s", "tools/call", 7));
+        assertNotEquals(cache.key("s", "tools/call", 1), cache.key("s", "tools/call", "1"));
+        assertEquals(cache.key("s", "tools/call", 1), cache.key("s", "tools/call", 1L));
+        assertNull(cache.key("s", "tools/list", 7));
+        assertNull(cache.key(null, "tools/call", 7));
+        assertNull(cache.key("s", "tools/call", null));
+    }
+
+    @Test
+    void shouldOnlyReplayRequestsWithEqualParams() {
+        McpReplayCache cache = new McpReplayCache(10, 60_000, "tools/call");
+        Map<String, Object> first = Map.of("q", "Aa");
+        Map<String, Object> colliding = Map.of("q", "BB");
+        assertEquals(first.hashCode(), colliding.hashCode());
+
+        cache.complete(cache.claim("k", first), new McpReplayCache.Response("{}", Map.of()));
+
+        assertFalse(cache.claim("k", Map.of("q", "Aa")).owner());
+        assertTrue(cache.claim("k", colliding).owner());
+    }
+
+    @Test
+    void shouldAttachRetriesUntilTheOwnerCompletes() {
+        McpReplayCache cache = new McpReplayCache(10, 60_000, "tools/call");
+        McpReplayCache.Claim owner = cache.claim("k", null);
+        McpReplayCache.Claim retry = cache.claim("k", null);
+        assertTrue(owner.owner());
+        assertFalse(retry.owner());
+        assertNull(retry.entry().getNow());
+
+        AtomicReference<McpReplayCache.Response> attached = new AtomicReference<>();
+        retry.entry().onComplete(attached::set);
+        McpReplayCache.Response response = new McpReplayCache.Response(new byte[] {'{', '}'}, Map.of());
+        cache.complete(owner, response);
+
+        assertSame(response, attached.get());
+        assertSame(response, cache.claim("k", null).entry().getNow());
+        assertEquals(1L, cache.getExecuted());
+        assertEquals(1L, cache.getAttached());
+        assertEquals(1L, cache.getReplayed());
+    }
+
+    @Test
+    void shouldReleaseRetriesWhenTheOwnerFails() {
+        McpReplayCache cache = new McpReplayCache(10, 60_000, "tools/call");
+        McpReplayCache.Claim owner = cache.claim("k", null);
+        AtomicReference<Object> attached = new AtomicReference<>("pending");
+        cache.claim("k", null).entry().onComplete(attached::set);
+
+        cache.abandon(owner);
+
+        assertNull(attached.get());
+        McpReplayCache.Claim next = cache.claim("k", null);
+        assertTrue(next.owner());
+        assertNotSame(owner.entry(), next.entry());
+    }
+
+    @Test
+    void shouldExpireAndEvictEntries() throws Exception {
+        McpReplayCache cache = new McpReplayCache(2, 50, "tools/call");
+        cache.complete(cache.claim("a", null), new McpReplayCache.Response("{}", Map.of()));
+        cache.claim("b", null);
+        cache.claim("c", null);
+        assertEquals(2, cache.size());
+        assertTrue(cache.claim("a", null).owner());
+
+        McpReplayCache.Claim d = cache.claim("d", null);
+        cache.complete(d, new McpReplayCache.Response("{}", Map.of()));
+        assertFalse(cache.claim("d", null).owner());
+        Thread.sleep(80);
+        assertTrue(cache.claim("d", null).owner());
+    }
+}
@@ -0,0 +1,77 @@
+package io.dscope.camel.mcp;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class McpResponseCompressorTest {
+
+    private static final String RESULT = "\"result\":{\"contents\":[{\"text\":\"" + "<div>mcp</div>".repeat(500) + "\"}]}}";
+
+    @Test
+    void negotiatesPreferredCoding() {
+        assertEquals("gzip", McpResponseCompressor.negotiate("gzip, deflate, br"));
+        assertEquals("deflate", McpResponseCompressor.negotiate("gzip;q=0, deflate"));
+        assertEquals("gzip", McpResponseCompressor.negotiate("*"));
+        assertNull(McpResponseCompressor.negotiate("br, identity"));
+        assertNull(McpResponseCompressor.negotiate("gzip;q=0, *;q=0"));
+        assertNull(McpResponseCompressor.negotiate(null));
+    }
+
+    @Test
+    void appliesThresholdAndMethodAllowList() {
+        McpResponseCompressor compressor = new McpResponseCompressor(1024, "tools/list, resources/read", 8);
+
+        assertTrue(compressor.shouldCompress("tools/list", 2048));
+        assertFalse(compressor.shouldCompress("tools/list", 100));
+        assertFalse(compressor.shouldCompress("ping", 2048));
+        assertTrue(compressor.shouldCompress(null, 2048));
+    }
+
+    @Test
+    void reusesCachedBlocksAcrossRequestIds() throws Exception {
+        McpResponseCompressor compressor = new McpResponseCompressor(0, "resources/read", 8);
+
+        for (int id = 1; id <= 3; id++) {
+            byte[] body = ("{\"jsonrpc\":\"2.0\",\"id\":" + id + "," + RESULT).getBytes(StandardCharsets.UTF_8);
+            assertArrayEquals(body, gunzip(compressor.compress(body, "gzip", "resources/read")));
+            assertArrayEquals(body, inflate(compressor.compress(body, "deflate", "resources/read")));
+        }
+
+        assertEquals(1L, compressor.getCacheMisses());
+        assertEquals(5L, compressor.getCacheHits());
+    }
+
+    @Test
+    void compressesUncachedMethodsWholesale() throws Exception {
+        McpResponseCompressor compressor = new McpResponseCompressor(0, "tools/call", 8);
+        byte[] body = ("{\"jsonrpc\":\"2.0\",\"id\":7," + RESULT).getBytes(StandardCharsets.UTF_8);
+
+        byte[] compressed = compressor.compress(body, "gzip", "tools/call");
+
+        assertArrayEquals(body, gunzip(compressed));
+        assertTrue(compressed.length < body.length / 10);
+        assertEquals(0L, compressor.getCacheHits() + compressor.getCacheMisses());
+    }
+
+    private static byte[] gunzip(byte[] data) throws Exception {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) throws Exception {
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+}
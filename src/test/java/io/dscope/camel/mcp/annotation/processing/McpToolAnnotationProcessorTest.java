@@ -0,0 +1,191 @@
+package io.dscope.camel.mcp.annotation.processing;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.dscope.camel.mcp.annotation.McpTool;
+import io.dscope.camel.mcp.catalog.McpMethodDefinition;
+import io.dscope.camel.mcp.catalog.McpToolProvider;
+import io.dscope.camel.mcp.processor.McpJsonRpcEnvelopeProcessor;
+import io.dscope.camel.mcp.processor.McpToolDispatchProcessor;
+
+class McpToolAnnotationProcessorTest {
+
+    private static final String TOOLS = """
+            package demo;
+
+            import java.util.List;
+            import java.util.Map;
+
+            import io.dscope.camel.mcp.annotation.McpTool;
+            import io.dscope.camel.mcp.annotation.McpToolArg;
+
+            public class DemoTools {
+
+                @McpTool(title = "Echo", description = "Returns the \\"text\\".", aliases = "say",
+                        annotations = "{\\"readOnlyHint\\": true, \\"categories\\": [\\"utility\\"]}",
+                        outputSchema = "{\\"type\\": \\"object\\", \\"required\\": [\\"content\\"]}")
+                public Map<String, Object> echo(@McpToolArg(description = "Text to echo.") String text,
+                        @McpToolArg(defaultValue = "2") int times,
+                        @McpToolArg(allowed = {"upper", "lower"}, defaultValue = "lower") String mode) {
+                    String value = text.repeat(times);
+                    return Map.of("text", "upper".equals(mode) ? value.toUpperCase() : value);
+                }
+
+                @McpTool(name = "sum")
+                static Map<String, Object> add(@McpToolArg(required = false) List<Number> values, Map<String, Object> all) {
+                    double total = values == null ? 0 : values.stream().mapToDouble(Number::doubleValue).sum();
+                    return Map.of("total", total, "arguments", all.size());
+                }
+            }
+            """;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void generatesDefinitionsAndDirectDispatchers(@TempDir Path dir) throws Exception {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(dir, "demo/DemoTools.java", TOOLS);
+        assertTrue(errors.isEmpty(), errors::toString);
+        assertTrue(Files.exists(dir.resolve("out").resolve(McpToolAnnotationProcessor.SERVICE_FILE)));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { dir.resolve("out").toUri().toURL() },
+                getClass().getClassLoader())) {
+            McpToolProvider provider = ServiceLoader.load(McpToolProvider.class, loader).findFirst().orElseThrow();
+            assertEquals("demo.DemoToolsMcpTools", provider.getClass().getName());
+
+            List<McpMethodDefinition> definitions = provider.definitions();
+            assertEquals(List.of("echo", "sum"), definitions.stream().map(McpMethodDefinition::getName).toList());
+            McpMethodDefinition echo = definitions.get(0);
+            assertEquals("Echo", echo.getTitle());
+            assertEquals("Returns the \"text\".", echo.getDescription());
+            assertEquals(List.of("text"), echo.getRequiredArguments());
+            assertEquals(false, echo.getInputSchema().get("additionalProperties"));
+            Map<String, Object> properties = (Map<String, Object>) echo.getInputSchema().get("properties");
+            assertEquals(Map.of("type", "string", "description", "Text to echo."), properties.get("text"));
+            assertEquals(Map.of("type", "integer", "default", 2), properties.get("times"));
+            assertEquals(Map.of("type", "string", "enum", List.of("upper", "lower"), "default", "lower"),
+                    properties.get("mode"));
+            assertEquals(Map.of("readOnlyHint", true, "categories", List.of("utility")), echo.getAnnotations());
+            assertEquals(List.of("content"), echo.getOutputSchema().get("required"));
+            McpMethodDefinition sum = definitions.get(1);
+            assertFalse(sum.getInputSchema().containsKey("additionalProperties"));
+            assertEquals(Map.of("type", "array", "items", Map.of("type", "number")),
+                    ((Map<String, Object>) sum.getInputSchema().get("properties")).get("values"));
+
+            assertEquals(Map.of("text", "abab"), provider.handlers().get("say").call(Map.of("text", "ab")));
+            assertEquals(Map.of("text", "ABABAB"),
+                    provider.handlers().get("echo").call(Map.of("text", "ab", "times", "3", "mode", "upper")));
+            assertThrows(IllegalArgumentException.class, () -> provider.handlers().get("echo").call(Map.of()));
+            assertEquals(Map.of("total", 3.5, "arguments", 1), provider.handlers().get("sum").call(Map.of("values", List.of(1, 2.5))));
+
+            McpToolDispatchProcessor dispatch = new McpToolDispatchProcessor(provider);
+            try (DefaultCamelContext ctx = new DefaultCamelContext()) {
+                Exchange exchange = new DefaultExchange(ctx);
+                exchange.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TOOL_NAME, "say");
+                exchange.getIn().setBody(Map.of("text", "hi", "times", 1));
+                dispatch.process(exchange);
+                assertTrue(exchange.getIn().getBody(String.class).contains("\"text\":\"hi\""));
+
+                exchange.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TOOL_NAME, "missing");
+                assertThrows(IllegalArgumentException.class, () -> dispatch.process(exchange));
+            }
+        }
+    }
+
+    @Test
+    void reportsInvalidDeclarationsAsCompileErrors(@TempDir Path dir) throws Exception {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(dir, "demo/BrokenTools.java", """
+                package demo;
+
+                import java.util.Map;
+
+                import io.dscope.camel.mcp.annotation.McpTool;
+                import io.dscope.camel.mcp.annotation.McpToolArg;
+
+                public class BrokenTools {
+
+                    @McpTool
+                    public String text() {
+                        return "";
+                    }
+
+                    @McpTool(annotations = "[1]")
+                    public Map<String, Object> list() {
+                        return Map.of();
+                    }
+
+                    @McpTool
+                    public Map<String, Object> count(@McpToolArg(defaultValue = "1.5") int count, Object other) {
+                        return Map.of();
+                    }
+                }
+                """);
+
+        List<String> messages = errors.stream().map(error -> error.getMessage(Locale.ROOT)).toList();
+        assertEquals(4, messages.size(), messages::toString);
+        assertTrue(messages.contains("@McpTool methods must return Map<String, Object>"), messages::toString);
+        assertTrue(messages.contains("@McpTool annotations must be a JSON object"), messages::toString);
+        assertTrue(messages.contains("Default of argument count is not integer: 1.5"), messages::toString);
+        assertTrue(messages.contains("Unsupported type java.lang.Object for argument other of tool count"),
+                messages::toString);
+        assertFalse(Files.exists(dir.resolve("out").resolve(McpToolAnnotationProcessor.SERVICE_FILE)));
+    }
+
+    private static List<Diagnostic<? extends JavaFileObject>> compile(Path dir, String name, String source)
+            throws Exception {
+        Path file = dir.resolve("src").resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, source);
+        Path out = Files.createDirectories(dir.resolve("out"));
+        String classpath = String.join(File.pathSeparator, location(McpTool.class), location(JsonProperty.class));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics,
+                    List.of("-classpath", classpath, "-d", out.toString(), "-s", out.toString()),
+                    null, files.getJavaFileObjects(file));
+            task.setProcessors(List.of(new McpToolAnnotationProcessor()));
+            task.call();
+        }
+        List<Diagnostic<? extends JavaFileObject>> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic);
+            }
+        }
+        return errors;
+    }
+
+    private static String location(Class<?> type) throws URISyntaxException {
+        return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+    }
+}
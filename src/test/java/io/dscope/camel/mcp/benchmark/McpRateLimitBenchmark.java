@@ -0,0 +1,96 @@
+package io.dscope.camel.mcp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.dscope.camel.mcp.processor.McpRateLimitProcessor;
+
+/**
+ * Throughput of the rate limiter's accept path from one thread up to one per core. The bucket is
+ * large enough that no request is rejected, so the numbers show contention on the bucket state only.
+ * <p>
+ * Run with {@code mvn -P benchmarks test-compile exec:exec -Dbenchmark=McpRateLimitBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class McpRateLimitBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Limiter {
+
+        McpRateLimitProcessor processor;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            System.setProperty("mcp.rate.bucketCapacity", String.valueOf(Integer.MAX_VALUE / 1000));
+            System.setProperty("mcp.rate.refillPerSecond", "1000000000");
+            processor = new McpRateLimitProcessor();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            System.clearProperty("mcp.rate.bucketCapacity");
+            System.clearProperty("mcp.rate.refillPerSecond");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Request {
+
+        DefaultCamelContext context;
+        Exchange exchange;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = new DefaultCamelContext();
+            exchange = new DefaultExchange(context);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object oneThread(Limiter limiter, Request request) {
+        return accept(limiter, request);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object fourThreads(Limiter limiter, Request request) {
+        return accept(limiter, request);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object allCores(Limiter limiter, Request request) {
+        return accept(limiter, request);
+    }
+
+    private static Object accept(Limiter limiter, Request request) {
+        limiter.processor.process(request.exchange);
+        return request.exchange.getProperty("mcp.rate.tokensRemaining");
+    }
+}
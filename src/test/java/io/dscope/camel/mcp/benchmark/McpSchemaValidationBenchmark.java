@@ -0,0 +1,79 @@
+package io.dscope.camel.mcp.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.dscope.camel.mcp.catalog.McpSchemaValidator;
+import io.dscope.camel.mcp.service.McpJsonCodec;
+
+/**
+ * Cost of checking parsed {@code tools/call} arguments against a compiled input schema, for a
+ * conforming call and for one with several violations, next to compiling the schema each time.
+ * <p>
+ * Run with {@code mvn -P benchmarks test-compile exec:exec -Dbenchmark=McpSchemaValidationBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class McpSchemaValidationBenchmark {
+
+    private static final String SCHEMA = """
+            {"type":"object","required":["customer","items"],"additionalProperties":false,
+             "properties":{
+               "customer":{"type":"string","minLength":3,"maxLength":64},
+               "priority":{"enum":["low","normal","high"]},
+               "notes":{"type":"string"},
+               "items":{"type":"array","minItems":1,"maxItems":50,"items":{
+                 "type":"object","required":["sku","quantity"],
+                 "properties":{"sku":{"type":"string","pattern":"^[A-Z]{3}-[0-9]+$"},
+                               "quantity":{"type":"integer","minimum":1,"maximum":999}}}}}}
+            """;
+
+    Map<String, Object> schema;
+    McpSchemaValidator validator;
+    Map<String, Object> valid;
+    Map<String, Object> invalid;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        schema = McpJsonCodec.getDefault().mapper().readValue(SCHEMA, Map.class);
+        validator = McpSchemaValidator.compile(schema);
+        valid = Map.of("customer", "acme", "priority", "high", "items", List.of(
+                Map.of("sku", "ABC-1", "quantity", 2), Map.of("sku", "DEF-22", "quantity", 10),
+                Map.of("sku", "GHI-333", "quantity", 1)));
+        invalid = Map.of("customer", "a", "priority", "urgent", "extra", true, "items", List.of(
+                Map.of("sku", "abc", "quantity", 0), Map.of("quantity", 1000)));
+    }
+
+    @Benchmark
+    public Object validCall() {
+        return validator.validate(valid, "arguments");
+    }
+
+    @Benchmark
+    public Object invalidCall() {
+        return validator.validate(invalid, "arguments");
+    }
+
+    @Benchmark
+    public Object compileAndValidate() {
+        return McpSchemaValidator.compile(schema).validate(valid, "arguments");
+    }
+}
@@ -0,0 +1,75 @@
+package io.dscope.camel.mcp.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.dscope.camel.mcp.catalog.McpMethodCatalog;
+import io.dscope.camel.mcp.catalog.McpMethodDefinition;
+
+/**
+ * Latency of {@link McpMethodCatalog#searchTools} over a generated catalog: a selective query, a common
+ * word that hits a tenth of the tools, and a tag-only filter.
+ * <p>
+ * Run with {@code mvn -P benchmarks test-compile exec:exec -Dbenchmark=McpToolSearchBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class McpToolSearchBenchmark {
+
+    private static final String[] DOMAINS = {"billing", "calendar", "crm", "weather", "search", "files", "mail",
+        "chat", "maps", "tickets"};
+
+    @Param({"10000"})
+    public int tools;
+
+    McpMethodCatalog catalog;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<McpMethodDefinition> definitions = new ArrayList<>(tools);
+        for (int i = 0; i < tools; i++) {
+            String domain = DOMAINS[i % DOMAINS.length];
+            McpMethodDefinition definition = new McpMethodDefinition();
+            definition.setName(domain + ".operation" + i);
+            definition.setTitle("Operation " + i + " for " + domain);
+            definition.setDescription("Runs operation " + i + " against the " + domain + " service and returns its result");
+            definition.setAnnotations(Map.of("category", domain, "readOnlyHint", i % 2 == 0));
+            definitions.add(definition);
+        }
+        catalog = new McpMethodCatalog(definitions);
+    }
+
+    @Benchmark
+    public Object selectiveQuery() {
+        return catalog.searchTools("operation4711", null, 20);
+    }
+
+    @Benchmark
+    public Object commonWord() {
+        return catalog.searchTools("weather result", null, 20);
+    }
+
+    @Benchmark
+    public Object tagOnly() {
+        return catalog.searchTools(null, "readOnlyHint", 20);
+    }
+}
@@ -0,0 +1,85 @@
+package io.dscope.camel.mcp.catalog;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.dscope.camel.mcp.service.McpEventStream;
+import io.dscope.camel.mcp.service.McpEventStreamRegistry;
+import io.dscope.camel.mcp.service.McpUiSessionRegistry;
+import io.dscope.camel.mcp.service.McpWebSocketNotifier;
+
+class McpCatalogWatcherTest {
+
+    @Test
+    void reloadsChangedCatalogAndNotifiesStreams(@TempDir Path dir) throws Exception {
+        Path methods = dir.resolve("methods.yaml");
+        Path resources = dir.resolve("resources.yaml");
+        Files.writeString(methods, "methods:\n  - name: alpha\n");
+        Files.writeString(resources, "resources:\n  - uri: ui://app/main\n");
+        McpMethodCatalog methodCatalog = McpMethodCatalog.fromFile(methods);
+        McpResourceCatalog resourceCatalog = McpResourceCatalog.fromFile(resources);
+        McpEventStreamRegistry eventStreams = new McpEventStreamRegistry();
+        McpEventStream stream = eventStreams.stream("session-1");
+
+        try (McpCatalogWatcher watcher = new McpCatalogWatcher(eventStreams)) {
+            watcher.watch(methodCatalog);
+            watcher.watch(resourceCatalog);
+            watcher.start();
+
+            Files.writeString(methods, "methods:\n  - name: alpha\n  - name: beta\n");
+            List<McpEventStream.Event> events = stream.awaitEventsAfter(0L, 10_000L);
+
+            assertEquals(1, events.size());
+            assertTrue(events.get(0).data().contains(McpCatalogWatcher.TOOLS_LIST_CHANGED), events.get(0).data());
+            assertTrue(methodCatalog.findByName("beta").isPresent());
+            assertEquals(1, resourceCatalog.list().size());
+            assertTrue(watcher.getReloads() >= 1L);
+        }
+    }
+
+    @Test
+    void broadcastsListChangesToWebSocketClients(@TempDir Path dir) throws Exception {
+        Path methods = dir.resolve("methods.yaml");
+        Files.writeString(methods, "methods:\n  - name: alpha\n");
+        McpMethodCatalog methodCatalog = McpMethodCatalog.fromFile(methods);
+        List<String> frames = new CopyOnWriteArrayList<>();
+        CountDownLatch sent = new CountDownLatch(1);
+
+        try (DefaultCamelContext context = new DefaultCamelContext();
+                McpCatalogWatcher watcher = new McpCatalogWatcher(new McpEventStreamRegistry())) {
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() {
+                    from("direct:ws").process(exchange -> {
+                        frames.add(exchange.getIn().getBody(String.class));
+                        sent.countDown();
+                    });
+                }
+            });
+            context.start();
+            McpWebSocketNotifier notifier = new McpWebSocketNotifier(new McpUiSessionRegistry(), context, "direct:ws");
+            notifier.start();
+            watcher.setWebSocketNotifier(notifier);
+            watcher.watch(methodCatalog);
+            watcher.start();
+
+            Files.writeString(methods, "methods:\n  - name: alpha\n  - name: beta\n");
+
+            assertTrue(sent.await(10, TimeUnit.SECONDS));
+            assertEquals("{\"jsonrpc\":\"2.0\",\"method\":\"" + McpCatalogWatcher.TOOLS_LIST_CHANGED + "\"}", frames.get(0));
+            notifier.stop();
+        }
+    }
+}
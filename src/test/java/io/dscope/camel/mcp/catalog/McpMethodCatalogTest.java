@@ -1,11 +1,17 @@
 package io.dscope.camel.mcp.catalog;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class McpMethodCatalogTest {
 
@@ -30,4 +36,88 @@ class McpMethodCatalogTest {
         assertTrue(catalog.findByName("beta").isPresent());
         assertTrue(catalog.findByName("missing").isEmpty());
     }
+
+    @Test
+    void reloadsValidatedDefinitionsFromItsFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("methods.yaml");
+        Files.writeString(file, "methods:\n  - name: alpha\n    description: first\n");
+        McpMethodCatalog catalog = McpMethodCatalog.fromFile(file);
+        String etag = catalog.getToolsListResult().etag();
+
+        assertFalse(catalog.reload());
+
+        Files.writeString(file, "methods:\n  - name: alpha\n    description: second\n  - name: beta\n");
+        assertTrue(catalog.reload());
+        assertEquals("second", catalog.findByName("alpha").orElseThrow().getDescription());
+        assertEquals(2, catalog.list().size());
+        assertFalse(etag.equals(catalog.getToolsListResult().etag()));
+
+        Files.writeString(file, "methods:\n  - name: alpha\n  - name: alpha\n");
+        assertThrows(IllegalArgumentException.class, catalog::reload);
+        Files.writeString(file, "methods: [");
+        assertThrows(IllegalStateException.class, catalog::reload);
+        assertEquals(2, catalog.list().size());
+    }
+
+    @Test
+    void loadsFragmentsFromSeveralLocationsInLocationOrder(@TempDir Path dir) throws Exception {
+        Path tools = Files.createDirectory(dir.resolve("tools.d"));
+        Files.writeString(tools.resolve("20-beta.yaml"), "methods:\n  - name: beta\n");
+        Files.writeString(tools.resolve("10-alpha.yml"), "methods:\n  - name: alpha\n");
+        Files.writeString(tools.resolve("notes.txt"), "not a catalog");
+        Files.writeString(dir.resolve("extra-gamma.yaml"), "methods:\n  - name: gamma\n");
+        Files.writeString(dir.resolve("extra-delta.yaml"), "methods:\n  - name: delta\n");
+        McpCatalogSources sources = McpCatalogSources.parse(
+                tools + ", classpath:mcp/missing.yaml, file:" + dir + "/extra-*.yaml");
+
+        McpMethodCatalog catalog = McpMethodCatalog.fromSources(sources);
+
+        assertEquals(List.of("alpha", "beta", "delta", "gamma"),
+                catalog.list().stream().map(McpMethodDefinition::getName).toList());
+        assertEquals(null, catalog.getSource());
+        assertTrue(sources.hasFileLocations());
+        assertTrue(sources.matches(tools.resolve("30-new.yaml")));
+        assertTrue(sources.matches(dir.resolve("extra-epsilon.yaml")));
+        assertFalse(sources.matches(tools.resolve("notes.txt")));
+
+        Files.writeString(dir.resolve("extra-delta.yaml"), "methods:\n  - name: alpha\n");
+        assertThrows(IllegalArgumentException.class, catalog::reload);
+        Files.writeString(dir.resolve("extra-delta.yaml"), "methods: [");
+        assertThrows(IllegalStateException.class, catalog::reload);
+        Files.delete(dir.resolve("extra-delta.yaml"));
+        assertTrue(catalog.reload());
+        assertEquals(3, catalog.list().size());
+    }
+
+    @Test
+    void searchesTheIndexRankedAndFilteredByTag() {
+        McpMethodCatalog catalog = new McpMethodCatalog(List.of(
+                tool("weather.forecast", "Forecast", "Daily weather for a city", Map.of("readOnlyHint", true)),
+                tool("calendar.book", "Book appointment", "Books a slot; checks the weather first",
+                        Map.of("category", "calendar")),
+                tool("weather.alerts", "Severe alerts", "Storm warnings", Map.of("readOnlyHint", true))));
+
+        assertEquals(List.of("weather.forecast", "weather.alerts", "calendar.book"), names(catalog.searchTools("weather", null, 10)));
+        assertEquals(List.of("weather.forecast"), names(catalog.searchTools("WEATHER city", null, 1)));
+        assertEquals(List.of("weather.forecast", "weather.alerts"), names(catalog.searchTools(null, "readOnlyHint", 10)));
+        assertEquals(List.of("calendar.book"), names(catalog.searchTools("book", "calendar", 10)));
+        assertTrue(catalog.searchTools("storm", "calendar", 10).isEmpty());
+        assertTrue(catalog.searchTools("unknown", null, 10).isEmpty());
+
+        catalog.replace(List.of(tool("storm.track", null, null, null)));
+        assertEquals(List.of("storm.track"), names(catalog.searchTools("storm", null, 10)));
+    }
+
+    private static McpMethodDefinition tool(String name, String title, String description, Map<String, Object> annotations) {
+        McpMethodDefinition definition = new McpMethodDefinition();
+        definition.setName(name);
+        definition.setTitle(title);
+        definition.setDescription(description);
+        definition.setAnnotations(annotations);
+        return definition;
+    }
+
+    private static List<Object> names(List<Map<String, Object>> tools) {
+        return tools.stream().map(tool -> tool.get("name")).toList();
+    }
 }
@@ -3,7 +3,11 @@ package io.dscope.camel.mcp.catalog;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
@@ -47,4 +51,17 @@ class McpMethodDefinitionTest {
         assertEquals(Map.of("type", "string"), entry.get("outputSchema"));
         assertEquals(Map.of("category", "utility"), entry.get("annotations"));
     }
+
+    @Test
+    void readsRateLimitFromYamlWithoutExposingItAsToolEntry() throws Exception {
+        McpMethodDefinition definition = new ObjectMapper(new YAMLFactory()).readValue("""
+                name: search
+                rateLimit:
+                  capacity: 5
+                """, McpMethodDefinition.class);
+
+        assertEquals(5, definition.getRateLimit().getCapacity());
+        assertEquals(5.0d, definition.getRateLimit().getRefillPerSecond());
+        assertFalse(definition.toToolEntry().containsKey("rateLimit"));
+    }
 }
@@ -0,0 +1,79 @@
+package io.dscope.camel.mcp.catalog;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import io.dscope.camel.mcp.processor.McpJsonRpcEnvelopeProcessor;
+import io.dscope.camel.mcp.processor.McpMethodRouter;
+import io.dscope.camel.mcp.processor.McpToolResponseProcessor;
+import io.dscope.camel.mcp.service.McpUiSessionRegistry;
+
+class McpOutputSchemaCheckerTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void countsSampledResultsThatViolateTheOutputSchema() throws Exception {
+        McpMethodDefinition rows = new McpMethodDefinition();
+        rows.setName("rows");
+        rows.setOutputSchema(Map.of("type", "object", "required", List.of("result"),
+                "properties", Map.of("result", Map.of("type", "array"))));
+        McpMethodCatalog catalog = new McpMethodCatalog(List.of(rows));
+        McpMethodRouter router = new McpMethodRouter(catalog, new McpUiSessionRegistry());
+        router.setToolsCall(new McpToolResponseProcessor());
+        McpMethodRouter mapRouter = new McpMethodRouter(catalog, new McpUiSessionRegistry());
+        mapRouter.setToolsCall((Processor) exchange -> exchange.getMessage().setBody(Map.of("jsonrpc", "2.0", "id", 1,
+                "result", Map.of("structuredContent", Map.of("result", "not rows")))));
+
+        try (DefaultCamelContext ctx = new DefaultCamelContext();
+                McpOutputSchemaChecker checker = new McpOutputSchemaChecker(catalog, 1.0, 10)) {
+            ctx.getRegistry().bind(McpOutputSchemaChecker.REGISTRY_NAME, checker);
+
+            router.process(toolResult(ctx, "rows", "[1,2]"));
+            router.process(toolResult(ctx, "rows", "{\"a\":1}"));
+            router.process(toolResult(ctx, "unchecked", "{\"a\":1}"));
+            mapRouter.process(toolResult(ctx, "rows", "{}"));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (checker.getChecked("rows") < 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(3, checker.getChecked("rows"));
+            assertEquals(2, checker.getViolations("rows"));
+            assertEquals(0, checker.getChecked("unchecked"));
+
+            Map<String, Object> tool = (Map<String, Object>) ((Map<String, Object>) checker.snapshot().get("tools")).get("rows");
+            assertTrue(((String) tool.get("lastViolation")).startsWith("structuredContent.result: expected array"));
+        }
+    }
+
+    @Test
+    void samplesNothingWhenDisabled() {
+        McpMethodDefinition rows = new McpMethodDefinition();
+        rows.setName("rows");
+        rows.setOutputSchema(Map.of("type", "array"));
+
+        try (McpOutputSchemaChecker checker = new McpOutputSchemaChecker(new McpMethodCatalog(List.of(rows)), 0, 10)) {
+            checker.sample("rows", Map.of());
+            assertEquals(0, checker.snapshot().get("pending"));
+            assertEquals(0, checker.getChecked("rows"));
+        }
+    }
+
+    private static Exchange toolResult(DefaultCamelContext ctx, String tool, String body) {
+        Exchange exchange = new DefaultExchange(ctx);
+        exchange.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID, 1);
+        exchange.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD, "tools/call");
+        exchange.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TYPE, "REQUEST");
+        exchange.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TOOL_NAME, tool);
+        exchange.getMessage().setBody(body);
+        return exchange;
+    }
+}
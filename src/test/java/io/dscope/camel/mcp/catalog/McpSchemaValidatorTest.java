@@ -0,0 +1,102 @@
+package io.dscope.camel.mcp.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class McpSchemaValidatorTest {
+
+    private static final Map<String, Object> ORDER_SCHEMA = Map.of(
+            "type", "object",
+            "required", List.of("customer", "items"),
+            "additionalProperties", false,
+            "properties", Map.of(
+                    "customer", Map.of("type", "string", "minLength", 3, "pattern", "^[a-z]+$"),
+                    "priority", Map.of("enum", List.of("low", "high")),
+                    "items", Map.of("type", "array", "minItems", 1, "items", Map.of(
+                            "type", "object",
+                            "required", List.of("sku"),
+                            "properties", Map.of(
+                                    "sku", Map.of("type", "string"),
+                                    "quantity", Map.of("type", "integer", "minimum", 1, "maximum", 99))))));
+
+    @Test
+    void acceptsConformingValues() {
+        McpSchemaValidator validator = McpSchemaValidator.compile(ORDER_SCHEMA);
+
+        assertTrue(validator.accepts(Map.of("customer", "acme", "priority", "high",
+                "items", List.of(Map.of("sku", "a-1", "quantity", 2), Map.of("sku", "b-2", "quantity", 3.0)))));
+    }
+
+    @Test
+    void reportsEveryViolationWithItsPath() {
+        McpSchemaValidator validator = McpSchemaValidator.compile(ORDER_SCHEMA);
+
+        List<McpSchemaValidator.Violation> violations = validator.validate(Map.of(
+                "customer", "AC",
+                "priority", "urgent",
+                "coupon", "x",
+                "items", List.of(Map.of("sku", "a-1"), Map.of("quantity", 100))), "arguments");
+
+        // Map.of iterates in no particular order, so compare the violations as a set.
+        assertEquals(Set.of(
+                "arguments.customer: must be at least 3 characters",
+                "arguments.customer: must match ^[a-z]+$",
+                "arguments.priority: must be one of [low, high]",
+                "arguments.coupon: is not allowed",
+                "arguments.items[1].sku: is required",
+                "arguments.items[1].quantity: must be <= 99"),
+                violations.stream().map(Object::toString).collect(Collectors.toSet()));
+        assertEquals("arguments: expected object but was string",
+                validator.validate("order", "arguments").get(0).toString());
+    }
+
+    @Test
+    void mergesRequiredArgumentsAndAcceptsEverythingWithoutASchema() {
+        McpSchemaValidator validator = McpSchemaValidator.compile(Map.of("type", "object"), List.of("id"));
+
+        assertFalse(validator.accepts(Map.of()));
+        assertTrue(validator.accepts(Map.of("id", 1)));
+        assertSame(McpSchemaValidator.ACCEPT_ALL, McpSchemaValidator.compile(null));
+        assertTrue(McpSchemaValidator.ACCEPT_ALL.accepts("anything"));
+    }
+
+    @Test
+    void evaluatesCombinators() {
+        McpSchemaValidator validator = McpSchemaValidator.compile(Map.of("oneOf", List.of(
+                Map.of("type", "integer"), Map.of("type", "number", "minimum", 10))));
+
+        assertTrue(validator.accepts(5));
+        assertTrue(validator.accepts(10.5));
+        assertFalse(validator.accepts(12));
+        assertFalse(validator.accepts("5"));
+    }
+
+    @Test
+    void findsDuplicateItemsInOnePass() {
+        McpSchemaValidator validator = McpSchemaValidator.compile(Map.of("type", "array", "uniqueItems", true));
+
+        assertTrue(validator.accepts(List.of(1, 2.5, "1", Map.of("a", 1), List.of(1))));
+        assertEquals("arguments[2]: duplicates item 0",
+                validator.validate(List.of(1, 2, 1.0), "arguments").get(0).toString());
+        assertFalse(validator.accepts(List.of(Map.of("a", 1), Map.of("a", 1.00))));
+        assertFalse(validator.accepts(List.of(new StringBuilder("x"), "x")));
+
+        List<Integer> large = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            large.add(i);
+        }
+        assertTrue(validator.accepts(large));
+        large.add(19_999);
+        assertEquals("arguments[20000]: duplicates item 19999",
+                validator.validate(large, "arguments").get(0).toString());
+    }
+}
@@ -0,0 +1,107 @@
+package io.dscope.camel.mcp.processor;
+
+import java.util.Map;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class McpConcurrencyLimitProcessorTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    @AfterEach
+    void clearProperties() {
+        System.clearProperty("mcp.concurrency.enabled");
+        System.clearProperty("mcp.concurrency.initialLimit");
+        System.clearProperty("mcp.concurrency.maxLimit");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shedsRequestsBeyondTheLimitWithRetryAfter() throws Exception {
+        System.setProperty("mcp.concurrency.enabled", "true");
+        System.setProperty("mcp.concurrency.initialLimit", "2");
+        McpConcurrencyLimitProcessor limiter = new McpConcurrencyLimitProcessor();
+
+        DefaultCamelContext ctx = new DefaultCamelContext();
+        Exchange first = new DefaultExchange(ctx);
+        Exchange second = new DefaultExchange(ctx);
+        Exchange third = new DefaultExchange(ctx);
+        third.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID, "req-3");
+        limiter.process(first);
+        limiter.process(second);
+        limiter.process(third);
+
+        assertEquals(2, limiter.getInFlight());
+        assertFalse(first.isRouteStop());
+        assertTrue(third.isRouteStop());
+        assertEquals(503, third.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE));
+        assertEquals("1", third.getMessage().getHeader("Retry-After"));
+        Map<String, Object> body = MAPPER.readValue(assertInstanceOf(byte[].class, third.getMessage().getBody()), MAP_TYPE);
+        assertEquals("2.0", body.get("jsonrpc"));
+        assertEquals("req-3", body.get("id"));
+        assertEquals(-32000, ((Map<String, Object>) body.get("error")).get("code"));
+
+        first.getExchangeExtension().handoverCompletions().forEach(completion -> completion.onComplete(first));
+        assertEquals(1, limiter.getInFlight());
+        assertEquals(1L, limiter.getShed());
+        assertEquals(2L, limiter.snapshot().get("accepted"));
+    }
+
+    @Test
+    void growsWhileLatencyIsStableAndBacksOffWhenItRises() {
+        System.setProperty("mcp.concurrency.enabled", "true");
+        System.setProperty("mcp.concurrency.initialLimit", "10");
+        System.setProperty("mcp.concurrency.maxLimit", "100");
+        McpConcurrencyLimitProcessor limiter = new McpConcurrencyLimitProcessor();
+
+        for (int i = 0; i < 100; i++) {
+            saturateAndComplete(limiter, 1_000_000L);
+        }
+        int grown = limiter.getLimit();
+        assertTrue(grown > 10, "limit " + grown);
+
+        for (int i = 0; i < 100; i++) {
+            saturateAndComplete(limiter, 50_000_000L);
+        }
+        assertTrue(limiter.getLimit() < grown / 2, "limit " + limiter.getLimit() + " after " + grown);
+    }
+
+    @Test
+    void controlPlaneMethodsUseAReservedPool() {
+        System.setProperty("mcp.concurrency.enabled", "true");
+        System.setProperty("mcp.concurrency.initialLimit", "1");
+        McpConcurrencyLimitProcessor limiter = new McpConcurrencyLimitProcessor();
+
+        long call = limiter.tryAcquire("tools/call");
+        assertTrue(call >= 0);
+        assertEquals(-1L, limiter.tryAcquire("tools/call"));
+        long ping = limiter.tryAcquire("ping");
+        assertTrue(ping >= 0);
+        assertEquals(1, limiter.snapshot().get("controlInFlight"));
+
+        limiter.release("ping", ping);
+        limiter.release("tools/call", call);
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, limiter.snapshot().get("controlInFlight"));
+    }
+
+    private static void saturateAndComplete(McpConcurrencyLimitProcessor limiter, long latencyNanos) {
+        while (limiter.tryAcquire() >= 0) {
+            // fill every slot so the sample is taken at the limit
+        }
+        limiter.release(System.nanoTime() - latencyNanos);
+    }
+}
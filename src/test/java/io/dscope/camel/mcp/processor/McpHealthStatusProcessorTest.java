@@ -6,6 +6,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.support.DefaultExchange;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
@@ -26,6 +27,7 @@ class McpHealthStatusProcessorTest {
         McpHealthStatusProcessor processor = new McpHealthStatusProcessor();
         processor.process(exchange);
 
+        assertInstanceOf(byte[].class, exchange.getIn().getBody());
         Map<String, Object> body = MAPPER.readValue(exchange.getIn().getBody(String.class), MAP_TYPE);
         assertEquals("OK", body.get("status"));
         assertEquals(null, body.get("rateLimiter"));
@@ -58,4 +60,26 @@ class McpHealthStatusProcessorTest {
             System.clearProperty("mcp.rate.refillPerSecond");
         }
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void includesConcurrencyLimiterBoundInRegistryWhenEnabled() throws Exception {
+        System.setProperty("mcp.concurrency.enabled", "true");
+        System.setProperty("mcp.concurrency.initialLimit", "7");
+        try {
+            DefaultCamelContext ctx = new DefaultCamelContext();
+            McpConcurrencyLimitProcessor.lookupOrCreate(ctx).tryAcquire();
+            Exchange exchange = new DefaultExchange(ctx);
+
+            new McpHealthStatusProcessor().process(exchange);
+
+            Map<String, Object> body = MAPPER.readValue(exchange.getIn().getBody(String.class), MAP_TYPE);
+            Map<String, Object> snapshot = (Map<String, Object>) body.get("concurrencyLimiter");
+            assertEquals(7, snapshot.get("limit"));
+            assertEquals(1, snapshot.get("inFlight"));
+        } finally {
+            System.clearProperty("mcp.concurrency.enabled");
+            System.clearProperty("mcp.concurrency.initialLimit");
+        }
+    }
 }
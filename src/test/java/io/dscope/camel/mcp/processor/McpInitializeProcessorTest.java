@@ -13,6 +13,8 @@ import org.junit.jupiter.api.Test;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.dscope.camel.mcp.service.McpEventStreamRegistry;
+
 class McpInitializeProcessorTest {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
@@ -50,6 +52,8 @@ class McpInitializeProcessorTest {
             assertEquals("no-store", exchange.getIn().getHeader("Cache-Control"));
             assertEquals("application/json", exchange.getIn().getHeader(Exchange.CONTENT_TYPE));
             assertEquals(200, exchange.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+            assertTrue(McpEventStreamRegistry.lookupOrCreate(ctx)
+                    .isSession(exchange.getIn().getHeader(McpStreamProcessor.HEADER_SESSION_ID, String.class)));
         }
     }
 }
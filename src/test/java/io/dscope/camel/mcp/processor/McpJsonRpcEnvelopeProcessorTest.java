@@ -1,11 +1,14 @@
 package io.dscope.camel.mcp.processor;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.support.DefaultExchange;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -84,4 +87,110 @@ class McpJsonRpcEnvelopeProcessorTest {
             assertSame(params, exchange.getIn().getBody());
         }
     }
+
+    @Test
+    void shouldStreamToolsCallFromBytes() throws Exception {
+        McpJsonRpcEnvelopeProcessor processor = new McpJsonRpcEnvelopeProcessor(true);
+        try (DefaultCamelContext ctx = new DefaultCamelContext()) {
+            Exchange exchange = new DefaultExchange(ctx);
+            exchange.getIn().setBody("""
+                    {"id": 7, "method": "tools/call", "extra": [1, 2],
+                     "params": {"name": "echo", "arguments": {"text": "hi", "count": 2}}, "jsonrpc": "2.0"}
+                    """.getBytes(StandardCharsets.UTF_8));
+
+            processor.process(exchange);
+
+            assertEquals("REQUEST", exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TYPE));
+            assertEquals(7, exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID));
+            assertEquals("echo", exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TOOL_NAME));
+            assertEquals(Map.of("text", "hi", "count", 2), exchange.getIn().getBody());
+
+            Map<?, ?> raw = exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_RAW_MESSAGE, Map.class);
+            assertEquals(java.util.List.of(1, 2), raw.get("extra"));
+            assertEquals("tools/call", raw.get("method"));
+        }
+    }
+
+    @Test
+    void shouldDeferParamsBindingUntilRead() throws Exception {
+        McpJsonRpcEnvelopeProcessor processor = new McpJsonRpcEnvelopeProcessor(true);
+        try (DefaultCamelContext ctx = new DefaultCamelContext()) {
+            Exchange exchange = new DefaultExchange(ctx);
+            exchange.getIn().setBody("{\"jsonrpc\":\"2.0\",\"id\":\"i-1\",\"method\":\"initialize\",\"params\":{\"a\":{\"b\":true}}}");
+
+            processor.process(exchange);
+
+            McpLazyJsonMap params = assertInstanceOf(McpLazyJsonMap.class, exchange.getIn().getBody());
+            assertFalse(params.isMaterialized());
+            assertEquals(Map.of("a", Map.of("b", true)), params);
+            assertTrue(params.isMaterialized());
+        }
+    }
+
+    @Test
+    void shouldBindTreeWhenStreamingDisabled() throws Exception {
+        McpJsonRpcEnvelopeProcessor processor = new McpJsonRpcEnvelopeProcessor(false);
+        try (DefaultCamelContext ctx = new DefaultCamelContext()) {
+            Exchange exchange = new DefaultExchange(ctx);
+            exchange.getIn().setBody("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"ping\"}");
+
+            processor.process(exchange);
+
+            assertEquals("ping", exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD));
+            assertEquals(1, exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID));
+            assertEquals(Map.of(), exchange.getIn().getBody());
+        }
+    }
+
+    @Test
+    void shouldRejectMalformedStreamedPayload() throws Exception {
+        McpJsonRpcEnvelopeProcessor processor = new McpJsonRpcEnvelopeProcessor(true);
+        try (DefaultCamelContext ctx = new DefaultCamelContext()) {
+            Exchange scalar = new DefaultExchange(ctx);
+            scalar.getIn().setBody("42".getBytes(StandardCharsets.UTF_8));
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> processor.process(scalar));
+            assertTrue(ex.getMessage().contains("JSON-RPC payload must be an object"), ex.getMessage());
+
+            Exchange truncated = new DefaultExchange(ctx);
+            truncated.getIn().setBody("{\"jsonrpc\":\"2.0\",\"method\":".getBytes(StandardCharsets.UTF_8));
+            ex = assertThrows(IllegalArgumentException.class, () -> processor.process(truncated));
+            assertEquals("Unable to parse JSON-RPC payload", ex.getMessage());
+
+            for (String trailing : new String[] {"{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"ping\"}garbage",
+                    "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"ping\"} {}"}) {
+                Exchange exchange = new DefaultExchange(ctx);
+                exchange.getIn().setBody(trailing.getBytes(StandardCharsets.UTF_8));
+                ex = assertThrows(IllegalArgumentException.class, () -> processor.process(exchange), trailing);
+                assertEquals("Unable to parse JSON-RPC payload", ex.getMessage());
+            }
+        }
+    }
+
+    @Test
+    void shouldSplitBatchOnlyWhenEnabled() throws Exception {
+        McpJsonRpcEnvelopeProcessor processor = new McpJsonRpcEnvelopeProcessor(true);
+        byte[] batch = "[{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"ping\"},{\"jsonrpc\":\"2.0\",\"method\":\"notifications/x\"}]"
+                .getBytes(StandardCharsets.UTF_8);
+        try (DefaultCamelContext ctx = new DefaultCamelContext()) {
+            Exchange rejected = new DefaultExchange(ctx);
+            rejected.getIn().setBody(batch);
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> processor.process(rejected));
+            assertEquals("JSON-RPC batch requests are not supported by this endpoint", ex.getMessage());
+
+            processor.setBatchEnabled(true);
+            Exchange exchange = new DefaultExchange(ctx);
+            exchange.getIn().setBody(batch);
+            processor.process(exchange);
+
+            assertEquals("BATCH", exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TYPE));
+            java.util.List<?> entries = exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_BATCH, java.util.List.class);
+            assertEquals(2, entries.size());
+            assertEquals("ping", ((Map<?, ?>) entries.get(0)).get("method"));
+
+            Exchange empty = new DefaultExchange(ctx);
+            empty.getIn().setBody("[]");
+            ex = assertThrows(IllegalArgumentException.class, () -> processor.process(empty));
+            assertEquals("JSON-RPC batch must contain at least one request", ex.getMessage());
+        }
+    }
 }
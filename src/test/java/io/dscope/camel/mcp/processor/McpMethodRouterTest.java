@@ -0,0 +1,156 @@
+package io.dscope.camel.mcp.processor;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.dscope.camel.mcp.catalog.McpMethodCatalog;
+import io.dscope.camel.mcp.catalog.McpMethodDefinition;
+import io.dscope.camel.mcp.service.McpUiSessionRegistry;
+
+class McpMethodRouterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldDispatchBuiltInMethods() throws Exception {
+        McpMethodRouter router = new McpMethodRouter();
+        try (DefaultCamelContext ctx = new DefaultCamelContext()) {
+            Exchange exchange = parse(ctx, "{\"jsonrpc\":\"2.0\",\"id\":\"p-1\",\"method\":\"ping\"}");
+
+            router.process(exchange);
+
+            Map<String, Object> envelope = MAPPER.readValue(exchange.getIn().getBody(String.class), Map.class);
+            assertEquals("p-1", envelope.get("id"));
+            assertTrue((Boolean) ((Map<String, Object>) envelope.get("result")).get("ok"));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldAnswerUnknownMethodsWithMethodNotFound() throws Exception {
+        McpMethodRouter router = new McpMethodRouter();
+        try (DefaultCamelContext ctx = new DefaultCamelContext()) {
+            Exchange exchange = new DefaultExchange(ctx);
+            exchange.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TYPE, "REQUEST");
+            exchange.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID, 7);
+            exchange.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD, "tools/call");
+
+            router.process(exchange);
+
+            Map<String, Object> envelope = MAPPER.readValue(exchange.getIn().getBody(String.class), Map.class);
+            assertEquals(-32601, ((Map<String, Object>) envelope.get("error")).get("code"));
+        }
+    }
+
+    @Test
+    void shouldRouteCustomMethodFamiliesAndAcceptThemInTheEnvelope() throws Exception {
+        McpMethodRouter router = new McpMethodRouter()
+                .register("billing/*", exchange -> exchange.getIn().setBody("family"))
+                .register("billing/invoices/get", exchange -> exchange.getIn().setBody("exact"));
+        McpJsonRpcEnvelopeProcessor envelope = new McpJsonRpcEnvelopeProcessor();
+        try (DefaultCamelContext ctx = new DefaultCamelContext()) {
+            Exchange rejected = new DefaultExchange(ctx);
+            rejected.getIn().setBody("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"billing/quote\"}");
+            assertThrows(IllegalArgumentException.class, () -> envelope.process(rejected));
+
+            envelope.setMethodRouter(router);
+            Exchange family = parse(ctx, envelope, "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"billing/quote\",\"params\":{\"a\":1}}");
+            assertEquals(Map.of("a", 1), family.getIn().getBody());
+            router.process(family);
+            assertEquals("family", family.getIn().getBody());
+
+            Exchange exact = parse(ctx, envelope, "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"billing/invoices/get\"}");
+            router.process(exact);
+            assertEquals("exact", exact.getIn().getBody());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRejectToolArgumentsThatDoNotMatchTheInputSchema() throws Exception {
+        McpMethodDefinition echo = new McpMethodDefinition();
+        echo.setName("echo");
+        echo.setInputSchema(Map.of("type", "object", "required", List.of("text"),
+                "properties", Map.of("text", Map.of("type", "string"), "times", Map.of("type", "integer", "minimum", 1))));
+        McpMethodRouter router = new McpMethodRouter(new McpMethodCatalog(List.of(echo)), new McpUiSessionRegistry());
+        router.setToolsCall((org.apache.camel.Processor) exchange -> exchange.getIn().setBody("called"));
+        try (DefaultCamelContext ctx = new DefaultCamelContext()) {
+            Exchange rejected = parse(ctx,
+                    "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"tools/call\",\"params\":{\"name\":\"echo\",\"arguments\":{\"times\":0}}}");
+            router.process(rejected);
+
+            Map<String, Object> error = (Map<String, Object>) MAPPER.readValue(rejected.getIn().getBody(String.class), Map.class)
+                    .get("error");
+            assertEquals(-32602, error.get("code"));
+            List<Map<String, Object>> violations = (List<Map<String, Object>>) ((Map<String, Object>) error.get("data"))
+                    .get("violations");
+            assertEquals(List.of("arguments.text", "arguments.times"), violations.stream().map(v -> v.get("path")).toList());
+
+            Exchange accepted = parse(ctx,
+                    "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"tools/call\",\"params\":{\"name\":\"echo\",\"arguments\":{\"text\":\"hi\",\"times\":2}}}");
+            router.process(accepted);
+            assertEquals("called", accepted.getIn().getBody());
+        }
+    }
+
+    @Test
+    void shouldAcknowledgeOrStopOnNotifications() throws Exception {
+        McpMethodRouter router = new McpMethodRouter();
+        try (DefaultCamelContext ctx = new DefaultCamelContext()) {
+            Exchange acknowledged = parse(ctx, "{\"jsonrpc\":\"2.0\",\"method\":\"notifications/cancelled\",\"params\":{\"requestId\":3}}");
+            router.process(acknowledged);
+            assertEquals("cancelled", acknowledged.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_NOTIFICATION_TYPE));
+            assertEquals(204, acknowledged.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+            assertFalse(acknowledged.isRouteStop());
+
+            router.setAcknowledgeNotifications(false);
+            Exchange stopped = parse(ctx, "{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"}");
+            router.process(stopped);
+            assertNull(stopped.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+            assertTrue(stopped.isRouteStop());
+
+            Exchange unsupported = parse(ctx, "{\"jsonrpc\":\"2.0\",\"method\":\"ping\"}");
+            assertThrows(IllegalArgumentException.class, () -> router.process(unsupported));
+        }
+    }
+
+    @Test
+    void shouldAcknowledgeUiNotifications() throws Exception {
+        McpMethodRouter router = new McpMethodRouter();
+        try (DefaultCamelContext ctx = new DefaultCamelContext()) {
+            for (String method : List.of("ui/notifications/tool-input", "ui/notifications/tool-result")) {
+                Exchange exchange = parse(ctx, "{\"jsonrpc\":\"2.0\",\"method\":\"" + method + "\",\"params\":{\"sessionId\":\"s-1\"}}");
+                assertTrue(router.supports(method));
+
+                router.process(exchange);
+
+                assertEquals(204, exchange.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE), method);
+                assertFalse(exchange.isRouteStop());
+            }
+        }
+    }
+
+    private static Exchange parse(DefaultCamelContext ctx, String json) {
+        return parse(ctx, new McpJsonRpcEnvelopeProcessor(), json);
+    }
+
+    private static Exchange parse(DefaultCamelContext ctx, McpJsonRpcEnvelopeProcessor envelope, String json) {
+        Exchange exchange = new DefaultExchange(ctx);
+        exchange.getIn().setBody(json);
+        envelope.process(exchange);
+        return exchange;
+    }
+}
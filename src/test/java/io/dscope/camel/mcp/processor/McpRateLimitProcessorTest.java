@@ -1,11 +1,26 @@
 package io.dscope.camel.mcp.processor;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import java.nio.file.Path;
+
 import org.apache.camel.Exchange;
+
+import io.dscope.camel.mcp.catalog.McpMethodCatalog;
+import io.dscope.camel.mcp.catalog.McpMethodDefinition;
+import io.dscope.camel.mcp.catalog.McpMethodRateLimit;
+import io.dscope.camel.mcp.service.McpEventStreamRegistry;
+import io.dscope.camel.mcp.service.McpLeasingRateLimitStore;
 import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.support.DefaultExchange;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class McpRateLimitProcessorTest {
 
@@ -13,6 +28,105 @@ class McpRateLimitProcessorTest {
         System.clearProperty("mcp.rate.enabled");
         System.clearProperty("mcp.rate.bucketCapacity");
         System.clearProperty("mcp.rate.refillPerSecond");
+        System.clearProperty("mcp.rate.key");
+        System.clearProperty("mcp.rate.maxKeys");
+        System.clearProperty("mcp.rate.store");
+        System.clearProperty("mcp.rate.leaseSize");
+        System.clearProperty("mcp.rate.controlCapacity");
+        System.clearProperty("mcp.rate.controlRefillPerSecond");
+    }
+
+    @Test
+    void controlPlaneMethodsDrawFromAReservedBucket() throws Exception {
+        System.setProperty("mcp.rate.enabled", "true");
+        System.setProperty("mcp.rate.bucketCapacity", "1");
+        System.setProperty("mcp.rate.refillPerSecond", "0");
+        System.setProperty("mcp.rate.controlCapacity", "2");
+
+        DefaultCamelContext ctx = new DefaultCamelContext();
+        McpRateLimitProcessor processor = new McpRateLimitProcessor();
+
+        try {
+            processor.process(request(ctx, "tools/call"));
+            assertThrows(IllegalArgumentException.class, () -> processor.process(request(ctx, "tools/call")));
+
+            processor.process(request(ctx, "ping"));
+            processor.process(request(ctx, "notifications/initialized"));
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                    () -> processor.process(request(ctx, "tools/list")));
+            assertEquals("Rate limit exceeded for tools/list: no tokens available (capacity 2)", ex.getMessage());
+        } finally {
+            clearProperties();
+        }
+    }
+
+    @Test
+    void controlPlaneThroughputNeverFallsBelowTheMainBucket() throws Exception {
+        System.setProperty("mcp.rate.enabled", "true");
+        System.setProperty("mcp.rate.refillPerSecond", "0");
+        System.setProperty("mcp.rate.controlRefillPerSecond", "0");
+
+        DefaultCamelContext ctx = new DefaultCamelContext();
+        McpRateLimitProcessor processor = new McpRateLimitProcessor();
+
+        try {
+            // Before the reserve, pings shared the main bucket: capacity (50) of them were admitted.
+            for (int i = 0; i < processor.getCapacity() + processor.getControlCapacity(); i++) {
+                processor.process(request(ctx, "ping"));
+            }
+            assertThrows(IllegalArgumentException.class, () -> processor.process(request(ctx, "ping")));
+        } finally {
+            clearProperties();
+        }
+    }
+
+    @Test
+    void controlPlaneReserveIsKeptPerClientWithTheGlobalBucket() throws Exception {
+        System.setProperty("mcp.rate.enabled", "true");
+        System.setProperty("mcp.rate.bucketCapacity", "1");
+        System.setProperty("mcp.rate.refillPerSecond", "0");
+        System.setProperty("mcp.rate.controlCapacity", "1");
+        System.setProperty("mcp.rate.controlRefillPerSecond", "0");
+
+        DefaultCamelContext ctx = new DefaultCamelContext();
+        McpRateLimitProcessor processor = new McpRateLimitProcessor();
+
+        McpEventStreamRegistry sessions = McpEventStreamRegistry.lookupOrCreate(ctx);
+        String s1 = sessions.openSession();
+        String s2 = sessions.openSession();
+
+        try {
+            processor.process(request(ctx, "tools/call"));
+
+            Exchange first = request(ctx, "ping");
+            first.getIn().setHeader("Mcp-Session-Id", s1);
+            processor.process(first);
+            Exchange again = request(ctx, "ping");
+            again.getIn().setHeader("Mcp-Session-Id", s1);
+            assertThrows(IllegalArgumentException.class, () -> processor.process(again));
+
+            Exchange other = request(ctx, "ping");
+            other.getIn().setHeader("Mcp-Session-Id", s2);
+            processor.process(other);
+
+            // made-up sessions share the reserve of the peer they come from
+            Exchange forged = request(ctx, "ping");
+            forged.getIn().setHeader("Mcp-Session-Id", "forged-1");
+            forged.getIn().setHeader(McpRateLimitProcessor.HEADER_REMOTE_ADDRESS, "10.0.0.1:4000");
+            processor.process(forged);
+            Exchange rotated = request(ctx, "ping");
+            rotated.getIn().setHeader("Mcp-Session-Id", "forged-2");
+            rotated.getIn().setHeader(McpRateLimitProcessor.HEADER_REMOTE_ADDRESS, "10.0.0.1:4000");
+            assertThrows(IllegalArgumentException.class, () -> processor.process(rotated));
+        } finally {
+            clearProperties();
+        }
+    }
+
+    private static Exchange request(DefaultCamelContext ctx, String method) {
+        Exchange exchange = new DefaultExchange(ctx);
+        exchange.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_METHOD, method);
+        return exchange;
     }
 
     @Test
@@ -41,6 +155,210 @@ class McpRateLimitProcessorTest {
         }
     }
 
+    @Test
+    void admitsExactlyCapacityUnderContention() throws Exception {
+        System.setProperty("mcp.rate.enabled", "true");
+        System.setProperty("mcp.rate.bucketCapacity", "1000");
+        System.setProperty("mcp.rate.refillPerSecond", "0");
+
+        DefaultCamelContext ctx = new DefaultCamelContext();
+        McpRateLimitProcessor processor = new McpRateLimitProcessor();
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < 8; t++) {
+                threads.add(Thread.ofPlatform().start(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < 500; i++) {
+                        try {
+                            processor.process(new DefaultExchange(ctx));
+                            accepted.incrementAndGet();
+                        } catch (IllegalArgumentException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(1000, accepted.get());
+            assertEquals(3000, rejected.get());
+            assertEquals(0, processor.getAvailableTokens());
+        } finally {
+            clearProperties();
+        }
+    }
+
+    @Test
+    void refillsContinuously() throws Exception {
+        System.setProperty("mcp.rate.enabled", "true");
+        System.setProperty("mcp.rate.bucketCapacity", "2");
+        System.setProperty("mcp.rate.refillPerSecond", "20");
+
+        DefaultCamelContext ctx = new DefaultCamelContext();
+        McpRateLimitProcessor processor = new McpRateLimitProcessor();
+
+        try {
+            processor.process(new DefaultExchange(ctx));
+            processor.process(new DefaultExchange(ctx));
+            assertThrows(IllegalArgumentException.class, () -> processor.process(new DefaultExchange(ctx)));
+
+            // one token every 50ms
+            Thread.sleep(120);
+            assertTrue(processor.getAvailableTokens() >= 1);
+            processor.process(new DefaultExchange(ctx));
+        } finally {
+            clearProperties();
+        }
+    }
+
+    @Test
+    void keepsOneBucketPerHeaderValue() throws Exception {
+        System.setProperty("mcp.rate.bucketCapacity", "1");
+        System.setProperty("mcp.rate.refillPerSecond", "0");
+        System.setProperty("mcp.rate.key", "header:X-Tenant");
+
+        DefaultCamelContext ctx = new DefaultCamelContext();
+        McpRateLimitProcessor processor = new McpRateLimitProcessor();
+
+        try {
+            processor.process(request(ctx, "X-Tenant", "a", null));
+            processor.process(request(ctx, "X-Tenant", "b", null));
+            assertThrows(IllegalArgumentException.class, () -> processor.process(request(ctx, "X-Tenant", "a", null)));
+            // requests without the header share one bucket
+            processor.process(request(ctx, "Other", "x", null));
+            assertThrows(IllegalArgumentException.class, () -> processor.process(request(ctx, "Other", "y", null)));
+            assertEquals(3, processor.getTrackedKeys());
+        } finally {
+            clearProperties();
+        }
+    }
+
+    @Test
+    void appliesPerToolLimitsFromTheCatalog() throws Exception {
+        System.setProperty("mcp.rate.bucketCapacity", "100");
+        System.setProperty("mcp.rate.refillPerSecond", "0");
+        System.setProperty("mcp.rate.key", "session");
+
+        McpMethodDefinition search = new McpMethodDefinition();
+        search.setName("search");
+        search.setRateLimit(new McpMethodRateLimit(2, 0));
+        DefaultCamelContext ctx = new DefaultCamelContext();
+        McpRateLimitProcessor processor = new McpRateLimitProcessor(new McpMethodCatalog(List.of(search)));
+
+        try {
+            Exchange first = request(ctx, "Mcp-Session-Id", "s1", "search");
+            processor.process(first);
+            assertEquals(1, first.getProperty("mcp.rate.tokensRemaining"));
+            processor.process(request(ctx, "Mcp-Session-Id", "s1", "search"));
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                    () -> processor.process(request(ctx, "Mcp-Session-Id", "s1", "search")));
+            assertEquals("Rate limit exceeded for tool search: no tokens available (capacity 2)", ex.getMessage());
+
+            processor.process(request(ctx, "Mcp-Session-Id", "s2", "search"));
+            processor.process(request(ctx, "Mcp-Session-Id", "s1", "echo"));
+        } finally {
+            clearProperties();
+        }
+    }
+
+    @Test
+    void boundsTrackedKeysAndDropsRefilledBuckets() throws Exception {
+        System.setProperty("mcp.rate.bucketCapacity", "5");
+        System.setProperty("mcp.rate.refillPerSecond", "1000000");
+        System.setProperty("mcp.rate.key", "header:X-Client");
+        System.setProperty("mcp.rate.maxKeys", "128");
+
+        DefaultCamelContext ctx = new DefaultCamelContext();
+        McpRateLimitProcessor processor = new McpRateLimitProcessor();
+
+        try {
+            for (int i = 0; i < 10_000; i++) {
+                processor.process(request(ctx, "X-Client", "client-" + i, null));
+            }
+            assertTrue(processor.getTrackedKeys() <= 128);
+            assertEquals("header:X-Client", processor.snapshot().get("key"));
+        } finally {
+            clearProperties();
+        }
+    }
+
+    @Test
+    void keepsDrainedBucketsAndSharesAnOverflowBucketWhenFull() throws Exception {
+        System.setProperty("mcp.rate.bucketCapacity", "2");
+        System.setProperty("mcp.rate.refillPerSecond", "0.001");
+        System.setProperty("mcp.rate.key", "header:X-Client");
+        System.setProperty("mcp.rate.maxKeys", "64");
+
+        DefaultCamelContext ctx = new DefaultCamelContext();
+        McpRateLimitProcessor processor = new McpRateLimitProcessor();
+
+        try {
+            processor.process(request(ctx, "X-Client", "drained", null));
+            processor.process(request(ctx, "X-Client", "drained", null));
+            assertThrows(IllegalArgumentException.class, () -> processor.process(request(ctx, "X-Client", "drained", null)));
+
+            int admitted = 0;
+            for (int i = 0; i < 1_000; i++) {
+                try {
+                    processor.process(request(ctx, "X-Client", "client-" + i, null));
+                    admitted++;
+                } catch (IllegalArgumentException e) {
+                    // stripe full of drained buckets: the overflow bucket is spent
+                }
+            }
+            assertTrue(processor.getTrackedKeys() <= 64);
+            assertTrue(admitted <= 64 * 2 * 2, "admitted " + admitted);
+            assertThrows(IllegalArgumentException.class, () -> processor.process(request(ctx, "X-Client", "drained", null)));
+        } finally {
+            clearProperties();
+        }
+    }
+
+    @Test
+    void sharesTheBucketThroughAFileStore(@TempDir Path directory) throws Exception {
+        System.setProperty("mcp.rate.bucketCapacity", "4");
+        System.setProperty("mcp.rate.refillPerSecond", "0");
+        System.setProperty("mcp.rate.store", "file:" + directory);
+        System.setProperty("mcp.rate.leaseSize", "2");
+
+        DefaultCamelContext ctx = new DefaultCamelContext();
+        McpRateLimitProcessor replicaA = new McpRateLimitProcessor();
+        McpRateLimitProcessor replicaB = new McpRateLimitProcessor();
+
+        try {
+            assertTrue(replicaA.getRateLimitStore() instanceof McpLeasingRateLimitStore);
+            replicaA.process(new DefaultExchange(ctx));
+            replicaB.process(new DefaultExchange(ctx));
+            replicaA.process(new DefaultExchange(ctx));
+            replicaB.process(new DefaultExchange(ctx));
+            assertThrows(IllegalArgumentException.class, () -> replicaA.process(new DefaultExchange(ctx)));
+            assertThrows(IllegalArgumentException.class, () -> replicaB.process(new DefaultExchange(ctx)));
+        } finally {
+            clearProperties();
+        }
+    }
+
+    private static Exchange request(DefaultCamelContext ctx, String header, String value, String tool) {
+        Exchange exchange = new DefaultExchange(ctx);
+        exchange.getIn().setHeader(header, value);
+        if (tool != null) {
+            exchange.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TOOL_NAME, tool);
+        }
+        return exchange;
+    }
+
     @Test
     void skipsWhenDisabled() throws Exception {
         System.setProperty("mcp.rate.enabled", "false");
@@ -1,7 +1,12 @@
 package io.dscope.camel.mcp.processor;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
 import org.apache.camel.support.DefaultExchange;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.Test;
 
@@ -42,4 +47,61 @@ class McpRequestSizeGuardProcessorTest {
             clearProperties();
         }
     }
+
+    @Test
+    void rejectsDeclaredContentLengthBeforeReadingBody() {
+        System.setProperty("mcp.maxRequestBytes", "1024");
+        DefaultExchange exchange = new DefaultExchange(new org.apache.camel.impl.DefaultCamelContext());
+        exchange.getIn().setHeader("Content-Length", "4096");
+        exchange.getIn().setBody(new ByteArrayInputStream(new byte[0]));
+
+        McpRequestSizeGuardProcessor processor = new McpRequestSizeGuardProcessor();
+        try {
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> processor.process(exchange));
+            assertEquals("Request body too large (4096 bytes, max 1024)", ex.getMessage());
+        } finally {
+            clearProperties();
+        }
+    }
+
+    @Test
+    void measuresStringBodyWithoutReplacingIt() throws Exception {
+        System.setProperty("mcp.maxRequestBytes", "8");
+        DefaultExchange exchange = new DefaultExchange(new org.apache.camel.impl.DefaultCamelContext());
+        String text = "h\u00e9llo";
+        exchange.getIn().setBody(text);
+
+        McpRequestSizeGuardProcessor processor = new McpRequestSizeGuardProcessor();
+        try {
+            processor.process(exchange);
+            assertSame(text, exchange.getIn().getBody());
+            assertEquals(text.getBytes(StandardCharsets.UTF_8).length, McpRequestSizeGuardProcessor.utf8Length(text, 64));
+            assertEquals(10, McpRequestSizeGuardProcessor.utf8Length("h\u00e9llo\uD83D\uDE00", 64));
+
+            DefaultExchange oversized = new DefaultExchange(new org.apache.camel.impl.DefaultCamelContext());
+            oversized.getIn().setBody("\u00e9\u00e9\u00e9\u00e9\u00e9");
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> processor.process(oversized));
+            assertEquals("Request body too large (10 bytes, max 8)", ex.getMessage());
+        } finally {
+            clearProperties();
+        }
+    }
+
+    @Test
+    void boundsStreamedBodyWhileItIsRead() throws Exception {
+        System.setProperty("mcp.maxRequestBytes", "16");
+        DefaultExchange exchange = new DefaultExchange(new org.apache.camel.impl.DefaultCamelContext());
+        exchange.getIn().setBody(new ByteArrayInputStream(new byte[64]));
+
+        McpRequestSizeGuardProcessor processor = new McpRequestSizeGuardProcessor();
+        try {
+            processor.process(exchange);
+            InputStream bounded = exchange.getIn().getBody(InputStream.class);
+            assertEquals(McpRequestSizeGuardProcessor.BoundedInputStream.class, bounded.getClass());
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, bounded::readAllBytes);
+            assertEquals("Request body too large (exceeds max 16 bytes)", ex.getMessage());
+        } finally {
+            clearProperties();
+        }
+    }
 }
@@ -1,17 +1,28 @@
 package io.dscope.camel.mcp.processor;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.support.DefaultExchange;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
+import io.dscope.camel.mcp.service.McpEventStream;
+import io.dscope.camel.mcp.service.McpEventStreamRegistry;
+
 class McpStreamProcessorTest {
 
     @Test
     void returnsServerSentEventsHandshake() {
         DefaultCamelContext ctx = new DefaultCamelContext();
         Exchange exchange = new DefaultExchange(ctx);
+        exchange.getIn().setHeader(McpStreamProcessor.HEADER_SESSION_ID,
+                McpEventStreamRegistry.lookupOrCreate(ctx).openSession());
 
         McpStreamProcessor processor = new McpStreamProcessor();
         processor.process(exchange);
@@ -22,4 +33,71 @@ class McpStreamProcessorTest {
         assertEquals("keep-alive", exchange.getIn().getHeader("Connection"));
         assertEquals(":ok\n\n", exchange.getIn().getBody(String.class));
     }
+
+    @Test
+    void replaysOnlyEventsAfterLastEventId() {
+        DefaultCamelContext ctx = new DefaultCamelContext();
+        McpEventStreamRegistry registry = new McpEventStreamRegistry(8, 4);
+        String session = registry.openSession();
+        registry.notify(session, "notifications/message", Map.of("text", "one"));
+        registry.notify(session, "notifications/message", Map.of("text", "two"));
+        registry.notify(session, "notifications/message", Map.of("text", "three"));
+
+        Exchange exchange = new DefaultExchange(ctx);
+        exchange.getIn().setHeader(McpStreamProcessor.HEADER_SESSION_ID, session);
+        exchange.getIn().setHeader(McpStreamProcessor.HEADER_LAST_EVENT_ID, "1");
+        new McpStreamProcessor(registry).process(exchange);
+
+        String body = exchange.getIn().getBody(String.class);
+        assertTrue(body.startsWith(":ok\n\n"), body);
+        assertFalse(body.contains("id: 1\n"), body);
+        assertTrue(body.contains("id: 2\ndata: {\"jsonrpc\":\"2.0\",\"method\":\"notifications/message\",\"params\":{\"text\":\"two\"}}\n\n"), body);
+        assertTrue(body.contains("id: 3\n"), body);
+    }
+
+    @Test
+    void refusesStreamsOfSessionsItDidNotIssue() {
+        DefaultCamelContext ctx = new DefaultCamelContext();
+        McpEventStreamRegistry registry = new McpEventStreamRegistry(8, 4);
+        registry.notify("guessed", "notifications/message", Map.of("text", "private"));
+        registry.notify(null, "notifications/message", Map.of("text", "shared"));
+        McpStreamProcessor processor = new McpStreamProcessor(registry);
+
+        Exchange anonymous = new DefaultExchange(ctx);
+        processor.process(anonymous);
+        assertEquals(400, anonymous.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+        assertFalse(anonymous.getIn().getBody(String.class).contains("shared"));
+
+        Exchange forged = new DefaultExchange(ctx);
+        forged.getIn().setHeader(McpStreamProcessor.HEADER_SESSION_ID, "guessed");
+        processor.process(forged);
+        assertEquals(404, forged.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+        assertFalse(forged.getIn().getBody(String.class).contains("private"));
+    }
+
+    @Test
+    void streamsEventsAsTheyArePublished() throws Exception {
+        McpEventStream stream = new McpEventStream("live", 4);
+        stream.append("{\"n\":1}");
+        try (InputStream body = new McpStreamProcessor.EventStreamInputStream(stream, 1, 50, 1000, 0)) {
+            byte[] buffer = new byte[1024];
+            assertEquals(":ok\nretry: 1000\n\n", read(body, buffer));
+            assertEquals(":ping\n\n", read(body, buffer));
+
+            new Thread(() -> stream.append("{\"n\":2}")).start();
+            String frame = read(body, buffer);
+            while (frame.startsWith(":ping")) {
+                frame = read(body, buffer);
+            }
+            assertEquals("id: 2\ndata: {\"n\":2}\n\n", frame);
+
+            stream.close();
+            assertEquals(-1, body.read(buffer, 0, buffer.length));
+        }
+    }
+
+    private static String read(InputStream body, byte[] buffer) throws Exception {
+        int read = body.read(buffer, 0, buffer.length);
+        return new String(buffer, 0, read, StandardCharsets.UTF_8);
+    }
 }
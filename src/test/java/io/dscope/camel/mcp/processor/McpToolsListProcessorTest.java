@@ -1,5 +1,8 @@
 package io.dscope.camel.mcp.processor;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 
@@ -7,6 +10,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.support.DefaultExchange;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -87,6 +91,148 @@ class McpToolsListProcessorTest {
         assertEquals(McpHttpValidatorProcessor.DEFAULT_PROTOCOL_VERSION, exchange.getIn().getHeader("MCP-Protocol-Version"));
     }
 
+    @Test
+    void answersNotModifiedForMatchingEntityTag() throws Exception {
+        McpMethodDefinition definition = new McpMethodDefinition();
+        definition.setName("echo");
+        McpToolsListProcessor processor = new McpToolsListProcessor(new McpMethodCatalog(List.of(definition)));
+        DefaultCamelContext ctx = new DefaultCamelContext();
+
+        Exchange first = new DefaultExchange(ctx);
+        first.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID, 1);
+        processor.process(first);
+        String etag = first.getIn().getHeader("ETag", String.class);
+        assertNotNull(etag);
+        assertTrue(first.getIn().getBody(String.class).startsWith("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":"));
+
+        Exchange revalidate = new DefaultExchange(ctx);
+        revalidate.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID, 2);
+        revalidate.getIn().setHeader(Exchange.HTTP_METHOD, "GET");
+        revalidate.getIn().setHeader("If-None-Match", etag);
+        processor.process(revalidate);
+        assertEquals(304, revalidate.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+        assertNull(revalidate.getIn().getBody());
+        assertEquals(etag, revalidate.getIn().getHeader("ETag"));
+
+        // A POST always gets a JSON-RPC response; the header alone does not turn it into a 304.
+        for (String ifNoneMatch : List.of(etag, "*")) {
+            Exchange post = new DefaultExchange(ctx);
+            post.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID, 4);
+            post.getIn().setHeader(Exchange.HTTP_METHOD, "POST");
+            post.getIn().setHeader("If-None-Match", ifNoneMatch);
+            processor.process(post);
+            assertEquals(200, post.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+            assertTrue(post.getIn().getBody(String.class).contains("\"tools\""));
+        }
+
+        Exchange unchanged = new DefaultExchange(ctx);
+        unchanged.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID, 5);
+        unchanged.getIn().setHeader(Exchange.HTTP_METHOD, "POST");
+        unchanged.getIn().setBody(Map.of("etag", etag));
+        processor.process(unchanged);
+        assertEquals(200, unchanged.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+        assertEquals(Map.of("unchanged", true, "etag", etag),
+                MAPPER.readValue(unchanged.getIn().getBody(String.class), MAP_TYPE).get("result"));
+
+        Exchange stale = new DefaultExchange(ctx);
+        stale.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID, "3");
+        stale.getIn().setHeader("If-None-Match", "\"outdated\"");
+        processor.process(stale);
+        assertEquals(200, stale.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+        assertEquals("3", MAPPER.readValue(stale.getIn().getBody(String.class), MAP_TYPE).get("id"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void pagesWithCursorsThatSurviveAReload() throws Exception {
+        McpMethodCatalog catalog = new McpMethodCatalog(tools("a", "b", "c", "d", "e"));
+        McpToolsListProcessor processor = new McpToolsListProcessor(catalog, 2);
+        DefaultCamelContext ctx = new DefaultCamelContext();
+
+        Map<String, Object> first = listPage(processor, ctx, null);
+        assertEquals(List.of("a", "b"), names(first));
+        String cursor = (String) first.get("nextCursor");
+        assertNotNull(cursor);
+
+        catalog.replace(tools("x"));
+
+        Map<String, Object> second = listPage(processor, ctx, cursor);
+        assertEquals(List.of("c", "d"), names(second));
+        Map<String, Object> last = listPage(processor, ctx, (String) second.get("nextCursor"));
+        assertEquals(List.of("e"), names(last));
+        assertFalse(last.containsKey("nextCursor"));
+
+        assertEquals(List.of("x"), names(listPage(processor, ctx, null)));
+
+        Exchange invalid = new DefaultExchange(ctx);
+        invalid.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID, 9);
+        invalid.getIn().setBody(Map.of("cursor", "not-a-cursor"));
+        processor.process(invalid);
+        assertEquals(400, invalid.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+        Map<String, Object> error = (Map<String, Object>) MAPPER.readValue(invalid.getIn().getBody(String.class), MAP_TYPE)
+                .get("error");
+        assertEquals(-32602, error.get("code"));
+
+        // Cursors are only honoured on the configured page grid.
+        String generation = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":")[0];
+        for (String forged : List.of(generation + ":2:1", generation + ":1:2", generation + ":2:3")) {
+            Exchange exchange = new DefaultExchange(ctx);
+            exchange.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID, forged);
+            exchange.getIn().setBody(Map.of("cursor",
+                    Base64.getUrlEncoder().withoutPadding().encodeToString(forged.getBytes(StandardCharsets.UTF_8))));
+            processor.process(exchange);
+            assertEquals(400, exchange.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE), forged);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rejectsCursorsWhenPaginationIsOff() throws Exception {
+        McpMethodCatalog catalog = new McpMethodCatalog(tools("a", "b", "c"));
+        DefaultCamelContext ctx = new DefaultCamelContext();
+        String cursor = (String) listPage(new McpToolsListProcessor(catalog, 1), ctx, null).get("nextCursor");
+        String generation = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":")[0];
+
+        for (int pageSize : new int[] {0, -1}) {
+            McpToolsListProcessor processor = new McpToolsListProcessor(catalog, pageSize);
+            for (String forged : List.of(generation + ":1:0", generation + ":1:-1", generation + ":1:1")) {
+                Exchange exchange = new DefaultExchange(ctx);
+                exchange.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID, forged);
+                exchange.getIn().setBody(Map.of("cursor",
+                        Base64.getUrlEncoder().withoutPadding().encodeToString(forged.getBytes(StandardCharsets.UTF_8))));
+                processor.process(exchange);
+
+                assertEquals(400, exchange.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE), forged);
+                Map<String, Object> error = (Map<String, Object>) MAPPER
+                        .readValue(exchange.getIn().getBody(String.class), MAP_TYPE).get("error");
+                assertEquals(-32602, error.get("code"));
+                assertEquals("Invalid cursor", error.get("message"));
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void answersQueriesFromTheSearchIndex() throws Exception {
+        McpToolsListProcessor processor = new McpToolsListProcessor(new McpMethodCatalog(tools("echo", "echo.upper", "sum")), 2);
+        DefaultCamelContext ctx = new DefaultCamelContext();
+
+        Exchange exchange = new DefaultExchange(ctx);
+        exchange.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID, "q");
+        exchange.getIn().setBody(Map.of("query", "echo", "limit", 1));
+        processor.process(exchange);
+        Map<String, Object> result = (Map<String, Object>) MAPPER.readValue(exchange.getIn().getBody(String.class), MAP_TYPE)
+                .get("result");
+        assertEquals(List.of("echo"), names(result));
+        assertFalse(result.containsKey("nextCursor"));
+
+        Exchange invalid = new DefaultExchange(ctx);
+        invalid.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID, "q2");
+        invalid.getIn().setBody(Map.of("query", "echo", "limit", "many"));
+        processor.process(invalid);
+        assertEquals(400, invalid.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     void includesMetaFieldWhenPresent() throws Exception {
@@ -156,4 +302,30 @@ class McpToolsListProcessorTest {
         Map<String, Object> tool = tools.get(0);
         assertNull(tool.get("_meta"));
     }
+
+    private static List<McpMethodDefinition> tools(String... names) {
+        List<McpMethodDefinition> definitions = new ArrayList<>();
+        for (String name : names) {
+            McpMethodDefinition definition = new McpMethodDefinition();
+            definition.setName(name);
+            definitions.add(definition);
+        }
+        return definitions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> listPage(McpToolsListProcessor processor, DefaultCamelContext ctx, String cursor)
+            throws Exception {
+        Exchange exchange = new DefaultExchange(ctx);
+        exchange.setProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_ID, "page");
+        exchange.getIn().setBody(cursor == null ? Map.of() : Map.of("cursor", cursor));
+        processor.process(exchange);
+        assertEquals(200, exchange.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE));
+        return (Map<String, Object>) MAPPER.readValue(exchange.getIn().getBody(String.class), MAP_TYPE).get("result");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> names(Map<String, Object> result) {
+        return ((List<Map<String, Object>>) result.get("tools")).stream().map(tool -> tool.get("name")).toList();
+    }
 }
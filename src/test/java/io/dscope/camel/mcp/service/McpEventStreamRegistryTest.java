@@ -0,0 +1,47 @@
+package io.dscope.camel.mcp.service;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class McpEventStreamRegistryTest {
+
+    @Test
+    void shouldKeepOnlyTheMostRecentEventsInTheRingBuffer() {
+        McpEventStream stream = new McpEventStream("s", 3);
+        for (int i = 1; i <= 5; i++) {
+            assertEquals(i, stream.append("e" + i));
+        }
+
+        assertEquals(3, stream.getOldestEventId());
+        List<McpEventStream.Event> all = stream.eventsAfter(0);
+        assertEquals(List.of(3L, 4L, 5L), all.stream().map(McpEventStream.Event::id).toList());
+        assertEquals("e5", all.get(2).data());
+        assertEquals(List.of(5L), stream.eventsAfter(4).stream().map(McpEventStream.Event::id).toList());
+        assertTrue(stream.eventsAfter(5).isEmpty());
+    }
+
+    @Test
+    void shouldPublishNotificationsAndEvictLeastRecentlyActiveStream() throws Exception {
+        McpEventStreamRegistry registry = new McpEventStreamRegistry(4, 2);
+        registry.progress("a", "tok", 0.5, 1.0);
+        Thread.sleep(5);
+        registry.notify("b", "notifications/message", Map.of("text", "hi"));
+        Thread.sleep(5);
+        registry.stream("c");
+
+        assertEquals(2, registry.size());
+        assertFalse(registry.find("a").isPresent());
+        assertEquals("{\"jsonrpc\":\"2.0\",\"method\":\"notifications/message\",\"params\":{\"text\":\"hi\"}}",
+                registry.find("b").orElseThrow().eventsAfter(0).get(0).data());
+
+        assertEquals(2, registry.broadcast(Map.of("jsonrpc", "2.0", "method", "notifications/tools/list_changed")));
+        McpEventStream c = registry.stream("c");
+        registry.remove("c");
+        assertTrue(c.isClosed());
+    }
+}
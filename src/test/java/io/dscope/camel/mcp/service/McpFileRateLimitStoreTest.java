@@ -0,0 +1,82 @@
+package io.dscope.camel.mcp.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class McpFileRateLimitStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void sharesOneBucketBetweenStoreInstances() {
+        McpFileRateLimitStore nodeA = new McpFileRateLimitStore(directory);
+        McpFileRateLimitStore nodeB = new McpFileRateLimitStore(directory);
+
+        assertEquals(new McpRateLimitStore.Lease(3, 2), nodeA.acquire("k", 5, 0, 3));
+        assertEquals(new McpRateLimitStore.Lease(2, 0), nodeB.acquire("k", 5, 0, 3));
+        assertFalse(nodeA.acquire("k", 5, 0, 1).isGranted());
+        assertEquals(0, nodeB.available("k", 5, 0));
+        assertEquals(5, nodeB.available(null, 5, 0));
+    }
+
+    @Test
+    void readsWithoutCreatingAndSweepsRefilledBuckets() throws Exception {
+        McpFileRateLimitStore store = new McpFileRateLimitStore(directory, 0);
+
+        assertEquals(5, store.available("idle", 5, 1000));
+        assertFalse(Files.exists(directory.resolve("global")));
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+
+        store.acquire("refilled", 5, 1000, 1);
+        store.acquire("drained", 5, 0.001, 5);
+        store.acquire("fixed", 5, 0, 2);
+        Thread.sleep(10);
+
+        assertEquals(1, store.sweep());
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+        assertEquals(0, store.available("drained", 5, 0.001));
+        assertEquals(3, store.available("fixed", 5, 0));
+        assertEquals(5, store.available("refilled", 5, 1000));
+    }
+
+    @Test
+    void leasesLimitClusterWideAdmissionsAndStoreAccess() {
+        AtomicInteger storeCalls = new AtomicInteger();
+        McpRateLimitStore shared = new McpFileRateLimitStore(directory);
+        McpRateLimitStore counted = new McpRateLimitStore() {
+            @Override
+            public Lease acquire(String key, int capacity, double refillPerSecond, int permits) {
+                storeCalls.incrementAndGet();
+                return shared.acquire(key, capacity, refillPerSecond, permits);
+            }
+
+            @Override
+            public int available(String key, int capacity, double refillPerSecond) {
+                return shared.available(key, capacity, refillPerSecond);
+            }
+        };
+        McpLeasingRateLimitStore nodeA = new McpLeasingRateLimitStore(counted, 10, 100);
+        McpLeasingRateLimitStore nodeB = new McpLeasingRateLimitStore(new McpFileRateLimitStore(directory), 10, 100);
+
+        int admitted = 0;
+        for (int i = 0; i < 100; i++) {
+            admitted += nodeA.acquire(null, 50, 0, 1).granted();
+            admitted += nodeB.acquire(null, 50, 0, 1).granted();
+        }
+
+        assertEquals(50, admitted);
+        assertTrue(storeCalls.get() <= 4, "node A reached the shared store " + storeCalls.get() + " times");
+    }
+}
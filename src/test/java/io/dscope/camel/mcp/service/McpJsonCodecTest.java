@@ -0,0 +1,104 @@
+package io.dscope.camel.mcp.service;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import io.dscope.camel.mcp.model.McpRequest;
+import io.dscope.camel.mcp.model.McpResponse;
+import io.dscope.camel.mcp.processor.McpJsonRpcEnvelopeProcessor;
+import io.dscope.camel.mcp.processor.McpToolResponseProcessor;
+
+class McpJsonCodecTest {
+
+    @Test
+    void shouldRoundTripHotTypesThroughPrebuiltReadersAndWriters() throws Exception {
+        McpJsonCodec codec = new McpJsonCodec(false);
+
+        McpRequest request = new McpRequest();
+        request.setJsonrpc("2.0");
+        request.setId("1");
+        request.setMethod("tools/call");
+        request.setParams(Map.of("name", "echo"));
+        String json = codec.requestWriter().writeValueAsString(request);
+        Map<String, Object> envelope = codec.mapReader().readValue(json);
+        assertEquals("tools/call", envelope.get("method"));
+        assertEquals(Map.of("name", "echo"), envelope.get("params"));
+
+        McpResponse response = codec.responseReader().readValue("{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"result\":{\"ok\":true}}");
+        assertEquals(Map.of("ok", true), response.getResult());
+        assertEquals("{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"result\":{\"ok\":true},\"error\":null}",
+                codec.responseWriter().writeValueAsString(response));
+    }
+
+    @Test
+    void shouldFallBackWhenBlackbirdIsUnavailableAndShareDefaultThroughRegistry() throws Exception {
+        assertEquals(isOnClasspath(McpJsonCodec.BLACKBIRD_MODULE), new McpJsonCodec(true).isBlackbirdEnabled());
+        assertFalse(new McpJsonCodec(false).isBlackbirdEnabled());
+
+        try (DefaultCamelContext context = new DefaultCamelContext()) {
+            McpJsonCodec codec = McpJsonCodec.lookupOrDefault(context);
+            assertSame(McpJsonCodec.getDefault(), codec);
+            assertSame(codec, context.getRegistry().lookupByNameAndType(McpJsonCodec.REGISTRY_NAME, McpJsonCodec.class));
+        }
+    }
+
+    @Test
+    void processorsUseTheCodecBoundInTheirCamelContext() throws Exception {
+        AtomicInteger mapReads = new AtomicInteger();
+        AtomicInteger mapperUses = new AtomicInteger();
+        McpJsonCodec bound = new McpJsonCodec(false) {
+            @Override
+            public ObjectReader mapReader() {
+                mapReads.incrementAndGet();
+                return super.mapReader();
+            }
+
+            @Override
+            public ObjectMapper mapper() {
+                mapperUses.incrementAndGet();
+                return super.mapper();
+            }
+        };
+
+        try (DefaultCamelContext context = new DefaultCamelContext()) {
+            context.getRegistry().bind(McpJsonCodec.REGISTRY_NAME, bound);
+            Exchange exchange = new DefaultExchange(context);
+            assertSame(bound, McpJsonCodec.of(exchange));
+
+            exchange.getIn().setBody("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"tools/call\",\"params\":{\"name\":\"echo\"}}");
+            new McpJsonRpcEnvelopeProcessor(true).process(exchange);
+            assertEquals("echo", exchange.getProperty(McpJsonRpcEnvelopeProcessor.EXCHANGE_PROPERTY_TOOL_NAME));
+            assertTrue(mapReads.get() > 0);
+
+            mapperUses.set(0);
+            exchange.getIn().setBody("[1,2]");
+            new McpToolResponseProcessor().process(exchange);
+            assertTrue(mapperUses.get() > 0);
+
+            mapperUses.set(0);
+            McpEventStreamRegistry.lookupOrCreate(context).notify("s", "notifications/message", Map.of("level", "info"));
+            assertTrue(mapperUses.get() > 0);
+        }
+    }
+
+    private static boolean isOnClasspath(String className) {
+        try {
+            Class.forName(className);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
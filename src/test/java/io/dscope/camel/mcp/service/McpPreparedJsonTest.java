@@ -0,0 +1,44 @@
+package io.dscope.camel.mcp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class McpPreparedJsonTest {
+
+    @Test
+    void splicesTheRequestIdIntoThePreparedResult() {
+        McpPreparedJson prepared = McpPreparedJson.of(Map.of("tools", List.of()));
+
+        assertEquals("{\"jsonrpc\":\"2.0\",\"id\":7,\"result\":{\"tools\":[]}}",
+                new String(prepared.resultEnvelope(7), StandardCharsets.UTF_8));
+        assertEquals("{\"jsonrpc\":\"2.0\",\"id\":\"a\\\"b\",\"result\":{\"tools\":[]}}",
+                new String(prepared.resultEnvelope("a\"b"), StandardCharsets.UTF_8));
+        assertEquals("{\"jsonrpc\":\"2.0\",\"id\":null,\"result\":{\"tools\":[]}}",
+                new String(prepared.resultEnvelope(null), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void tagsContentAndFreezesTheValue() {
+        McpPreparedJson prepared = McpPreparedJson.of(Map.of("tools", List.of(Map.of("name", "echo"))));
+
+        assertEquals(prepared.etag(), McpPreparedJson.of(Map.of("tools", List.of(Map.of("name", "echo")))).etag());
+        assertNotEquals(prepared.etag(), McpPreparedJson.of(Map.of("tools", List.of())).etag());
+        assertTrue(prepared.matches("\"other\", " + prepared.etag()));
+        assertTrue(prepared.matches("W/" + prepared.etag()));
+        assertFalse(prepared.matches("\"other\""));
+
+        Map<String, Object> value = (Map<String, Object>) prepared.value();
+        List<Object> tools = (List<Object>) value.get("tools");
+        assertThrows(UnsupportedOperationException.class, () -> tools.add("more"));
+        assertThrows(UnsupportedOperationException.class, () -> ((Map<String, Object>) tools.get(0)).put("name", "x"));
+    }
+}